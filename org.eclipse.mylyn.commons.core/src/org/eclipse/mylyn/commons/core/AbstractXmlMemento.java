@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.core;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.internal.commons.core.ICommonsCoreConstants;
+
+/**
+ * Provides typed access to the attributes of a memento element. Shared by the DOM based {@link XmlMemento} and the
+ * streaming {@link XmlMementoReader}.
+ * <p>
+ * This class is not intended to be extended by clients.
+ * </p>
+ *
+ * @author agent
+ * @since 3.26
+ */
+public abstract class AbstractXmlMemento {
+
+	static final String TAG_ID = "XmlMemento.internal.id"; //$NON-NLS-1$
+
+	AbstractXmlMemento() {
+	}
+
+	/**
+	 * Returns the keys of all attributes of this memento.
+	 */
+	public abstract String[] getAttributeKeys();
+
+	/**
+	 * Returns the value of the given key as a boolean or <code>null</code> if the key is not set.
+	 */
+	public Boolean getBoolean(String key) {
+		String value = getString(key);
+		if (value == null) {
+			return null;
+		}
+		return Boolean.valueOf(value);
+	}
+
+	/**
+	 * Returns the value of the given key as a float or <code>null</code> if the key is not set or the value is not a
+	 * valid float.
+	 */
+	public Float getFloat(String key) {
+		String strValue = getString(key);
+		if (strValue == null) {
+			return null;
+		}
+		try {
+			return new Float(strValue);
+		} catch (NumberFormatException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, ICommonsCoreConstants.ID_PLUGIN,
+					"Memento problem - Invalid float for key: " //$NON-NLS-1$
+							+ key + " value: " + strValue, e)); //$NON-NLS-1$
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the id of this memento or an empty string if the memento does not have an id.
+	 *
+	 * @see XmlMemento#createChild(String, String)
+	 */
+	public String getID() {
+		String id = getString(TAG_ID);
+		return (id != null) ? id : ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the value of the given key as an integer or <code>null</code> if the key is not set or the value is not a
+	 * valid integer.
+	 */
+	public Integer getInteger(String key) {
+		String strValue = getString(key);
+		if (strValue == null) {
+			return null;
+		}
+		try {
+			return Integer.valueOf(strValue);
+		} catch (NumberFormatException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, ICommonsCoreConstants.ID_PLUGIN,
+					"Memento problem - invalid integer for key: " + key //$NON-NLS-1$
+							+ " value: " + strValue, e)); //$NON-NLS-1$
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the value of the given key or <code>null</code> if the key is not set.
+	 */
+	public abstract String getString(String key);
+
+	/**
+	 * Returns the data of the Text node of the memento or <code>null</code> if the memento has no Text node.
+	 */
+	public abstract String getTextData();
+
+	/**
+	 * Returns the element type of this memento.
+	 */
+	public abstract String getType();
+
+}
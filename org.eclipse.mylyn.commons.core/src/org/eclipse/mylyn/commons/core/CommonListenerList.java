@@ -12,8 +12,16 @@
 
 package org.eclipse.mylyn.commons.core;
 
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ISafeRunnable;
@@ -24,6 +32,11 @@ import org.eclipse.osgi.util.NLS;
 
 /**
  * A list like class for managing listeners. It is safe to call this class from different threads concurrently.
+ * <p>
+ * By default listeners are notified on the thread that invokes {@link #notify(Notifier)}. If an executor is set,
+ * listeners are notified asynchronously instead. Each listener receives events in the order they were fired and a slow
+ * listener does not delay the notification of other listeners.
+ * </p>
  * 
  * @since 3.7
  */
@@ -34,6 +47,18 @@ public class CommonListenerList<T> implements Iterable<T> {
 	 */
 	public static abstract class Notifier<T> {
 
+		/**
+		 * Returns a key that identifies the state this notifier reports. If listeners are notified asynchronously and an
+		 * event with an equal key is still pending for a listener, the pending event is discarded and the listener only
+		 * receives the latest event. Returns <code>null</code> by default which delivers every event.
+		 * 
+		 * @return the key or <code>null</code>, if the event must not be merged with other events
+		 * @since 3.26
+		 */
+		public Object getCoalescingKey() {
+			return null;
+		}
+
 		/**
 		 * Fires an event to <code>listener</code>.
 		 * 
@@ -46,10 +71,256 @@ public class CommonListenerList<T> implements Iterable<T> {
 
 	}
 
+	/**
+	 * Provides a snapshot of the notification metrics of a {@link CommonListenerList}.
+	 * 
+	 * @since 3.26
+	 */
+	public static class Statistics {
+
+		private final long droppedCount;
+
+		private final long maxLatency;
+
+		private final long mergedCount;
+
+		private final long notificationCount;
+
+		private final long pendingCount;
+
+		private final long totalLatency;
+
+		Statistics(long notificationCount, long mergedCount, long droppedCount, long pendingCount, long totalLatency,
+				long maxLatency) {
+			this.notificationCount = notificationCount;
+			this.mergedCount = mergedCount;
+			this.droppedCount = droppedCount;
+			this.pendingCount = pendingCount;
+			this.totalLatency = totalLatency;
+			this.maxLatency = maxLatency;
+		}
+
+		/**
+		 * Returns the average time in milliseconds between firing an event and the listener completing its
+		 * notification.
+		 */
+		public double getAverageLatency() {
+			return (notificationCount > 0) ? (double) totalLatency / notificationCount : 0;
+		}
+
+		/**
+		 * Returns the number of events that were not delivered because the listener was removed before the event was
+		 * processed.
+		 */
+		public long getDroppedCount() {
+			return droppedCount;
+		}
+
+		/**
+		 * Returns the maximum time in milliseconds between firing an event and the listener completing its
+		 * notification.
+		 */
+		public long getMaxLatency() {
+			return maxLatency;
+		}
+
+		/**
+		 * Returns the number of events that were discarded because a later event with the same coalescing key was
+		 * fired.
+		 * 
+		 * @see Notifier#getCoalescingKey()
+		 */
+		public long getMergedCount() {
+			return mergedCount;
+		}
+
+		/**
+		 * Returns the number of times listeners were notified.
+		 */
+		public long getNotificationCount() {
+			return notificationCount;
+		}
+
+		/**
+		 * Returns the number of events that are queued for delivery.
+		 */
+		public long getPendingCount() {
+			return pendingCount;
+		}
+
+		/**
+		 * Returns the total time in milliseconds between firing events and listeners completing their notification.
+		 */
+		public long getTotalLatency() {
+			return totalLatency;
+		}
+
+		@Override
+		public String toString() {
+			return "Statistics [notificationCount=" + notificationCount + ", mergedCount=" + mergedCount //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", droppedCount=" + droppedCount + ", pendingCount=" + pendingCount + ", totalLatency=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ totalLatency + ", maxLatency=" + maxLatency + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+	}
+
+	private static class Event<T> {
+
+		private final long fired;
+
+		private final Object key;
+
+		private final Notifier<T> notifier;
+
+		private boolean superseded;
+
+		public Event(Notifier<T> notifier, Object key, long fired) {
+			this.notifier = notifier;
+			this.key = key;
+			this.fired = fired;
+		}
+
+	}
+
+	/**
+	 * Delivers an event to a listener. Instances are reused for all listeners that are notified of the same event.
+	 */
+	private class Notification implements ISafeRunnable {
+
+		private T listener;
+
+		private final Notifier<T> notifier;
+
+		public Notification(Notifier<T> notifier) {
+			this.notifier = notifier;
+		}
+
+		public void handleException(Throwable e) {
+			StatusHandler.log(new Status(IStatus.ERROR, pluginId, NLS.bind(
+					"Unexpected error notifying listener {0}", listener.getClass()), e)); //$NON-NLS-1$
+			remove(listener);
+		}
+
+		public void run() throws Exception {
+			notifier.run(listener);
+		}
+
+		void run(T listener, long fired) {
+			this.listener = listener;
+			SafeRunner.run(this);
+			recordLatency(System.nanoTime() - fired);
+		}
+
+	}
+
+	/**
+	 * Queues events for a single listener and delivers them in order on the executor.
+	 */
+	private class ListenerQueue implements Runnable {
+
+		private final LinkedList<Event<T>> events = new LinkedList<Event<T>>();
+
+		private final T listener;
+
+		private final Map<Object, Event<T>> pendingByKey = new HashMap<Object, Event<T>>();
+
+		private boolean removed;
+
+		private boolean scheduled;
+
+		public ListenerQueue(T listener) {
+			this.listener = listener;
+		}
+
+		public void run() {
+			while (true) {
+				Event<T> event;
+				synchronized (this) {
+					event = events.poll();
+					if (event == null || removed) {
+						scheduled = false;
+						return;
+					}
+					if (event.superseded) {
+						continue;
+					}
+					if (event.key != null) {
+						pendingByKey.remove(event.key);
+					}
+				}
+				pendingCount.decrementAndGet();
+				new Notification(event.notifier).run(listener, event.fired);
+			}
+		}
+
+		void enqueue(Event<T> event, Executor executor) {
+			synchronized (this) {
+				if (removed) {
+					droppedCount.incrementAndGet();
+					return;
+				}
+				if (event.key != null) {
+					Event<T> previous = pendingByKey.put(event.key, event);
+					if (previous != null) {
+						previous.superseded = true;
+						pendingCount.decrementAndGet();
+						mergedCount.incrementAndGet();
+					}
+				}
+				events.add(event);
+				pendingCount.incrementAndGet();
+				if (scheduled) {
+					return;
+				}
+				scheduled = true;
+			}
+			try {
+				executor.execute(this);
+			} catch (RejectedExecutionException e) {
+				// the executor is shutting down, deliver on the firing thread
+				run();
+			}
+		}
+
+		synchronized void dispose() {
+			removed = true;
+			for (Event<T> event : events) {
+				if (!event.superseded) {
+					pendingCount.decrementAndGet();
+					droppedCount.incrementAndGet();
+				}
+			}
+			events.clear();
+			pendingByKey.clear();
+		}
+
+	}
+
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	private volatile Executor executor;
+
 	private final CopyOnWriteArrayList<T> listeners;
 
+	private final AtomicLong maxLatency = new AtomicLong();
+
+	private final AtomicLong mergedCount = new AtomicLong();
+
+	private final AtomicLong notificationCount = new AtomicLong();
+
+	private final AtomicLong pendingCount = new AtomicLong();
+
 	private final String pluginId;
 
+	/**
+	 * The queues of all registered listeners. Queues are created and removed together with the listener while holding
+	 * the lock on this map so that events fired concurrently with {@link #remove(Object)} are not queued for removed
+	 * listeners.
+	 */
+	private final Map<T, ListenerQueue> queues = new ConcurrentHashMap<T, ListenerQueue>();
+
+	private final AtomicLong totalLatency = new AtomicLong();
+
 	/**
 	 * Constructs an empty list.
 	 * 
@@ -67,7 +338,31 @@ public class CommonListenerList<T> implements Iterable<T> {
 	 */
 	public void add(T listener) {
 		Assert.isNotNull(listener);
-		listeners.addIfAbsent(listener);
+		synchronized (queues) {
+			if (listeners.addIfAbsent(listener)) {
+				queues.put(listener, new ListenerQueue(listener));
+			}
+		}
+	}
+
+	/**
+	 * Returns the executor that is used to notify listeners or <code>null</code>, if listeners are notified on the
+	 * thread that fires the event.
+	 * 
+	 * @since 3.26
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Returns a snapshot of the notification metrics of this list.
+	 * 
+	 * @since 3.26
+	 */
+	public Statistics getStatistics() {
+		return new Statistics(notificationCount.get(), mergedCount.get(), droppedCount.get(), pendingCount.get(),
+				TimeUnit.NANOSECONDS.toMillis(totalLatency.get()), TimeUnit.NANOSECONDS.toMillis(maxLatency.get()));
 	}
 
 	/**
@@ -80,28 +375,67 @@ public class CommonListenerList<T> implements Iterable<T> {
 	/**
 	 * Invokes <code>runnable</code> for each listener. If {@link Notifier#run(Object)} throws an exception the
 	 * corresponding listener is removed from the list and a message is logged.
+	 * <p>
+	 * If an executor is set, this method returns immediately and listeners are notified asynchronously.
+	 * </p>
+	 * 
+	 * @see #setExecutor(Executor)
 	 */
 	public void notify(final Notifier<T> runnable) {
-		for (final T listener : listeners) {
-			SafeRunner.run(new ISafeRunnable() {
-				public void handleException(Throwable e) {
-					StatusHandler.log(new Status(IStatus.ERROR, pluginId, NLS.bind(
-							"Unexpected error notifying listener {0}", listener.getClass()), e)); //$NON-NLS-1$
-					remove(listener);
-				}
-
-				public void run() throws Exception {
-					runnable.run(listener);
+		Executor executor = this.executor;
+		if (executor != null) {
+			Object key = runnable.getCoalescingKey();
+			long fired = System.nanoTime();
+			for (T listener : listeners) {
+				ListenerQueue queue = queues.get(listener);
+				if (queue != null) {
+					queue.enqueue(new Event<T>(runnable, key, fired), executor);
 				}
-			});
+			}
+		} else {
+			long fired = System.nanoTime();
+			Notification notification = new Notification(runnable);
+			for (T listener : listeners) {
+				notification.run(listener, fired);
+			}
 		}
 	}
 
 	/**
-	 * Removes <code>listener</code> to the list of listeners.
+	 * Removes <code>listener</code> to the list of listeners. Events that are pending for <code>listener</code> are
+	 * discarded.
 	 */
 	public void remove(T listener) {
-		listeners.remove(listener);
+		ListenerQueue queue;
+		synchronized (queues) {
+			listeners.remove(listener);
+			queue = queues.remove(listener);
+		}
+		if (queue != null) {
+			queue.dispose();
+		}
+	}
+
+	/**
+	 * Sets the executor that is used to notify listeners. Each listener is notified of events in the order the events
+	 * were fired. If <code>executor</code> is <code>null</code>, listeners are notified on the thread that fires the
+	 * event.
+	 * 
+	 * @param executor
+	 *            the executor or <code>null</code>
+	 * @since 3.26
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	private void recordLatency(long latency) {
+		notificationCount.incrementAndGet();
+		totalLatency.addAndGet(latency);
+		long max;
+		do {
+			max = maxLatency.get();
+		} while (latency > max && !maxLatency.compareAndSet(max, latency));
 	}
 
 }
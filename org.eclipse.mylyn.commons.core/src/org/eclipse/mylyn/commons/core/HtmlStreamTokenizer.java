@@ -12,7 +12,6 @@
 
 package org.eclipse.mylyn.commons.core;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.net.URL;
@@ -28,20 +27,31 @@ import java.util.Locale;
  */
 public class HtmlStreamTokenizer {
 
+	private static final int READ_BUFFER_SIZE = 8192;
+
 	/** parser state */
 	private State state;
 
 	/** reader from which to parse the text */
-	private final BufferedReader in;
+	private final Reader in;
+
+	/** block of characters read from <code>in</code> */
+	private final char[] readBuffer;
+
+	/** index of the next character to consume in <code>readBuffer</code> */
+	private int readPosition;
+
+	/** number of valid characters in <code>readBuffer</code> */
+	private int readLimit;
 
 	/** base URL for resolving relative URLs */
 	private final URL base;
 
 	/** buffer holding the text of the current token */
-	private final StringBuffer textBuffer;
+	private final StringBuilder textBuffer;
 
 	/** buffer holding whitespace preceding the current token */
-	private final StringBuffer whitespaceBuffer;
+	private final StringBuilder whitespaceBuffer;
 
 	/**
 	 * holds a token that was read and then put back in the queue to be returned again on <code>nextToken</code> call
@@ -59,6 +69,15 @@ public class HtmlStreamTokenizer {
 	/** Allow class client to choose if tag attributes are escaped or not */
 	private boolean escapeTagValues;
 
+	/** type of the token the cursor is positioned on */
+	private Token.Type tokenType;
+
+	/** tag of the token the cursor is positioned on */
+	private HtmlTag tag;
+
+	/** tag instance that is recycled by {@link #next()} */
+	private final HtmlTag reusableTag;
+
 	/**
 	 * Constructor.
 	 * 
@@ -68,12 +87,14 @@ public class HtmlStreamTokenizer {
 	 *            URL for resolving relative URLs
 	 */
 	public HtmlStreamTokenizer(Reader in, URL base) {
-		textBuffer = new StringBuffer();
-		whitespaceBuffer = new StringBuffer();
+		textBuffer = new StringBuilder();
+		whitespaceBuffer = new StringBuilder();
 		pushbackChar = 0;
 		state = State.TEXT;
-		this.in = new BufferedReader(in);
+		this.in = in;
+		this.readBuffer = new char[READ_BUFFER_SIZE];
 		this.base = base;
+		this.reusableTag = new HtmlTag(base);
 		escapeTagValues = true;
 	}
 
@@ -83,6 +104,9 @@ public class HtmlStreamTokenizer {
 
 	/**
 	 * Returns the next token from the stream.
+	 * <p>
+	 * Each call allocates a new token. Use {@link #next()} to iterate over large documents without allocating objects
+	 * per token.
 	 */
 	public Token nextToken() throws IOException, ParseException {
 		if (pushbackToken != null) {
@@ -91,38 +115,150 @@ public class HtmlStreamTokenizer {
 			return token;
 		}
 
+		Token.Type type = readToken(new HtmlTag(base));
+		if (type == Token.EOF) {
+			return new Token();
+		} else if (type == Token.TAG) {
+			return new Token(tag, new StringBuffer(whitespaceBuffer));
+		} else {
+			return new Token(new StringBuffer(textBuffer), new StringBuffer(whitespaceBuffer), type == Token.COMMENT);
+		}
+	}
+
+	/**
+	 * Advances the cursor to the next token in the stream. In contrast to {@link #nextToken()} no token objects are
+	 * allocated: the text, whitespace and tag of the current token are exposed through {@link #getText()},
+	 * {@link #getWhitespace()} and {@link #getTag()} and are only valid until the next invocation of this method.
+	 * 
+	 * @return <code>false</code>, if the end of the stream has been reached; <code>true</code>, otherwise
+	 * @since 3.26
+	 */
+	public boolean next() throws IOException, ParseException {
+		if (pushbackToken != null) {
+			Token token = pushbackToken;
+			pushbackToken = null;
+			tokenType = token.getType();
+			textBuffer.setLength(0);
+			whitespaceBuffer.setLength(0);
+			if (token.getWhitespace() != null) {
+				whitespaceBuffer.append(token.getWhitespace());
+			}
+			if (tokenType == Token.TAG) {
+				tag = (HtmlTag) token.getValue();
+			} else if (token.getValue() != null) {
+				textBuffer.append((StringBuffer) token.getValue());
+			}
+			return tokenType != Token.EOF;
+		}
+
+		reusableTag.reset();
+		tokenType = readToken(reusableTag);
+		return tokenType != Token.EOF;
+	}
+
+	/**
+	 * Returns the type of the token the cursor is positioned on.
+	 * 
+	 * @see #next()
+	 * @since 3.26
+	 */
+	public Token.Type getTokenType() {
+		return tokenType;
+	}
+
+	/**
+	 * Returns the text of the current <code>TEXT</code> or <code>COMMENT</code> token. The returned sequence is reused
+	 * by subsequent invocations of {@link #next()}.
+	 * 
+	 * @since 3.26
+	 */
+	public CharSequence getText() {
+		return textBuffer;
+	}
+
+	/**
+	 * Returns the whitespace preceding the current token. The returned sequence is reused by subsequent invocations of
+	 * {@link #next()}.
+	 * 
+	 * @since 3.26
+	 */
+	public CharSequence getWhitespace() {
+		return whitespaceBuffer;
+	}
+
+	/**
+	 * Returns the tag of the current <code>TAG</code> token, <code>null</code> otherwise. The returned tag is reused
+	 * by subsequent invocations of {@link #next()} and needs to be copied if it is retained.
+	 * 
+	 * @see HtmlTag#HtmlTag(HtmlTag)
+	 * @since 3.26
+	 */
+	public HtmlTag getTag() {
+		return (tokenType == Token.TAG) ? tag : null;
+	}
+
+	private int read() throws IOException {
+		if (readPosition == readLimit) {
+			readPosition = 0;
+			readLimit = in.read(readBuffer, 0, readBuffer.length);
+			if (readLimit <= 0) {
+				readLimit = 0;
+				return -1;
+			}
+		}
+		return readBuffer[readPosition++];
+	}
+
+	/**
+	 * Reads the next token into <code>textBuffer</code> and <code>whitespaceBuffer</code>. Tags are parsed into
+	 * <code>target</code>.
+	 */
+	private Token.Type readToken(HtmlTag target) throws IOException, ParseException {
 		int closingComment = 0;
 
 		textBuffer.setLength(0);
 		whitespaceBuffer.setLength(0);
+		tag = null;
 		do {
 			int ch;
 			if (pushbackChar != 0) {
 				ch = pushbackChar;
 				pushbackChar = 0;
 			} else {
-				ch = in.read();
+				if (state == State.TEXT) {
+					// consume a run of plain text directly from the read buffer
+					int start = readPosition;
+					while (readPosition < readLimit) {
+						char c = readBuffer[readPosition];
+						if (c == '<' || Character.isWhitespace(c)) {
+							break;
+						}
+						readPosition++;
+					}
+					textBuffer.append(readBuffer, start, readPosition - start);
+				}
+				ch = read();
 			}
 			if (ch < 0) {
 				State oldState = state;
 				state = State.EOF;
 				if (textBuffer.length() > 0 && oldState == State.TEXT) {
-					return new Token(textBuffer, whitespaceBuffer, false);
+					return Token.TEXT;
 				} else {
-					return new Token();
+					return Token.EOF;
 				}
 			}
 			if (state == State.TEXT) {
 				if (ch == '<') {
 					state = State.TAG;
 					if (textBuffer.length() > 0) {
-						return new Token(textBuffer, whitespaceBuffer, false);
+						return Token.TEXT;
 					}
 				} else if (Character.isWhitespace((char) ch)) {
 					pushbackChar = ch;
 					state = State.WS;
 					if (textBuffer.length() > 0) {
-						return new Token(textBuffer, whitespaceBuffer, false);
+						return Token.TEXT;
 					}
 				} else {
 					textBuffer.append((char) ch);
@@ -137,9 +273,9 @@ public class HtmlStreamTokenizer {
 			} else if (state == State.TAG) {
 				if (ch == '>') {
 					state = State.TEXT;
-					HtmlTag tag = new HtmlTag(base);
-					parseTag(textBuffer.toString(), tag, escapeTagValues);
-					return new Token(tag, whitespaceBuffer);
+					parseTag(textBuffer, target, escapeTagValues);
+					tag = target;
+					return Token.TAG;
 				}
 				if (ch == '<' && textBuffer.length() == 0) {
 					textBuffer.append("<<"); //$NON-NLS-1$
@@ -170,7 +306,7 @@ public class HtmlStreamTokenizer {
 					textBuffer.setLength(textBuffer.length() - 2);
 					closingComment = 0;
 					state = State.TEXT;
-					return new Token(textBuffer, whitespaceBuffer, true);
+					return Token.COMMENT;
 				}
 				if (ch == '-') {
 					closingComment++;
@@ -192,7 +328,7 @@ public class HtmlStreamTokenizer {
 	/**
 	 * Parses an HTML tag out of a string of characters.
 	 */
-	private static void parseTag(String s, HtmlTag tag, boolean escapeValues) throws ParseException {
+	private static void parseTag(CharSequence s, HtmlTag tag, boolean escapeValues) throws ParseException {
 
 		int i = 0;
 		for (; i < s.length() && Character.isWhitespace(s.charAt(i)); i++) {
@@ -209,11 +345,11 @@ public class HtmlStreamTokenizer {
 
 		if (s.charAt(i - 1) == '/') {
 			tag.setSelfTerminating(true);
-			tag.setTagName(s.substring(start, i - 1));
+			tag.setTagName(substring(s, start, i - 1));
 			return;
 		}
 
-		tag.setTagName(s.substring(start, i));
+		tag.setTagName(substring(s, start, i));
 
 		for (; i < s.length() && Character.isWhitespace(s.charAt(i)); i++) {
 			// just move forward
@@ -229,7 +365,7 @@ public class HtmlStreamTokenizer {
 	/**
 	 * parses HTML tag attributes from a buffer and sets them in an HtmlTag
 	 */
-	private static void parseAttributes(HtmlTag tag, String s, int i, boolean escapeValues) throws ParseException {
+	private static void parseAttributes(HtmlTag tag, CharSequence s, int i, boolean escapeValues) throws ParseException {
 		while (i < s.length()) {
 			// skip whitespace
 			while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
@@ -247,7 +383,7 @@ public class HtmlStreamTokenizer {
 			for (; i < s.length() && !Character.isWhitespace(s.charAt(i)) && s.charAt(i) != '='; i++) {
 				// just move forward
 			}
-			String attributeName = s.substring(start, i).toLowerCase(Locale.ENGLISH);
+			String attributeName = substring(s, start, i).toLowerCase(Locale.ENGLISH);
 
 			if (attributeName.equals("/")) { //$NON-NLS-1$
 				tag.setSelfTerminating(true);
@@ -286,9 +422,9 @@ public class HtmlStreamTokenizer {
 					return; // shouldn't happen if input returned by nextToken
 				}
 				if (escapeValues) {
-					attributeValue = unescape(s.substring(start, i));
+					attributeValue = unescape(substring(s, start, i));
 				} else {
-					attributeValue = s.substring(start, i);
+					attributeValue = substring(s, start, i);
 				}
 				i++;
 			} else if (s.charAt(i) == '\'') {
@@ -299,19 +435,23 @@ public class HtmlStreamTokenizer {
 				if (i == s.length()) {
 					return; // shouldn't happen if input returned by nextToken
 				}
-				attributeValue = unescape(s.substring(start, i));
+				attributeValue = unescape(substring(s, start, i));
 				i++;
 			} else {
 				start = i;
 				for (; i < s.length() && !Character.isWhitespace(s.charAt(i)); i++) {
 					// just move forward
 				}
-				attributeValue = s.substring(start, i);
+				attributeValue = substring(s, start, i);
 			}
 			tag.setAttribute(attributeName, attributeValue);
 		}
 	}
 
+	private static String substring(CharSequence s, int start, int end) {
+		return s.subSequence(start, end).toString();
+	}
+
 	/**
 	 * Returns a string with HTML escapes changed into their corresponding characters.
 	 * 
@@ -92,6 +92,17 @@ public class HtmlTag {
 		baseUrl = url;
 	}
 
+	/**
+	 * Clears name, type and attributes so that the tag can be reused for parsing.
+	 */
+	void reset() {
+		tagName = null;
+		tagType = Type.UNKNOWN;
+		isEndTag = false;
+		selfTerminating = false;
+		attributes.clear();
+	}
+
 	/**
 	 * Returns the tag's type (linked to the tag's name).
 	 */
@@ -17,7 +17,7 @@ import java.io.StringReader;
 import java.text.ParseException;
 
 import org.eclipse.mylyn.commons.core.HtmlStreamTokenizer.Token;
-import org.eclipse.mylyn.internal.commons.core.Html2TextReader;
+import org.eclipse.mylyn.internal.commons.core.BufferedHtml2TextReader;
 
 /**
  * @author Steffen Pingel
@@ -35,14 +35,27 @@ public class HtmlUtil {
 	 *             thrown if a parsing error occurs
 	 */
 	public static String toText(String htmlText) throws IOException {
-		Html2TextReader reader = new Html2TextReader(new StringReader(htmlText));
+		return toText(htmlText, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Strips HTML tags from a text and returns at most <code>maxLength</code> characters of the resulting text. The
+	 * remainder of <code>htmlText</code> is not processed once the limit has been reached which makes this method
+	 * suitable for rendering previews of large documents.
+	 * 
+	 * @param htmlText
+	 *            a string that contains HTML tags
+	 * @param maxLength
+	 *            the maximum number of characters to return
+	 * @return htmlText converted to plain text
+	 * @throws IOException
+	 *             thrown if a parsing error occurs
+	 * @since 3.26
+	 */
+	public static String toText(String htmlText, int maxLength) throws IOException {
+		BufferedHtml2TextReader reader = new BufferedHtml2TextReader(new StringReader(htmlText), maxLength);
 		try {
-			int c;
-			StringBuffer sb = new StringBuffer(htmlText.length());
-			while ((c = reader.read()) != -1) {
-				sb.append((char) c);
-			}
-			return sb.toString();
+			return reader.getString();
 		} finally {
 			reader.close();
 		}
@@ -53,11 +66,11 @@ public class HtmlUtil {
 	 */
 	public static String getTextContent(HtmlStreamTokenizer tokenizer) throws IOException, ParseException {
 		StringBuilder sb = new StringBuilder();
-		for (Token token = tokenizer.nextToken(); token.getType() != Token.EOF; token = tokenizer.nextToken()) {
-			if (token.getType() == Token.TEXT) {
-				sb.append(token.toString().trim());
+		while (tokenizer.next()) {
+			if (tokenizer.getTokenType() == Token.TEXT) {
+				appendTrimmed(sb, tokenizer.getText());
 				sb.append(" "); //$NON-NLS-1$
-			} else if (token.getType() == Token.COMMENT) {
+			} else if (tokenizer.getTokenType() == Token.COMMENT) {
 				// ignore
 			} else {
 				break;
@@ -66,4 +79,16 @@ public class HtmlUtil {
 		return sb.toString().trim();
 	}
 
+	private static void appendTrimmed(StringBuilder sb, CharSequence text) {
+		int start = 0;
+		int end = text.length();
+		while (start < end && text.charAt(start) <= ' ') {
+			start++;
+		}
+		while (start < end && text.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		sb.append(text, start, end);
+	}
+
 }
@@ -15,14 +15,20 @@ package org.eclipse.mylyn.commons.core;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Calendar;
+import java.util.List;
 
 import org.eclipse.core.internal.runtime.InternalPlatform;
 import org.eclipse.core.internal.runtime.PlatformActivator;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.mylyn.internal.commons.core.AsyncStatusLogger;
 import org.eclipse.mylyn.internal.commons.core.ErrorReporterManager;
 
 /**
+ * Logs statuses to the platform log. By default statuses are written to the log on the calling thread. If asynchronous
+ * logging is enabled statuses are written to the log on a background thread and repeated statuses are logged once with
+ * a summary of the number of repetitions.
+ * 
  * @author Mik Kersten
  * @author Shawn Minto
  * @author Steffen Pingel
@@ -31,25 +37,33 @@ import org.eclipse.mylyn.internal.commons.core.ErrorReporterManager;
  */
 public class StatusHandler {
 
+	private static final long FLUSH_TIMEOUT = 10 * 1000;
+
+	private static final long SHUTDOWN_FLUSH_TIMEOUT = 2 * 1000;
+
+	private static volatile boolean asynchronous;
+
+	private static AsyncStatusLogger asyncLogger;
+
 	private static ErrorReporterManager errorReporterManager;
 
 	/**
 	 * Logs <code>status</code> to this bundle's log if a platform is running. Does nothing if no platform is running.
 	 * Plug-ins that require running in Eclipse are encouraged to use their plug-in log.
+	 * <p>
+	 * If logging is asynchronous the status is queued and written to the log on a background thread.
+	 * </p>
 	 * 
 	 * @param status
 	 *            status to log
+	 * @see #setAsynchronous(boolean)
 	 * @since 3.0
 	 */
 	public static void log(IStatus status) {
-		if (InternalPlatform.getDefault() != null && PlatformActivator.getContext() != null) {
-			ILog log = InternalPlatform.getDefault().getLog(PlatformActivator.getContext().getBundle());
-			if (log != null) {
-				log.log(status);
-			}
-		}
-		if (CoreUtil.TEST_MODE) {
-			dumpErrorToConsole(status);
+		if (asynchronous) {
+			getAsyncLogger().log(status, false);
+		} else {
+			logToPlatform(status);
 		}
 	}
 
@@ -66,8 +80,132 @@ public class StatusHandler {
 	 */
 	@Deprecated
 	public static void fail(IStatus status) {
-		log(status);
-		getErrorReporterManager().fail(status);
+		if (asynchronous) {
+			getAsyncLogger().log(status, true);
+		} else {
+			logToPlatform(status);
+			getErrorReporterManager().fail(status);
+		}
+	}
+
+	/**
+	 * Blocks until all statuses that have been passed to {@link #log(IStatus)} have been written to the log, including
+	 * summaries of statuses that were suppressed as repetitions.
+	 * 
+	 * @return true, if all statuses were written; false, if the operation timed out
+	 * @since 3.26
+	 */
+	public static boolean flush() {
+		AsyncStatusLogger logger;
+		synchronized (StatusHandler.class) {
+			logger = asyncLogger;
+		}
+		if (logger == null) {
+			return true;
+		}
+		try {
+			return logger.flush(FLUSH_TIMEOUT);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Writes queued statuses to the log and stops the background thread. Statuses that are logged afterwards are
+	 * written on the calling thread.
+	 * 
+	 * @since 3.26
+	 */
+	public static void shutdown() {
+		AsyncStatusLogger logger;
+		synchronized (StatusHandler.class) {
+			logger = asyncLogger;
+		}
+		if (logger == null) {
+			return;
+		}
+		try {
+			logger.flush(FLUSH_TIMEOUT);
+			logger.shutdown(SHUTDOWN_FLUSH_TIMEOUT);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Returns true, if statuses are written to the log on a background thread.
+	 * 
+	 * @since 3.26
+	 */
+	public static boolean isAsynchronous() {
+		return asynchronous;
+	}
+
+	/**
+	 * Controls whether statuses are written to the log on a background thread. Logging is synchronous by default. If
+	 * set to false, statuses are written immediately on the calling thread and repetitions are not suppressed. Statuses
+	 * that have been queued before are flushed.
+	 * <p>
+	 * Queued statuses are flushed when the bundle is stopped and when the virtual machine shuts down.
+	 * </p>
+	 * 
+	 * @since 3.26
+	 */
+	public static void setAsynchronous(boolean asynchronous) {
+		StatusHandler.asynchronous = asynchronous;
+		if (!asynchronous) {
+			flush();
+		}
+	}
+
+	private static synchronized AsyncStatusLogger getAsyncLogger() {
+		if (asyncLogger == null) {
+			asyncLogger = new AsyncStatusLogger(new AsyncStatusLogger.Sink() {
+				public void log(List<IStatus> statuses) {
+					ILog log = getPlatformLog();
+					for (IStatus status : statuses) {
+						if (log != null) {
+							log.log(status);
+						}
+						if (CoreUtil.TEST_MODE) {
+							dumpErrorToConsole(status);
+						}
+					}
+				}
+
+				public void report(List<IStatus> statuses) {
+					for (IStatus status : statuses) {
+						getErrorReporterManager().fail(status);
+					}
+				}
+			}, new AsyncStatusLogger.Sink() {
+				public void log(List<IStatus> statuses) {
+					// the platform log failed, fall back to the console
+					for (IStatus status : statuses) {
+						dumpErrorToConsole(status);
+					}
+				}
+
+				public void report(List<IStatus> statuses) {
+				}
+			}, AsyncStatusLogger.DEFAULT_CAPACITY);
+			try {
+				Runtime.getRuntime().addShutdownHook(new Thread("Mylyn Status Logger Shutdown") { //$NON-NLS-1$
+					@Override
+					public void run() {
+						try {
+							asyncLogger.flush(SHUTDOWN_FLUSH_TIMEOUT);
+						} catch (InterruptedException e) {
+							// give up
+						}
+					}
+				});
+			} catch (IllegalStateException e) {
+				// already shutting down
+			}
+		}
+		return asyncLogger;
 	}
 
 	private static synchronized ErrorReporterManager getErrorReporterManager() {
@@ -77,6 +215,23 @@ public class StatusHandler {
 		return errorReporterManager;
 	}
 
+	private static ILog getPlatformLog() {
+		if (InternalPlatform.getDefault() != null && PlatformActivator.getContext() != null) {
+			return InternalPlatform.getDefault().getLog(PlatformActivator.getContext().getBundle());
+		}
+		return null;
+	}
+
+	private static void logToPlatform(IStatus status) {
+		ILog log = getPlatformLog();
+		if (log != null) {
+			log.log(status);
+		}
+		if (CoreUtil.TEST_MODE) {
+			dumpErrorToConsole(status);
+		}
+	}
+
 	private static void dumpErrorToConsole(IStatus status) {
 		StringBuilder sb = new StringBuilder();
 		sb.append("["); //$NON-NLS-1$
@@ -23,9 +23,6 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.mylyn.internal.commons.core.ICommonsCoreConstants;
 import org.eclipse.mylyn.internal.commons.core.Messages;
 import org.w3c.dom.Attr;
 import org.w3c.dom.DOMException;
@@ -50,13 +47,25 @@ import org.xml.sax.SAXParseException;
  * @author Manuel Doninger
  * @since 3.7
  */
-public final class XmlMemento {
+public final class XmlMemento extends AbstractXmlMemento {
+
+	private static final ThreadLocal<DocumentBuilder> documentBuilder = new ThreadLocal<DocumentBuilder>();
 
 	private final Document factory;
 
 	private final Element element;
 
-	private static final String TAG_ID = "XmlMemento.internal.id"; //$NON-NLS-1$
+	/**
+	 * Returns a parser that is cached per thread. The factory lookup is expensive compared to parsing small documents.
+	 */
+	private static DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+		DocumentBuilder builder = documentBuilder.get();
+		if (builder == null) {
+			builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+			documentBuilder.set(builder);
+		}
+		return builder;
+	}
 
 	/**
 	 * Creates a <code>Document</code> from the <code>Reader</code> and returns a memento on the first
@@ -93,9 +102,9 @@ public final class XmlMemento {
 		String errorMessage = null;
 		Exception exception = null;
 
+		DocumentBuilder parser = null;
 		try {
-			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-			DocumentBuilder parser = factory.newDocumentBuilder();
+			parser = getDocumentBuilder();
 			InputSource source = new InputSource(reader);
 			if (baseDir != null) {
 				source.setSystemId(baseDir);
@@ -138,6 +147,10 @@ public final class XmlMemento {
 		} catch (SAXException e) {
 			exception = e;
 			errorMessage = Messages.XMLMemento_formatError;
+		} finally {
+			if (parser != null) {
+				parser.reset();
+			}
 		}
 
 		String problemText = null;
@@ -161,7 +174,7 @@ public final class XmlMemento {
 	public static XmlMemento createWriteRoot(String type) throws DOMException {
 		Document document;
 		try {
-			document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+			document = getDocumentBuilder().newDocument();
 			Element element = document.createElement(type);
 			document.appendChild(element);
 			return new XmlMemento(document, element);
@@ -308,25 +321,6 @@ public final class XmlMemento {
 		return results;
 	}
 
-	/* (non-Javadoc)
-	 * Method declared in XMLMemento.
-	 */
-	public Float getFloat(String key) {
-		Attr attr = element.getAttributeNode(key);
-		if (attr == null) {
-			return null;
-		}
-		String strValue = attr.getValue();
-		try {
-			return new Float(strValue);
-		} catch (NumberFormatException e) {
-			StatusHandler.log(new Status(IStatus.ERROR, ICommonsCoreConstants.ID_PLUGIN,
-					"Memento problem - Invalid float for key: " //$NON-NLS-1$
-							+ key + " value: " + strValue, e)); //$NON-NLS-1$
-			return null;
-		}
-	}
-
 	/**
 	 * @since 3.4
 	 */
@@ -334,30 +328,8 @@ public final class XmlMemento {
 		return element.getNodeName();
 	}
 
-	/* (non-Javadoc)
-	 * Method declared in XMLMemento.
-	 */
-	public String getID() {
-		return element.getAttribute(TAG_ID);
-	}
-
-	/* (non-Javadoc)
-	 * Method declared in XMLMemento.
-	 */
-	public Integer getInteger(String key) {
-		Attr attr = element.getAttributeNode(key);
-		if (attr == null) {
-			return null;
-		}
-		String strValue = attr.getValue();
-		try {
-			return Integer.valueOf(strValue);
-		} catch (NumberFormatException e) {
-			StatusHandler.log(new Status(IStatus.ERROR, ICommonsCoreConstants.ID_PLUGIN,
-					"Memento problem - invalid integer for key: " + key //$NON-NLS-1$
-							+ " value: " + strValue, e)); //$NON-NLS-1$
-			return null;
-		}
+	Element getElement() {
+		return element;
 	}
 
 	/* (non-Javadoc)
@@ -371,17 +343,6 @@ public final class XmlMemento {
 		return attr.getValue();
 	}
 
-	/**
-	 * @since 3.4
-	 */
-	public Boolean getBoolean(String key) {
-		Attr attr = element.getAttributeNode(key);
-		if (attr == null) {
-			return null;
-		}
-		return Boolean.valueOf(attr.getValue());
-	}
-
 	/**
 	 * Returns the data of the Text node of the memento. Each memento is allowed only one Text node.
 	 * 
@@ -579,6 +540,52 @@ public final class XmlMemento {
 		}
 	}
 
+	private static void appendEscapedChar(StringBuffer buffer, char c) {
+		String replacement = getReplacement(c);
+		if (replacement != null) {
+			buffer.append('&');
+			buffer.append(replacement);
+			buffer.append(';');
+		} else if (c == 9 || c == 10 || c == 13 || c >= 32) {
+			buffer.append(c);
+		}
+	}
+
+	static String getEscaped(String s) {
+		StringBuffer result = new StringBuffer(s.length() + 10);
+		for (int i = 0; i < s.length(); ++i) {
+			appendEscapedChar(result, s.charAt(i));
+		}
+		return result.toString();
+	}
+
+	private static String getReplacement(char c) {
+		// Encode special XML characters into the equivalent character references.
+		// The first five are defined by default for all XML documents.
+		// The next three (#xD, #xA, #x9) are encoded to avoid them
+		// being converted to spaces on deserialization
+		// (fixes bug 93720)
+		switch (c) {
+		case '<':
+			return "lt"; //$NON-NLS-1$
+		case '>':
+			return "gt"; //$NON-NLS-1$
+		case '"':
+			return "quot"; //$NON-NLS-1$
+		case '\'':
+			return "apos"; //$NON-NLS-1$
+		case '&':
+			return "amp"; //$NON-NLS-1$
+		case '\r':
+			return "#x0D"; //$NON-NLS-1$
+		case '\n':
+			return "#x0A"; //$NON-NLS-1$
+		case '\u0009':
+			return "#x09"; //$NON-NLS-1$
+		}
+		return null;
+	}
+
 	/**
 	 * A simple XML writer. Using this instead of the javax.xml.transform classes allows compilation against JCL
 	 * Foundation (bug 80053).
@@ -658,52 +665,6 @@ public final class XmlMemento {
 			sb.append(">"); //$NON-NLS-1$
 			print(sb.toString());
 		}
-
-		private static void appendEscapedChar(StringBuffer buffer, char c) {
-			String replacement = getReplacement(c);
-			if (replacement != null) {
-				buffer.append('&');
-				buffer.append(replacement);
-				buffer.append(';');
-			} else if (c == 9 || c == 10 || c == 13 || c >= 32) {
-				buffer.append(c);
-			}
-		}
-
-		private static String getEscaped(String s) {
-			StringBuffer result = new StringBuffer(s.length() + 10);
-			for (int i = 0; i < s.length(); ++i) {
-				appendEscapedChar(result, s.charAt(i));
-			}
-			return result.toString();
-		}
-
-		private static String getReplacement(char c) {
-			// Encode special XML characters into the equivalent character references.
-			// The first five are defined by default for all XML documents.
-			// The next three (#xD, #xA, #x9) are encoded to avoid them
-			// being converted to spaces on deserialization
-			// (fixes bug 93720)
-			switch (c) {
-			case '<':
-				return "lt"; //$NON-NLS-1$
-			case '>':
-				return "gt"; //$NON-NLS-1$
-			case '"':
-				return "quot"; //$NON-NLS-1$
-			case '\'':
-				return "apos"; //$NON-NLS-1$
-			case '&':
-				return "amp"; //$NON-NLS-1$
-			case '\r':
-				return "#x0D"; //$NON-NLS-1$
-			case '\n':
-				return "#x0A"; //$NON-NLS-1$
-			case '\u0009':
-				return "#x09"; //$NON-NLS-1$
-			}
-			return null;
-		}
 	}
 
 }
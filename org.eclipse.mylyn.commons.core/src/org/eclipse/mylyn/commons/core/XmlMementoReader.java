@@ -0,0 +1,302 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.mylyn.internal.commons.core.Messages;
+
+/**
+ * A memento that reads a document incrementally. Unlike {@link XmlMemento} the document is not loaded into memory.
+ * Each memento provides the attributes and text of a single element and children are visited in document order by
+ * invoking {@link #nextChild()}:
+ *
+ * <pre>
+ * XmlMementoReader root = XmlMementoReader.createReadRoot(reader);
+ * try {
+ * 	XmlMementoReader child;
+ * 	while ((child = root.nextChild()) != null) {
+ * 		String id = child.getString(&quot;id&quot;);
+ * 	}
+ * } finally {
+ * 	root.close();
+ * }
+ * </pre>
+ * <p>
+ * Only the memento that was returned last and its ancestors can be used to advance the reader. Children that are not
+ * fully read are skipped when the next sibling is requested. The text data of a memento is the text that precedes the
+ * first child element, which is where {@link XmlMemento#putTextData(String)} places it.
+ * </p>
+ * <p>
+ * This class is not intended to be extended by clients.
+ * </p>
+ *
+ * @author agent
+ * @since 3.26
+ * @see XmlMementoWriter
+ */
+public final class XmlMementoReader extends AbstractXmlMemento implements Closeable {
+
+	private static class ReaderState {
+
+		private final XMLStreamReader reader;
+
+		private final List<XmlMementoReader> path = new ArrayList<XmlMementoReader>();
+
+		private int depth;
+
+		/**
+		 * Set if the current event of the reader has been read ahead but not processed.
+		 */
+		private boolean pending;
+
+		public ReaderState(XMLStreamReader reader) {
+			this.reader = reader;
+		}
+
+		public int next() throws XMLStreamException {
+			if (pending) {
+				pending = false;
+				return reader.getEventType();
+			}
+			return reader.next();
+		}
+
+	}
+
+	private static final ThreadLocal<XMLInputFactory> inputFactory = new ThreadLocal<XMLInputFactory>();
+
+	private static final String[] EMPTY_STRING_ARRAY = new String[0];
+
+	/**
+	 * Returns a memento on the first element of the document read from <code>reader</code>.
+	 *
+	 * @param reader
+	 *            the <code>Reader</code> used to read the memento's document
+	 * @return a memento on the first element of the document
+	 * @throws InvocationTargetException
+	 *             if IO problems, invalid format, or no element.
+	 */
+	public static XmlMementoReader createReadRoot(Reader reader) throws InvocationTargetException {
+		try {
+			ReaderState state = new ReaderState(getInputFactory().createXMLStreamReader(reader));
+			while (state.reader.hasNext()) {
+				if (state.next() == XMLStreamConstants.START_ELEMENT) {
+					state.depth = 1;
+					return new XmlMementoReader(state, 1);
+				}
+			}
+		} catch (XMLStreamException e) {
+			throw new InvocationTargetException(e, Messages.XMLMemento_formatError);
+		}
+		throw new InvocationTargetException(null, Messages.XMLMemento_noElement);
+	}
+
+	/**
+	 * Returns a factory that is cached per thread since factories are not guaranteed to be thread-safe and the factory
+	 * lookup is expensive compared to reading small documents.
+	 */
+	private static XMLInputFactory getInputFactory() {
+		XMLInputFactory factory = inputFactory.get();
+		if (factory == null) {
+			factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+			factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+			inputFactory.set(factory);
+		}
+		return factory;
+	}
+
+	private static String getName(String prefix, String localName) {
+		return (prefix != null && prefix.length() > 0) ? prefix + ":" + localName : localName; //$NON-NLS-1$
+	}
+
+	private final String[] attributeKeys;
+
+	private final String[] attributeValues;
+
+	private final int depth;
+
+	private boolean finished;
+
+	private final ReaderState state;
+
+	private String textData;
+
+	private final String type;
+
+	private XmlMementoReader(ReaderState state, int depth) throws XMLStreamException {
+		this.state = state;
+		this.depth = depth;
+
+		XMLStreamReader reader = state.reader;
+		this.type = getName(reader.getPrefix(), reader.getLocalName());
+		int count = reader.getAttributeCount();
+		if (count == 0) {
+			this.attributeKeys = EMPTY_STRING_ARRAY;
+			this.attributeValues = EMPTY_STRING_ARRAY;
+		} else {
+			this.attributeKeys = new String[count];
+			this.attributeValues = new String[count];
+			for (int i = 0; i < count; i++) {
+				attributeKeys[i] = getName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i));
+				attributeValues[i] = reader.getAttributeValue(i);
+			}
+		}
+
+		while (state.path.size() >= depth) {
+			state.path.remove(state.path.size() - 1);
+		}
+		state.path.add(this);
+
+		readTextData();
+	}
+
+	/**
+	 * Closes the underlying stream reader. The <code>Reader</code> that was passed to
+	 * {@link #createReadRoot(Reader)} is not closed.
+	 */
+	public void close() throws IOException {
+		try {
+			state.reader.close();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+	@Override
+	public String[] getAttributeKeys() {
+		return attributeKeys.clone();
+	}
+
+	@Override
+	public String getString(String key) {
+		for (int i = 0; i < attributeKeys.length; i++) {
+			if (attributeKeys[i].equals(key)) {
+				return attributeValues[i];
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String getTextData() {
+		return textData;
+	}
+
+	@Override
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * Advances the reader to the next child of this memento. Remaining content of the previously returned child is
+	 * skipped.
+	 *
+	 * @return the next child or <code>null</code>, if all children have been read
+	 * @throws InvocationTargetException
+	 *             if IO problems or invalid format
+	 * @throws IllegalStateException
+	 *             if the reader has advanced past this memento
+	 */
+	public XmlMementoReader nextChild() throws InvocationTargetException {
+		if (finished) {
+			return null;
+		}
+		if (state.path.size() < depth || state.path.get(depth - 1) != this) {
+			throw new IllegalStateException("The reader has advanced past this memento"); //$NON-NLS-1$
+		}
+		try {
+			while (state.reader.hasNext() || state.pending) {
+				int event = state.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					state.depth++;
+					if (state.depth == depth + 1) {
+						return new XmlMementoReader(state, state.depth);
+					}
+				} else if (event == XMLStreamConstants.END_ELEMENT) {
+					state.depth--;
+					if (state.depth < depth) {
+						break;
+					}
+				}
+			}
+		} catch (XMLStreamException e) {
+			throw new InvocationTargetException(e, Messages.XMLMemento_formatError);
+		}
+		finished = true;
+		while (state.path.size() >= depth) {
+			state.path.remove(state.path.size() - 1);
+		}
+		return null;
+	}
+
+	/**
+	 * Advances the reader to the next child of this memento with the given type. Children of other types are skipped.
+	 *
+	 * @return the next child of the given type or <code>null</code>, if all children have been read
+	 * @throws InvocationTargetException
+	 *             if IO problems or invalid format
+	 * @see #nextChild()
+	 */
+	public XmlMementoReader nextChild(String type) throws InvocationTargetException {
+		XmlMementoReader child;
+		while ((child = nextChild()) != null) {
+			if (child.getType().equals(type)) {
+				return child;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads the text that follows the start tag up to the first child element or the end tag.
+	 */
+	private void readTextData() throws XMLStreamException {
+		StringBuilder sb = null;
+		while (state.reader.hasNext()) {
+			int event = state.reader.next();
+			switch (event) {
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+			case XMLStreamConstants.ENTITY_REFERENCE:
+				if (sb == null) {
+					sb = new StringBuilder();
+				}
+				sb.append(state.reader.getText());
+				break;
+			case XMLStreamConstants.COMMENT:
+			case XMLStreamConstants.PROCESSING_INSTRUCTION:
+				break;
+			default:
+				state.pending = true;
+				textData = (sb != null) ? sb.toString() : null;
+				return;
+			}
+		}
+		textData = (sb != null) ? sb.toString() : null;
+	}
+
+}
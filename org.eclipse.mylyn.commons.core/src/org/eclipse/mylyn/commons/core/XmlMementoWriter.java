@@ -0,0 +1,329 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.Text;
+
+/**
+ * A memento that writes a document incrementally. Unlike {@link XmlMemento} the document is not built in memory:
+ * elements are written as they are created. Attributes and text data of a memento need to be set before its children
+ * are created:
+ *
+ * <pre>
+ * XmlMementoWriter root = XmlMementoWriter.createWriteRoot(writer, &quot;tasks&quot;);
+ * try {
+ * 	for (ITask task : tasks) {
+ * 		XmlMementoWriter child = root.createChild(&quot;task&quot;);
+ * 		child.putString(&quot;id&quot;, task.getId());
+ * 	}
+ * } finally {
+ * 	root.close();
+ * }
+ * </pre>
+ * <p>
+ * Creating a child ends all elements that were created after its parent. The output uses the same format as
+ * {@link XmlMemento#save(Writer)} except that attributes are written in the order they are set. This class does not use
+ * a <code>XMLStreamWriter</code> since stream writers do not escape line breaks in attribute values which would not be
+ * preserved when the document is read.
+ * </p>
+ * <p>
+ * This class is not intended to be extended by clients.
+ * </p>
+ *
+ * @author agent
+ * @since 3.26
+ * @see XmlMementoReader
+ */
+public final class XmlMementoWriter implements Closeable {
+
+	private static class WriterState {
+
+		private final Writer out;
+
+		private final List<XmlMementoWriter> path = new ArrayList<XmlMementoWriter>();
+
+		public WriterState(Writer out) {
+			this.out = out;
+		}
+
+	}
+
+	private static final String LINE_SEPARATOR = System.getProperty("line.separator"); //$NON-NLS-1$
+
+	private static final String XML_VERSION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"; //$NON-NLS-1$
+
+	/**
+	 * Writes the XML declaration and the start tag of the root element to <code>writer</code> and returns a memento for
+	 * the root element.
+	 *
+	 * @param writer
+	 *            the writer used to save the memento's document
+	 * @param type
+	 *            the type of the root element
+	 * @return the root memento for writing a document
+	 * @throws IOException
+	 *             if there is a problem writing to the stream
+	 */
+	public static XmlMementoWriter createWriteRoot(Writer writer, String type) throws IOException {
+		WriterState state = new WriterState(writer);
+		writer.write(XML_VERSION);
+		writer.write(LINE_SEPARATOR);
+		return new XmlMementoWriter(state, type, 1);
+	}
+
+	private boolean closed;
+
+	private final int depth;
+
+	private boolean hasContent;
+
+	private boolean prevWasText;
+
+	private boolean startTagOpen;
+
+	private final WriterState state;
+
+	private final String type;
+
+	private XmlMementoWriter(WriterState state, String type, int depth) throws IOException {
+		this.state = state;
+		this.type = type;
+		this.depth = depth;
+		state.out.write('<');
+		state.out.write(type);
+		this.startTagOpen = true;
+		state.path.add(this);
+	}
+
+	/**
+	 * Ends this element and all elements that were created after it. Closing the root memento ends the document and
+	 * closes the underlying writer.
+	 *
+	 * @throws IOException
+	 *             if there is a problem writing to the stream
+	 */
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		endChildren();
+		end();
+		if (depth == 1) {
+			state.out.close();
+		}
+	}
+
+	/**
+	 * Creates a copy of <code>memento</code> and its children as a new child of this memento.
+	 *
+	 * @throws IOException
+	 *             if there is a problem writing to the stream
+	 */
+	public void copyChild(XmlMemento memento) throws IOException {
+		XmlMementoWriter child = createChild(memento.getElement().getNodeName());
+		child.putElement(memento.getElement());
+		child.close();
+	}
+
+	/**
+	 * Creates a new child of this memento with the given type.
+	 *
+	 * @param type
+	 *            the type
+	 * @return a new child memento
+	 * @throws IOException
+	 *             if there is a problem writing to the stream
+	 */
+	public XmlMementoWriter createChild(String type) throws IOException {
+		checkOpen();
+		endChildren();
+		startContent();
+		if (!prevWasText) {
+			state.out.write(LINE_SEPARATOR);
+		}
+		prevWasText = false;
+		return new XmlMementoWriter(state, type, depth + 1);
+	}
+
+	/**
+	 * Creates a new child of this memento with the given type and id. The id can be retrieved using
+	 * {@link AbstractXmlMemento#getID()} when the document is read.
+	 *
+	 * @param type
+	 *            the type
+	 * @param id
+	 *            the child id
+	 * @return a new child memento with the given type and id
+	 * @throws IOException
+	 *             if there is a problem writing to the stream
+	 */
+	public XmlMementoWriter createChild(String type, String id) throws IOException {
+		XmlMementoWriter child = createChild(type);
+		child.putString(AbstractXmlMemento.TAG_ID, id == null ? "" : id); //$NON-NLS-1$
+		return child;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * Sets the value of the given key to the given boolean value.
+	 *
+	 * @throws IOException
+	 *             if there is a problem writing to the stream
+	 * @throws IllegalStateException
+	 *             if text data or children have been written
+	 */
+	public void putBoolean(String key, boolean value) throws IOException {
+		putString(key, value ? "true" : "false"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Sets the value of the given key to the given floating point number.
+	 *
+	 * @throws IOException
+	 *             if there is a problem writing to the stream
+	 * @throws IllegalStateException
+	 *             if text data or children have been written
+	 */
+	public void putFloat(String key, float f) throws IOException {
+		putString(key, String.valueOf(f));
+	}
+
+	/**
+	 * Sets the value of the given key to the given integer.
+	 *
+	 * @throws IOException
+	 *             if there is a problem writing to the stream
+	 * @throws IllegalStateException
+	 *             if text data or children have been written
+	 */
+	public void putInteger(String key, int n) throws IOException {
+		putString(key, String.valueOf(n));
+	}
+
+	/**
+	 * Sets the value of the given key to the given string. Does nothing if <code>value</code> is <code>null</code>. Each
+	 * key may only be set once.
+	 *
+	 * @throws IOException
+	 *             if there is a problem writing to the stream
+	 * @throws IllegalStateException
+	 *             if text data or children have been written
+	 */
+	public void putString(String key, String value) throws IOException {
+		checkOpen();
+		if (!startTagOpen) {
+			throw new IllegalStateException("Attributes must be set before text data and children"); //$NON-NLS-1$
+		}
+		if (value == null) {
+			return;
+		}
+		state.out.write(' ');
+		state.out.write(key);
+		state.out.write("=\""); //$NON-NLS-1$
+		state.out.write(XmlMemento.getEscaped(value));
+		state.out.write('"');
+	}
+
+	/**
+	 * Sets the text data of this memento.
+	 *
+	 * @throws IOException
+	 *             if there is a problem writing to the stream
+	 * @throws IllegalStateException
+	 *             if text data or children have been written
+	 */
+	public void putTextData(String data) throws IOException {
+		checkOpen();
+		if (hasContent) {
+			throw new IllegalStateException("Text data must be set before children"); //$NON-NLS-1$
+		}
+		startContent();
+		state.out.write(XmlMemento.getEscaped(data));
+		prevWasText = true;
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("The memento has been closed"); //$NON-NLS-1$
+		}
+	}
+
+	private void end() throws IOException {
+		if (hasContent) {
+			if (!prevWasText) {
+				state.out.write(LINE_SEPARATOR);
+			}
+			state.out.write("</"); //$NON-NLS-1$
+			state.out.write(type);
+			state.out.write('>');
+		} else {
+			state.out.write("/>"); //$NON-NLS-1$
+		}
+		closed = true;
+		state.path.remove(state.path.size() - 1);
+	}
+
+	/**
+	 * Ends all elements that were created after this element.
+	 */
+	private void endChildren() throws IOException {
+		while (state.path.size() > depth) {
+			state.path.get(state.path.size() - 1).end();
+		}
+	}
+
+	private void putElement(Element element) throws IOException {
+		NamedNodeMap attributes = element.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			Attr attribute = (Attr) attributes.item(i);
+			putString(attribute.getName(), attribute.getValue());
+		}
+		NodeList children = element.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			Node node = children.item(i);
+			if (node instanceof Element) {
+				XmlMementoWriter child = createChild(node.getNodeName());
+				child.putElement((Element) node);
+				child.close();
+			} else if (node instanceof Text) {
+				checkOpen();
+				startContent();
+				state.out.write(XmlMemento.getEscaped(node.getNodeValue()));
+				prevWasText = true;
+			}
+		}
+	}
+
+	private void startContent() throws IOException {
+		if (startTagOpen) {
+			state.out.write('>');
+			startTagOpen = false;
+		}
+		hasContent = true;
+	}
+
+}
@@ -16,6 +16,7 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -24,23 +25,42 @@ import org.eclipse.core.runtime.IProgressMonitor;
  * responsive cancellation on read(). Supports resuming partially completed operations after an InterruptedIOException
  * if the underlying stream does. Check the bytesTransferred field to determine how much of the operation completed;
  * conversely, at what point to resume.
+ * <p>
+ * Updates are sent when the next update increment has been reached but no more often than the update interval. The
+ * stream also tracks the throughput and the time spent waiting for data which can be queried while reading.
+ * </p>
  * 
  * @since 3.7
  */
 public abstract class ProgressMonitorInputStream extends FilterInputStream {
 
+	/**
+	 * The time a single read has to block before it is counted as stalled.
+	 */
+	private static final long STALL_THRESHOLD = TimeUnit.SECONDS.toNanos(1);
+
 	private final IProgressMonitor monitor;
 
 	private final int updateIncrement;
 
+	private final long updateInterval;
+
 	private final long bytesTotal;
 
 	private long bytesRead = 0;
 
 	private long lastUpdate = -1;
 
+	private long lastUpdateTime;
+
 	private long nextUpdate = 0;
 
+	private long readTime;
+
+	private long stallTime;
+
+	private final long startTime;
+
 	/**
 	 * Creates a progress monitoring input stream.
 	 * 
@@ -54,11 +74,34 @@ public abstract class ProgressMonitorInputStream extends FilterInputStream {
 	 *            the progress monitor
 	 */
 	public ProgressMonitorInputStream(InputStream in, long bytesTotal, int updateIncrement, IProgressMonitor monitor) {
+		this(in, bytesTotal, updateIncrement, 0, monitor);
+	}
+
+	/**
+	 * Creates a progress monitoring input stream that updates the progress monitor at most once per
+	 * <code>updateInterval</code>.
+	 * 
+	 * @param in
+	 *            the underlying input stream
+	 * @param bytesTotal
+	 *            the number of bytes to read in total (passed to updateMonitor())
+	 * @param updateIncrement
+	 *            the number of bytes read between updates
+	 * @param updateInterval
+	 *            the minimum time in milliseconds between updates
+	 * @param monitor
+	 *            the progress monitor
+	 * @since 3.26
+	 */
+	public ProgressMonitorInputStream(InputStream in, long bytesTotal, int updateIncrement, long updateInterval,
+			IProgressMonitor monitor) {
 		super(in);
 		this.bytesTotal = bytesTotal;
 		this.updateIncrement = updateIncrement;
+		this.updateInterval = TimeUnit.MILLISECONDS.toNanos(updateInterval);
 		this.monitor = monitor;
-		update(true);
+		this.startTime = System.nanoTime();
+		update(true, startTime);
 	}
 
 	protected abstract void updateMonitor(long bytesRead, long size, IProgressMonitor monitor);
@@ -74,10 +117,47 @@ public abstract class ProgressMonitorInputStream extends FilterInputStream {
 		try {
 			in.close();
 		} finally {
-			update(true);
+			update(true, System.nanoTime());
 		}
 	}
 
+	/**
+	 * Returns the number of bytes read so far.
+	 * 
+	 * @since 3.26
+	 */
+	public long getBytesRead() {
+		return bytesRead;
+	}
+
+	/**
+	 * Returns the average number of bytes read per second since the stream was created.
+	 * 
+	 * @since 3.26
+	 */
+	public long getBytesPerSecond() {
+		long elapsed = System.nanoTime() - startTime;
+		return (elapsed > 0) ? (long) (bytesRead * (double) TimeUnit.SECONDS.toNanos(1) / elapsed) : 0;
+	}
+
+	/**
+	 * Returns the total time in milliseconds spent waiting for the underlying stream.
+	 * 
+	 * @since 3.26
+	 */
+	public long getReadTime() {
+		return TimeUnit.NANOSECONDS.toMillis(readTime);
+	}
+
+	/**
+	 * Returns the total time in milliseconds spent in reads that blocked for a second or longer.
+	 * 
+	 * @since 3.26
+	 */
+	public long getStallTime() {
+		return TimeUnit.NANOSECONDS.toMillis(stallTime);
+	}
+
 	/**
 	 * Wraps the underlying stream's method. Updates the progress monitor if the next update increment has been reached.
 	 * 
@@ -89,10 +169,14 @@ public abstract class ProgressMonitorInputStream extends FilterInputStream {
 	 */
 	@Override
 	public int read() throws IOException {
+		long start = System.nanoTime();
 		int b = in.read();
+		long time = record(start);
 		if (b != -1) {
 			bytesRead += 1;
-			update(false);
+			update(false, time);
+		} else {
+			update(true, time);
 		}
 		return b;
 	}
@@ -108,16 +192,20 @@ public abstract class ProgressMonitorInputStream extends FilterInputStream {
 	 */
 	@Override
 	public int read(byte[] buffer, int offset, int length) throws IOException {
+		long start = System.nanoTime();
 		try {
 			int count = in.read(buffer, offset, length);
+			long time = record(start);
 			if (count != -1) {
 				bytesRead += count;
-				update(false);
+				update(false, time);
+			} else {
+				update(true, time);
 			}
 			return count;
 		} catch (InterruptedIOException e) {
 			bytesRead += e.bytesTransferred;
-			update(false);
+			update(false, record(start));
 			throw e;
 		}
 	}
@@ -133,14 +221,15 @@ public abstract class ProgressMonitorInputStream extends FilterInputStream {
 	 */
 	@Override
 	public long skip(long amount) throws IOException {
+		long start = System.nanoTime();
 		try {
 			long count = in.skip(amount);
 			bytesRead += count;
-			update(false);
+			update(false, record(start));
 			return count;
 		} catch (InterruptedIOException e) {
 			bytesRead += e.bytesTransferred;
-			update(false);
+			update(false, record(start));
 			throw e;
 		}
 	}
@@ -153,13 +242,30 @@ public abstract class ProgressMonitorInputStream extends FilterInputStream {
 		return false;
 	}
 
-	private void update(boolean now) {
+	private long record(long start) {
+		long time = System.nanoTime();
+		long duration = time - start;
+		readTime += duration;
+		if (duration >= STALL_THRESHOLD) {
+			stallTime += duration;
+		}
+		return time;
+	}
+
+	private void update(boolean now, long time) {
 		if (bytesRead >= nextUpdate || now) {
+			if (!now && time - lastUpdateTime < updateInterval) {
+				// throttled, try again on the next read
+				return;
+			}
 			nextUpdate = bytesRead - (bytesRead % updateIncrement);
-			if (nextUpdate != lastUpdate) {
-				updateMonitor(nextUpdate, bytesTotal, monitor);
+			// report the exact number of bytes on end of stream and close, increments otherwise
+			long bytes = (now) ? bytesRead : nextUpdate;
+			if (bytes != lastUpdate) {
+				updateMonitor(bytes, bytesTotal, monitor);
 			}
-			lastUpdate = nextUpdate;
+			lastUpdate = bytes;
+			lastUpdateTime = time;
 			nextUpdate += updateIncrement;
 		}
 	}
@@ -16,11 +16,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
-import org.eclipse.mylyn.commons.core.operations.OperationUtil;
-
 /**
  * Wraps an input stream that blocks indefinitely to simulate timeouts on read(), skip(), and close(). The resulting
  * input stream is buffered and supports retrying operations that failed due to an InterruptedIOException. Supports
@@ -41,7 +38,7 @@ public class TimeoutInputStream extends FilterInputStream {
 	private boolean closeRequested = false; // if true, close requested
 
 	// responses from the thread (synchronized)
-	private final Future<?> future;
+	private Thread thread; // the thread that reads from the underlying stream, null if not running
 
 	private byte[] iobuffer; // circular buffer
 
@@ -77,7 +74,7 @@ public class TimeoutInputStream extends FilterInputStream {
 		this.readTimeout = readTimeout;
 		this.closeTimeout = closeTimeout;
 		this.iobuffer = new byte[bufferSize];
-		this.future = OperationUtil.getExecutorService().submit(new Runnable() {
+		TimeoutStreamExecutor.getExecutorService().execute(new Runnable() {
 			public void run() {
 				runThread();
 			}
@@ -107,7 +104,9 @@ public class TimeoutInputStream extends FilterInputStream {
 		synchronized (this) {
 			closeRequested = true;
 			// interrupts waitUntilClose and triggers closing of stream 
-			future.cancel(true);
+			if (thread != null) {
+				thread.interrupt();
+			}
 			checkError();
 		}
 		if (closeTimeout == -1) {
@@ -176,19 +175,16 @@ public class TimeoutInputStream extends FilterInputStream {
 		if (!syncFill()) {
 			return -1; // EOF reached
 		}
-		int pos = off;
 		if (len > length) {
 			len = length;
 		}
-		while (len-- > 0) {
-			buffer[pos++] = iobuffer[head++];
-			if (head == iobuffer.length) {
-				head = 0;
-			}
-			length--;
-		}
+		int count = Math.min(len, iobuffer.length - head);
+		System.arraycopy(iobuffer, head, buffer, off, count);
+		System.arraycopy(iobuffer, 0, buffer, off + count, len - count);
+		head = (head + len) % iobuffer.length;
+		length -= len;
 		notify();
-		return pos - off;
+		return len;
 	}
 
 	/**
@@ -275,6 +271,9 @@ public class TimeoutInputStream extends FilterInputStream {
 	 * Runs the thread in the background.
 	 */
 	private void runThread() {
+		synchronized (this) {
+			thread = Thread.currentThread();
+		}
 		try {
 			readUntilDone();
 		} catch (IOException e) {
@@ -290,6 +289,10 @@ public class TimeoutInputStream extends FilterInputStream {
 					ioe = e;
 				}
 			} finally {
+				synchronized (this) {
+					// the thread may be pooled, make sure close() does not interrupt it after this point
+					thread = null;
+				}
 				closeLatch.countDown();
 			}
 		}
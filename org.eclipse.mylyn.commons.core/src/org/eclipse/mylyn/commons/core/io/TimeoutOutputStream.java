@@ -16,6 +16,8 @@ import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Wraps an output stream that blocks indefinitely to simulate timeouts on write(), flush(), and close(). The resulting
@@ -45,12 +47,14 @@ public class TimeoutOutputStream extends FilterOutputStream {
 	private boolean flushRequested = false; // if true, flush requested
 
 	// responses from the thread (synchronized)
-	private Thread thread;
+	private Thread thread; // the thread that writes to the underlying stream, null if not running
 
 	private boolean waitingForClose = false; // if true, the thread is waiting for close()
 
 	private IOException ioe = null;
 
+	private final CountDownLatch closeLatch = new CountDownLatch(1); // if 0, runThread() has finished
+
 	/**
 	 * Creates a timeout wrapper for an output stream.
 	 * 
@@ -71,13 +75,11 @@ public class TimeoutOutputStream extends FilterOutputStream {
 		this.writeTimeout = writeTimeout;
 		this.closeTimeout = closeTimeout;
 		this.iobuffer = new byte[bufferSize];
-		thread = new Thread(new Runnable() {
+		TimeoutStreamExecutor.getExecutorService().execute(new Runnable() {
 			public void run() {
 				runThread();
 			}
-		}, "TimeoutOutputStream");//$NON-NLS-1$
-		thread.setDaemon(true);
-		thread.start();
+		});
 	}
 
 	/**
@@ -92,27 +94,29 @@ public class TimeoutOutputStream extends FilterOutputStream {
 	 */
 	@Override
 	public void close() throws IOException {
-		Thread oldThread;
+		if (closeLatch.getCount() == 0) {
+			return;
+		}
 		synchronized (this) {
-			if (thread == null) {
-				return;
-			}
-			oldThread = thread;
 			closeRequested = true;
-			thread.interrupt();
+			if (thread != null) {
+				thread.interrupt();
+			}
+			notify();
 			checkError();
 		}
 		if (closeTimeout == -1) {
 			return;
 		}
+		boolean closed = false;
 		try {
-			oldThread.join(closeTimeout);
+			closed = closeLatch.await(closeTimeout, TimeUnit.MILLISECONDS);
 		} catch (InterruptedException e) {
 			Thread.currentThread().interrupt(); // we weren't expecting to be interrupted
 		}
 		synchronized (this) {
 			checkError();
-			if (thread != null) {
+			if (!closed) {
 				throw new InterruptedIOException();
 			}
 		}
@@ -149,9 +153,12 @@ public class TimeoutOutputStream extends FilterOutputStream {
 			do {
 				syncCommit(true);
 				while (amount < len && length != iobuffer.length) {
-					iobuffer[(head + length) % iobuffer.length] = buffer[off++];
-					length++;
-					amount++;
+					int tail = (head + length) % iobuffer.length;
+					int count = Math.min(len - amount, ((tail < head) ? head : iobuffer.length) - tail);
+					System.arraycopy(buffer, off, iobuffer, tail, count);
+					off += count;
+					length += count;
+					amount += count;
 				}
 			} while (amount < len);
 		} catch (InterruptedIOException e) {
@@ -226,6 +233,9 @@ public class TimeoutOutputStream extends FilterOutputStream {
 	 * Runs the thread in the background.
 	 */
 	private void runThread() {
+		synchronized (this) {
+			thread = Thread.currentThread();
+		}
 		try {
 			writeUntilDone();
 		} catch (IOException e) {
@@ -242,9 +252,11 @@ public class TimeoutOutputStream extends FilterOutputStream {
 				}
 			} finally {
 				synchronized (this) {
+					// the thread may be pooled, make sure close() does not interrupt it after this point
 					thread = null;
 					notify();
 				}
+				closeLatch.countDown();
 			}
 		}
 	}
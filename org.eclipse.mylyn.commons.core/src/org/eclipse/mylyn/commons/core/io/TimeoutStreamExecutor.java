@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.core.io;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.mylyn.internal.commons.core.ThreadUtil;
+
+/**
+ * Provides the threads that transfer data for {@link TimeoutInputStream} and {@link TimeoutOutputStream}. Each stream
+ * runs on a virtual thread if the runtime supports virtual threads that do not pin their carrier thread while waiting
+ * on a monitor (Java 24 or later). Otherwise streams share a pool of daemon threads that is not bounded by the number
+ * of concurrent requests.
+ *
+ * @author agent
+ */
+class TimeoutStreamExecutor {
+
+	private static ExecutorService executorService;
+
+	public static synchronized ExecutorService getExecutorService() {
+		if (executorService == null) {
+			executorService = ThreadUtil.createVirtualThreadExecutor();
+			if (executorService == null) {
+				executorService = Executors
+						.newCachedThreadPool(ThreadUtil.createDaemonThreadFactory("Timeout Stream")); //$NON-NLS-1$
+			}
+		}
+		return executorService;
+	}
+
+}
@@ -12,19 +12,68 @@
 
 package org.eclipse.mylyn.commons.core.operations;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
 
 /**
- * Polls {@link ICancellableOperation} objects for cancellation and aborts the corresponding operations.
+ * Monitors {@link ICancellableOperation} objects for cancellation and aborts the corresponding operations. Operations
+ * that are registered with a monitor that implements {@link ICancellationSource} are aborted as soon as cancellation is
+ * signaled. All other operations are polled. The polling interval adapts to the number of polled operations so that
+ * few operations are checked frequently and the cost of polling many operations is bounded.
  * 
  * @author Steffen Pingel
  * @since 3.9
  */
 public class CancellableOperationMonitorThread extends Thread {
 
+	private static class Subscription {
+
+		private final ICancellable listener;
+
+		private final ICancellationSource source;
+
+		private boolean aborted;
+
+		public Subscription(ICancellationSource source, ICancellable listener) {
+			this.source = source;
+			this.listener = listener;
+		}
+
+	}
+
+	private static class CancellationRequest {
+
+		private final ICancellableOperation operation;
+
+		private final long time;
+
+		public CancellationRequest(ICancellableOperation operation, long time) {
+			this.operation = operation;
+			this.time = time;
+		}
+
+	}
+
 	private static final int DEFAULT_POLLING_INTERVAL = 1000;
 
+	private static final int DEFAULT_MIN_POLLING_INTERVAL = 100;
+
+	/**
+	 * The number of operations that are polled at the minimum polling interval. The interval grows proportionally for
+	 * larger numbers of operations.
+	 */
+	private static final int OPERATIONS_PER_MIN_POLLING_INTERVAL = 10;
+
 	private static CancellableOperationMonitorThread instance;
 
 	public static synchronized CancellableOperationMonitorThread getInstance() {
@@ -36,16 +85,43 @@ public class CancellableOperationMonitorThread extends Thread {
 
 	private final List<ICancellableOperation> operations = new CopyOnWriteArrayList<ICancellableOperation>();
 
+	private final Map<ICancellableOperation, Subscription> subscriptions = new ConcurrentHashMap<ICancellableOperation, Subscription>();
+
+	private final Set<ICancellableOperation> abortedOperations = Collections
+			.newSetFromMap(new ConcurrentHashMap<ICancellableOperation, Boolean>());
+
+	private final Queue<CancellationRequest> cancellations = new ConcurrentLinkedQueue<CancellationRequest>();
+
 	private final long pollingInterval;
 
+	private final long minPollingInterval;
+
 	private boolean shutdown;
 
+	private boolean pollRequested;
+
+	private boolean polled;
+
+	private long lastPollTime; // in nanoseconds
+
+	private final AtomicLong cancellationCount = new AtomicLong();
+
+	private final AtomicLong totalCancellationLatency = new AtomicLong();
+
+	private final AtomicLong maxCancellationLatency = new AtomicLong();
+
 	public CancellableOperationMonitorThread() {
 		this(DEFAULT_POLLING_INTERVAL);
 	}
 
+	/**
+	 * @param pollingInterval
+	 *            the maximum interval in milliseconds for polling operations that are not registered with an
+	 *            {@link ICancellationSource}
+	 */
 	public CancellableOperationMonitorThread(long pollingInterval) {
 		this.pollingInterval = pollingInterval;
+		this.minPollingInterval = Math.min(DEFAULT_MIN_POLLING_INTERVAL, pollingInterval);
 		setDaemon(true);
 	}
 
@@ -66,23 +142,112 @@ public class CancellableOperationMonitorThread extends Thread {
 	}
 
 	/**
-	 * Returns the polling interval in milliseconds.
+	 * Registers <code>operation</code> to be be monitored for cancellation. If <code>monitor</code> implements
+	 * {@link ICancellationSource} the operation is aborted as soon as cancellation is signaled. Operations are polled
+	 * if <code>monitor</code> does not signal all cancellation requests. If the operation is complete it must be unregistered by invoking
+	 * {@link #removeOperation(ICancellableOperation)}.
+	 * 
+	 * @param monitor
+	 *            the monitor that is used by <code>operation</code> to determine cancellation
+	 * @see #removeOperation(ICancellableOperation)
+	 * @since 3.26
+	 */
+	public synchronized void addOperation(final ICancellableOperation operation, IProgressMonitor monitor) {
+		checkShutdown();
+		if (monitor instanceof ICancellationSource) {
+			ICancellable listener = new ICancellable() {
+				public void abort() {
+					signalCancellation(operation);
+				}
+			};
+			ICancellationSource source = (ICancellationSource) monitor;
+			boolean signaled = source.addCancellationListener(listener);
+			subscriptions.put(operation, new Subscription(source, listener));
+			if (signaled) {
+				if (!isAlive() && !shutdown) {
+					start();
+				}
+				if (operation.isCanceled()) {
+					signalCancellation(operation);
+				}
+				return;
+			}
+		}
+		// cancellation that is not signaled by the monitor is detected through polling
+		addOperation(operation);
+	}
+
+	/**
+	 * Returns the number of operations that were aborted.
+	 * 
+	 * @since 3.26
+	 */
+	public long getCancellationCount() {
+		return cancellationCount.get();
+	}
+
+	/**
+	 * Returns the average time in milliseconds between a cancellation request and aborting the operation. For polled
+	 * operations the time since the previous poll is used as an upper bound.
+	 * 
+	 * @since 3.26
+	 */
+	public long getAverageCancellationLatency() {
+		long count = cancellationCount.get();
+		return (count > 0) ? TimeUnit.NANOSECONDS.toMillis(totalCancellationLatency.get() / count) : 0;
+	}
+
+	/**
+	 * Returns the maximum time in milliseconds between a cancellation request and aborting the operation.
+	 * 
+	 * @since 3.26
+	 * @see #getAverageCancellationLatency()
+	 */
+	public long getMaxCancellationLatency() {
+		return TimeUnit.NANOSECONDS.toMillis(maxCancellationLatency.get());
+	}
+
+	/**
+	 * Returns the number of operations that are currently polled for cancellation.
+	 * 
+	 * @since 3.26
+	 */
+	public int getPolledOperationCount() {
+		return operations.size();
+	}
+
+	/**
+	 * Returns the maximum polling interval in milliseconds.
 	 */
 	public long getPollingInterval() {
 		return pollingInterval;
 	}
 
+	/**
+	 * Returns the polling interval in milliseconds for the number of currently polled operations.
+	 * 
+	 * @since 3.26
+	 */
+	public long getCurrentPollingInterval() {
+		int count = operations.size();
+		long interval = minPollingInterval
+				* ((count + OPERATIONS_PER_MIN_POLLING_INTERVAL - 1) / OPERATIONS_PER_MIN_POLLING_INTERVAL);
+		return Math.max(minPollingInterval, Math.min(interval, pollingInterval));
+	}
+
 	/**
 	 * Checks all registered operations for cancellation. Checks all queued operations at most twice. Used for testing.
 	 */
 	public synchronized void processOperations() throws InterruptedException {
-		if (operations.isEmpty()) {
+		if (operations.isEmpty() && subscriptions.isEmpty()) {
 			throw new IllegalStateException("The list of operations is empty"); //$NON-NLS-1$
 		}
 		checkShutdown();
+		pollRequested = true;
 		notify();
 		wait();
 		// ensure processing happens again in case the first notify happened while the queue was processing 
+		pollRequested = true;
 		notify();
 		wait();
 	}
@@ -95,16 +260,20 @@ public class CancellableOperationMonitorThread extends Thread {
 	public synchronized void removeOperation(ICancellableOperation operation) {
 		checkShutdown();
 		operations.remove(operation);
+		abortedOperations.remove(operation);
+		Subscription subscription = subscriptions.remove(operation);
+		if (subscription != null) {
+			subscription.source.removeCancellationListener(subscription.listener);
+		}
 	}
 
 	@Override
 	public void run() {
 		try {
 			while (true) {
-				for (ICancellableOperation opertion : operations) {
-					if (opertion.isCanceled()) {
-						opertion.abort();
-					}
+				processCancellations();
+				if (isPollDue()) {
+					pollOperations();
 				}
 				synchronized (this) {
 					// notify threads waiting in processOnce()
@@ -115,10 +284,16 @@ public class CancellableOperationMonitorThread extends Thread {
 						break;
 					}
 
-					if (operations.isEmpty()) {
-						wait();
-					} else {
-						wait(pollingInterval);
+					if (cancellations.isEmpty() && !pollRequested) {
+						if (operations.isEmpty()) {
+							wait();
+						} else {
+							long timeout = getCurrentPollingInterval()
+									- TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastPollTime);
+							if (timeout > 0) {
+								wait(timeout);
+							}
+						}
 					}
 				}
 			}
@@ -154,10 +329,71 @@ public class CancellableOperationMonitorThread extends Thread {
 		super.start();
 	}
 
+	private void abort(ICancellableOperation operation, long latency) {
+		if (!abortedOperations.add(operation)) {
+			// polled operations are aborted repeatedly until they are removed, only record the first abort
+			operation.abort();
+			return;
+		}
+		cancellationCount.incrementAndGet();
+		totalCancellationLatency.addAndGet(latency);
+		long max;
+		do {
+			max = maxCancellationLatency.get();
+		} while (latency > max && !maxCancellationLatency.compareAndSet(max, latency));
+		operation.abort();
+	}
+
 	private void checkShutdown() {
 		if (shutdown) {
 			throw new IllegalStateException("Already shutdown"); //$NON-NLS-1$
 		}
 	}
 
+	private synchronized boolean isPollDue() {
+		if (pollRequested) {
+			pollRequested = false;
+			return true;
+		}
+		if (operations.isEmpty()) {
+			return false;
+		}
+		return !polled || TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastPollTime) >= getCurrentPollingInterval();
+	}
+
+	private void pollOperations() {
+		long now = System.nanoTime();
+		long latency;
+		synchronized (this) {
+			latency = (polled) ? now - lastPollTime : 0;
+		}
+		for (ICancellableOperation opertion : operations) {
+			if (opertion.isCanceled()) {
+				abort(opertion, latency);
+			}
+		}
+		synchronized (this) {
+			lastPollTime = now;
+			polled = true;
+		}
+	}
+
+	private void processCancellations() {
+		CancellationRequest request;
+		while ((request = cancellations.poll()) != null) {
+			Subscription subscription = subscriptions.get(request.operation);
+			if (subscription != null && !subscription.aborted) {
+				subscription.aborted = true;
+				abort(request.operation, System.nanoTime() - request.time);
+			}
+		}
+	}
+
+	private void signalCancellation(ICancellableOperation operation) {
+		cancellations.add(new CancellationRequest(operation, System.nanoTime()));
+		synchronized (this) {
+			notify();
+		}
+	}
+
 }
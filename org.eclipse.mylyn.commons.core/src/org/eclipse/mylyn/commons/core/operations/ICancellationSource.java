@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.core.operations;
+
+/**
+ * Implemented by progress monitors that notify listeners when cancellation is requested. Operations that are
+ * registered with a {@link CancellableOperationMonitorThread} together with a monitor that implements this interface
+ * are aborted as soon as cancellation is requested rather than when the monitor is polled next.
+ *
+ * @author agent
+ * @since 3.26
+ * @see CancellableOperationMonitorThread#addOperation(ICancellableOperation, org.eclipse.core.runtime.IProgressMonitor)
+ */
+public interface ICancellationSource {
+
+	/**
+	 * Registers <code>listener</code> to be invoked when cancellation is requested. The listener may be invoked on any
+	 * thread.
+	 *
+	 * @return <code>true</code>, if the listener is notified of all cancellation requests; <code>false</code>, if this
+	 *         source can not report all cancellation requests and needs to be polled in addition. The listener remains
+	 *         registered in either case and needs to be removed through
+	 *         {@link #removeCancellationListener(ICancellable)}.
+	 */
+	public abstract boolean addCancellationListener(ICancellable listener);
+
+	/**
+	 * Unregisters <code>listener</code>.
+	 */
+	public abstract void removeCancellationListener(ICancellable listener);
+
+}
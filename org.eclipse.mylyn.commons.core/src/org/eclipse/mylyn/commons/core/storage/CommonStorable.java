@@ -12,9 +12,12 @@
 
 package org.eclipse.mylyn.commons.core.storage;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -31,6 +34,86 @@ import org.eclipse.osgi.util.NLS;
  */
 class CommonStorable implements ICommonStorable {
 
+	/**
+	 * Writes to a temporary file that replaces the target file when the stream is closed. If writing fails the target
+	 * file is left unchanged.
+	 */
+	private class AtomicFileOutputStream extends FilterOutputStream {
+
+		private boolean closed;
+
+		private boolean failed;
+
+		private final File file;
+
+		private final File tempFile;
+
+		public AtomicFileOutputStream(File file, File tempFile) throws IOException {
+			super(new FileOutputStream(tempFile));
+			this.file = file;
+			this.tempFile = tempFile;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			failed = true;
+			out.write(b);
+			failed = false;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			failed = true;
+			out.write(b, off, len);
+			failed = false;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				super.close();
+				if (!failed) {
+					if (store.isSyncWrites()) {
+						store.sync(tempFile);
+					}
+					store.replace(tempFile, file);
+				}
+			} finally {
+				// no-op if the temporary file has been moved into place
+				tempFile.delete();
+			}
+		}
+
+	}
+
+	/**
+	 * Buffers content in memory and queues it for writing when the stream is closed.
+	 */
+	private class PendingWriteOutputStream extends ByteArrayOutputStream {
+
+		private boolean closed;
+
+		private final File file;
+
+		public PendingWriteOutputStream(File file) {
+			this.file = file;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			store.addPendingWrite(file, toByteArray());
+		}
+
+	}
+
 	private final File path;
 
 	private final CommonStore store;
@@ -41,7 +124,9 @@ class CommonStorable implements ICommonStorable {
 	}
 
 	public void delete(String item) throws CoreException {
-		getFile(item).delete();
+		File file = getFile(item);
+		store.discardPendingWrites(file);
+		file.delete();
 	}
 
 	public void deleteAll() throws CoreException {
@@ -56,6 +141,7 @@ class CommonStorable implements ICommonStorable {
 			}
 
 			// delete all files
+			store.discardPendingWrites(path);
 			for (File child : children) {
 				child.delete();
 			}
@@ -67,6 +153,9 @@ class CommonStorable implements ICommonStorable {
 	}
 
 	public boolean exists(String handle) {
+		if (store.getPendingWrite(new File(path, handle)) != null) {
+			return true;
+		}
 		if (!path.exists()) {
 			return false;
 		}
@@ -87,6 +176,10 @@ class CommonStorable implements ICommonStorable {
 
 	public InputStream read(String item, IProgressMonitor monitor) throws IOException {
 		File file = getFile(item);
+		byte[] content = store.getPendingWrite(file);
+		if (content != null) {
+			return new ByteArrayInputStream(content);
+		}
 		return new FileInputStream(file);
 	}
 
@@ -96,7 +189,10 @@ class CommonStorable implements ICommonStorable {
 
 	public OutputStream write(String item, IProgressMonitor monitor) throws IOException {
 		File file = getFile(item);
-		return new FileOutputStream(file);
+		if (store.isWriteBehind()) {
+			return new PendingWriteOutputStream(file);
+		}
+		return new AtomicFileOutputStream(file, store.createTempFile(file));
 	}
 
 	private File getFile(String item) {
@@ -13,8 +13,22 @@
 package org.eclipse.mylyn.commons.core.storage;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -29,6 +43,13 @@ import org.eclipse.mylyn.internal.commons.core.CommonsCorePlugin;
 import org.eclipse.osgi.util.NLS;
 
 /**
+ * Stores items in files below a root location. Files are always replaced atomically: content is written to a temporary
+ * file that is moved to the target location when complete.
+ * <p>
+ * In write-behind mode content written to a storable is kept in memory and written to disk by a background job.
+ * Repeated writes to the same item before the job runs are coalesced into a single write. Reads see the most recently
+ * written content regardless of whether it has been written to disk.
+ *
  * @author Steffen Pingel
  */
 public class CommonStore {
@@ -54,6 +75,8 @@ public class CommonStore {
 
 	private static final long FLUSH_DELAY = 500;
 
+	private static final String TEMP_FILE_SUFFIX = ".tmp"; //$NON-NLS-1$
+
 	private boolean scheduled;
 
 	private FlushJob flushJob;
@@ -62,6 +85,29 @@ public class CommonStore {
 
 	private File location;
 
+	/**
+	 * Serializes flushes and operations that must not overlap with pending writes being written to disk.
+	 */
+	private final Object flushLock = new Object();
+
+	private final Map<File, byte[]> pendingWrites = new LinkedHashMap<File, byte[]>();
+
+	private final Map<File, byte[]> inFlightWrites = new HashMap<File, byte[]>();
+
+	private volatile boolean writeBehind;
+
+	private volatile boolean syncWrites;
+
+	private final AtomicLong coalescedWriteCount = new AtomicLong();
+
+	private final AtomicLong flushCount = new AtomicLong();
+
+	private final AtomicLong maxFlushLatency = new AtomicLong();
+
+	private final AtomicLong totalFlushLatency = new AtomicLong();
+
+	private final AtomicLong writeCount = new AtomicLong();
+
 	public CommonStore(File location) {
 		Assert.isNotNull(location);
 		this.storableByLocation = new HashMap<File, CommonStorable>();
@@ -78,15 +124,110 @@ public class CommonStore {
 		return storable;
 	}
 
+	/**
+	 * Returns the average time in milliseconds it took to write pending content to disk.
+	 *
+	 * @since 3.26
+	 */
+	public long getAverageFlushLatency() {
+		long count = flushCount.get();
+		return (count > 0) ? TimeUnit.NANOSECONDS.toMillis(totalFlushLatency.get() / count) : 0;
+	}
+
+	/**
+	 * Returns the number of writes that replaced pending content before it was written to disk.
+	 *
+	 * @since 3.26
+	 */
+	public long getCoalescedWriteCount() {
+		return coalescedWriteCount.get();
+	}
+
+	/**
+	 * Returns the number of times pending content was written to disk.
+	 *
+	 * @since 3.26
+	 */
+	public long getFlushCount() {
+		return flushCount.get();
+	}
+
 	public File getLocation() {
 		return location;
 	}
 
+	/**
+	 * Returns the maximum time in milliseconds it took to write pending content to disk.
+	 *
+	 * @since 3.26
+	 */
+	public long getMaxFlushLatency() {
+		return TimeUnit.NANOSECONDS.toMillis(maxFlushLatency.get());
+	}
+
+	/**
+	 * Returns the number of items that have been written in write-behind mode but not yet written to disk.
+	 *
+	 * @since 3.26
+	 */
+	public synchronized int getPendingWriteCount() {
+		return pendingWrites.size() + inFlightWrites.size();
+	}
+
+	/**
+	 * Returns the number of files that were written to disk by background flushes.
+	 *
+	 * @since 3.26
+	 */
+	public long getWriteCount() {
+		return writeCount.get();
+	}
+
+	/**
+	 * @since 3.26
+	 * @see #setSyncWrites(boolean)
+	 */
+	public boolean isSyncWrites() {
+		return syncWrites;
+	}
+
+	/**
+	 * @since 3.26
+	 * @see #setWriteBehind(boolean)
+	 */
+	public boolean isWriteBehind() {
+		return writeBehind;
+	}
+
 	public void setLocation(File location) {
 		Assert.isNotNull(location);
 		this.location = location;
 	}
 
+	/**
+	 * If enabled, files are forced to the storage device before they replace the previous content. In write-behind
+	 * mode all files of a flush are synced together before any of them is moved into place. Disabled by default.
+	 *
+	 * @since 3.26
+	 */
+	public void setSyncWrites(boolean syncWrites) {
+		this.syncWrites = syncWrites;
+	}
+
+	/**
+	 * If enabled, content written to storables is kept in memory and written to disk by a background job. Disabling
+	 * write-behind mode writes pending content to disk. Disabled by default.
+	 *
+	 * @since 3.26
+	 * @see #stop()
+	 */
+	public void setWriteBehind(boolean writeBehind) {
+		this.writeBehind = writeBehind;
+		if (!writeBehind) {
+			flushPending();
+		}
+	}
+
 	public void stop() {
 		synchronized (this) {
 			if (flushJob != null) {
@@ -118,16 +259,85 @@ public class CommonStore {
 		}
 	}
 
-	synchronized void flushPending() {
-		MultiStatus status = new MultiStatus(CommonsCorePlugin.ID_PLUGIN, 0, "Failed to save storable", null); //$NON-NLS-1$
-		for (CommonStorable memento : storableByLocation.values()) {
-			if (memento.isDirty()) {
-				IStatus result = memento.flush();
-				status.add(result);
+	/**
+	 * Writes pending content to disk. The store is only locked while the pending content is collected so that
+	 * concurrent reads and writes are not blocked by disk I/O. Content that fails to be written is queued again and
+	 * retried by the next flush unless it has been replaced in the meantime.
+	 */
+	void flushPending() {
+		synchronized (flushLock) {
+			Map<File, byte[]> writes;
+			synchronized (this) {
+				if (pendingWrites.isEmpty()) {
+					return;
+				}
+				writes = new LinkedHashMap<File, byte[]>(pendingWrites);
+				pendingWrites.clear();
+				inFlightWrites.putAll(writes);
+			}
+
+			long start = System.nanoTime();
+			MultiStatus status = new MultiStatus(CommonsCorePlugin.ID_PLUGIN, 0, "Failed to save storable", null); //$NON-NLS-1$
+			List<File> failedFiles = new ArrayList<File>();
+			try {
+				List<File> targetFiles = new ArrayList<File>(writes.size());
+				List<File> tempFiles = new ArrayList<File>(writes.size());
+				for (Map.Entry<File, byte[]> entry : writes.entrySet()) {
+					try {
+						tempFiles.add(writeTempFile(entry.getKey(), entry.getValue()));
+						targetFiles.add(entry.getKey());
+					} catch (IOException e) {
+						failedFiles.add(entry.getKey());
+						status.add(createWriteErrorStatus(entry.getKey(), e));
+					}
+				}
+				if (syncWrites) {
+					for (int i = tempFiles.size() - 1; i >= 0; i--) {
+						try {
+							sync(tempFiles.get(i));
+						} catch (IOException e) {
+							// never replace a file with content that may not be on the storage device
+							File targetFile = targetFiles.remove(i);
+							tempFiles.remove(i).delete();
+							failedFiles.add(targetFile);
+							status.add(createWriteErrorStatus(targetFile, e));
+						}
+					}
+				}
+				for (int i = 0; i < tempFiles.size(); i++) {
+					try {
+						replace(tempFiles.get(i), targetFiles.get(i));
+						writeCount.incrementAndGet();
+					} catch (IOException e) {
+						tempFiles.get(i).delete();
+						failedFiles.add(targetFiles.get(i));
+						status.add(createWriteErrorStatus(targetFiles.get(i), e));
+					}
+				}
+			} finally {
+				synchronized (this) {
+					for (File file : writes.keySet()) {
+						inFlightWrites.remove(file);
+					}
+					for (File file : failedFiles) {
+						if (!pendingWrites.containsKey(file)) {
+							pendingWrites.put(file, writes.get(file));
+						}
+					}
+				}
+			}
+
+			long latency = System.nanoTime() - start;
+			flushCount.incrementAndGet();
+			totalFlushLatency.addAndGet(latency);
+			long max;
+			do {
+				max = maxFlushLatency.get();
+			} while (latency > max && !maxFlushLatency.compareAndSet(max, latency));
+
+			if (!status.isOK()) {
+				StatusHandler.log(status);
 			}
-		}
-		if (!status.isOK()) {
-			StatusHandler.log(status);
 		}
 	}
 
@@ -135,7 +345,96 @@ public class CommonStore {
 		storableByLocation.remove(storable.getPath());
 	}
 
+	/**
+	 * Queues <code>content</code> to be written to <code>file</code>, replacing content that has not been written yet.
+	 */
+	void addPendingWrite(File file, byte[] content) {
+		synchronized (this) {
+			if (pendingWrites.put(file, content) != null) {
+				coalescedWriteCount.incrementAndGet();
+			}
+		}
+		schedule();
+	}
+
+	/**
+	 * Discards pending content of <code>file</code> and of all files contained in <code>file</code>. Waits for a flush
+	 * that is in progress to complete.
+	 */
+	void discardPendingWrites(File file) {
+		synchronized (flushLock) {
+			synchronized (this) {
+				String prefix = file.getPath() + File.separator;
+				for (Iterator<File> it = pendingWrites.keySet().iterator(); it.hasNext();) {
+					File pendingFile = it.next();
+					if (pendingFile.equals(file) || pendingFile.getPath().startsWith(prefix)) {
+						it.remove();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the content of <code>file</code> that has not been written to disk yet or <code>null</code>.
+	 */
+	synchronized byte[] getPendingWrite(File file) {
+		byte[] content = pendingWrites.get(file);
+		return (content != null) ? content : inFlightWrites.get(file);
+	}
+
+	File createTempFile(File file) throws IOException {
+		return File.createTempFile("." + file.getName() + "_", TEMP_FILE_SUFFIX, file.getParentFile()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Atomically replaces <code>target</code> with <code>source</code>, falling back to a non-atomic move if the file
+	 * system does not support atomic moves.
+	 */
+	void replace(File source, File target) throws IOException {
+		try {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	void sync(File file) throws IOException {
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+		try {
+			channel.force(true);
+		} finally {
+			channel.close();
+		}
+	}
+
+	private IStatus createWriteErrorStatus(File file, IOException e) {
+		return new Status(IStatus.ERROR, CommonsCorePlugin.ID_PLUGIN, NLS.bind("Failed to write ''{0}''", file), e); //$NON-NLS-1$
+	}
+
+	private File writeTempFile(File file, byte[] content) throws IOException {
+		if (!file.getParentFile().exists()) {
+			file.getParentFile().mkdirs();
+		}
+		File tempFile = createTempFile(file);
+		try {
+			OutputStream out = new FileOutputStream(tempFile);
+			try {
+				out.write(content);
+			} finally {
+				out.close();
+			}
+			return tempFile;
+		} catch (IOException e) {
+			tempFile.delete();
+			throw e;
+		}
+	}
+
 	public void move(IPath oldPath, IPath newPath) throws CoreException {
+		// ensure pending content is written to the old location before it is moved
+		flushPending();
 		File oldFile = getFile(oldPath, false);
 		// TODO lock hierarchy and throw an exception if oldFile is in use 
 		if (oldFile.exists()) {
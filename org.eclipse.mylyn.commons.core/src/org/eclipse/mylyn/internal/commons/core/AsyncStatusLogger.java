@@ -0,0 +1,471 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Delivers statuses to a {@link Sink} on a background thread. Statuses are queued in a bounded queue and delivered in
+ * batches. Repeated statuses that have the same fingerprint are suppressed for the duration of the suppression window
+ * and replaced by a single summary that states how many occurrences were suppressed.
+ *
+ * @author agent
+ */
+public class AsyncStatusLogger {
+
+	/**
+	 * Determines how statuses are handled when the queue is full.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * The status is delivered on the thread that logs it which slows down the caller until the queue has capacity.
+		 */
+		CALLER_RUNS,
+		/**
+		 * The status is discarded. The number of discarded statuses is reported with the next batch.
+		 */
+		DISCARD
+	}
+
+	/**
+	 * Receives batches of statuses on the logger thread.
+	 */
+	public interface Sink {
+
+		/**
+		 * Writes <code>statuses</code> to the log.
+		 */
+		void log(List<IStatus> statuses);
+
+		/**
+		 * Forwards <code>statuses</code> to error reporters. The statuses have been passed to {@link #log(List)}
+		 * before.
+		 */
+		void report(List<IStatus> statuses);
+
+	}
+
+	private static class Entry {
+
+		private final boolean report;
+
+		private final IStatus status;
+
+		public Entry(IStatus status, boolean report) {
+			this.status = status;
+			this.report = report;
+		}
+
+	}
+
+	private static class Suppression {
+
+		private int count;
+
+		private final boolean report;
+
+		private final IStatus status;
+
+		private final long windowStart;
+
+		public Suppression(IStatus status, boolean report, long windowStart) {
+			this.status = status;
+			this.report = report;
+			this.windowStart = windowStart;
+		}
+
+	}
+
+	public static final int DEFAULT_CAPACITY = 1000;
+
+	public static final long DEFAULT_SUPPRESSION_WINDOW = 60 * 1000;
+
+	private static final int MAX_BATCH_SIZE = 100;
+
+	private static final int MAX_FINGERPRINTS = 500;
+
+	private final AtomicLong deliveredCount = new AtomicLong();
+
+	private final AtomicLong discardedCount = new AtomicLong();
+
+	private long discardedSinceLastBatch;
+
+	private final Sink fallback;
+
+	private final Object flushLock = new Object();
+
+	private volatile OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+
+	private long pending;
+
+	private final BlockingQueue<Entry> queue;
+
+	private volatile boolean shutdown;
+
+	private final Sink sink;
+
+	private final AtomicLong suppressedCount = new AtomicLong();
+
+	private final Map<String, Suppression> suppressions = new HashMap<String, Suppression>();
+
+	private volatile long suppressionWindow = DEFAULT_SUPPRESSION_WINDOW;
+
+	private Thread thread;
+
+	public AsyncStatusLogger(Sink sink) {
+		this(sink, DEFAULT_CAPACITY);
+	}
+
+	public AsyncStatusLogger(Sink sink, int capacity) {
+		this(sink, null, capacity);
+	}
+
+	/**
+	 * @param fallback
+	 *            receives the statuses of a batch and the failure if <code>sink</code> throws an exception or
+	 *            <code>null</code>, to discard the batch
+	 */
+	public AsyncStatusLogger(Sink sink, Sink fallback, int capacity) {
+		Assert.isNotNull(sink);
+		Assert.isLegal(capacity > 0);
+		this.sink = sink;
+		this.fallback = fallback;
+		this.queue = new ArrayBlockingQueue<Entry>(capacity);
+	}
+
+	/**
+	 * Delivers all queued statuses and summaries of suppressed statuses. Blocks until the statuses have been delivered
+	 * or <code>timeout</code> milliseconds have passed.
+	 *
+	 * @return true, if all statuses were delivered
+	 */
+	public boolean flush(long timeout) throws InterruptedException {
+		List<Entry> summaries = new ArrayList<Entry>();
+		synchronized (suppressions) {
+			for (Suppression suppression : suppressions.values()) {
+				if (suppression.count > 0) {
+					summaries.add(createSummary(suppression));
+				}
+			}
+			suppressions.clear();
+		}
+		for (Entry summary : summaries) {
+			enqueue(summary);
+		}
+
+		long deadline = System.currentTimeMillis() + timeout;
+		synchronized (flushLock) {
+			while (pending > 0) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					return false;
+				}
+				flushLock.wait(remaining);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of statuses that have been passed to the sink, including summaries.
+	 */
+	public long getDeliveredCount() {
+		return deliveredCount.get();
+	}
+
+	/**
+	 * Returns the number of statuses that were discarded because the queue was full.
+	 */
+	public long getDiscardedCount() {
+		return discardedCount.get();
+	}
+
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * Returns the number of statuses that were suppressed as repetitions.
+	 */
+	public long getSuppressedCount() {
+		return suppressedCount.get();
+	}
+
+	public long getSuppressionWindow() {
+		return suppressionWindow;
+	}
+
+	/**
+	 * Queues <code>status</code> for delivery. Returns immediately unless the queue is full and the overflow policy is
+	 * {@link OverflowPolicy#CALLER_RUNS}.
+	 *
+	 * @param report
+	 *            if true, <code>status</code> is also passed to error reporters
+	 */
+	public void log(IStatus status, boolean report) {
+		Assert.isNotNull(status);
+		if (suppressionWindow > 0) {
+			String fingerprint = fingerprint(status);
+			long now = System.currentTimeMillis();
+			Entry summary = null;
+			synchronized (suppressions) {
+				Suppression suppression = suppressions.get(fingerprint);
+				if (suppression != null && now - suppression.windowStart < suppressionWindow) {
+					suppression.count++;
+					suppressedCount.incrementAndGet();
+					return;
+				}
+				if (suppression != null && suppression.count > 0) {
+					summary = createSummary(suppression);
+				}
+				if (suppression != null || suppressions.size() < MAX_FINGERPRINTS) {
+					suppressions.put(fingerprint, new Suppression(status, report, now));
+				}
+			}
+			if (summary != null) {
+				enqueue(summary);
+			}
+		}
+		enqueue(new Entry(status, report));
+	}
+
+	/**
+	 * Stops the logger thread after it has delivered the queued statuses. Statuses that are logged afterwards are
+	 * delivered on the thread that logs them. Blocks until the logger thread has stopped or <code>timeout</code>
+	 * milliseconds have passed.
+	 *
+	 * @return true, if the logger thread has stopped
+	 */
+	public boolean shutdown(long timeout) throws InterruptedException {
+		Thread thread;
+		synchronized (this) {
+			shutdown = true;
+			thread = this.thread;
+			this.thread = null;
+		}
+		if (thread != null) {
+			thread.interrupt();
+			thread.join(timeout);
+			return !thread.isAlive();
+		}
+		return true;
+	}
+
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.isNotNull(overflowPolicy);
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Sets the time in milliseconds during which repetitions of a status are suppressed. A value of 0 disables
+	 * suppression.
+	 */
+	public void setSuppressionWindow(long suppressionWindow) {
+		this.suppressionWindow = suppressionWindow;
+	}
+
+	private Entry createSummary(Suppression suppression) {
+		IStatus status = suppression.status;
+		String message = NLS.bind(Messages.AsyncStatusLogger_Suppressed_Statuses, new Object[] { suppression.count,
+				TimeUnit.MILLISECONDS.toSeconds(suppressionWindow), status.getMessage() });
+		return new Entry(new Status(status.getSeverity(), status.getPlugin(), status.getCode(), message, null),
+				suppression.report);
+	}
+
+	private void deliver(List<Entry> batch) {
+		List<IStatus> logged = new ArrayList<IStatus>(batch.size() + 1);
+		List<IStatus> reported = null;
+		long discarded;
+		synchronized (this) {
+			discarded = discardedSinceLastBatch;
+			discardedSinceLastBatch = 0;
+		}
+		if (discarded > 0) {
+			logged.add(new Status(IStatus.WARNING, ICommonsCoreConstants.ID_PLUGIN,
+					NLS.bind(Messages.AsyncStatusLogger_Discarded_Statuses, discarded)));
+		}
+		for (Entry entry : batch) {
+			logged.add(entry.status);
+			if (entry.report) {
+				if (reported == null) {
+					reported = new ArrayList<IStatus>();
+				}
+				reported.add(entry.status);
+			}
+		}
+		try {
+			sink.log(Collections.unmodifiableList(logged));
+			if (reported != null) {
+				sink.report(Collections.unmodifiableList(reported));
+			}
+		} catch (RuntimeException e) {
+			// the sink must not stop the logger thread
+			if (fallback != null) {
+				List<IStatus> failed = new ArrayList<IStatus>(logged.size() + 1);
+				failed.add(new Status(IStatus.ERROR, ICommonsCoreConstants.ID_PLUGIN, "Failed to log statuses", e)); //$NON-NLS-1$
+				failed.addAll(logged);
+				try {
+					fallback.log(Collections.unmodifiableList(failed));
+				} catch (RuntimeException ignored) {
+					// nothing left to report to
+				}
+			}
+		}
+		deliveredCount.addAndGet(logged.size());
+	}
+
+	private void decrementPending(int count) {
+		synchronized (flushLock) {
+			pending -= count;
+			if (pending <= 0) {
+				flushLock.notifyAll();
+			}
+		}
+	}
+
+	private void deliverQueued() {
+		List<Entry> batch = new ArrayList<Entry>(MAX_BATCH_SIZE);
+		while (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+			deliver(batch);
+			decrementPending(batch.size());
+			batch.clear();
+		}
+	}
+
+	private void enqueue(Entry entry) {
+		synchronized (flushLock) {
+			pending++;
+		}
+		if (!shutdown && queue.offer(entry)) {
+			ensureThreadStarted();
+			if (shutdown) {
+				// the logger thread may have stopped before the entry was queued
+				deliverQueued();
+			}
+			return;
+		}
+		if (shutdown || overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+			deliver(Collections.singletonList(entry));
+		} else {
+			discardedCount.incrementAndGet();
+			synchronized (this) {
+				discardedSinceLastBatch++;
+			}
+		}
+		decrementPending(1);
+	}
+
+	private synchronized void ensureThreadStarted() {
+		if (thread == null && !shutdown) {
+			thread = new Thread("Mylyn Status Logger") { //$NON-NLS-1$
+				@Override
+				public void run() {
+					processQueue();
+				}
+			};
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	private void expireSuppressions() {
+		List<Entry> summaries = null;
+		long now = System.currentTimeMillis();
+		synchronized (suppressions) {
+			for (Iterator<Suppression> it = suppressions.values().iterator(); it.hasNext();) {
+				Suppression suppression = it.next();
+				if (now - suppression.windowStart >= suppressionWindow) {
+					if (suppression.count > 0) {
+						if (summaries == null) {
+							summaries = new ArrayList<Entry>();
+						}
+						summaries.add(createSummary(suppression));
+					}
+					it.remove();
+				}
+			}
+		}
+		if (summaries != null) {
+			for (Entry summary : summaries) {
+				enqueue(summary);
+			}
+		}
+	}
+
+	private void processQueue() {
+		List<Entry> batch = new ArrayList<Entry>(MAX_BATCH_SIZE);
+		try {
+			while (!shutdown) {
+				long timeout = Math.max(suppressionWindow, 1000);
+				Entry entry = queue.poll(timeout, TimeUnit.MILLISECONDS);
+				if (entry != null) {
+					batch.add(entry);
+					queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+					deliver(batch);
+					decrementPending(batch.size());
+					batch.clear();
+				}
+				expireSuppressions();
+			}
+		} catch (InterruptedException e) {
+			// stopped by shutdown()
+		}
+		deliverQueued();
+	}
+
+	static String fingerprint(IStatus status) {
+		StringBuilder sb = new StringBuilder();
+		appendFingerprint(sb, status);
+		return sb.toString();
+	}
+
+	private static void appendFingerprint(StringBuilder sb, IStatus status) {
+		sb.append(status.getSeverity());
+		sb.append('|');
+		sb.append(status.getPlugin());
+		sb.append('|');
+		sb.append(status.getCode());
+		sb.append('|');
+		sb.append(status.getMessage());
+		Throwable exception = status.getException();
+		if (exception != null) {
+			sb.append('|');
+			sb.append(exception.getClass().getName());
+			StackTraceElement[] trace = exception.getStackTrace();
+			if (trace.length > 0) {
+				sb.append('@');
+				sb.append(trace[0]);
+			}
+		}
+		for (IStatus child : status.getChildren()) {
+			sb.append('[');
+			appendFingerprint(sb, child);
+			sb.append(']');
+		}
+	}
+
+}
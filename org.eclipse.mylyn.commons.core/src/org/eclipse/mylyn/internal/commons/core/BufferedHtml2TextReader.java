@@ -0,0 +1,512 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.core;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * Reads the text contents from a reader of HTML contents and translates the tags or cuts them out. Produces the same
+ * text as {@link Html2TextReader} but reads the underlying reader in blocks and copies runs of plain text in bulk
+ * instead of processing each character through a chain of readers.
+ * <p>
+ * The number of characters that are produced can be limited. Conversion stops as soon as the limit is reached which
+ * avoids reading the remainder of large documents.
+ * </p>
+ *
+ * @author agent
+ * @see Html2TextReader
+ */
+public class BufferedHtml2TextReader extends Reader {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final String EMPTY_STRING = ""; //$NON-NLS-1$
+
+	private static final String[] ENTITY_NAMES = { "lt", "gt", "nbsp", "amp", "circ", "tilde", "quot" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+
+	private static final char[] ENTITY_VALUES = { '<', '>', ' ', '&', '^', '~', '"' };
+
+	private static final String LINE_DELIM = System.getProperty("line.separator", "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * The length of the longest tag in {@link #TAGS} including a leading slash.
+	 */
+	private static final int MAX_TAG_LENGTH = 5;
+
+	private static final Set<String> TAGS;
+
+	static {
+		TAGS = new HashSet<String>();
+		TAGS.add("b"); //$NON-NLS-1$
+		TAGS.add("br"); //$NON-NLS-1$
+		TAGS.add("br/"); //$NON-NLS-1$
+		TAGS.add("div"); //$NON-NLS-1$
+		TAGS.add("h1"); //$NON-NLS-1$
+		TAGS.add("h2"); //$NON-NLS-1$
+		TAGS.add("h3"); //$NON-NLS-1$
+		TAGS.add("h4"); //$NON-NLS-1$
+		TAGS.add("h5"); //$NON-NLS-1$
+		TAGS.add("p"); //$NON-NLS-1$
+		TAGS.add("dl"); //$NON-NLS-1$
+		TAGS.add("dt"); //$NON-NLS-1$
+		TAGS.add("dd"); //$NON-NLS-1$
+		TAGS.add("li"); //$NON-NLS-1$
+		TAGS.add("ul"); //$NON-NLS-1$
+		TAGS.add("pre"); //$NON-NLS-1$
+		TAGS.add("head"); //$NON-NLS-1$
+	}
+
+	private final char[] buffer;
+
+	private boolean done;
+
+	private long emitted;
+
+	private boolean endOfInput;
+
+	private boolean ignore;
+
+	private boolean inParagraph;
+
+	private int limit;
+
+	private final long maxLength;
+
+	private final StringBuilder out;
+
+	private int outPosition;
+
+	private int pendingChar = -1;
+
+	private int position;
+
+	private boolean preformattedText;
+
+	private final Reader reader;
+
+	private final StringBuilder scratch = new StringBuilder();
+
+	private boolean wasWhitespace = true;
+
+	public BufferedHtml2TextReader(Reader reader) {
+		this(reader, Long.MAX_VALUE);
+	}
+
+	/**
+	 * @param reader
+	 *            the reader of HTML contents
+	 * @param maxLength
+	 *            the maximum number of characters that are returned
+	 */
+	public BufferedHtml2TextReader(Reader reader, long maxLength) {
+		Assert.isNotNull(reader);
+		Assert.isLegal(maxLength >= 0);
+		this.reader = reader;
+		this.maxLength = maxLength;
+		this.buffer = new char[BUFFER_SIZE];
+		this.out = new StringBuilder();
+		this.done = (maxLength == 0);
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	/**
+	 * Converts the remaining contents and returns them as a string.
+	 *
+	 * @return the readable content as string
+	 * @throws IOException
+	 *             in case reading fails
+	 */
+	public String getString() throws IOException {
+		while (convertNext()) {
+		}
+		String result = out.substring(outPosition);
+		out.setLength(0);
+		outPosition = 0;
+		return result;
+	}
+
+	/**
+	 * Returns true, if the maximum number of characters has been produced. Any remaining input is not converted.
+	 */
+	public boolean isTruncated() {
+		return emitted >= maxLength;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!fill(1)) {
+			return -1;
+		}
+		char c = out.charAt(outPosition++);
+		compact();
+		return c;
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		if (off < 0 || len < 0 || off + len > cbuf.length) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (len == 0) {
+			return 0;
+		}
+		if (!fill(len)) {
+			return -1;
+		}
+		int count = Math.min(len, out.length() - outPosition);
+		out.getChars(outPosition, outPosition + count, cbuf, off);
+		outPosition += count;
+		compact();
+		return count;
+	}
+
+	@Override
+	public boolean ready() throws IOException {
+		return out.length() > outPosition || (!done && reader.ready());
+	}
+
+	private void append(char[] chars, int offset, int count) {
+		long remaining = maxLength - emitted;
+		if (count >= remaining) {
+			count = (int) remaining;
+			done = true;
+		}
+		out.append(chars, offset, count);
+		emitted += count;
+		wasWhitespace = false;
+	}
+
+	private void compact() {
+		if (outPosition == out.length()) {
+			out.setLength(0);
+			outPosition = 0;
+		}
+	}
+
+	/**
+	 * Converts the next run of text, tag or entity.
+	 *
+	 * @return false, if the end of the input or the maximum length has been reached
+	 */
+	private boolean convertNext() throws IOException {
+		if (done) {
+			return false;
+		}
+		if (pendingChar == -1 && !ignore && position < limit) {
+			// copy plain text up to the next markup or white space
+			int start = position;
+			char[] chars = buffer;
+			int end = limit;
+			int i = start;
+			while (i < end) {
+				char ch = chars[i];
+				if (ch == '<' || ch == '&' || Character.isWhitespace(ch)) {
+					break;
+				}
+				i++;
+			}
+			if (i > start) {
+				position = i;
+				append(chars, start, i - start);
+				return !done;
+			}
+		}
+
+		int c = nextChar();
+		if (c == -1) {
+			done = true;
+			return false;
+		}
+		if (c == '<') {
+			String text = processHtmlTag();
+			if (text == null) {
+				emit('<');
+			} else {
+				emit(text);
+			}
+		} else if (ignore) {
+			// skip
+		} else if (c == '&') {
+			processEntity();
+		} else {
+			emit((char) c);
+		}
+		return !done;
+	}
+
+	private void emit(char c) {
+		if (c == ' ' && wasWhitespace) {
+			return;
+		}
+		if (done) {
+			return;
+		}
+		out.append(c);
+		wasWhitespace = (c == ' ' || c == '\r' || c == '\n');
+		if (++emitted >= maxLength) {
+			done = true;
+		}
+	}
+
+	private void emit(CharSequence text) {
+		for (int i = 0; i < text.length(); i++) {
+			emit(text.charAt(i));
+		}
+	}
+
+	private boolean fill(int count) throws IOException {
+		while (out.length() - outPosition < count && convertNext()) {
+		}
+		return out.length() > outPosition;
+	}
+
+	private String html2Text() {
+		int length = scratch.length();
+		if (length == 0 || length > MAX_TAG_LENGTH) {
+			return EMPTY_STRING;
+		}
+
+		String html = scratch.toString();
+		String tag = html;
+		if ('/' == tag.charAt(0)) {
+			tag = tag.substring(1);
+		}
+
+		if (!TAGS.contains(tag)) {
+			return EMPTY_STRING;
+		}
+
+		if ("pre".equals(html)) { //$NON-NLS-1$
+			preformattedText = true;
+			return EMPTY_STRING;
+		}
+
+		if ("/pre".equals(html)) { //$NON-NLS-1$
+			preformattedText = false;
+			return EMPTY_STRING;
+		}
+
+		if (preformattedText) {
+			return EMPTY_STRING;
+		}
+
+		if ("dl".equals(html)) { //$NON-NLS-1$
+			return LINE_DELIM;
+		}
+
+		if ("dd".equals(html)) { //$NON-NLS-1$
+			return "\t"; //$NON-NLS-1$
+		}
+
+		if ("li".equals(html)) { //$NON-NLS-1$
+			return LINE_DELIM + "  - "; //$NON-NLS-1$
+		}
+
+		if ("p".equals(html)) { //$NON-NLS-1$
+			inParagraph = true;
+			return LINE_DELIM;
+		}
+
+		if ("br".equals(html) || "br/".equals(html) || "div".equals(html)) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			return LINE_DELIM;
+		}
+
+		if ("/p".equals(html)) { //$NON-NLS-1$
+			boolean wasInParagraph = inParagraph;
+			inParagraph = false;
+			return wasInParagraph ? EMPTY_STRING : LINE_DELIM;
+		}
+
+		if ((html.startsWith("/h") && html.length() > 2 && Character.isDigit(html.charAt(2))) || "/dt".equals(html)) { //$NON-NLS-1$ //$NON-NLS-2$
+			return LINE_DELIM;
+		}
+
+		if ("/dd".equals(html)) { //$NON-NLS-1$
+			return LINE_DELIM;
+		}
+
+		if ("head".equals(html)) { //$NON-NLS-1$
+			ignore = true;
+			return EMPTY_STRING;
+		}
+
+		if ("/head".equals(html)) { //$NON-NLS-1$
+			ignore = false;
+			return EMPTY_STRING;
+		}
+
+		return EMPTY_STRING;
+	}
+
+	/**
+	 * Returns the next character of the input and collapses a sequence of white space characters into a single space.
+	 */
+	private int nextChar() throws IOException {
+		int ch = pendingChar;
+		if (ch == -1) {
+			ch = readChar();
+		} else {
+			pendingChar = -1;
+		}
+		if (Character.isWhitespace((char) ch)) {
+			do {
+				ch = readChar();
+			} while (Character.isWhitespace((char) ch));
+			if (ch != -1) {
+				pendingChar = ch;
+				return ' ';
+			}
+		}
+		return ch;
+	}
+
+	/**
+	 * Parses the numeric character reference in {@link #scratch} starting at <code>offset</code>.
+	 *
+	 * @return the character or -1, if the reference is not a valid number
+	 */
+	private int parseCharacterReference(int offset, int radix) {
+		int length = scratch.length();
+		if (offset >= length) {
+			return -1;
+		}
+		long value = 0;
+		for (int i = offset; i < length; i++) {
+			int digit = Character.digit(scratch.charAt(i), radix);
+			if (digit < 0) {
+				return -1;
+			}
+			value = value * radix + digit;
+			if (value > Integer.MAX_VALUE) {
+				return -1;
+			}
+		}
+		return (char) value;
+	}
+
+	/**
+	 * A '&' has been read. Processes an entity.
+	 */
+	private void processEntity() throws IOException {
+		scratch.setLength(0);
+		int ch = nextChar();
+		while (Character.isLetterOrDigit((char) ch) || ch == '#') {
+			scratch.append((char) ch);
+			ch = nextChar();
+		}
+
+		if (ch == ';') {
+			int length = scratch.length();
+			if (length > 1 && scratch.charAt(0) == '#') {
+				int value = (scratch.charAt(1) == 'x')
+						? parseCharacterReference(2, 16)
+						: parseCharacterReference(1, 10);
+				if (value != -1) {
+					emit((char) value);
+					return;
+				}
+			} else {
+				for (int i = 0; i < ENTITY_NAMES.length; i++) {
+					if (ENTITY_NAMES[i].length() == length && ENTITY_NAMES[i].contentEquals(scratch)) {
+						emit(ENTITY_VALUES[i]);
+						return;
+					}
+				}
+			}
+			// not found
+			emit('&');
+			emit(scratch);
+			emit(';');
+			return;
+		}
+
+		emit('&');
+		emit(scratch);
+		if (ch != -1) {
+			emit((char) ch);
+		}
+	}
+
+	/**
+	 * A '<' has been read. Processes an HTML tag.
+	 */
+	private String processHtmlTag() throws IOException {
+		scratch.setLength(0);
+		int ch;
+		do {
+			ch = nextChar();
+
+			while (ch != -1 && ch != '>') {
+				scratch.append(Character.toLowerCase((char) ch));
+				ch = nextChar();
+				if (ch == '"') {
+					scratch.append('"');
+					ch = nextChar();
+					while (ch != -1 && ch != '"') {
+						scratch.append(Character.toLowerCase((char) ch));
+						ch = nextChar();
+					}
+				}
+				if (ch == '<') {
+					pendingChar = ch;
+					return '<' + scratch.toString();
+				}
+			}
+
+			if (ch == -1) {
+				return null;
+			}
+
+			int tagLength = scratch.length();
+			// needs special treatment for comments
+			if ((tagLength >= 3 && scratch.charAt(0) == '!' && scratch.charAt(1) == '-' && scratch.charAt(2) == '-')
+					&& !(tagLength >= 5 && scratch.charAt(tagLength - 2) == '-' && scratch.charAt(tagLength - 1) == '-')) {
+				// unfinished comment
+				scratch.append('>');
+			} else {
+				break;
+			}
+		} while (true);
+
+		return html2Text();
+	}
+
+	private int readChar() throws IOException {
+		if (position >= limit) {
+			if (endOfInput) {
+				return -1;
+			}
+			int count;
+			do {
+				count = reader.read(buffer, 0, buffer.length);
+			} while (count == 0);
+			if (count == -1) {
+				endOfInput = true;
+				return -1;
+			}
+			position = 0;
+			limit = count;
+		}
+		return buffer[position++];
+	}
+
+}
@@ -20,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.net.proxy.IProxyService;
 import org.eclipse.core.runtime.Plugin;
+import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.osgi.framework.BundleContext;
 import org.osgi.util.tracker.ServiceTracker;
 
@@ -88,6 +89,7 @@ public class CommonsCorePlugin extends Plugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		StatusHandler.shutdown();
 		tracker.close();
 		tracker = null;
 		if (service != null) {
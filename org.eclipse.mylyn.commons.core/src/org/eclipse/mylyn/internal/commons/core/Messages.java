@@ -18,6 +18,10 @@ public class Messages extends NLS {
 
 	private static final String BUNDLE_NAME = "org.eclipse.mylyn.internal.commons.core.messages"; //$NON-NLS-1$
 
+	public static String AsyncStatusLogger_Discarded_Statuses;
+
+	public static String AsyncStatusLogger_Suppressed_Statuses;
+
 	public static String DateUtil_ago;
 
 	public static String DateUtil_day;
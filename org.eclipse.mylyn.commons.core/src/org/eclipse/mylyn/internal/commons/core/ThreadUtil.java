@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors that run blocking I/O tasks.
+ *
+ * @author agent
+ */
+public class ThreadUtil {
+
+	/**
+	 * Virtual threads pin their carrier thread while waiting on a monitor on earlier versions (JEP 491).
+	 */
+	private static final int MIN_VIRTUAL_THREAD_VERSION = 24;
+
+	/**
+	 * Returns an executor that runs each task on a new virtual thread or <code>null</code>, if the runtime does not
+	 * support virtual threads that do not pin their carrier thread while waiting on a monitor (Java 24 or later).
+	 */
+	public static ExecutorService createVirtualThreadExecutor() {
+		if (getJavaVersion() < MIN_VIRTUAL_THREAD_VERSION) {
+			return null;
+		}
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor"); //$NON-NLS-1$
+			return (ExecutorService) method.invoke(null);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns a factory for daemon threads that are named <code>name</code> followed by a sequence number.
+	 */
+	public static ThreadFactory createDaemonThreadFactory(final String name) {
+		return new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, name + " " + count.incrementAndGet()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+	}
+
+	/**
+	 * Returns the feature version of the Java specification of the runtime, e.g. 8 for Java 1.8 and 21 for Java 21.
+	 */
+	public static int getJavaVersion() {
+		String version = System.getProperty("java.specification.version", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		if (version.startsWith("1.")) { //$NON-NLS-1$
+			version = version.substring(2);
+		}
+		int i = version.indexOf('.');
+		try {
+			return Integer.parseInt((i != -1) ? version.substring(0, i) : version);
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+}
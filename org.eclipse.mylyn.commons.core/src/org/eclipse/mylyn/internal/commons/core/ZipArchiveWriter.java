@@ -0,0 +1,487 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.core;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Writes zip archives from entries that have been compressed in advance. This allows compressing entries concurrently
+ * while the archive is assembled in order on a single thread. Compressed data is kept in memory up to a threshold and
+ * spilled to a temporary file otherwise. Data is copied into the archive with {@link FileChannel#transferTo(long, long,
+ * WritableByteChannel)}. Archives larger than 4 GB and entries larger than 4 GB are written in the Zip64 format. If
+ * writing an entry fails, the archive is incomplete and is deleted when the writer is closed.
+ *
+ * @author agent
+ * @see ZipFileUtil
+ */
+class ZipArchiveWriter implements Closeable {
+
+	/**
+	 * An entry that has been prepared for writing. Instances are created by
+	 * {@link ZipArchiveWriter#prepare(File, String, int)}.
+	 */
+	static class PreparedEntry {
+
+		private long compressedSize;
+
+		private long crc;
+
+		private SpillBuffer data;
+
+		private long dosTime;
+
+		private int method;
+
+		private final String name;
+
+		private long offset;
+
+		private long size;
+
+		private File source;
+
+		PreparedEntry(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Releases temporary resources.
+		 */
+		void dispose() {
+			if (data != null) {
+				data.dispose();
+				data = null;
+			}
+		}
+
+		String getName() {
+			return name;
+		}
+
+	}
+
+	/**
+	 * Buffers compressed data in memory and spills it to a temporary file once the threshold is exceeded.
+	 */
+	private static class SpillBuffer extends OutputStream {
+
+		private byte[] buffer = new byte[BUFFER_SIZE];
+
+		private int count;
+
+		private File file;
+
+		private OutputStream fileOut;
+
+		private long size;
+
+		@Override
+		public void close() throws IOException {
+			if (fileOut != null) {
+				fileOut.close();
+				fileOut = null;
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (file == null) {
+				if (count + len <= SPILL_THRESHOLD) {
+					if (count + len > buffer.length) {
+						int size = Math.min(Math.max(buffer.length * 2, count + len), SPILL_THRESHOLD);
+						buffer = Arrays.copyOf(buffer, size);
+					}
+					System.arraycopy(b, off, buffer, count, len);
+					count += len;
+					size += len;
+					return;
+				}
+				file = File.createTempFile("mylyn-zip", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+				fileOut = new FileOutputStream(file);
+				fileOut.write(buffer, 0, count);
+				buffer = null;
+			}
+			fileOut.write(b, off, len);
+			size += len;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		void dispose() {
+			buffer = null;
+			if (file != null) {
+				try {
+					close();
+				} catch (IOException e) {
+					// ignore
+				}
+				file.delete();
+				file = null;
+			}
+		}
+
+		long size() {
+			return size;
+		}
+
+		void transferTo(WritableByteChannel target) throws IOException {
+			if (file == null) {
+				writeFully(target, ByteBuffer.wrap(buffer, 0, count));
+			} else {
+				try (FileInputStream in = new FileInputStream(file)) {
+					transferFully(in.getChannel(), size, target);
+				}
+			}
+		}
+
+	}
+
+	static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final int CENSIG = 0x02014b50;
+
+	private static final int ENDSIG = 0x06054b50;
+
+	private static final int EXTID_ZIP64 = 0x0001;
+
+	private static final int FLAG_UTF8 = 1 << 11;
+
+	private static final int LOCSIG = 0x04034b50;
+
+	private static final int SPILL_THRESHOLD = 4 * 1024 * 1024;
+
+	private static final int VERSION_DEFAULT = 20;
+
+	private static final int VERSION_ZIP64 = 45;
+
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+	private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+	private static final int ZIP64_ENDSIG = 0x06064b50;
+
+	private static final int ZIP64_LOCSIG = 0x07064b50;
+
+	/**
+	 * Reads <code>file</code> and compresses it if <code>method</code> is {@link ZipEntry#DEFLATED}. Files that do not
+	 * compress are stored. This method may be invoked concurrently.
+	 */
+	static PreparedEntry prepare(File file, String name, int method) throws IOException {
+		PreparedEntry entry = new PreparedEntry(name);
+		entry.dosTime = toDosTime(file.lastModified());
+		entry.source = file;
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		long size = 0;
+		if (method == ZipEntry.STORED) {
+			try (InputStream in = new FileInputStream(file)) {
+				int count;
+				while ((count = in.read(buffer)) != -1) {
+					crc.update(buffer, 0, count);
+					size += count;
+				}
+			}
+		} else {
+			SpillBuffer data = new SpillBuffer();
+			Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+			try {
+				try (InputStream in = new FileInputStream(file);
+						DeflaterOutputStream out = new DeflaterOutputStream(data, deflater, BUFFER_SIZE)) {
+					int count;
+					while ((count = in.read(buffer)) != -1) {
+						crc.update(buffer, 0, count);
+						size += count;
+						out.write(buffer, 0, count);
+					}
+				}
+			} catch (IOException e) {
+				data.dispose();
+				throw e;
+			} finally {
+				deflater.end();
+			}
+			if (data.size() < size) {
+				entry.data = data;
+				entry.compressedSize = data.size();
+				entry.method = ZipEntry.DEFLATED;
+			} else {
+				// store data that does not compress
+				data.dispose();
+			}
+		}
+		if (entry.data == null) {
+			entry.compressedSize = size;
+			entry.method = ZipEntry.STORED;
+		}
+		entry.crc = crc.getValue();
+		entry.size = size;
+		return entry;
+	}
+
+	static long toDosTime(long time) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(time);
+		int year = calendar.get(Calendar.YEAR);
+		if (year < 1980) {
+			return (1 << 21) | (1 << 16);
+		}
+		return ((long) (year - 1980) << 25) | ((calendar.get(Calendar.MONTH) + 1) << 21)
+				| (calendar.get(Calendar.DAY_OF_MONTH) << 16) | (calendar.get(Calendar.HOUR_OF_DAY) << 11)
+				| (calendar.get(Calendar.MINUTE) << 5) | (calendar.get(Calendar.SECOND) >> 1);
+	}
+
+	private static void transferFully(FileChannel source, long count, WritableByteChannel target) throws IOException {
+		ByteBuffer buffer = null;
+		long position = 0;
+		while (position < count) {
+			long transferred = source.transferTo(position, count - position, target);
+			if (transferred <= 0) {
+				// transferTo() may not make progress, e.g. if the file was truncated, fall back to copying
+				if (buffer == null) {
+					buffer = ByteBuffer.allocate(BUFFER_SIZE);
+				}
+				buffer.clear();
+				buffer.limit((int) Math.min(buffer.capacity(), count - position));
+				transferred = source.read(buffer, position);
+				if (transferred <= 0) {
+					throw new IOException("Unexpected end of file"); //$NON-NLS-1$
+				}
+				buffer.flip();
+				writeFully(target, buffer);
+			}
+			position += transferred;
+		}
+	}
+
+	private static void writeFully(WritableByteChannel target, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			target.write(buffer);
+		}
+	}
+
+	private final FileChannel channel;
+
+	private final List<PreparedEntry> entries = new ArrayList<PreparedEntry>();
+
+	private boolean failed;
+
+	private final File file;
+
+	private final Set<String> names = new HashSet<String>();
+
+	private long offset;
+
+	private final FileOutputStream out;
+
+	public ZipArchiveWriter(File file) throws IOException {
+		this.file = file;
+		this.out = new FileOutputStream(file);
+		this.channel = out.getChannel();
+	}
+
+	/**
+	 * Writes the central directory and closes the archive. If writing an entry or the central directory has failed, the
+	 * archive is deleted instead.
+	 */
+	public void close() throws IOException {
+		try {
+			if (!failed) {
+				failed = true;
+				writeCentralDirectory();
+				failed = false;
+			}
+		} finally {
+			out.close();
+			if (failed) {
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Appends <code>entry</code> to the archive and releases its temporary resources.
+	 *
+	 * @throws ZipException
+	 *             if an entry with the same name has been written before
+	 * @throws IOException
+	 *             if writing fails, no further entries can be written to the archive in that case
+	 */
+	public void write(PreparedEntry entry) throws IOException {
+		try {
+			if (failed) {
+				throw new IOException("Archive is incomplete due to a previous failure"); //$NON-NLS-1$
+			}
+			if (!names.add(entry.name)) {
+				throw new ZipException("duplicate entry: " + entry.name); //$NON-NLS-1$
+			}
+
+			byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+			boolean zip64 = entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC;
+			ByteBuffer header = ByteBuffer.allocate(30 + name.length + (zip64 ? 20 : 0)).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(LOCSIG);
+			header.putShort((short) (zip64 ? VERSION_ZIP64 : VERSION_DEFAULT));
+			header.putShort((short) getFlags(entry.name));
+			header.putShort((short) entry.method);
+			header.putInt((int) entry.dosTime);
+			header.putInt((int) entry.crc);
+			header.putInt((int) (zip64 ? ZIP64_MAGIC : entry.compressedSize));
+			header.putInt((int) (zip64 ? ZIP64_MAGIC : entry.size));
+			header.putShort((short) name.length);
+			header.putShort((short) (zip64 ? 20 : 0));
+			header.put(name);
+			if (zip64) {
+				header.putShort((short) EXTID_ZIP64);
+				header.putShort((short) 16);
+				header.putLong(entry.size);
+				header.putLong(entry.compressedSize);
+			}
+			header.flip();
+
+			entry.offset = offset;
+			// a partially written entry leaves the archive in an inconsistent state
+			failed = true;
+			writeFully(channel, header);
+			if (entry.data != null) {
+				entry.data.transferTo(channel);
+			} else {
+				try (FileInputStream in = new FileInputStream(entry.source)) {
+					transferFully(in.getChannel(), entry.compressedSize, channel);
+				}
+			}
+			failed = false;
+			offset += header.limit() + entry.compressedSize;
+			entries.add(entry);
+		} finally {
+			entry.dispose();
+		}
+	}
+
+	private int getFlags(String name) {
+		for (int i = 0; i < name.length(); i++) {
+			if (name.charAt(i) > 0x7F) {
+				return FLAG_UTF8;
+			}
+		}
+		return 0;
+	}
+
+	private void writeCentralDirectory() throws IOException {
+		long centralDirectoryOffset = offset;
+		for (PreparedEntry entry : entries) {
+			byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+			boolean zip64Size = entry.size >= ZIP64_MAGIC;
+			boolean zip64CompressedSize = entry.compressedSize >= ZIP64_MAGIC;
+			boolean zip64Offset = entry.offset >= ZIP64_MAGIC;
+			int extraLength = (zip64Size ? 8 : 0) + (zip64CompressedSize ? 8 : 0) + (zip64Offset ? 8 : 0);
+			if (extraLength > 0) {
+				extraLength += 4;
+			}
+			int version = (extraLength > 0) ? VERSION_ZIP64 : VERSION_DEFAULT;
+
+			ByteBuffer header = ByteBuffer.allocate(46 + name.length + extraLength).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(CENSIG);
+			header.putShort((short) version);
+			header.putShort((short) version);
+			header.putShort((short) getFlags(entry.name));
+			header.putShort((short) entry.method);
+			header.putInt((int) entry.dosTime);
+			header.putInt((int) entry.crc);
+			header.putInt((int) (zip64CompressedSize ? ZIP64_MAGIC : entry.compressedSize));
+			header.putInt((int) (zip64Size ? ZIP64_MAGIC : entry.size));
+			header.putShort((short) name.length);
+			header.putShort((short) extraLength);
+			header.putShort((short) 0); // comment length
+			header.putShort((short) 0); // disk number
+			header.putShort((short) 0); // internal attributes
+			header.putInt(0); // external attributes
+			header.putInt((int) (zip64Offset ? ZIP64_MAGIC : entry.offset));
+			header.put(name);
+			if (extraLength > 0) {
+				header.putShort((short) EXTID_ZIP64);
+				header.putShort((short) (extraLength - 4));
+				if (zip64Size) {
+					header.putLong(entry.size);
+				}
+				if (zip64CompressedSize) {
+					header.putLong(entry.compressedSize);
+				}
+				if (zip64Offset) {
+					header.putLong(entry.offset);
+				}
+			}
+			header.flip();
+			writeFully(channel, header);
+			offset += header.limit();
+		}
+
+		long centralDirectorySize = offset - centralDirectoryOffset;
+		int count = entries.size();
+		boolean zip64 = count >= ZIP64_MAGIC_COUNT || centralDirectorySize >= ZIP64_MAGIC
+				|| centralDirectoryOffset >= ZIP64_MAGIC;
+		ByteBuffer end = ByteBuffer.allocate(22 + (zip64 ? 56 + 20 : 0)).order(ByteOrder.LITTLE_ENDIAN);
+		if (zip64) {
+			long zip64EndOffset = offset;
+			end.putInt(ZIP64_ENDSIG);
+			end.putLong(44); // size of the remaining record
+			end.putShort((short) VERSION_ZIP64);
+			end.putShort((short) VERSION_ZIP64);
+			end.putInt(0); // disk number
+			end.putInt(0); // disk with central directory
+			end.putLong(count);
+			end.putLong(count);
+			end.putLong(centralDirectorySize);
+			end.putLong(centralDirectoryOffset);
+
+			end.putInt(ZIP64_LOCSIG);
+			end.putInt(0); // disk with zip64 end record
+			end.putLong(zip64EndOffset);
+			end.putInt(1); // total number of disks
+		}
+		end.putInt(ENDSIG);
+		end.putShort((short) 0); // disk number
+		end.putShort((short) 0); // disk with central directory
+		end.putShort((short) (zip64 ? ZIP64_MAGIC_COUNT : count));
+		end.putShort((short) (zip64 ? ZIP64_MAGIC_COUNT : count));
+		end.putInt((int) (zip64 ? ZIP64_MAGIC : centralDirectorySize));
+		end.putInt((int) (zip64 ? ZIP64_MAGIC : centralDirectoryOffset));
+		end.putShort((short) 0); // comment length
+		end.flip();
+		writeFully(channel, end);
+	}
+
+}
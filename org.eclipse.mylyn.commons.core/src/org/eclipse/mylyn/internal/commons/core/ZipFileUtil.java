@@ -12,7 +12,6 @@
 
 package org.eclipse.mylyn.internal.commons.core;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -20,11 +19,20 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
@@ -33,6 +41,8 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.commons.core.ZipArchiveWriter.PreparedEntry;
+import org.eclipse.osgi.util.NLS;
 
 /**
  * Contains utility methods for working with zip files
@@ -42,6 +52,24 @@ import org.eclipse.mylyn.commons.core.StatusHandler;
  */
 public class ZipFileUtil {
 
+	private static class ZipSource {
+
+		private final File file;
+
+		private final String path;
+
+		public ZipSource(File file, String path) {
+			this.file = file;
+			this.path = path;
+		}
+
+	}
+
+	/**
+	 * The number of entries that are compressed or extracted concurrently when parallel processing is requested.
+	 */
+	public static final int DEFAULT_PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors());
+
 	/**
 	 * Only unzips files in zip file not directories
 	 *
@@ -53,44 +81,95 @@ public class ZipFileUtil {
 	 */
 	public static List<File> unzipFiles(File zippedfile, String destPath, IProgressMonitor monitor)
 			throws FileNotFoundException, IOException {
-		try (ZipFile zipFile = new ZipFile(zippedfile)) {
+		return unzipFiles(zippedfile, destPath, 1, monitor);
+	}
+
+	/**
+	 * Only unzips files in zip file not directories. Entries that would be extracted outside of <code>destPath</code>
+	 * are rejected.
+	 *
+	 * @param zipped
+	 *            file
+	 * @param destPath
+	 *            Destination path
+	 * @param parallelism
+	 *            the number of entries that are extracted concurrently
+	 * @return Files that were unzipped in the order of the entries in the zip file
+	 * @throws IOException
+	 *             if extracting an entry fails or an entry refers to a location outside of <code>destPath</code>
+	 */
+	public static List<File> unzipFiles(File zippedfile, String destPath, int parallelism, IProgressMonitor monitor)
+			throws FileNotFoundException, IOException {
+		try (final ZipFile zipFile = new ZipFile(zippedfile)) {
 			Enumeration<? extends ZipEntry> entries = zipFile.entries();
 			List<File> outputFiles = new ArrayList<File>();
 			File destinationFile = new File(destPath);
 			if (!destinationFile.exists()) {
 				destinationFile.mkdirs();
 			}
-			while (entries.hasMoreElements()) {
-				ZipEntry entry = entries.nextElement();
-				File outputFile = new File(destinationFile, entry.getName());
-				if (entry.isDirectory() && !outputFile.exists()) {
-					outputFile.mkdirs();
-					continue;
-				}
+			String destinationRoot = destinationFile.getCanonicalPath() + File.separator;
+			ExecutorService executor = (parallelism > 1) ? Executors.newFixedThreadPool(parallelism) : null;
+			try {
+				List<Future<?>> futures = new ArrayList<Future<?>>();
+				while (entries.hasMoreElements()) {
+					final ZipEntry entry = entries.nextElement();
+					final File outputFile = new File(destinationFile, entry.getName());
+					if (!outputFile.getCanonicalPath().startsWith(destinationRoot)) {
+						throw new IOException(NLS.bind("Entry ''{0}'' is outside of the target directory", //$NON-NLS-1$
+								entry.getName()));
+					}
+					if (entry.isDirectory() && !outputFile.exists()) {
+						outputFile.mkdirs();
+						continue;
+					}
 
-				if (!outputFile.getParentFile().exists()) {
-					outputFile.getParentFile().mkdirs();
-				}
+					if (!outputFile.getParentFile().exists()) {
+						outputFile.getParentFile().mkdirs();
+					}
 
-				try (InputStream inputStream = new BufferedInputStream(zipFile.getInputStream(entry));
-						OutputStream outStream = new BufferedOutputStream(new FileOutputStream(outputFile))) {
-					copyStream(inputStream, outStream);
-				}
+					if (executor != null) {
+						futures.add(executor.submit(new Callable<Object>() {
+							public Object call() throws Exception {
+								extractEntry(zipFile, entry, outputFile);
+								return null;
+							}
+						}));
+					} else {
+						extractEntry(zipFile, entry, outputFile);
+						if (monitor != null) {
+							monitor.worked(1);
+						}
+					}
 
-				outputFiles.add(outputFile);
-				if (monitor != null) {
-					monitor.worked(1);
+					outputFiles.add(outputFile);
+				}
+				for (Future<?> future : futures) {
+					getResult(future);
+					if (monitor != null) {
+						monitor.worked(1);
+					}
+				}
+			} finally {
+				if (executor != null) {
+					executor.shutdownNow();
 				}
 			}
 			return outputFiles;
 		}
 	}
 
+	private static void extractEntry(ZipFile zipFile, ZipEntry entry, File outputFile) throws IOException {
+		try (InputStream inputStream = zipFile.getInputStream(entry);
+				OutputStream outStream = new FileOutputStream(outputFile)) {
+			copyStream(inputStream, outStream);
+		}
+	}
+
 	private static void copyStream(InputStream in, OutputStream out) throws IOException {
 		Assert.isNotNull(in);
 		Assert.isNotNull(out);
 
-		byte[] buffer = new byte[4096];
+		byte[] buffer = new byte[ZipArchiveWriter.BUFFER_SIZE];
 		int readCount;
 		while ((readCount = in.read(buffer)) != -1) {
 			out.write(buffer, 0, readCount);
@@ -125,39 +204,170 @@ public class ZipFileUtil {
 	 */
 	public static void createZipFile(File zipFile, List<File> files, String rootPath, IProgressMonitor monitor)
 			throws FileNotFoundException, IOException {
+		createZipFile(zipFile, files, rootPath, ZipEntry.DEFLATED, 1, monitor);
+	}
+
+	/**
+	 * Creates a zip file. If <code>parallelism</code> is greater than 1, files are compressed concurrently and the
+	 * archive is assembled in the order of <code>files</code>. Files that do not compress are stored uncompressed.
+	 *
+	 * @param zipFile
+	 *            Destination zipped file
+	 * @param files
+	 *            List of files to add to the zip file
+	 * @param method
+	 *            {@link ZipEntry#DEFLATED} to compress files or {@link ZipEntry#STORED} to store files without
+	 *            compression, e.g. if the files are already compressed
+	 * @param parallelism
+	 *            the number of files that are compressed concurrently
+	 * @param progressMonitor
+	 *            will report worked(1) to the monitor for each file zipped
+	 */
+	public static void createZipFile(File zipFile, List<File> files, String rootPath, final int method,
+			int parallelism, IProgressMonitor monitor) throws FileNotFoundException, IOException {
+		Assert.isLegal(method == ZipEntry.DEFLATED || method == ZipEntry.STORED);
 		if (rootPath == null) {
 			rootPath = ""; //$NON-NLS-1$
 		} else if (!rootPath.endsWith("\\") || !rootPath.endsWith("/")) { //$NON-NLS-1$ //$NON-NLS-2$
 			rootPath += "/"; //$NON-NLS-1$
 		}
 
-		try (ZipOutputStream zipOut = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile)))) {
-			for (File file : files) {
-				try {
-					addZipEntry(zipOut, rootPath, file);
-					if (monitor != null) {
-						monitor.worked(1);
+		List<ZipSource> sources = new ArrayList<ZipSource>();
+		for (File file : files) {
+			collectSources(sources, rootPath, file);
+		}
+
+		if (method == ZipEntry.DEFLATED && parallelism <= 1) {
+			try (ZipOutputStream zipOut = new ZipOutputStream(
+					new BufferedOutputStream(new FileOutputStream(zipFile), ZipArchiveWriter.BUFFER_SIZE))) {
+				for (ZipSource source : sources) {
+					try {
+						addZipEntry(zipOut, source);
+						if (monitor != null) {
+							monitor.worked(1);
+						}
+					} catch (Exception e) {
+						logAddFailed(source, e);
 					}
-				} catch (Exception e) {
-					StatusHandler.log(new Status(IStatus.ERROR, ICommonsCoreConstants.ID_PLUGIN, "Could not add " //$NON-NLS-1$
-							+ file.getName() + " to zip", e)); //$NON-NLS-1$
 				}
 			}
+			return;
+		}
+
+		ExecutorService executor = (parallelism > 1) ? Executors.newFixedThreadPool(parallelism) : null;
+		try (ZipArchiveWriter writer = new ZipArchiveWriter(zipFile)) {
+			// bound the number of entries that are held in memory or temporary files
+			int window = Math.max(1, parallelism * 2);
+			Deque<Future<PreparedEntry>> pending = new ArrayDeque<Future<PreparedEntry>>();
+			Deque<ZipSource> pendingSources = new ArrayDeque<ZipSource>();
+			try {
+				for (final ZipSource source : sources) {
+					if (executor != null) {
+						pending.add(executor.submit(new Callable<PreparedEntry>() {
+							public PreparedEntry call() throws Exception {
+								return ZipArchiveWriter.prepare(source.file, source.path, method);
+							}
+						}));
+						pendingSources.add(source);
+						if (pending.size() >= window) {
+							writeEntry(writer, pending.poll(), pendingSources.poll(), monitor);
+						}
+					} else {
+						writeEntry(writer, source, method, monitor);
+					}
+				}
+				while (!pending.isEmpty()) {
+					writeEntry(writer, pending.poll(), pendingSources.poll(), monitor);
+				}
+			} finally {
+				// release temporary files of entries that were not written
+				for (Future<PreparedEntry> future : pending) {
+					try {
+						future.get().dispose();
+					} catch (Exception e) {
+						// ignore
+					}
+				}
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
 		}
 	}
 
+	private static void writeEntry(ZipArchiveWriter writer, Future<PreparedEntry> future,
+			ZipSource source, IProgressMonitor monitor) throws IOException {
+		PreparedEntry entry;
+		try {
+			entry = getResult(future);
+		} catch (IOException e) {
+			logAddFailed(source, e);
+			return;
+		}
+		writeEntry(writer, entry, source, monitor);
+	}
+
+	private static void writeEntry(ZipArchiveWriter writer, ZipSource source, int method, IProgressMonitor monitor)
+			throws IOException {
+		PreparedEntry entry;
+		try {
+			entry = ZipArchiveWriter.prepare(source.file, source.path, method);
+		} catch (IOException e) {
+			logAddFailed(source, e);
+			return;
+		}
+		writeEntry(writer, entry, source, monitor);
+	}
+
+	private static void writeEntry(ZipArchiveWriter writer, PreparedEntry entry, ZipSource source,
+			IProgressMonitor monitor) throws IOException {
+		try {
+			writer.write(entry);
+		} catch (ZipException e) {
+			// duplicate entry
+			logAddFailed(source, e);
+			return;
+		}
+		if (monitor != null) {
+			monitor.worked(1);
+		}
+	}
+
+	private static <T> T getResult(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	private static void logAddFailed(ZipSource source, Exception e) {
+		StatusHandler.log(new Status(IStatus.ERROR, ICommonsCoreConstants.ID_PLUGIN, "Could not add " //$NON-NLS-1$
+				+ source.file.getName() + " to zip", e)); //$NON-NLS-1$
+	}
+
 	/**
 	 * @author Shawn Minto
 	 */
-	private static void addZipEntry(ZipOutputStream zipOut, String rootPath, File file)
-			throws FileNotFoundException, IOException {
+	private static void collectSources(List<ZipSource> sources, String rootPath, File file) {
 		if (file.exists()) {
 			if (file.isDirectory()) {
 				for (File child : file.listFiles()) {
-					addZipEntry(zipOut, rootPath, child);
+					collectSources(sources, rootPath, child);
 				}
 			} else {
-				// Add ZIP entry to output stream.m
 				String path = ""; //$NON-NLS-1$
 				if (!rootPath.equals("")) { //$NON-NLS-1$
 					rootPath = rootPath.replaceAll("\\\\", "/"); //$NON-NLS-1$ //$NON-NLS-2$
@@ -166,19 +376,24 @@ public class ZipFileUtil {
 				} else {
 					path = file.getName();
 				}
-
-				zipOut.putNextEntry(new ZipEntry(path));
-				InputStream in = new BufferedInputStream(new FileInputStream(file));
-				try {
-					copyStream(in, zipOut);
-				} finally {
-					in.close();
-				}
-
-				// Complete the entry
-				zipOut.closeEntry();
+				sources.add(new ZipSource(file, path));
 			}
 		}
 	}
 
+	private static void addZipEntry(ZipOutputStream zipOut, ZipSource source) throws FileNotFoundException,
+			IOException {
+		// Add ZIP entry to output stream.
+		zipOut.putNextEntry(new ZipEntry(source.path));
+		InputStream in = new FileInputStream(source.file);
+		try {
+			copyStream(in, zipOut);
+		} finally {
+			in.close();
+		}
+
+		// Complete the entry
+		zipOut.closeEntry();
+	}
+
 }
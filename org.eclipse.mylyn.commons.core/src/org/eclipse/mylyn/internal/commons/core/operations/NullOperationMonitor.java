@@ -13,15 +13,25 @@
 package org.eclipse.mylyn.internal.commons.core.operations;
 
 import java.util.EnumSet;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.core.operations.ICancellable;
+import org.eclipse.mylyn.commons.core.operations.ICancellationSource;
 import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
 
-public class NullOperationMonitor extends NullProgressMonitor implements IOperationMonitor {
+public class NullOperationMonitor extends NullProgressMonitor implements IOperationMonitor, ICancellationSource {
 
 	private EnumSet<OperationFlag> flags;
 
+	private final CopyOnWriteArrayList<ICancellable> cancellationListeners = new CopyOnWriteArrayList<ICancellable>();
+
+	public boolean addCancellationListener(ICancellable listener) {
+		cancellationListeners.add(listener);
+		return true;
+	}
+
 	public synchronized void addFlag(OperationFlag flag) {
 		if (flags == null) {
 			flags = EnumSet.of(flag);
@@ -41,6 +51,21 @@ public class NullOperationMonitor extends NullProgressMonitor implements IOperat
 		return false;
 	}
 
+	public void removeCancellationListener(ICancellable listener) {
+		cancellationListeners.remove(listener);
+	}
+
+	@Override
+	public void setCanceled(boolean cancelled) {
+		boolean notify = cancelled && !isCanceled();
+		super.setCanceled(cancelled);
+		if (notify) {
+			for (ICancellable listener : cancellationListeners) {
+				listener.abort();
+			}
+		}
+	}
+
 	public IOperationMonitor newChild(int totalWork) {
 		return this;
 	}
@@ -13,13 +13,17 @@
 package org.eclipse.mylyn.internal.commons.core.operations;
 
 import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.mylyn.commons.core.operations.ICancellable;
+import org.eclipse.mylyn.commons.core.operations.ICancellationSource;
 import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
 
-public class OperationMonitor implements IOperationMonitor {
+public class OperationMonitor implements IOperationMonitor, ICancellationSource {
 
 	private EnumSet<OperationFlag> flags;
 
@@ -27,14 +31,51 @@ public class OperationMonitor implements IOperationMonitor {
 
 	private final IOperationMonitor root;
 
+	/**
+	 * The monitor that reports cancellation of the wrapped monitor or <code>null</code>, if cancellation needs to be
+	 * polled.
+	 */
+	private final ICancellationSource cancellationSource;
+
+	/**
+	 * Listeners that are notified when {@link #setCanceled(boolean)} is invoked on this monitor or one of its children
+	 * if there is no <code>cancellationSource</code>. Shared by all monitors of a tree.
+	 */
+	private final List<ICancellable> cancellationListeners;
+
 	public OperationMonitor(IOperationMonitor root, IProgressMonitor monitor) {
-		this.root = root;
-		this.monitor = SubMonitor.convert(monitor);
+		this(root, SubMonitor.convert(monitor), getCancellationSource(monitor),
+				new CopyOnWriteArrayList<ICancellable>());
 	}
 
 	public OperationMonitor(IOperationMonitor root, IProgressMonitor monitor, String taskName, int work) {
+		this(root, SubMonitor.convert(monitor, taskName, work), getCancellationSource(monitor),
+				new CopyOnWriteArrayList<ICancellable>());
+	}
+
+	private OperationMonitor(IOperationMonitor root, SubMonitor monitor, ICancellationSource cancellationSource,
+			List<ICancellable> cancellationListeners) {
 		this.root = root;
-		this.monitor = SubMonitor.convert(monitor, taskName, work);
+		this.monitor = monitor;
+		this.cancellationSource = cancellationSource;
+		this.cancellationListeners = cancellationListeners;
+	}
+
+	private static ICancellationSource getCancellationSource(IProgressMonitor monitor) {
+		return (monitor instanceof ICancellationSource) ? (ICancellationSource) monitor : null;
+	}
+
+	/**
+	 * Returns <code>false</code> if the wrapped monitor does not report cancellation. In that case <code>listener</code>
+	 * is still notified when this monitor is canceled through {@link #setCanceled(boolean)} but cancellation of the
+	 * wrapped monitor, e.g. by the user canceling a job, needs to be polled.
+	 */
+	public boolean addCancellationListener(ICancellable listener) {
+		if (cancellationSource != null) {
+			return cancellationSource.addCancellationListener(listener);
+		}
+		cancellationListeners.add(listener);
+		return false;
 	}
 
 	public synchronized void addFlag(OperationFlag flag) {
@@ -87,11 +128,21 @@ public class OperationMonitor implements IOperationMonitor {
 	}
 
 	public IOperationMonitor newChild(int totalWork) {
-		return new OperationMonitor((root == null) ? this : root, monitor.newChild(totalWork));
+		return new OperationMonitor((root == null) ? this : root, monitor.newChild(totalWork), cancellationSource,
+				cancellationListeners);
 	}
 
 	public IOperationMonitor newChild(int totalWork, int suppressFlags) {
-		return new OperationMonitor((root == null) ? this : root, monitor.newChild(totalWork, suppressFlags));
+		return new OperationMonitor((root == null) ? this : root, monitor.newChild(totalWork, suppressFlags),
+				cancellationSource, cancellationListeners);
+	}
+
+	public void removeCancellationListener(ICancellable listener) {
+		if (cancellationSource != null) {
+			cancellationSource.removeCancellationListener(listener);
+		} else {
+			cancellationListeners.remove(listener);
+		}
 	}
 
 	public synchronized void removeFlag(OperationFlag flag) {
@@ -107,7 +158,14 @@ public class OperationMonitor implements IOperationMonitor {
 	}
 
 	public void setCanceled(boolean b) {
+		boolean notify = b && cancellationSource == null && !monitor.isCanceled();
 		monitor.setCanceled(b);
+		if (notify) {
+			// the cancellation source notifies its own listeners
+			for (ICancellable listener : cancellationListeners) {
+				listener.abort();
+			}
+		}
 	}
 
 	public void setTaskName(String name) {
@@ -168,6 +168,7 @@ public class Identity implements IIdentity {
 
 	public void addAccount(Account account) {
 		accounts.add(account);
+		model.accountAdded(this, account);
 		refreshProfile = true;
 	}
 
@@ -224,7 +225,9 @@ public class Identity implements IIdentity {
 	}
 
 	public void removeAccount(Account account) {
-		accounts.remove(account);
+		if (accounts.remove(account)) {
+			model.accountRemoved(this, account);
+		}
 	}
 
 	public void removePropertyChangeListener(PropertyChangeListener listener) {
@@ -13,10 +13,15 @@
 package org.eclipse.mylyn.internal.commons.identity.core;
 
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.core.runtime.CoreException;
@@ -34,34 +39,66 @@ import org.eclipse.mylyn.internal.commons.identity.core.gravatar.GravatarConnect
  */
 public final class IdentityModel implements Serializable {
 
+	/**
+	 * Weakly references an identity so that identities are discarded once clients release them.
+	 */
+	private static final class IdentityReference extends WeakReference<Identity> {
+
+		private final UUID id;
+
+		public IdentityReference(Identity identity, ReferenceQueue<Identity> queue) {
+			super(identity, queue);
+			this.id = identity.getId();
+		}
+
+	}
+
 	private static final long serialVersionUID = -8812399358357509612L;
 
 	private transient final List<IdentityConnector> connectors;
 
-	private final Map<UUID, Identity> identityById;
+	private final Map<UUID, IdentityReference> identityById;
+
+	/**
+	 * Index of identities by account that is kept up to date by {@link #accountAdded(Identity, Account)} and
+	 * {@link #accountRemoved(Identity, Account)}.
+	 */
+	private transient final ConcurrentMap<Account, IdentityReference> identityByAccount;
+
+	private transient final ReferenceQueue<Identity> queue;
 
 	public IdentityModel() {
 		connectors = new CopyOnWriteArrayList<IdentityConnector>();
-		identityById = new WeakHashMap<UUID, Identity>();
+		identityById = new ConcurrentHashMap<UUID, IdentityReference>();
+		identityByAccount = new ConcurrentHashMap<Account, IdentityReference>();
+		queue = new ReferenceQueue<Identity>();
 	}
 
 	public void addConnector(IdentityConnector connector) {
 		connectors.add(new GravatarConnector());
 	}
 
-	public synchronized IIdentity getIdentity(Account account) {
-		for (Identity identity : identityById.values()) {
-			if (identity.is(account)) {
-				return identity;
-			}
+	public IIdentity getIdentity(Account account) {
+		expungeStaleEntries();
+
+		Identity identity = lookup(account);
+		if (identity != null) {
+			return identity;
 		}
 
-		Identity identity = new Identity(this);
-		identity.addAccount(account);
+		synchronized (this) {
+			// check again in case another thread has created the identity
+			identity = lookup(account);
+			if (identity != null) {
+				return identity;
+			}
 
-		// cache identity
-		identityById.put(identity.getId(), identity);
+			identity = new Identity(this);
 
+			// cache identity
+			identityById.put(identity.getId(), new IdentityReference(identity, queue));
+			identity.addAccount(account);
+		}
 		return identity;
 	}
 
@@ -70,7 +107,56 @@ public final class IdentityModel implements Serializable {
 	}
 
 	public IIdentity[] getIdentities() {
-		return identityById.values().toArray(new IIdentity[identityById.values().size()]);
+		expungeStaleEntries();
+
+		List<IIdentity> identities = new ArrayList<IIdentity>(identityById.size());
+		for (IdentityReference reference : identityById.values()) {
+			Identity identity = reference.get();
+			if (identity != null) {
+				identities.add(identity);
+			}
+		}
+		return identities.toArray(new IIdentity[identities.size()]);
+	}
+
+	void accountAdded(Identity identity, Account account) {
+		IdentityReference reference = identityById.get(identity.getId());
+		if (reference != null) {
+			identityByAccount.put(account, reference);
+		}
+	}
+
+	void accountRemoved(Identity identity, Account account) {
+		IdentityReference reference = identityById.get(identity.getId());
+		if (reference != null) {
+			identityByAccount.remove(account, reference);
+		}
+	}
+
+	/**
+	 * Removes references to identities that have been garbage collected. Invoked without holding the model lock; the
+	 * maps are concurrent and entries are only removed if they still map to the stale reference.
+	 */
+	private void expungeStaleEntries() {
+		Reference<? extends Identity> reference;
+		while ((reference = queue.poll()) != null) {
+			identityById.remove(((IdentityReference) reference).id, reference);
+			identityByAccount.values().remove(reference);
+		}
+	}
+
+	private Identity lookup(Account account) {
+		IdentityReference reference = identityByAccount.get(account);
+		if (reference != null) {
+			Identity identity = reference.get();
+			if (identity == null) {
+				// the identity has been collected but the reference has not been enqueued yet
+				identityByAccount.remove(account, reference);
+			} else if (identity.is(account)) {
+				return identity;
+			}
+		}
+		return null;
 	}
 
 	public ProfileImage getImage(Identity identity, int preferredWidth, int preferredHeight, IProgressMonitor monitor)
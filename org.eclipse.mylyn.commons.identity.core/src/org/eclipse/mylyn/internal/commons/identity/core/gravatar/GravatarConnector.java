@@ -12,6 +12,7 @@
 
 package org.eclipse.mylyn.internal.commons.identity.core.gravatar;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -19,12 +20,14 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.identity.core.Account;
 import org.eclipse.mylyn.commons.identity.core.IIdentity;
 import org.eclipse.mylyn.commons.identity.core.spi.IdentityConnector;
 import org.eclipse.mylyn.commons.identity.core.spi.Profile;
 import org.eclipse.mylyn.commons.identity.core.spi.ProfileImage;
+import org.osgi.framework.Bundle;
 
 /**
  * @author Steffen Pingel
@@ -33,6 +36,8 @@ public class GravatarConnector extends IdentityConnector {
 
 	public static final String KIND = "org.eclipse.mylyn.commons.identity.gravatar"; //$NON-NLS-1$
 
+	private static final String ID_PLUGIN = "org.eclipse.mylyn.commons.identity.core"; //$NON-NLS-1$
+
 	private final GravatarStore store;
 
 	private final int DEFAULT_SIZE = 80;
@@ -41,6 +46,20 @@ public class GravatarConnector extends IdentityConnector {
 
 	public GravatarConnector() {
 		this.store = new GravatarStore();
+		this.store.setCacheEnabled(true);
+		this.store.setCacheDirectory(getCacheDirectory());
+	}
+
+	private File getCacheDirectory() {
+		Bundle bundle = Platform.getBundle(ID_PLUGIN);
+		if (bundle != null) {
+			try {
+				return Platform.getStateLocation(bundle).append("gravatars").toFile(); //$NON-NLS-1$
+			} catch (IllegalStateException e) {
+				// no instance location
+			}
+		}
+		return null;
 	}
 
 	@Override
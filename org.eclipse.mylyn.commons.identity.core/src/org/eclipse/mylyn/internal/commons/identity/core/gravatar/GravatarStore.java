@@ -13,15 +13,33 @@
 package org.eclipse.mylyn.internal.commons.identity.core.gravatar;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -30,9 +48,15 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
 
 /**
  * Class that loads and stores gravatars.
+ * <p>
+ * Gravatars are loaded by a bounded number of concurrent jobs and concurrent requests for the same gravatar share a
+ * single download. Loaded gravatars are kept in a size-bounded memory cache and, if a cache directory is set, in a
+ * size-bounded disk cache. Both caches evict the least recently used gravatars first. Cached gravatars that are older
+ * than the maximum age are revalidated with a conditional request.
  * 
  * @author Kevin Sawicki (kevin@github.com)
  */
@@ -48,17 +72,115 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	 */
 	public static final int BUFFER_SIZE = 8192;
 
+	/**
+	 * DEFAULT_MAX_CACHE_SIZE
+	 */
+	public static final int DEFAULT_MAX_CACHE_SIZE = 500;
+
+	/**
+	 * DEFAULT_MAX_AGE
+	 */
+	public static final long DEFAULT_MAX_AGE = 24 * 60 * 60 * 1000L;
+
+	/**
+	 * DEFAULT_MAX_CONCURRENT_LOADS
+	 */
+	public static final int DEFAULT_MAX_CONCURRENT_LOADS = 4;
+
+	/**
+	 * DEFAULT_MAX_DISK_CACHE_SIZE
+	 */
+	public static final long DEFAULT_MAX_DISK_CACHE_SIZE = 10 * 1024 * 1024L;
+
 	public enum Rating {
 		G, PG, R, X
 	};
 
+	/**
+	 * A cached gravatar with the validators returned by the server.
+	 */
+	private static class CacheEntry implements Serializable {
+
+		private static final long serialVersionUID = -3409214632946541393L;
+
+		private final String etag;
+
+		private final Gravatar gravatar;
+
+		private final String hash;
+
+		private final long lastModified;
+
+		private final Rating rating;
+
+		private final int size;
+
+		private final long updateTime;
+
+		/**
+		 * Creates an entry. <code>gravatar</code> is <code>null</code> if only the metadata of the entry was read.
+		 */
+		CacheEntry(String hash, int size, Rating rating, Gravatar gravatar, long updateTime, String etag,
+				long lastModified) {
+			this.hash = hash;
+			this.size = size;
+			this.rating = rating;
+			this.gravatar = gravatar;
+			this.updateTime = updateTime;
+			this.etag = etag;
+			this.lastModified = lastModified;
+		}
+
+	}
+
+	private static final String PROPERTY_ETAG = "etag"; //$NON-NLS-1$
+
+	private static final String PROPERTY_HASH = "hash"; //$NON-NLS-1$
+
+	private static final String PROPERTY_LAST_MODIFIED = "lastModified"; //$NON-NLS-1$
+
+	private static final String PROPERTY_RATING = "rating"; //$NON-NLS-1$
+
+	private static final String PROPERTY_SIZE = "size"; //$NON-NLS-1$
+
+	private static final String PROPERTY_UPDATE_TIME = "updateTime"; //$NON-NLS-1$
+
+	private static final String SUFFIX_DATA = ".img"; //$NON-NLS-1$
+
+	private static final String SUFFIX_PROPERTIES = ".properties"; //$NON-NLS-1$
+
 	private static final long serialVersionUID = 6084425297832914970L;
 
 	private long lastRefresh = 0L;
 
 	private final String url;
 
-	private Map<String, Gravatar> avatars;
+	private Map<String, CacheEntry> avatars;
+
+	private int maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+
+	private long maxAge = DEFAULT_MAX_AGE;
+
+	private int maxConcurrentLoads = DEFAULT_MAX_CONCURRENT_LOADS;
+
+	private File cacheDirectory;
+
+	private long maxDiskCacheSize = DEFAULT_MAX_DISK_CACHE_SIZE;
+
+	private transient long diskCacheSize;
+
+	private transient boolean diskCacheSizeValid;
+
+	/**
+	 * Maps the hash of a gravatar to the key of the most recently cached entry for that hash.
+	 */
+	private transient volatile Map<String, String> keyByHash;
+
+	private transient JobGroup jobGroup;
+
+	private transient Map<String, Future<CacheEntry>> pendingLoads;
+
+	private transient Map<String, List<IGravatarCallback>> pendingCallbacks;
 
 	/**
 	 * Create gravatar store
@@ -85,11 +207,91 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 		return avatars != null;
 	}
 
-	public void setCacheEnabled(boolean cacheEnabled) {
+	public synchronized void setCacheEnabled(boolean cacheEnabled) {
 		if (cacheEnabled && avatars == null) {
-			avatars = Collections.synchronizedMap(new HashMap<String, Gravatar>());
+			avatars = createCache(maxCacheSize);
 		} else if (!cacheEnabled && avatars != null) {
 			avatars = null;
+			keyByHash = null;
+		}
+	}
+
+	public int getMaxCacheSize() {
+		return maxCacheSize;
+	}
+
+	/**
+	 * Sets the maximum number of gravatars that are kept in memory. The least recently used gravatars are evicted
+	 * first.
+	 */
+	public synchronized void setMaxCacheSize(int maxCacheSize) {
+		Assert.isLegal(maxCacheSize >= 1, "maxCacheSize must be positive"); //$NON-NLS-1$
+		this.maxCacheSize = maxCacheSize;
+		if (avatars != null) {
+			Map<String, CacheEntry> cache = createCache(maxCacheSize);
+			synchronized (avatars) {
+				cache.putAll(avatars);
+			}
+			avatars = cache;
+		}
+	}
+
+	public long getMaxAge() {
+		return maxAge;
+	}
+
+	/**
+	 * Sets the time in milliseconds after which cached gravatars are revalidated.
+	 */
+	public void setMaxAge(long maxAge) {
+		Assert.isLegal(maxAge >= 0, "maxAge must not be negative"); //$NON-NLS-1$
+		this.maxAge = maxAge;
+	}
+
+	public int getMaxConcurrentLoads() {
+		return maxConcurrentLoads;
+	}
+
+	/**
+	 * Sets the maximum number of jobs that load gravatars in parallel.
+	 */
+	public synchronized void setMaxConcurrentLoads(int maxConcurrentLoads) {
+		Assert.isLegal(maxConcurrentLoads >= 1, "maxConcurrentLoads must be positive"); //$NON-NLS-1$
+		if (this.maxConcurrentLoads != maxConcurrentLoads) {
+			this.maxConcurrentLoads = maxConcurrentLoads;
+			this.jobGroup = null;
+		}
+	}
+
+	public File getCacheDirectory() {
+		return cacheDirectory;
+	}
+
+	/**
+	 * Sets the directory that persists gravatars across sessions. Setting <code>null</code> disables the disk cache.
+	 */
+	public synchronized void setCacheDirectory(File cacheDirectory) {
+		if (cacheDirectory != null && !cacheDirectory.exists()) {
+			cacheDirectory.mkdirs();
+		}
+		this.cacheDirectory = cacheDirectory;
+		this.diskCacheSizeValid = false;
+	}
+
+	public long getMaxDiskCacheSize() {
+		return maxDiskCacheSize;
+	}
+
+	/**
+	 * Sets the maximum number of bytes that are used by the disk cache. The least recently used gravatars are evicted
+	 * first.
+	 */
+	public synchronized void setMaxDiskCacheSize(long maxDiskCacheSize) {
+		Assert.isLegal(maxDiskCacheSize >= 0, "maxDiskCacheSize must not be negative"); //$NON-NLS-1$
+		this.maxDiskCacheSize = maxDiskCacheSize;
+		File directory = this.cacheDirectory;
+		if (directory != null) {
+			updateDiskCacheSize(directory, 0);
 		}
 	}
 
@@ -104,7 +306,7 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	 * @see org.eclipse.mylyn.internal.commons.identity.gravatar.IGravatarStore#containsGravatar(java.lang.String)
 	 */
 	public boolean containsGravatar(String hash) {
-		return hash != null && avatars != null ? this.avatars.containsKey(hash) : false;
+		return getMemoryCacheEntry(hash) != null;
 	}
 
 	/**
@@ -125,28 +327,26 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	}
 
 	/**
+	 * Revalidates cached gravatars that are older than the maximum age.
+	 * 
 	 * @see org.eclipse.mylyn.internal.commons.identity.gravatar.IGravatarStore#refresh(org.eclipse.core.runtime.IProgressMonitor)
 	 */
 	public GravatarStore refresh(IProgressMonitor monitor) {
-		if (this.avatars == null) {
+		if (this.avatars == null && this.cacheDirectory == null) {
 			return this;
 		}
 		if (monitor == null) {
 			monitor = new NullProgressMonitor();
 		}
-		String[] entries = null;
-		synchronized (this.avatars) {
-			entries = new String[this.avatars.size()];
-			entries = this.avatars.keySet().toArray(entries);
-		}
-		monitor.beginTask("", entries.length); //$NON-NLS-1$
-		for (String entry : entries) {
+		List<CacheEntry> entries = getStaleEntries();
+		monitor.beginTask("", entries.size()); //$NON-NLS-1$
+		for (CacheEntry entry : entries) {
 			if (monitor.isCanceled()) {
 				break;
 			}
-			monitor.setTaskName(MessageFormat.format(Messages.GravatarStore_LoadingAvatar, entry));
+			monitor.setTaskName(MessageFormat.format(Messages.GravatarStore_LoadingAvatar, entry.hash));
 			try {
-				loadGravatarByHash(entry);
+				loadGravatarByHash(entry.hash, entry.size, entry.rating);
 			} catch (IOException ignore) {
 			}
 			monitor.worked(1);
@@ -157,29 +357,57 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	}
 
 	/**
+	 * Loads the gravatar in a background job. Concurrent requests for the same hash are coalesced into a single
+	 * download and all callbacks are notified when it completes.
+	 * 
 	 * @see org.eclipse.mylyn.internal.commons.identity.gravatar.IGravatarStore#loadGravatarByHash(java.lang.String,
 	 *      org.eclipse.mylyn.internal.commons.identity.core.gravatar.IGravatarCallback)
 	 */
-	public GravatarStore loadGravatarByHash(final String hash, final IGravatarCallback callback) {
+	public GravatarStore loadGravatarByHash(final String hash, IGravatarCallback callback) {
+		Map<String, List<IGravatarCallback>> pendingCallbacks = getPendingCallbacks();
+		synchronized (pendingCallbacks) {
+			List<IGravatarCallback> callbacks = pendingCallbacks.get(hash);
+			if (callbacks != null) {
+				// a job for this hash is already scheduled
+				callbacks.add(callback);
+				return this;
+			}
+			callbacks = new ArrayList<IGravatarCallback>();
+			callbacks.add(callback);
+			pendingCallbacks.put(hash, callbacks);
+		}
+
 		String title = MessageFormat.format(Messages.GravatarStore_LoadingAvatar, hash);
 		Job job = new Job(title) {
 
 			@Override
 			protected IStatus run(IProgressMonitor monitor) {
+				Gravatar avatar = null;
+				IOException error = null;
 				try {
-					Gravatar avatar = loadGravatarByHash(hash);
-					if (avatar != null && callback != null) {
-						callback.loaded(avatar);
-					}
+					avatar = loadGravatarByHash(hash);
 				} catch (IOException e) {
+					error = e;
+				}
+
+				List<IGravatarCallback> callbacks;
+				Map<String, List<IGravatarCallback>> pendingCallbacks = getPendingCallbacks();
+				synchronized (pendingCallbacks) {
+					callbacks = pendingCallbacks.remove(hash);
+				}
+				for (IGravatarCallback callback : callbacks) {
 					if (callback != null) {
-						callback.error(e);
+						if (error != null) {
+							callback.error(error);
+						} else if (avatar != null) {
+							callback.loaded(avatar);
+						}
 					}
 				}
 				return Status.OK_STATUS;
 			}
 		};
-		job.setRule(this);
+		job.setJobGroup(getJobGroup());
 		job.schedule();
 		return this;
 	}
@@ -198,50 +426,54 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	}
 
 	/**
+	 * Returns the gravatar from the cache if it has not exceeded the maximum age and loads it otherwise. Concurrent
+	 * invocations for the same gravatar wait for a single download.
+	 * 
 	 * @see org.eclipse.mylyn.internal.commons.identity.gravatar.IGravatarStore#loadGravatarByHash(java.lang.String)
 	 */
-	public Gravatar loadGravatarByHash(String hash, int size, Rating rating) throws IOException {
+	public Gravatar loadGravatarByHash(final String hash, final int size, final Rating rating) throws IOException {
 		Assert.isLegal(size == -1 || (size >= 1 && size <= 512), "size must have a value of -1 or between 1 and 512"); //$NON-NLS-1$
 		if (!GravatarUtils.isValidHash(hash)) {
 			return null;
 		}
 
-		Gravatar avatar = null;
-		String location = this.url + hash + "?d=404"; //$NON-NLS-1$
-		if (size != -1) {
-			location += "&s=" + size; //$NON-NLS-1$
+		String key = getKey(hash, size, rating);
+		final CacheEntry cached = getCacheEntry(key);
+		if (cached != null && !isStale(cached)) {
+			return cached.gravatar;
 		}
-		if (rating != null) {
-			location += "&r=" + rating.name().toLowerCase(); //$NON-NLS-1$
-		}
-		HttpURLConnection connection = (HttpURLConnection) new URL(location).openConnection();
-		connection.setConnectTimeout(TIMEOUT);
-		connection.setUseCaches(false);
-		connection.connect();
 
-		if (connection.getResponseCode() != 200) {
-			return null;
-		}
-
-		ByteArrayOutputStream output = new ByteArrayOutputStream();
-		InputStream input = connection.getInputStream();
-		try {
-			byte[] buffer = new byte[BUFFER_SIZE];
-			int read = -1;
-			while ((read = input.read(buffer)) != -1) {
-				output.write(buffer, 0, read);
+		FutureTask<CacheEntry> task = new FutureTask<CacheEntry>(new Callable<CacheEntry>() {
+			public CacheEntry call() throws Exception {
+				return fetch(hash, size, rating, cached);
 			}
-		} finally {
+		});
+		Map<String, Future<CacheEntry>> pendingLoads = getPendingLoads();
+		Future<CacheEntry> future = pendingLoads.putIfAbsent(key, task);
+		if (future == null) {
+			future = task;
 			try {
-				input.close();
-			} catch (IOException ignore) {
+				task.run();
+			} finally {
+				pendingLoads.remove(key, task);
 			}
 		}
-		avatar = new Gravatar(hash, System.currentTimeMillis(), output.toByteArray());
-		if (this.avatars != null) {
-			this.avatars.put(hash, avatar);
+
+		try {
+			CacheEntry entry = future.get();
+			return (entry != null) ? entry.gravatar : null;
+		} catch (InterruptedException e) {
+			InterruptedIOException ioe = new InterruptedIOException();
+			ioe.initCause(e);
+			throw ioe;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			} else if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IOException(e.getCause());
 		}
-		return avatar;
 	}
 
 	/**
@@ -255,7 +487,8 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	 * @see org.eclipse.mylyn.internal.commons.identity.gravatar.IGravatarStore#getGravatarByHash(java.lang.String)
 	 */
 	public Gravatar getGravatarByHash(String hash) {
-		return hash != null && avatars != null ? this.avatars.get(hash) : null;
+		CacheEntry entry = getMemoryCacheEntry(hash);
+		return (entry != null) ? entry.gravatar : null;
 	}
 
 	/**
@@ -278,4 +511,346 @@ public class GravatarStore implements Serializable, ISchedulingRule {
 	public boolean isConflicting(ISchedulingRule rule) {
 		return this == rule;
 	}
+
+	private CacheEntry fetch(String hash, int size, Rating rating, CacheEntry cached) throws IOException {
+		String location = this.url + hash + "?d=404"; //$NON-NLS-1$
+		if (size != -1) {
+			location += "&s=" + size; //$NON-NLS-1$
+		}
+		if (rating != null) {
+			location += "&r=" + rating.name().toLowerCase(); //$NON-NLS-1$
+		}
+		HttpURLConnection connection = (HttpURLConnection) new URL(location).openConnection();
+		connection.setConnectTimeout(TIMEOUT);
+		connection.setUseCaches(false);
+		if (cached != null) {
+			if (cached.etag != null) {
+				connection.setRequestProperty("If-None-Match", cached.etag); //$NON-NLS-1$
+			}
+			if (cached.lastModified > 0) {
+				connection.setIfModifiedSince(cached.lastModified);
+			}
+		}
+		connection.connect();
+
+		CacheEntry entry;
+		int responseCode = connection.getResponseCode();
+		if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+			Gravatar avatar = new Gravatar(hash, System.currentTimeMillis(), cached.gravatar.getBytes());
+			entry = new CacheEntry(hash, size, rating, avatar, avatar.getUpdateTime(), cached.etag,
+					cached.lastModified);
+		} else if (responseCode == HttpURLConnection.HTTP_OK) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			InputStream input = connection.getInputStream();
+			try {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				int read = -1;
+				while ((read = input.read(buffer)) != -1) {
+					output.write(buffer, 0, read);
+				}
+			} finally {
+				try {
+					input.close();
+				} catch (IOException ignore) {
+				}
+			}
+			Gravatar avatar = new Gravatar(hash, System.currentTimeMillis(), output.toByteArray());
+			entry = new CacheEntry(hash, size, rating, avatar, avatar.getUpdateTime(),
+					connection.getHeaderField("ETag"), connection.getLastModified()); //$NON-NLS-1$
+		} else {
+			return null;
+		}
+
+		Map<String, CacheEntry> avatars = this.avatars;
+		if (avatars != null) {
+			putMemoryCacheEntry(avatars, getKey(hash, size, rating), entry);
+		}
+		writeToDisk(entry);
+		return entry;
+	}
+
+	private Map<String, CacheEntry> createCache(final int maxSize) {
+		return Collections.synchronizedMap(new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+				if (size() > maxSize) {
+					Map<String, String> keyByHash = GravatarStore.this.keyByHash;
+					if (keyByHash != null) {
+						keyByHash.remove(eldest.getValue().hash, eldest.getKey());
+					}
+					return true;
+				}
+				return false;
+			}
+		});
+	}
+
+	private CacheEntry getCacheEntry(String key) {
+		Map<String, CacheEntry> avatars = this.avatars;
+		CacheEntry entry = (avatars != null) ? avatars.get(key) : null;
+		if (entry == null) {
+			entry = readFromDisk(key, true);
+			if (entry != null && avatars != null) {
+				putMemoryCacheEntry(avatars, key, entry);
+			}
+		}
+		return entry;
+	}
+
+	private File[] getDataFiles(File directory) {
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return new File[0];
+		}
+		List<File> dataFiles = new ArrayList<File>(files.length);
+		for (File file : files) {
+			String name = file.getName();
+			if (name.endsWith(SUFFIX_DATA)) {
+				dataFiles.add(file);
+			}
+		}
+		return dataFiles.toArray(new File[dataFiles.size()]);
+	}
+
+	private synchronized JobGroup getJobGroup() {
+		if (jobGroup == null) {
+			jobGroup = new JobGroup(Messages.GravatarStore_LoadJobGroupName, maxConcurrentLoads, 0);
+		}
+		return jobGroup;
+	}
+
+	private Map<String, String> getKeyByHash(Map<String, CacheEntry> avatars) {
+		Map<String, String> keyByHash = this.keyByHash;
+		if (keyByHash == null) {
+			// not serialized, rebuild from the cache
+			keyByHash = new ConcurrentHashMap<String, String>();
+			synchronized (avatars) {
+				for (Map.Entry<String, CacheEntry> entry : avatars.entrySet()) {
+					keyByHash.put(entry.getValue().hash, entry.getKey());
+				}
+			}
+			this.keyByHash = keyByHash;
+		}
+		return keyByHash;
+	}
+
+	private String getKey(String hash, int size, Rating rating) {
+		if (size == -1 && rating == null) {
+			return hash;
+		}
+		StringBuilder sb = new StringBuilder(hash);
+		sb.append('_').append(size);
+		if (rating != null) {
+			sb.append('_').append(rating.name().toLowerCase());
+		}
+		return sb.toString();
+	}
+
+	private synchronized Map<String, List<IGravatarCallback>> getPendingCallbacks() {
+		if (pendingCallbacks == null) {
+			pendingCallbacks = new HashMap<String, List<IGravatarCallback>>();
+		}
+		return pendingCallbacks;
+	}
+
+	private synchronized Map<String, Future<CacheEntry>> getPendingLoads() {
+		if (pendingLoads == null) {
+			pendingLoads = new ConcurrentHashMap<String, Future<CacheEntry>>();
+		}
+		return pendingLoads;
+	}
+
+	/**
+	 * Returns the cached entry for the most recently loaded gravatar with <code>hash</code>, regardless of the size
+	 * and rating it was loaded with.
+	 */
+	private CacheEntry getMemoryCacheEntry(String hash) {
+		Map<String, CacheEntry> avatars = this.avatars;
+		if (hash == null || avatars == null) {
+			return null;
+		}
+		String key = getKeyByHash(avatars).get(hash);
+		return (key != null) ? avatars.get(key) : null;
+	}
+
+	private List<CacheEntry> getStaleEntries() {
+		Map<String, CacheEntry> entryByKey = new HashMap<String, CacheEntry>();
+		File directory = this.cacheDirectory;
+		if (directory != null) {
+			File[] files = directory.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					String name = file.getName();
+					if (name.endsWith(SUFFIX_PROPERTIES)) {
+						String key = name.substring(0, name.length() - SUFFIX_PROPERTIES.length());
+						CacheEntry entry = readFromDisk(key, false);
+						if (entry != null) {
+							entryByKey.put(key, entry);
+						}
+					}
+				}
+			}
+		}
+		Map<String, CacheEntry> avatars = this.avatars;
+		if (avatars != null) {
+			synchronized (avatars) {
+				entryByKey.putAll(avatars);
+			}
+		}
+
+		List<CacheEntry> staleEntries = new ArrayList<CacheEntry>();
+		for (CacheEntry entry : entryByKey.values()) {
+			if (isStale(entry)) {
+				staleEntries.add(entry);
+			}
+		}
+		return staleEntries;
+	}
+
+	private boolean isStale(CacheEntry entry) {
+		return System.currentTimeMillis() - entry.updateTime >= maxAge;
+	}
+
+	private void putMemoryCacheEntry(Map<String, CacheEntry> avatars, String key, CacheEntry entry) {
+		avatars.put(key, entry);
+		getKeyByHash(avatars).put(entry.hash, key);
+	}
+
+	/**
+	 * Reads a cached entry from disk. If <code>readData</code> is false, only the metadata is read and the returned
+	 * entry has no gravatar.
+	 */
+	private CacheEntry readFromDisk(String key, boolean readData) {
+		File directory = this.cacheDirectory;
+		if (directory == null) {
+			return null;
+		}
+		File propertiesFile = new File(directory, key + SUFFIX_PROPERTIES);
+		File dataFile = new File(directory, key + SUFFIX_DATA);
+		if (!propertiesFile.exists() || !dataFile.exists()) {
+			return null;
+		}
+		try {
+			Properties properties = new Properties();
+			InputStream in = new FileInputStream(propertiesFile);
+			try {
+				properties.load(in);
+			} finally {
+				in.close();
+			}
+			String hash = properties.getProperty(PROPERTY_HASH);
+			if (!GravatarUtils.isValidHash(hash)) {
+				return null;
+			}
+			int size = Integer.parseInt(properties.getProperty(PROPERTY_SIZE, "-1")); //$NON-NLS-1$
+			String ratingValue = properties.getProperty(PROPERTY_RATING);
+			Rating rating = (ratingValue != null) ? Rating.valueOf(ratingValue) : null;
+			long updateTime = Long.parseLong(properties.getProperty(PROPERTY_UPDATE_TIME, "0")); //$NON-NLS-1$
+			long lastModified = Long.parseLong(properties.getProperty(PROPERTY_LAST_MODIFIED, "0")); //$NON-NLS-1$
+			Gravatar gravatar = null;
+			if (readData) {
+				gravatar = new Gravatar(hash, updateTime, Files.readAllBytes(dataFile.toPath()));
+				// the modification time of the data file tracks the last access for evicting entries
+				dataFile.setLastModified(System.currentTimeMillis());
+			}
+			return new CacheEntry(hash, size, rating, gravatar, updateTime, properties.getProperty(PROPERTY_ETAG),
+					lastModified);
+		} catch (IOException e) {
+			return null;
+		} catch (IllegalArgumentException e) {
+			// corrupt entry
+			return null;
+		}
+	}
+
+	private void writeToDisk(CacheEntry entry) {
+		File directory = this.cacheDirectory;
+		if (directory == null) {
+			return;
+		}
+		String key = getKey(entry.hash, entry.size, entry.rating);
+		Properties properties = new Properties();
+		properties.setProperty(PROPERTY_HASH, entry.hash);
+		properties.setProperty(PROPERTY_SIZE, String.valueOf(entry.size));
+		if (entry.rating != null) {
+			properties.setProperty(PROPERTY_RATING, entry.rating.name());
+		}
+		properties.setProperty(PROPERTY_UPDATE_TIME, String.valueOf(entry.updateTime));
+		properties.setProperty(PROPERTY_LAST_MODIFIED, String.valueOf(entry.lastModified));
+		if (entry.etag != null) {
+			properties.setProperty(PROPERTY_ETAG, entry.etag);
+		}
+		File dataFile = new File(directory, key + SUFFIX_DATA);
+		File propertiesFile = new File(directory, key + SUFFIX_PROPERTIES);
+		long oldSize = dataFile.length() + propertiesFile.length();
+		try {
+			// write data before properties since an entry is only valid if the properties file exists
+			File tempFile = File.createTempFile(key, SUFFIX_DATA, directory);
+			Files.write(tempFile.toPath(), entry.gravatar.getBytes());
+			Files.move(tempFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+			tempFile = File.createTempFile(key, SUFFIX_PROPERTIES + ".tmp", directory); //$NON-NLS-1$
+			OutputStream out = new FileOutputStream(tempFile);
+			try {
+				properties.store(out, null);
+			} finally {
+				out.close();
+			}
+			Files.move(tempFile.toPath(), propertiesFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException ignore) {
+			// the entry is loaded again on the next request
+		}
+		updateDiskCacheSize(directory, dataFile.length() + propertiesFile.length() - oldSize);
+	}
+
+	/**
+	 * Deletes the least recently used entries from disk until the disk cache does not exceed the maximum size.
+	 */
+	private void trimDiskCache(File directory) {
+		File[] dataFiles = getDataFiles(directory);
+		final Map<File, Long> lastAccessByFile = new HashMap<File, Long>();
+		for (File dataFile : dataFiles) {
+			lastAccessByFile.put(dataFile, dataFile.lastModified());
+		}
+		Arrays.sort(dataFiles, new Comparator<File>() {
+			public int compare(File o1, File o2) {
+				return lastAccessByFile.get(o1).compareTo(lastAccessByFile.get(o2));
+			}
+		});
+		for (File dataFile : dataFiles) {
+			if (diskCacheSize <= maxDiskCacheSize) {
+				break;
+			}
+			String name = dataFile.getName();
+			File propertiesFile = new File(directory, name.substring(0, name.length() - SUFFIX_DATA.length())
+					+ SUFFIX_PROPERTIES);
+			long size = dataFile.length() + propertiesFile.length();
+			// delete the properties file first to invalidate the entry
+			propertiesFile.delete();
+			if (dataFile.delete()) {
+				diskCacheSize -= size;
+			}
+		}
+	}
+
+	private synchronized void updateDiskCacheSize(File directory, long delta) {
+		if (!diskCacheSizeValid) {
+			diskCacheSize = 0;
+			for (File dataFile : getDataFiles(directory)) {
+				String name = dataFile.getName();
+				File propertiesFile = new File(directory, name.substring(0, name.length() - SUFFIX_DATA.length())
+						+ SUFFIX_PROPERTIES);
+				diskCacheSize += dataFile.length() + propertiesFile.length();
+			}
+			diskCacheSizeValid = true;
+		} else {
+			diskCacheSize += delta;
+		}
+		if (diskCacheSize > maxDiskCacheSize) {
+			trimDiskCache(directory);
+		}
+	}
+
 }
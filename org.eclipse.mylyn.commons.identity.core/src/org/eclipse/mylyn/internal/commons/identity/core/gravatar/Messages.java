@@ -23,6 +23,11 @@ public class Messages extends NLS {
 
 	private static final String BUNDLE_NAME = "org.eclipse.mylyn.commons.identity.core.gravatar.messages"; //$NON-NLS-1$
 
+	/**
+	 * GravatarStore_LoadJobGroupName
+	 */
+	public static String GravatarStore_LoadJobGroupName;
+
 	/**
 	 * GravatarStore_LoadingAvatar
 	 */
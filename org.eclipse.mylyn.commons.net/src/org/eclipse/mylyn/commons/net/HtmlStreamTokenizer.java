@@ -12,7 +12,6 @@
 
 package org.eclipse.mylyn.commons.net;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.net.URL;
@@ -36,7 +35,16 @@ public class HtmlStreamTokenizer {
 	private State state;
 
 	/** reader from which to parse the text */
-	private final BufferedReader in;
+	private final Reader in;
+
+	/** block of characters read from <code>in</code> */
+	private final char[] readBuffer;
+
+	/** index of the next character to consume in <code>readBuffer</code> */
+	private int readPosition;
+
+	/** number of valid characters in <code>readBuffer</code> */
+	private int readLimit;
 
 	/** base URL for resolving relative URLs */
 	private final URL base;
@@ -76,7 +84,8 @@ public class HtmlStreamTokenizer {
 		whitespaceBuffer = new StringBuffer();
 		pushbackChar = 0;
 		state = State.TEXT;
-		this.in = new BufferedReader(in);
+		this.in = in;
+		this.readBuffer = new char[8192];
 		this.base = base;
 		escapeTagValues = true;
 	}
@@ -105,7 +114,7 @@ public class HtmlStreamTokenizer {
 				ch = pushbackChar;
 				pushbackChar = 0;
 			} else {
-				ch = in.read();
+				ch = read();
 			}
 			if (ch < 0) {
 				State oldState = state;
@@ -186,6 +195,18 @@ public class HtmlStreamTokenizer {
 		} while (true);
 	}
 
+	private int read() throws IOException {
+		if (readPosition == readLimit) {
+			readPosition = 0;
+			readLimit = in.read(readBuffer, 0, readBuffer.length);
+			if (readLimit <= 0) {
+				readLimit = 0;
+				return -1;
+			}
+		}
+		return readBuffer[readPosition++];
+	}
+
 	/**
 	 * Pushes the token back into the queue, to be returned by the subsequent call to <code>nextToken</code>
 	 */
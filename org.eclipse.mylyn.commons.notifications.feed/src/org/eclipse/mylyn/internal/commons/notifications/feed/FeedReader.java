@@ -20,9 +20,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
-import javax.xml.transform.stream.StreamSource;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
 
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -62,6 +63,34 @@ public class FeedReader {
 		}
 	}
 
+	private static final String ELEMENT_ITEM = "item"; //$NON-NLS-1$
+
+	/** depth of <code>item</code> elements in <code>rss/channel/item</code> */
+	private static final int ITEM_DEPTH = 3;
+
+	private static JAXBContext context;
+
+	private static XMLInputFactory inputFactory;
+
+	/**
+	 * Returns a shared context for unmarshalling feeds. Contexts are thread-safe and expensive to create.
+	 */
+	static synchronized JAXBContext getContext() throws JAXBException {
+		if (context == null) {
+			context = JAXBContext.newInstance(RSS.class);
+		}
+		return context;
+	}
+
+	private static synchronized XMLInputFactory getInputFactory() {
+		if (inputFactory == null) {
+			inputFactory = XMLInputFactory.newInstance();
+			inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		}
+		return inputFactory;
+	}
+
 	private final NotificationEnvironment environment;
 
 	private final List<FeedEntry> entries;
@@ -74,18 +103,33 @@ public class FeedReader {
 		this.entries = new ArrayList<FeedEntry>();
 	}
 
+	/**
+	 * Parses the feed from <code>in</code>. Items are unmarshalled and filtered one at a time while the stream is read
+	 * so that only matching entries are retained.
+	 */
 	public IStatus parse(InputStream in, IProgressMonitor monitor) {
-
 		try {
-			JAXBContext jc = JAXBContext.newInstance(RSS.class);
-			Unmarshaller unmarshaller = jc.createUnmarshaller();
-			JAXBElement<RSS> rss = unmarshaller.unmarshal(new StreamSource(in), RSS.class);
-
-			for (RSSItem rssItem : rss.getValue().getItems()) {
-				final FeedEntry entry = createEntry(rssItem);
-				if (environment.matches(new FilterableAdapter(entry), monitor)) {
-					entries.add(entry);
+			Unmarshaller unmarshaller = getContext().createUnmarshaller();
+			XMLStreamReader reader = getInputFactory().createXMLStreamReader(in);
+			try {
+				int depth = 0;
+				while (reader.hasNext()) {
+					if (reader.isStartElement()) {
+						depth++;
+						if (depth == ITEM_DEPTH && ELEMENT_ITEM.equals(reader.getLocalName())) {
+							// unmarshalling consumes the element including its end tag
+							RSSItem rssItem = unmarshaller.unmarshal(reader, RSSItem.class).getValue();
+							depth--;
+							accept(rssItem, monitor);
+							continue;
+						}
+					} else if (reader.isEndElement()) {
+						depth--;
+					}
+					reader.next();
 				}
+			} finally {
+				reader.close();
 			}
 			return Status.OK_STATUS;
 		} catch (Exception e) {
@@ -100,6 +144,13 @@ public class FeedReader {
 		}
 	}
 
+	private void accept(RSSItem rssItem, IProgressMonitor monitor) {
+		final FeedEntry entry = createEntry(rssItem);
+		if (environment.matches(new FilterableAdapter(entry), monitor)) {
+			entries.add(entry);
+		}
+	}
+
 	protected FeedEntry createEntry(RSSItem rssItem) {
 		return new FeedEntry(eventId, rssItem);
 	}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.notifications.tests.feed;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.stream.StreamSource;
+
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.mylyn.commons.notifications.core.IFilterable;
+import org.eclipse.mylyn.commons.notifications.core.NotificationEnvironment;
+import org.eclipse.mylyn.internal.commons.notifications.feed.FeedEntry;
+import org.eclipse.mylyn.internal.commons.notifications.feed.FeedReader;
+import org.eclipse.mylyn.internal.commons.notifications.feed.RSS;
+import org.eclipse.mylyn.internal.commons.notifications.feed.RSSItem;
+
+/**
+ * Compares unmarshalling a complete feed with a new context per refresh against the streaming {@link FeedReader}.
+ *
+ * @author agent
+ */
+public class FeedReaderBenchmark {
+
+	private static final int ITEMS = 5000;
+
+	private static final int ITERATIONS = 20;
+
+	public static void main(String[] args) throws Exception {
+		NotificationEnvironment environment = new NotificationEnvironment() {
+			@Override
+			public Set<String> getInstalledFeatures(IProgressMonitor monitor) {
+				return Collections.singleton("org.eclipse.mylyn"); //$NON-NLS-1$
+			}
+		};
+		byte[] feed = createFeed(ITEMS);
+
+		for (int i = 0; i < ITERATIONS; i++) {
+			parseDocument(feed, environment);
+			parseStream(feed, environment);
+		}
+
+		System.gc();
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			parseDocument(feed, environment);
+		}
+		report("document", start); //$NON-NLS-1$
+
+		System.gc();
+		start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			parseStream(feed, environment);
+		}
+		report("streaming", start); //$NON-NLS-1$
+	}
+
+	private static byte[] createFeed(int items) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\"?><rss version=\"2.0\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\">"); //$NON-NLS-1$
+		sb.append("<channel><title>Feed</title>"); //$NON-NLS-1$
+		for (int i = 0; i < items; i++) {
+			sb.append("<item><title>Item ").append(i).append("</title>"); //$NON-NLS-1$ //$NON-NLS-2$
+			sb.append("<pubDate>Fri, 27 May 2011 12:00:00 +0000</pubDate>"); //$NON-NLS-1$
+			sb.append("<dc:subject>requires=").append((i % 10 == 0) ? "org.eclipse.mylyn" : "unknown"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			sb.append("</dc:subject><guid>").append(i).append("</guid>"); //$NON-NLS-1$ //$NON-NLS-2$
+			sb.append("<description>A service message with a longer description text.</description></item>"); //$NON-NLS-1$
+		}
+		sb.append("</channel></rss>"); //$NON-NLS-1$
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static int parseDocument(byte[] feed, NotificationEnvironment environment) throws Exception {
+		JAXBContext jc = JAXBContext.newInstance(RSS.class);
+		Unmarshaller unmarshaller = jc.createUnmarshaller();
+		JAXBElement<RSS> rss = unmarshaller.unmarshal(new StreamSource(new ByteArrayInputStream(feed)), RSS.class);
+		int count = 0;
+		for (RSSItem rssItem : rss.getValue().getItems()) {
+			final FeedEntry entry = new FeedEntry("eventId", rssItem); //$NON-NLS-1$
+			IAdaptable adaptable = new IAdaptable() {
+				public <T> T getAdapter(Class<T> adapter) {
+					if (adapter == IFilterable.class) {
+						return adapter.cast(new IFilterable() {
+							public List<String> getFilters(String key) {
+								return entry.getFilters(key);
+							}
+
+							public String getFilter(String key) {
+								return entry.getFilter(key);
+							}
+						});
+					}
+					return null;
+				}
+			};
+			if (environment.matches(adaptable, null)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static int parseStream(byte[] feed, NotificationEnvironment environment) {
+		FeedReader reader = new FeedReader("eventId", environment); //$NON-NLS-1$
+		reader.parse(new ByteArrayInputStream(feed), null);
+		return reader.getEntries().size();
+	}
+
+	private static void report(String label, long start) {
+		Runtime runtime = Runtime.getRuntime();
+		System.out.println(label + ": " + ((System.nanoTime() - start) / 1000000 / ITERATIONS) + " ms/refresh, " //$NON-NLS-1$ //$NON-NLS-2$
+				+ ((runtime.totalMemory() - runtime.freeMemory()) / 1024) + " KB heap in use"); //$NON-NLS-1$
+	}
+
+}
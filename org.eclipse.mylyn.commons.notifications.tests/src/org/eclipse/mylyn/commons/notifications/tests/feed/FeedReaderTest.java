@@ -12,6 +12,8 @@
 
 package org.eclipse.mylyn.commons.notifications.tests.feed;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Locale;
 import java.util.Set;
@@ -19,6 +21,7 @@ import java.util.Set;
 import junit.framework.TestCase;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.notifications.core.NotificationEnvironment;
 import org.eclipse.mylyn.commons.sdk.util.CommonTestUtil;
@@ -83,4 +86,28 @@ public class FeedReaderTest extends TestCase {
 		}
 	}
 
+	public void testParseStreamsLargeFeed() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\"?><rss version=\"2.0\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\">");
+		sb.append("<channel><title>Feed</title>");
+		for (int i = 0; i < 1000; i++) {
+			sb.append("<item><title>Item ").append(i).append("</title>");
+			sb.append("<pubDate>Fri, 27 May 2011 12:00:00 +0000</pubDate>");
+			sb.append("<dc:subject>").append((i % 2 == 0) ? "requires=org.eclipse.mylyn" : "requires=unknown");
+			sb.append("</dc:subject><guid>").append(i).append("</guid></item>");
+		}
+		sb.append("</channel></rss>");
+
+		assertEquals(Status.OK_STATUS,
+				reader.parse(new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8)), null));
+		assertEquals(500, reader.getEntries().size());
+		assertEquals("Item 0", reader.getEntries().get(0).getTitle());
+	}
+
+	public void testParseInvalid() throws Exception {
+		IStatus status = reader.parse(
+				new ByteArrayInputStream("<rss><channel><item>".getBytes(StandardCharsets.UTF_8)), null);
+		assertEquals(IStatus.ERROR, status.getSeverity());
+	}
+
 }
@@ -119,6 +119,10 @@ public class RepositoryLocation extends PlatformObject {
 		this(source.getProperties(), source.getService(), true);
 	}
 
+	public void addChangeListener(IRepositoryLocationChangeListener listener) {
+		repositoryLocationChangeListeners.add(listener);
+	}
+
 	public void addPropertyChangeListener(PropertyChangeListener listener) {
 		propertyChangeListeners.add(listener);
 	}
@@ -316,6 +320,10 @@ public class RepositoryLocation extends PlatformObject {
 		return workingCopy;
 	}
 
+	public void removeChangeListener(IRepositoryLocationChangeListener listener) {
+		repositoryLocationChangeListeners.remove(listener);
+	}
+
 	public void removePropertyChangeListener(PropertyChangeListener listener) {
 		propertyChangeListeners.remove(listener);
 	}
@@ -13,8 +13,12 @@
 package org.eclipse.mylyn.commons.repositories.http.core;
 
 import java.io.IOException;
-
-import javax.net.ssl.TrustManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
@@ -29,9 +33,9 @@ import org.apache.http.impl.client.BasicAuthCache;
 import org.apache.http.impl.client.ContentEncodingHttpClient;
 import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HttpContext;
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.mylyn.commons.core.net.SslSupport;
-import org.eclipse.mylyn.commons.core.net.TrustAllTrustManager;
 import org.eclipse.mylyn.commons.core.operations.CancellableOperationMonitorThread;
 import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
 import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
@@ -41,6 +45,8 @@ import org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationRequest;
 import org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationType;
 import org.eclipse.mylyn.commons.repositories.core.auth.CertificateCredentials;
 import org.eclipse.mylyn.commons.repositories.core.auth.UserCredentials;
+import org.eclipse.mylyn.internal.commons.repositories.http.core.HttpRequestExecutor;
+import org.eclipse.mylyn.internal.commons.repositories.http.core.PoolingConnectionManager;
 
 /**
  * Provides an abstraction for connecting to a {@link RepositoryLocation} through HTTP.
@@ -49,20 +55,32 @@ import org.eclipse.mylyn.commons.repositories.core.auth.UserCredentials;
  */
 public class CommonHttpClient {
 
+	/**
+	 * Repository location property that limits the number of concurrent connections to the host of the location. If
+	 * the property is not set the default limit per host applies.
+	 */
+	public static final String PROPERTY_MAX_CONNECTIONS = "org.eclipse.mylyn.repositories.http.maxConnections"; //$NON-NLS-1$
+
 	private boolean preemptiveAuthenticationEnabled;
 
 	private boolean authenticated;
 
 	private final ThreadLocal<BasicHttpContext> context = new ThreadLocal<BasicHttpContext>();
 
+	private Executor executor;
+
 	private AuthenticationType<UserCredentials> httpAuthenticationType;
 
+	private HttpResponseCache httpCache;
+
 	private AbstractHttpClient httpClient;
 
 	private final RepositoryLocation location;
 
 	private CancellableOperationMonitorThread monitorThread = CancellableOperationMonitorThread.getInstance();
 
+	private SslSupportCache sslSupportCache = SslSupportCache.getDefault();
+
 	public CommonHttpClient(RepositoryLocation location) {
 		this.location = location;
 		this.httpAuthenticationType = AuthenticationType.HTTP;
@@ -75,9 +93,40 @@ public class CommonHttpClient {
 		return op.run(monitor);
 	}
 
+	/**
+	 * Asynchronous variant of {@link #executeGet(String, IOperationMonitor, HttpRequestProcessor)}. The request and the
+	 * processor run on the executor of this client and share cookies and the authentication cache with the calling
+	 * thread.
+	 *
+	 * @see #getExecutor()
+	 */
+	public <T> CompletableFuture<T> executeGetAsync(String requestPath, IOperationMonitor monitor,
+			HttpRequestProcessor<T> processor) {
+		HttpGet request = new HttpGet(location.getUrl() + requestPath);
+		DefaultHttpOperation<T> op = new DefaultHttpOperation<T>(this, request, processor);
+		return op.runAsync(monitor);
+	}
+
 	public HttpResponse execute(HttpRequestBase request, IOperationMonitor monitor) throws IOException {
 		prepareRequest(request, monitor);
-		return HttpUtil.execute(getHttpClient(), HttpUtil.createHost(request), getContext(), request, monitor);
+		if (isHttpCacheEnabled()) {
+			return getHttpCache().execute(this, request, monitor);
+		}
+		return executeNetwork(request, monitor);
+	}
+
+	/**
+	 * Executes <code>request</code> on the executor of this client and returns a future for the response. Failed
+	 * authentication is retried as for {@link CommonHttpOperation#execute(HttpRequestBase, IOperationMonitor)}. The
+	 * request shares cookies and the authentication cache with the calling thread. Cancelling the future cancels
+	 * <code>monitor</code> which aborts the request. The caller is responsible for releasing the response.
+	 *
+	 * @see #getExecutor()
+	 */
+	public CompletableFuture<CommonHttpResponse> executeAsync(HttpRequestBase request, IOperationMonitor monitor) {
+		CommonHttpOperation<Void> op = new CommonHttpOperation<Void>(this) {
+		};
+		return op.executeAsync(request, monitor);
 	}
 
 	public HttpContext getContext() {
@@ -87,10 +136,60 @@ public class CommonHttpClient {
 		return context.get();
 	}
 
+	/**
+	 * Returns the executor that runs asynchronous requests. Unless set explicitly requests share a default executor
+	 * that uses virtual threads if the runtime supports them.
+	 *
+	 * @see #executeAsync(HttpRequestBase, IOperationMonitor)
+	 */
+	public synchronized Executor getExecutor() {
+		if (executor == null) {
+			return HttpRequestExecutor.getExecutorService();
+		}
+		return executor;
+	}
+
+	/**
+	 * Returns the connection pool statistics for the routes to the host of the location of this client. Returns an
+	 * empty list if the client does not use a pooling connection manager.
+	 */
+	public List<HttpRouteStatistics> getConnectionPoolStatistics() {
+		List<HttpRouteStatistics> result = new ArrayList<HttpRouteStatistics>();
+		ClientConnectionManager manager = getHttpClient().getConnectionManager();
+		if (manager instanceof PoolingConnectionManager) {
+			String targetHost = PoolingConnectionManager.normalize(HttpUtil.createHost(location)).toURI();
+			for (HttpRouteStatistics statistics : ((PoolingConnectionManager) manager).getRouteStatistics()) {
+				if (targetHost.equals(statistics.getTargetHost())) {
+					result.add(statistics);
+				}
+			}
+		}
+		return result;
+	}
+
 	public AuthenticationType<UserCredentials> getHttpAuthenticationType() {
 		return httpAuthenticationType;
 	}
 
+	/**
+	 * Returns the cache that is used if caching is enabled for the location of this client.
+	 *
+	 * @see #isHttpCacheEnabled()
+	 */
+	public synchronized HttpResponseCache getHttpCache() {
+		if (httpCache == null) {
+			return HttpResponseCache.getDefault();
+		}
+		return httpCache;
+	}
+
+	/**
+	 * Returns the cache statistics for the location of this client.
+	 */
+	public HttpCacheStatistics getHttpCacheStatistics() {
+		return getHttpCache().getStatistics(location);
+	}
+
 	public synchronized AbstractHttpClient getHttpClient() {
 		if (httpClient == null) {
 			httpClient = createHttpClient(null);
@@ -106,6 +205,14 @@ public class CommonHttpClient {
 		return authenticated;
 	}
 
+	/**
+	 * Returns true, if responses are cached since the {@link HttpResponseCache#PROPERTY_ENABLED} property is set for the
+	 * location of this client.
+	 */
+	public boolean isHttpCacheEnabled() {
+		return location.getBooleanPropery(HttpResponseCache.PROPERTY_ENABLED);
+	}
+
 	public boolean isPreemptiveAuthenticationEnabled() {
 		return preemptiveAuthenticationEnabled;
 	}
@@ -118,6 +225,14 @@ public class CommonHttpClient {
 		this.authenticated = authenticated;
 	}
 
+	public synchronized void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	public synchronized void setHttpCache(HttpResponseCache httpCache) {
+		this.httpCache = httpCache;
+	}
+
 	public void setHttpAuthenticationType(AuthenticationType<UserCredentials> httpAuthenticationType) {
 		this.httpAuthenticationType = httpAuthenticationType;
 	}
@@ -147,12 +262,11 @@ public class CommonHttpClient {
 			}
 		}
 		HttpUtil.configureProxy(getHttpClient(), location);
+		HttpUtil.configureConnectionLimit(getHttpClient(), location, getMaxConnections());
 
 		CertificateCredentials socketCredentials = location.getCredentials(AuthenticationType.CERTIFICATE);
 		if (socketCredentials != null) {
-			SslSupport support = new SslSupport(new TrustManager[] { new TrustAllTrustManager() },
-					socketCredentials.getKeyStoreFileName(), socketCredentials.getPassword(),
-					socketCredentials.getKeyStoreType());
+			SslSupport support = getSslSupportCache().get(location, socketCredentials);
 			request.getParams().setParameter(SslSupport.class.getName(), support);
 		} else {
 			// remove the token that associates certificate credentials with the connection
@@ -165,6 +279,63 @@ public class CommonHttpClient {
 	protected void authenticate(IOperationMonitor monitor) throws IOException {
 	}
 
+	HttpResponse executeNetwork(HttpRequestBase request, IOperationMonitor monitor) throws IOException {
+		return HttpUtil.execute(getHttpClient(), HttpUtil.createHost(request), getContext(), request, monitor);
+	}
+
+	/**
+	 * Runs <code>callable</code> on the executor of this client. The task uses a child of the HTTP context of the
+	 * calling thread: cookies and the authentication cache are shared with the caller while attributes of a request,
+	 * e.g. the target host and the authentication state, are not shared with concurrent tasks.
+	 */
+	<T> CompletableFuture<T> submit(final Callable<T> callable, final IOperationMonitor monitor) {
+		final HttpContext callerContext = getContext();
+		if (callerContext.getAttribute(ClientContext.AUTH_CACHE) == null) {
+			// otherwise each task would cache authentication schemes in its own context
+			callerContext.setAttribute(ClientContext.AUTH_CACHE, new BasicAuthCache());
+		}
+		final CompletableFuture<T> future = new CompletableFuture<T>() {
+			@Override
+			public boolean cancel(boolean mayInterruptIfRunning) {
+				boolean cancelled = super.cancel(mayInterruptIfRunning);
+				if (cancelled) {
+					// aborts the request through the monitor thread
+					monitor.setCanceled(true);
+				}
+				return cancelled;
+			}
+		};
+		try {
+			getExecutor().execute(new Runnable() {
+				public void run() {
+					if (future.isDone()) {
+						return;
+					}
+					BasicHttpContext previousContext = context.get();
+					context.set(new BasicHttpContext(callerContext));
+					try {
+						T result = callable.call();
+						if (!future.complete(result) && result instanceof CommonHttpResponse) {
+							// the future was cancelled while the response was received
+							((CommonHttpResponse) result).release();
+						}
+					} catch (Throwable e) {
+						future.completeExceptionally(e);
+					} finally {
+						if (previousContext != null) {
+							context.set(previousContext);
+						} else {
+							context.remove();
+						}
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
 	protected AbstractHttpClient createHttpClient(String userAgent) {
 		AbstractHttpClient client = new ContentEncodingHttpClient() {
 			@Override
@@ -184,7 +355,19 @@ public class CommonHttpClient {
 	}
 
 	protected ClientConnectionManager createHttpClientConnectionManager() {
-		return HttpUtil.getConnectionManager();
+		return HttpUtil.getPoolingConnectionManager();
+	}
+
+	private int getMaxConnections() {
+		String value = location.getProperty(PROPERTY_MAX_CONNECTIONS);
+		if (value != null) {
+			try {
+				return Integer.parseInt(value.trim());
+			} catch (NumberFormatException e) {
+				// ignore and use the default limit
+			}
+		}
+		return -1;
 	}
 
 	protected <T extends AuthenticationCredentials> T requestCredentials(
@@ -213,4 +396,13 @@ public class CommonHttpClient {
 		this.monitorThread = monitorThread;
 	}
 
+	public SslSupportCache getSslSupportCache() {
+		return sslSupportCache;
+	}
+
+	public void setSslSupportCache(SslSupportCache sslSupportCache) {
+		Assert.isNotNull(sslSupportCache);
+		this.sslSupportCache = sslSupportCache;
+	}
+
 }
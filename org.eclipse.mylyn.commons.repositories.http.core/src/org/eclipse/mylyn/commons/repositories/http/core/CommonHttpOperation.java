@@ -13,6 +13,8 @@
 package org.eclipse.mylyn.commons.repositories.http.core;
 
 import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpGet;
@@ -93,6 +95,23 @@ public abstract class CommonHttpOperation<T> {
 		return executeOnce(request, monitor);
 	}
 
+	/**
+	 * Executes <code>request</code> on the executor of the client and returns a future for the response. Authentication
+	 * is handled as in {@link #execute(HttpRequestBase, IOperationMonitor)}. Cancelling the future cancels
+	 * <code>monitor</code> which aborts the request.
+	 *
+	 * @see CommonHttpClient#getExecutor()
+	 */
+	public CompletableFuture<CommonHttpResponse> executeAsync(final HttpRequestBase request,
+			IOperationMonitor monitor) {
+		final IOperationMonitor operationMonitor = OperationUtil.convert(monitor);
+		return client.submit(new Callable<CommonHttpResponse>() {
+			public CommonHttpResponse call() throws Exception {
+				return execute(request, operationMonitor);
+			}
+		}, operationMonitor);
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private void handleAuthenticationError(HttpRequestBase request, AuthenticationException e,
 			IOperationMonitor monitor, boolean requestCredentials) throws AuthenticationException {
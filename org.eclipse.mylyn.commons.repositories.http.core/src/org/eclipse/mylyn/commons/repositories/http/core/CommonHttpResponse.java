@@ -22,16 +22,23 @@ import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.util.EntityUtils;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.mylyn.commons.core.io.ProgressMonitorInputStream;
 import org.eclipse.mylyn.commons.core.operations.CancellableOperationMonitorThread;
 import org.eclipse.mylyn.commons.core.operations.ICancellableOperation;
 import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
 import org.eclipse.mylyn.commons.core.operations.OperationUtil;
+import org.eclipse.mylyn.internal.commons.repositories.http.core.Messages;
+import org.eclipse.osgi.util.NLS;
 
 /**
  * @author Steffen Pingel
  */
 public class CommonHttpResponse implements ICancellableOperation {
 
+	private static final int PROGRESS_UPDATE_INCREMENT = 8 * 1024;
+
+	private static final long PROGRESS_UPDATE_INTERVAL = 250;
+
 	private CancellableInputStream entityStream;
 
 	private final IOperationMonitor monitor;
@@ -107,16 +114,36 @@ public class CommonHttpResponse implements ICancellableOperation {
 			throw new IOException("Expected entity"); //$NON-NLS-1$
 		}
 		entityStream = new CancellableInputStream(this, entity.getContent());
-		monitorThread.addOperation(this);
+		monitorThread.addOperation(this, monitor);
 		return entityStream;
 	}
 
 	/**
+	 * Returns the response entity as a stream that reports the number of bytes read and the throughput as sub-tasks to
+	 * <code>monitor</code>.
+	 * 
 	 * @deprecated use {@link #getResponseEntityAsStream()} instead
 	 */
 	@Deprecated
 	public InputStream getResponseEntityAsStream(IProgressMonitor monitor) throws IOException {
-		return getResponseEntityAsStream();
+		InputStream in = getResponseEntityAsStream();
+		if (monitor == null) {
+			return in;
+		}
+		long length = response.getEntity().getContentLength();
+		return new ProgressMonitorInputStream(in, length, PROGRESS_UPDATE_INCREMENT, PROGRESS_UPDATE_INTERVAL,
+				monitor) {
+			@Override
+			protected void updateMonitor(long bytesRead, long size, IProgressMonitor monitor) {
+				long rate = getBytesPerSecond() / 1024;
+				if (size > 0) {
+					monitor.subTask(NLS.bind(Messages.CommonHttpResponse_Downloaded_of, new Object[] {
+							bytesRead / 1024, size / 1024, rate }));
+				} else {
+					monitor.subTask(NLS.bind(Messages.CommonHttpResponse_Downloaded, bytesRead / 1024, rate));
+				}
+			}
+		};
 	}
 
 	public int getStatusCode() {
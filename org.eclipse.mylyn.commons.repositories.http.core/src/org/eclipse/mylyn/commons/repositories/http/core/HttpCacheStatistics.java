@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.repositories.http.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts requests that were handled by a {@link HttpResponseCache} for a single repository location.
+ *
+ * @author agent
+ */
+public class HttpCacheStatistics {
+
+	private final AtomicLong bytesSaved = new AtomicLong();
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong revalidationCount = new AtomicLong();
+
+	HttpCacheStatistics() {
+	}
+
+	/**
+	 * Returns the number of response bytes that were served from the cache instead of being transferred.
+	 */
+	public long getBytesSaved() {
+		return bytesSaved.get();
+	}
+
+	/**
+	 * Returns the number of requests that were served from the cache without contacting the server.
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Returns the ratio of requests that were served from the cache, including revalidated responses, to all cacheable
+	 * requests.
+	 */
+	public double getHitRatio() {
+		long hits = getHitCount() + getRevalidationCount();
+		long requests = hits + getMissCount();
+		return (requests > 0) ? (double) hits / requests : 0;
+	}
+
+	/**
+	 * Returns the number of cacheable requests that were not served from the cache.
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Returns the number of requests that were served from the cache after the server confirmed that the stored
+	 * response is still valid.
+	 */
+	public long getRevalidationCount() {
+		return revalidationCount.get();
+	}
+
+	@Override
+	public String toString() {
+		return "HttpCacheStatistics [hits=" + getHitCount() + ", revalidations=" + getRevalidationCount() //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", misses=" + getMissCount() + ", bytesSaved=" + getBytesSaved() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	void hit(long bytes) {
+		hitCount.incrementAndGet();
+		bytesSaved.addAndGet(bytes);
+	}
+
+	void miss() {
+		missCount.incrementAndGet();
+	}
+
+	void revalidated(long bytes) {
+		revalidationCount.incrementAndGet();
+		bytesSaved.addAndGet(bytes);
+	}
+
+}
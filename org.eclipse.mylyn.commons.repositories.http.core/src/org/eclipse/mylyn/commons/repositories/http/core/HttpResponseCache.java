@@ -0,0 +1,376 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.repositories.http.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.util.EntityUtils;
+import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
+import org.eclipse.mylyn.commons.repositories.core.IRepositoryLocationChangeListener;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocationChangeEvent;
+import org.eclipse.mylyn.internal.commons.repositories.http.core.HttpCacheEntry;
+import org.eclipse.mylyn.internal.commons.repositories.http.core.HttpCachePolicy;
+import org.eclipse.mylyn.internal.commons.repositories.http.core.HttpDiskCache;
+
+/**
+ * A private HTTP cache that stores responses to <code>GET</code> requests following the rules of RFC 7234. Fresh
+ * responses are served without contacting the server and stale responses that have an <code>ETag</code> or
+ * <code>Last-Modified</code> header are revalidated with a conditional request. Responses are kept in memory and,
+ * optionally, in a directory on disk. Both tiers evict the least recently used responses when their size limit is
+ * exceeded.
+ * <p>
+ * The cache is used by {@link CommonHttpClient} if the {@link #PROPERTY_ENABLED} property of the repository location
+ * is set to <code>true</code>. Cached responses are returned as regular responses and are transparent to
+ * {@link HttpRequestProcessor} implementations. Entries are separated by repository location so responses for
+ * different credentials are never shared, and the entries of a location are discarded when its credentials change.
+ * </p>
+ *
+ * @author agent
+ * @see CommonHttpClient#setHttpCache(HttpResponseCache)
+ */
+public class HttpResponseCache {
+
+	/**
+	 * Repository location property that enables caching of HTTP responses if set to <code>true</code>.
+	 */
+	public static final String PROPERTY_ENABLED = "org.eclipse.mylyn.repositories.http.cache.enabled"; //$NON-NLS-1$
+
+	public static final long DEFAULT_MAX_ENTRY_SIZE = 2 * 1024 * 1024;
+
+	public static final long DEFAULT_MAX_MEMORY_SIZE = 16 * 1024 * 1024;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static HttpResponseCache defaultCache;
+
+	/**
+	 * Returns a cache that is shared by all clients that do not have a cache set. The default cache only keeps
+	 * responses in memory.
+	 */
+	public static synchronized HttpResponseCache getDefault() {
+		if (defaultCache == null) {
+			defaultCache = new HttpResponseCache(DEFAULT_MAX_MEMORY_SIZE);
+		}
+		return defaultCache;
+	}
+
+	private final HttpDiskCache diskCache;
+
+	private final IRepositoryLocationChangeListener locationListener = new IRepositoryLocationChangeListener() {
+		public void repositoryChanged(RepositoryLocationChangeEvent event) {
+			if (event.getType() == RepositoryLocationChangeEvent.Type.CREDENTIALS
+					|| event.getType() == RepositoryLocationChangeEvent.Type.ALL) {
+				invalidate(event.getSource());
+			}
+		}
+	};
+
+	/**
+	 * The locations that {@link #locationListener} is registered with.
+	 */
+	private final Map<RepositoryLocation, Boolean> locations = new WeakHashMap<RepositoryLocation, Boolean>();
+
+	private final LinkedHashMap<String, HttpCacheEntry> entries = new LinkedHashMap<String, HttpCacheEntry>(16, 0.75f,
+			true);
+
+	private volatile long maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+
+	private final long maxMemorySize;
+
+	private long memorySize;
+
+	private final Map<String, HttpCacheStatistics> statistics = new ConcurrentHashMap<String, HttpCacheStatistics>();
+
+	/**
+	 * Creates a cache that keeps up to <code>maxMemorySize</code> bytes in memory.
+	 */
+	public HttpResponseCache(long maxMemorySize) {
+		this.maxMemorySize = maxMemorySize;
+		this.diskCache = null;
+	}
+
+	/**
+	 * Creates a cache that keeps up to <code>maxMemorySize</code> bytes in memory and up to <code>maxDiskSize</code>
+	 * bytes in <code>directory</code>. Responses are written through to disk and remain available across sessions.
+	 */
+	public HttpResponseCache(long maxMemorySize, File directory, long maxDiskSize) {
+		this.maxMemorySize = maxMemorySize;
+		this.diskCache = new HttpDiskCache(directory, maxDiskSize);
+	}
+
+	/**
+	 * Removes all responses from the cache.
+	 */
+	public void clear() {
+		synchronized (this) {
+			entries.clear();
+			memorySize = 0;
+		}
+		if (diskCache != null) {
+			diskCache.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of bytes that are stored on disk or 0, if the cache does not have a disk tier.
+	 */
+	public long getDiskSize() {
+		return (diskCache != null) ? diskCache.getSize() : 0;
+	}
+
+	public long getMaxEntrySize() {
+		return maxEntrySize;
+	}
+
+	/**
+	 * Returns the estimated number of bytes that are held in memory.
+	 */
+	public synchronized long getMemorySize() {
+		return memorySize;
+	}
+
+	/**
+	 * Returns the statistics for requests to <code>location</code>.
+	 */
+	public HttpCacheStatistics getStatistics(RepositoryLocation location) {
+		String id = location.getId();
+		HttpCacheStatistics result = statistics.get(id);
+		if (result == null) {
+			statistics.putIfAbsent(id, new HttpCacheStatistics());
+			result = statistics.get(id);
+		}
+		return result;
+	}
+
+	/**
+	 * Removes all responses that were stored for requests to <code>location</code>. Invoked when the credentials of
+	 * <code>location</code> change.
+	 */
+	public void invalidate(RepositoryLocation location) {
+		String partition = getPartition(location);
+		synchronized (this) {
+			for (Iterator<HttpCacheEntry> it = entries.values().iterator(); it.hasNext();) {
+				HttpCacheEntry entry = it.next();
+				String key = entry.getKey();
+				if (key.lastIndexOf(' ') == partition.length() && key.startsWith(partition)) {
+					memorySize -= entry.getSize();
+					it.remove();
+				}
+			}
+		}
+		if (diskCache != null) {
+			diskCache.removePartition(partition);
+		}
+	}
+
+	/**
+	 * Sets the size of the largest response body that is stored. Larger responses are passed through.
+	 */
+	public void setMaxEntrySize(long maxEntrySize) {
+		this.maxEntrySize = maxEntrySize;
+	}
+
+	private void addConditionalHeaders(HttpRequestBase request, HttpCacheEntry entry) {
+		if (entry.getETag() != null) {
+			request.setHeader("If-None-Match", entry.getETag()); //$NON-NLS-1$
+		}
+		if (entry.getLastModified() != null) {
+			request.setHeader("If-Modified-Since", entry.getLastModified()); //$NON-NLS-1$
+		}
+	}
+
+	private HttpCacheEntry get(String key) {
+		synchronized (this) {
+			HttpCacheEntry entry = entries.get(key);
+			if (entry != null) {
+				return entry;
+			}
+		}
+		if (diskCache != null) {
+			HttpCacheEntry entry = diskCache.get(key);
+			if (entry != null) {
+				putMemory(entry);
+			}
+			return entry;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the key of the response to <code>request</code>. Keys have the form <code>partition uri</code> as
+	 * expected by {@link HttpDiskCache}, encoded URIs do not contain spaces.
+	 */
+	private String getKey(RepositoryLocation location, HttpRequestBase request) {
+		return getPartition(location) + " " + request.getURI(); //$NON-NLS-1$
+	}
+
+	private String getPartition(RepositoryLocation location) {
+		return location.getId();
+	}
+
+	private void put(HttpCacheEntry entry) {
+		putMemory(entry);
+		if (diskCache != null) {
+			diskCache.put(entry);
+		}
+	}
+
+	private synchronized void putMemory(HttpCacheEntry entry) {
+		HttpCacheEntry oldEntry = entries.put(entry.getKey(), entry);
+		memorySize += entry.getSize() - ((oldEntry != null) ? oldEntry.getSize() : 0);
+		Iterator<HttpCacheEntry> it = entries.values().iterator();
+		while (memorySize > maxMemorySize && it.hasNext()) {
+			memorySize -= it.next().getSize();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Reads the body of <code>response</code> into memory and stores it. If the body exceeds the maximum entry size
+	 * the response is returned with an entity that provides the complete body without storing it.
+	 */
+	private HttpResponse store(String key, HttpRequestBase request, HttpResponse response, long requestTime,
+			long responseTime) throws IOException {
+		HttpEntity entity = response.getEntity();
+		long limit = maxEntrySize;
+		if (entity.getContentLength() > limit) {
+			return response;
+		}
+
+		InputStream in = entity.getContent();
+		ByteArrayOutputStream body = new ByteArrayOutputStream(
+				(entity.getContentLength() > 0) ? (int) entity.getContentLength() : BUFFER_SIZE);
+		try {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int count;
+			while ((count = in.read(buffer)) != -1) {
+				body.write(buffer, 0, count);
+				if (body.size() > limit) {
+					// too large, pass the body through without storing it
+					InputStreamEntity passThrough = new InputStreamEntity(
+							new SequenceInputStream(new ByteArrayInputStream(body.toByteArray()), in), -1);
+					passThrough.setContentType(entity.getContentType());
+					passThrough.setContentEncoding(entity.getContentEncoding());
+					response.setEntity(passThrough);
+					return response;
+				}
+			}
+		} catch (IOException e) {
+			request.abort();
+			throw e;
+		}
+		EntityUtils.consume(entity);
+
+		HttpCacheEntry entry = HttpCacheEntry.create(key, request, response, body.toByteArray(), requestTime,
+				responseTime);
+		put(entry);
+		return entry.createResponse();
+	}
+
+	HttpResponse execute(CommonHttpClient client, HttpRequestBase request, IOperationMonitor monitor)
+			throws IOException {
+		register(client.getLocation());
+		String key = getKey(client.getLocation(), request);
+		if (!HttpCachePolicy.isCacheable(request)) {
+			if (!HttpCachePolicy.isSafe(request.getMethod())) {
+				// RFC 7234, section 4.4: unsafe methods invalidate stored responses
+				invalidate(key);
+			}
+			return client.executeNetwork(request, monitor);
+		}
+
+		HttpCacheStatistics statistics = getStatistics(client.getLocation());
+		HttpCacheEntry entry = get(key);
+		if (entry != null && !entry.matches(request)) {
+			entry = null;
+		}
+		long requestTime = System.currentTimeMillis();
+		if (entry != null && entry.isFresh(requestTime) && !HttpCachePolicy.requiresRevalidation(request)) {
+			statistics.hit(entry.getBodyLength());
+			return entry.createResponse();
+		}
+
+		// only revalidate if the request is not already conditional
+		boolean revalidate = entry != null && (entry.getETag() != null || entry.getLastModified() != null)
+				&& !request.containsHeader("If-None-Match") && !request.containsHeader("If-Modified-Since"); //$NON-NLS-1$ //$NON-NLS-2$
+		if (revalidate) {
+			addConditionalHeaders(request, entry);
+		}
+		HttpResponse response;
+		try {
+			response = client.executeNetwork(request, monitor);
+		} finally {
+			if (revalidate) {
+				// the request may be executed again, e.g. after authentication
+				request.removeHeaders("If-None-Match"); //$NON-NLS-1$
+				request.removeHeaders("If-Modified-Since"); //$NON-NLS-1$
+			}
+		}
+		long responseTime = System.currentTimeMillis();
+
+		if (revalidate && response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+			EntityUtils.consume(response.getEntity());
+			HttpCacheEntry updated = entry.update(response, requestTime, responseTime);
+			put(updated);
+			statistics.revalidated(updated.getBodyLength());
+			return updated.createResponse();
+		}
+
+		statistics.miss();
+		if (HttpCachePolicy.isCacheable(response)) {
+			return store(key, request, response, requestTime, responseTime);
+		}
+		if (entry != null && response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+			// the stored response was replaced by a response that must not be stored
+			invalidate(key);
+		}
+		return response;
+	}
+
+	private void register(RepositoryLocation location) {
+		synchronized (locations) {
+			if (locations.put(location, Boolean.TRUE) == null) {
+				location.addChangeListener(locationListener);
+			}
+		}
+	}
+
+	private void invalidate(String key) {
+		synchronized (this) {
+			HttpCacheEntry entry = entries.remove(key);
+			if (entry != null) {
+				memorySize -= entry.getSize();
+			}
+		}
+		if (diskCache != null) {
+			diskCache.remove(key);
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.repositories.http.core;
+
+/**
+ * A snapshot of the connection pool state for a single route, i.e. a target host that is either connected to directly
+ * or through a proxy.
+ *
+ * @author agent
+ * @see HttpUtil#getConnectionPoolStatistics()
+ * @see CommonHttpClient#getConnectionPoolStatistics()
+ */
+public class HttpRouteStatistics {
+
+	private final int available;
+
+	private final long leaseCount;
+
+	private final int leased;
+
+	private final long leaseTimeoutCount;
+
+	private final int max;
+
+	private final long maxWaitTime;
+
+	private final int pending;
+
+	private final String proxyHost;
+
+	private final String targetHost;
+
+	private final long totalWaitTime;
+
+	public HttpRouteStatistics(String targetHost, String proxyHost, int leased, int available, int pending, int max,
+			long leaseCount, long leaseTimeoutCount, long totalWaitTime, long maxWaitTime) {
+		this.targetHost = targetHost;
+		this.proxyHost = proxyHost;
+		this.leased = leased;
+		this.available = available;
+		this.pending = pending;
+		this.max = max;
+		this.leaseCount = leaseCount;
+		this.leaseTimeoutCount = leaseTimeoutCount;
+		this.totalWaitTime = totalWaitTime;
+		this.maxWaitTime = maxWaitTime;
+	}
+
+	/**
+	 * Returns the number of idle connections that can be leased without opening a new connection.
+	 */
+	public int getAvailable() {
+		return available;
+	}
+
+	/**
+	 * Returns the average time in milliseconds requests waited for a connection.
+	 */
+	public long getAverageWaitTime() {
+		return (leaseCount > 0) ? totalWaitTime / leaseCount : 0;
+	}
+
+	/**
+	 * Returns the number of connections that are currently in use.
+	 */
+	public int getLeased() {
+		return leased;
+	}
+
+	/**
+	 * Returns the number of connections that have been leased since the route was first used.
+	 */
+	public long getLeaseCount() {
+		return leaseCount;
+	}
+
+	/**
+	 * Returns the number of requests that failed because no connection became available within the lease timeout.
+	 */
+	public long getLeaseTimeoutCount() {
+		return leaseTimeoutCount;
+	}
+
+	/**
+	 * Returns the maximum number of connections for the route.
+	 */
+	public int getMax() {
+		return max;
+	}
+
+	/**
+	 * Returns the longest time in milliseconds a request waited for a connection.
+	 */
+	public long getMaxWaitTime() {
+		return maxWaitTime;
+	}
+
+	/**
+	 * Returns the number of requests that are currently waiting for a connection.
+	 */
+	public int getPending() {
+		return pending;
+	}
+
+	/**
+	 * Returns the proxy host or <code>null</code>, if the route connects directly to the target host.
+	 */
+	public String getProxyHost() {
+		return proxyHost;
+	}
+
+	/**
+	 * Returns the target host, e.g. <code>https://mylyn.org:443</code>.
+	 */
+	public String getTargetHost() {
+		return targetHost;
+	}
+
+	/**
+	 * Returns the accumulated time in milliseconds requests waited for a connection.
+	 */
+	public long getTotalWaitTime() {
+		return totalWaitTime;
+	}
+
+	@Override
+	public String toString() {
+		return "HttpRouteStatistics [target=" + targetHost + ", proxy=" + proxyHost + ", leased=" + leased //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ ", available=" + available + ", pending=" + pending + ", max=" + max + ", averageWaitTime=" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ getAverageWaitTime() + ", maxWaitTime=" + maxWaitTime + ", leaseTimeouts=" + leaseTimeoutCount + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+}
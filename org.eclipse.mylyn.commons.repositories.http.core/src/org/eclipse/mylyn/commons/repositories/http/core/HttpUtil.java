@@ -20,6 +20,8 @@ import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.URI;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 import org.apache.http.HttpEntity;
@@ -36,6 +38,7 @@ import org.apache.http.client.params.AuthPolicy;
 import org.apache.http.client.params.ClientPNames;
 import org.apache.http.client.params.CookiePolicy;
 import org.apache.http.client.params.HttpClientParams;
+import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.conn.params.ConnRoutePNames;
 import org.apache.http.conn.scheme.Scheme;
 import org.apache.http.conn.scheme.SchemeRegistry;
@@ -67,6 +70,7 @@ import org.eclipse.mylyn.commons.repositories.core.auth.UserCredentials;
 import org.eclipse.mylyn.internal.commons.repositories.http.core.IdleConnectionMonitorThread;
 import org.eclipse.mylyn.internal.commons.repositories.http.core.PollingProtocolSocketFactory;
 import org.eclipse.mylyn.internal.commons.repositories.http.core.PollingSslProtocolSocketFactory;
+import org.eclipse.mylyn.internal.commons.repositories.http.core.PoolingConnectionManager;
 
 /**
  * @author Steffen Pingel
@@ -88,11 +92,27 @@ public class HttpUtil {
 
 	/**
 	 * @see IdleConnectionMonitorThread
+	 * @see PoolingConnectionManager
 	 */
 	private static final int CONNECTION_TIMEOUT_INTERVAL = 1 * 30 * 1000;
 
 	private static final int CONNNECT_TIMEOUT = 60 * 1000;
 
+	/**
+	 * The maximum time connections are kept open, regardless of the keep-alive period.
+	 */
+	private static final int CONNECTION_TIME_TO_LIVE = 10 * 60 * 1000;
+
+	/**
+	 * The time after which idle connections in the pool are closed.
+	 */
+	private static final int CONNECTION_IDLE_TIMEOUT = 60 * 1000;
+
+	/**
+	 * The maximum time a request waits for a connection from the pool.
+	 */
+	private static final int CONNECTION_LEASE_TIMEOUT = 60 * 1000;
+
 	private static final int HTTP_PORT = 80;
 
 	private static final int HTTPS_PORT = 443;
@@ -112,6 +132,8 @@ public class HttpUtil {
 
 	private static ThreadSafeClientConnManager connectionManager;
 
+	private static PoolingConnectionManager poolingConnectionManager;
+
 	static final String CONTEXT_KEY_MONITOR_THREAD = CancellableOperationMonitorThread.class.getName();
 
 	public static void configureClient(AbstractHttpClient client, String userAgent) {
@@ -125,6 +147,7 @@ public class HttpUtil {
 
 		HttpConnectionParams.setConnectionTimeout(client.getParams(), CONNNECT_TIMEOUT);
 		HttpConnectionParams.setSoTimeout(client.getParams(), SOCKET_TIMEOUT);
+		HttpClientParams.setConnectionManagerTimeout(client.getParams(), CONNECTION_LEASE_TIMEOUT);
 
 		//AuthParams.setCredentialCharset(client.getParams(), "UTF-8");
 	}
@@ -158,6 +181,30 @@ public class HttpUtil {
 		client.getCredentialsProvider().setCredentials(authScopeAny, usernamePasswordCredentials);
 	}
 
+	/**
+	 * Limits the number of connections to the host of <code>location</code> if the client uses a pooling connection
+	 * manager. Since clients share the pool, the largest limit that has been requested for a host applies. A value of
+	 * -1 for <code>maxConnections</code> leaves the limit unchanged.
+	 *
+	 * @see #getPoolingConnectionManager()
+	 * @see PoolingConnectionManager#raiseMaxPerHost(HttpHost, int)
+	 */
+	public static void configureConnectionLimit(AbstractHttpClient client, RepositoryLocation location,
+			int maxConnections) {
+		Assert.isNotNull(client);
+		Assert.isNotNull(location);
+		ClientConnectionManager manager = client.getConnectionManager();
+		if (maxConnections > 0 && manager instanceof PoolingConnectionManager) {
+			((PoolingConnectionManager) manager).raiseMaxPerHost(createHost(location), maxConnections);
+		}
+	}
+
+	static HttpHost createHost(RepositoryLocation location) {
+		String url = location.getUrl();
+		Assert.isNotNull(url, "The location url must not be null"); //$NON-NLS-1$
+		return new HttpHost(NetUtil.getHost(url), NetUtil.getPort(url), NetUtil.isUrlHttps(url) ? "https" : "http"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
 	public static HttpHost createHost(HttpRequestBase method) {
 		URI uri = method.getURI();
 		return new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme());
@@ -191,7 +238,7 @@ public class HttpUtil {
 			thread = (CancellableOperationMonitorThread) context.getAttribute(CONTEXT_KEY_MONITOR_THREAD);
 		}
 		if (thread != null) {
-			thread.addOperation(operation);
+			thread.addOperation(operation, monitor);
 		}
 		try {
 			return client.execute(host, method, context);
@@ -313,6 +360,10 @@ public class HttpUtil {
 		}
 	}
 
+	/**
+	 * Returns a shared connection manager that relies on a monitor thread to close idle connections. Clients should use
+	 * {@link #getPoolingConnectionManager()} which limits connections per host and provides statistics.
+	 */
 	public static synchronized ThreadSafeClientConnManager getConnectionManager() {
 		if (connectionManager == null) {
 			connectionManager = new ThreadSafeClientConnManager(HttpUtil.getSchemeRegistry());
@@ -331,6 +382,40 @@ public class HttpUtil {
 		return connectionManager;
 	}
 
+	/**
+	 * Returns the shared connection manager that pools connections per route. Idle and expired connections are closed
+	 * while the pool is in use without requiring a monitor thread.
+	 */
+	public static synchronized PoolingConnectionManager getPoolingConnectionManager() {
+		if (poolingConnectionManager == null) {
+			poolingConnectionManager = new PoolingConnectionManager(HttpUtil.getSchemeRegistry(),
+					CONNECTION_TIME_TO_LIVE, CONNECTION_IDLE_TIMEOUT, CONNECTION_TIMEOUT_INTERVAL);
+			if (CoreUtil.TEST_MODE) {
+				poolingConnectionManager.setDefaultMaxPerRoute(2);
+			} else {
+				poolingConnectionManager.setDefaultMaxPerRoute(NetUtil.getMaxHttpConnectionsPerHost());
+				poolingConnectionManager.setMaxTotal(NetUtil.getMaxHttpConnections());
+			}
+		}
+		return poolingConnectionManager;
+	}
+
+	/**
+	 * Returns the statistics for all routes of the shared pooling connection manager.
+	 *
+	 * @see #getPoolingConnectionManager()
+	 */
+	public static List<HttpRouteStatistics> getConnectionPoolStatistics() {
+		PoolingConnectionManager manager;
+		synchronized (HttpUtil.class) {
+			manager = poolingConnectionManager;
+		}
+		if (manager == null) {
+			return new ArrayList<HttpRouteStatistics>(0);
+		}
+		return manager.getRouteStatistics();
+	}
+
 	public static String getStatusText(int statusCode) {
 		return EnglishReasonPhraseCatalog.INSTANCE.getReason(statusCode, Locale.getDefault());
 	}
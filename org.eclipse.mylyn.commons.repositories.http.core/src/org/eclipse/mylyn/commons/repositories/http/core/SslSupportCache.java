@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.repositories.http.core;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.TrustManager;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.mylyn.commons.core.net.SslSupport;
+import org.eclipse.mylyn.commons.core.net.TrustAllTrustManager;
+import org.eclipse.mylyn.commons.repositories.core.IRepositoryLocationChangeListener;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocationChangeEvent;
+import org.eclipse.mylyn.commons.repositories.core.auth.CertificateCredentials;
+
+/**
+ * Caches {@link SslSupport} instances per {@link CertificateCredentials} so that the key store is only loaded and the
+ * SSL context is only initialized once for each set of credentials. Entries are evicted in least recently used order
+ * when the cache exceeds its capacity and are discarded when the credentials of a {@link RepositoryLocation} that
+ * uses them change.
+ *
+ * @author agent
+ */
+public class SslSupportCache {
+
+	public static final int DEFAULT_MAX_SIZE = 32;
+
+	private static SslSupportCache instance = new SslSupportCache(DEFAULT_MAX_SIZE);
+
+	public static SslSupportCache getDefault() {
+		return instance;
+	}
+
+	private final Map<CertificateCredentials, SslSupport> cache;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final Map<RepositoryLocation, CertificateCredentials> locations = new WeakHashMap<RepositoryLocation, CertificateCredentials>();
+
+	private final IRepositoryLocationChangeListener locationListener = new IRepositoryLocationChangeListener() {
+		public void repositoryChanged(RepositoryLocationChangeEvent event) {
+			if (event.getType() == RepositoryLocationChangeEvent.Type.CREDENTIALS
+					|| event.getType() == RepositoryLocationChangeEvent.Type.ALL) {
+				invalidate(event.getSource());
+			}
+		}
+	};
+
+	private final int maxSize;
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	public SslSupportCache(final int maxSize) {
+		Assert.isLegal(maxSize > 0);
+		this.maxSize = maxSize;
+		this.cache = new LinkedHashMap<CertificateCredentials, SslSupport>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CertificateCredentials, SslSupport> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns a shared {@link SslSupport} for <code>credentials</code> and registers for changes of the credentials of
+	 * <code>location</code>. A missing entry is created without holding the lock of the cache so that loading a key
+	 * store does not block lookups for other credentials. If threads concurrently create an entry for the same
+	 * credentials, the first one that is published is returned to all of them.
+	 */
+	public SslSupport get(RepositoryLocation location, CertificateCredentials credentials) {
+		Assert.isNotNull(location);
+		Assert.isNotNull(credentials);
+		synchronized (cache) {
+			CertificateCredentials previous = locations.put(location, credentials);
+			if (previous == null) {
+				location.addChangeListener(locationListener);
+			}
+
+			SslSupport support = cache.get(credentials);
+			if (support != null) {
+				hitCount.incrementAndGet();
+				return support;
+			}
+		}
+
+		missCount.incrementAndGet();
+		SslSupport support = createSslSupport(credentials);
+		synchronized (cache) {
+			SslSupport existing = cache.putIfAbsent(credentials, support);
+			return (existing != null) ? existing : support;
+		}
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	public int size() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	/**
+	 * Discards the cached {@link SslSupport} that was last used for <code>location</code>.
+	 */
+	public void invalidate(RepositoryLocation location) {
+		synchronized (cache) {
+			CertificateCredentials credentials = locations.remove(location);
+			if (credentials != null) {
+				location.removeChangeListener(locationListener);
+				cache.remove(credentials);
+			}
+		}
+	}
+
+	/**
+	 * Discards all cached entries and resets the hit and miss counters.
+	 */
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+			for (Iterator<RepositoryLocation> it = locations.keySet().iterator(); it.hasNext();) {
+				it.next().removeChangeListener(locationListener);
+				it.remove();
+			}
+			hitCount.set(0);
+			missCount.set(0);
+		}
+	}
+
+	protected SslSupport createSslSupport(CertificateCredentials credentials) {
+		return new SslSupport(new TrustManager[] { new TrustAllTrustManager() }, credentials.getKeyStoreFileName(),
+				credentials.getPassword(), credentials.getKeyStoreType());
+	}
+
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.repositories.http.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.http.Header;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+
+/**
+ * A response that is stored by {@link org.eclipse.mylyn.commons.repositories.http.core.HttpResponseCache}. Entries
+ * are immutable; a successful revalidation creates a new entry with updated headers.
+ *
+ * @author agent
+ */
+public class HttpCacheEntry {
+
+	private static final int VERSION = 1;
+
+	/**
+	 * Estimated overhead of an entry in addition to the size of its body and headers.
+	 */
+	private static final int ENTRY_OVERHEAD = 128;
+
+	public static HttpCacheEntry create(String key, HttpRequest request, HttpResponse response, byte[] body,
+			long requestTime, long responseTime) {
+		List<Header> headers = new ArrayList<Header>();
+		for (Header header : response.getAllHeaders()) {
+			if (HttpCachePolicy.isStoredHeader(header.getName())) {
+				headers.add(header);
+			}
+		}
+		Header[] headerArray = headers.toArray(new Header[headers.size()]);
+		return new HttpCacheEntry(key, response.getStatusLine().getStatusCode(),
+				response.getStatusLine().getReasonPhrase(), headerArray, getVaryHeaders(request, headerArray), body,
+				requestTime, responseTime);
+	}
+
+	public static HttpCacheEntry read(DataInputStream in) throws IOException {
+		if (in.readInt() != VERSION) {
+			throw new IOException("Unsupported cache entry version"); //$NON-NLS-1$
+		}
+		String key = in.readUTF();
+		int statusCode = in.readInt();
+		String reasonPhrase = in.readUTF();
+		long requestTime = in.readLong();
+		long responseTime = in.readLong();
+		Header[] headers = readHeaders(in);
+		Header[] varyHeaders = readHeaders(in);
+		byte[] body = new byte[in.readInt()];
+		in.readFully(body);
+		return new HttpCacheEntry(key, statusCode, reasonPhrase, headers, varyHeaders, body, requestTime,
+				responseTime);
+	}
+
+	private static Header[] getVaryHeaders(HttpRequest request, Header[] headers) {
+		List<Header> varyHeaders = new ArrayList<Header>();
+		for (String name : HttpCachePolicy.getVaryFields(headers)) {
+			Header header = request.getFirstHeader(name);
+			varyHeaders.add(new BasicHeader(name, (header != null) ? header.getValue() : "")); //$NON-NLS-1$
+		}
+		return varyHeaders.toArray(new Header[varyHeaders.size()]);
+	}
+
+	private static Header[] readHeaders(DataInputStream in) throws IOException {
+		Header[] headers = new Header[in.readInt()];
+		for (int i = 0; i < headers.length; i++) {
+			headers[i] = new BasicHeader(in.readUTF(), in.readUTF());
+		}
+		return headers;
+	}
+
+	private static void writeHeaders(DataOutputStream out, Header[] headers) throws IOException {
+		out.writeInt(headers.length);
+		for (Header header : headers) {
+			out.writeUTF(header.getName());
+			out.writeUTF(header.getValue());
+		}
+	}
+
+	private final byte[] body;
+
+	private final long freshUntil;
+
+	private final Header[] headers;
+
+	private final String key;
+
+	private final String reasonPhrase;
+
+	private final long requestTime;
+
+	private final long responseTime;
+
+	private final int size;
+
+	private final int statusCode;
+
+	private final Header[] varyHeaders;
+
+	private HttpCacheEntry(String key, int statusCode, String reasonPhrase, Header[] headers, Header[] varyHeaders,
+			byte[] body, long requestTime, long responseTime) {
+		this.key = key;
+		this.statusCode = statusCode;
+		this.reasonPhrase = reasonPhrase;
+		this.headers = headers;
+		this.varyHeaders = varyHeaders;
+		this.body = body;
+		this.requestTime = requestTime;
+		this.responseTime = responseTime;
+		this.freshUntil = HttpCachePolicy.getFreshUntil(headers, requestTime, responseTime);
+		int size = ENTRY_OVERHEAD + key.length() * 2 + body.length;
+		for (Header header : headers) {
+			size += (header.getName().length() + header.getValue().length()) * 2;
+		}
+		this.size = size;
+	}
+
+	/**
+	 * Returns a new response that has this entry's status, headers and body.
+	 */
+	public HttpResponse createResponse() {
+		BasicHttpResponse response = new BasicHttpResponse(new BasicStatusLine(HttpVersion.HTTP_1_1, statusCode,
+				reasonPhrase));
+		response.setHeaders(headers);
+		ByteArrayEntity entity = new ByteArrayEntity(body);
+		entity.setContentType(response.getFirstHeader("Content-Type")); //$NON-NLS-1$
+		response.setEntity(entity);
+		return response;
+	}
+
+	public int getBodyLength() {
+		return body.length;
+	}
+
+	public String getETag() {
+		return getHeaderValue("ETag"); //$NON-NLS-1$
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public String getLastModified() {
+		return getHeaderValue("Last-Modified"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the estimated number of bytes the entry occupies in memory.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	public boolean isFresh(long now) {
+		return now < freshUntil;
+	}
+
+	/**
+	 * Returns true, if the request headers selected by the <code>Vary</code> header of the response match the headers
+	 * of <code>request</code>.
+	 */
+	public boolean matches(HttpRequest request) {
+		for (Header varyHeader : varyHeaders) {
+			Header header = request.getFirstHeader(varyHeader.getName());
+			String value = (header != null) ? header.getValue() : ""; //$NON-NLS-1$
+			if (!value.equals(varyHeader.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a copy of this entry that has the headers of a <code>304 Not Modified</code> response merged into the
+	 * stored headers.
+	 */
+	public HttpCacheEntry update(HttpResponse notModified, long requestTime, long responseTime) {
+		List<Header> merged = new ArrayList<Header>();
+		for (Header header : headers) {
+			if (!notModified.containsHeader(header.getName())) {
+				merged.add(header);
+			}
+		}
+		for (Header header : notModified.getAllHeaders()) {
+			if (HttpCachePolicy.isStoredHeader(header.getName())) {
+				merged.add(header);
+			}
+		}
+		return new HttpCacheEntry(key, statusCode, reasonPhrase, merged.toArray(new Header[merged.size()]),
+				varyHeaders, body, requestTime, responseTime);
+	}
+
+	public void write(DataOutputStream out) throws IOException {
+		out.writeInt(VERSION);
+		out.writeUTF(key);
+		out.writeInt(statusCode);
+		out.writeUTF((reasonPhrase != null) ? reasonPhrase : ""); //$NON-NLS-1$
+		out.writeLong(requestTime);
+		out.writeLong(responseTime);
+		writeHeaders(out, headers);
+		writeHeaders(out, varyHeaders);
+		out.writeInt(body.length);
+		out.write(body);
+	}
+
+	private String getHeaderValue(String name) {
+		for (Header header : headers) {
+			if (header.getName().equalsIgnoreCase(name)) {
+				return header.getValue();
+			}
+		}
+		return null;
+	}
+
+}
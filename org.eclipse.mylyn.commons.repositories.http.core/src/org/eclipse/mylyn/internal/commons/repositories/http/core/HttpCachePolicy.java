@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.repositories.http.core;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.utils.DateUtils;
+
+/**
+ * Implements the rules of RFC 7234 that decide whether requests may be answered from a private cache and for how long
+ * stored responses are fresh.
+ *
+ * @author agent
+ */
+public class HttpCachePolicy {
+
+	private static final String CACHE_CONTROL = "Cache-Control"; //$NON-NLS-1$
+
+	/**
+	 * Upper bound for heuristic freshness of responses that only have a <code>Last-Modified</code> header.
+	 */
+	private static final long MAX_HEURISTIC_LIFETIME = 24 * 60 * 60 * 1000;
+
+	private static final String[] NOT_STORED_HEADERS = { "Connection", "Content-Encoding", "Content-Length", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"Keep-Alive", "Proxy-Authenticate", "Proxy-Authorization", "Set-Cookie", "TE", "Trailer", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+			"Transfer-Encoding", "Upgrade" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Returns the point in time until which a response with <code>headers</code> is fresh.
+	 */
+	public static long getFreshUntil(Header[] headers, long requestTime, long responseTime) {
+		long lifetime = getFreshnessLifetime(headers, responseTime);
+		if (lifetime <= 0) {
+			return 0;
+		}
+		// corrected initial age as defined in RFC 7234, section 4.2.3
+		Date date = getDate(headers, "Date"); //$NON-NLS-1$
+		long apparentAge = (date != null) ? Math.max(0, responseTime - date.getTime()) : 0;
+		long ageValue = getLong(getFirstValue(headers, "Age"), 0) * 1000; //$NON-NLS-1$
+		long initialAge = Math.max(apparentAge, ageValue + (responseTime - requestTime));
+		return responseTime + lifetime - initialAge;
+	}
+
+	/**
+	 * Returns the names of the request headers that select the response as listed by the <code>Vary</code> header.
+	 */
+	public static List<String> getVaryFields(Header[] headers) {
+		List<String> fields = new ArrayList<String>();
+		for (Header header : headers) {
+			if ("Vary".equalsIgnoreCase(header.getName())) { //$NON-NLS-1$
+				for (HeaderElement element : header.getElements()) {
+					fields.add(element.getName());
+				}
+			}
+		}
+		return fields;
+	}
+
+	/**
+	 * Returns true, if a response to <code>request</code> may be served from or stored in the cache.
+	 */
+	public static boolean isCacheable(HttpRequest request) {
+		return "GET".equals(request.getRequestLine().getMethod()) //$NON-NLS-1$
+				&& !hasDirective(request.getHeaders(CACHE_CONTROL), "no-store"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns true, if <code>response</code> may be stored.
+	 */
+	public static boolean isCacheable(HttpResponse response) {
+		if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK || response.getEntity() == null) {
+			return false;
+		}
+		Header[] headers = response.getAllHeaders();
+		if (hasDirective(response.getHeaders(CACHE_CONTROL), "no-store")) { //$NON-NLS-1$
+			return false;
+		}
+		if (getVaryFields(headers).contains("*")) { //$NON-NLS-1$
+			return false;
+		}
+		// responses without validators are only useful while they are fresh
+		return getFirstValue(headers, "ETag") != null || getFirstValue(headers, "Last-Modified") != null //$NON-NLS-1$ //$NON-NLS-2$
+				|| getFreshnessLifetime(headers, System.currentTimeMillis()) > 0;
+	}
+
+	/**
+	 * Returns true, if requests with <code>method</code> do not modify the resource.
+	 */
+	public static boolean isSafe(String method) {
+		return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method) //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				|| "TRACE".equals(method); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns true, if a response header with <code>name</code> is kept when a response is stored.
+	 */
+	public static boolean isStoredHeader(String name) {
+		for (String notStored : NOT_STORED_HEADERS) {
+			if (notStored.equalsIgnoreCase(name)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns true, if <code>request</code> asks to validate stored responses with the origin server.
+	 */
+	public static boolean requiresRevalidation(HttpRequest request) {
+		Header[] cacheControl = request.getHeaders(CACHE_CONTROL);
+		if (hasDirective(cacheControl, "no-cache") || getDirective(cacheControl, "max-age") == 0) { //$NON-NLS-1$ //$NON-NLS-2$
+			return true;
+		}
+		return cacheControl.length == 0 && hasDirective(request.getHeaders("Pragma"), "no-cache"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static Date getDate(Header[] headers, String name) {
+		String value = getFirstValue(headers, name);
+		return (value != null) ? DateUtils.parseDate(value) : null;
+	}
+
+	/**
+	 * Returns the value of a directive in seconds or -1, if the directive is not present or invalid.
+	 */
+	private static long getDirective(Header[] headers, String directive) {
+		for (Header header : headers) {
+			for (HeaderElement element : header.getElements()) {
+				if (directive.equalsIgnoreCase(element.getName())) {
+					return getLong(element.getValue(), -1);
+				}
+			}
+		}
+		return -1;
+	}
+
+	private static String getFirstValue(Header[] headers, String name) {
+		for (Header header : headers) {
+			if (name.equalsIgnoreCase(header.getName())) {
+				return header.getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the freshness lifetime in milliseconds as defined in RFC 7234, section 4.2.1.
+	 */
+	private static long getFreshnessLifetime(Header[] headers, long responseTime) {
+		List<Header> cacheControl = new ArrayList<Header>();
+		for (Header header : headers) {
+			if (CACHE_CONTROL.equalsIgnoreCase(header.getName())) {
+				cacheControl.add(header);
+			}
+		}
+		Header[] cacheControlHeaders = cacheControl.toArray(new Header[cacheControl.size()]);
+		if (hasDirective(cacheControlHeaders, "no-cache")) { //$NON-NLS-1$
+			return 0;
+		}
+		long maxAge = getDirective(cacheControlHeaders, "max-age"); //$NON-NLS-1$
+		if (maxAge >= 0) {
+			return maxAge * 1000;
+		}
+
+		Date date = getDate(headers, "Date"); //$NON-NLS-1$
+		long dateValue = (date != null) ? date.getTime() : responseTime;
+		String expiresValue = getFirstValue(headers, "Expires"); //$NON-NLS-1$
+		if (expiresValue != null) {
+			Date expires = DateUtils.parseDate(expiresValue);
+			if (expires == null) {
+				// invalid dates represent a time in the past
+				return 0;
+			}
+			return Math.max(0, expires.getTime() - dateValue);
+		}
+
+		// heuristic freshness, RFC 7234, section 4.2.2
+		Date lastModified = getDate(headers, "Last-Modified"); //$NON-NLS-1$
+		if (lastModified != null && lastModified.getTime() < dateValue) {
+			return Math.min(MAX_HEURISTIC_LIFETIME, (dateValue - lastModified.getTime()) / 10);
+		}
+		return 0;
+	}
+
+	private static long getLong(String value, long defaultValue) {
+		if (value != null) {
+			try {
+				return Long.parseLong(value.trim());
+			} catch (NumberFormatException e) {
+				// ignore
+			}
+		}
+		return defaultValue;
+	}
+
+	private static boolean hasDirective(Header[] headers, String directive) {
+		for (Header header : headers) {
+			for (HeaderElement element : header.getElements()) {
+				if (directive.equalsIgnoreCase(element.getName())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.repositories.http.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+
+/**
+ * Stores cache entries as files in a directory. Files are evicted in least recently used order when the total size
+ * exceeds the limit. The index of stored files is built from the directory when the cache is first accessed which
+ * preserves entries across sessions.
+ * <p>
+ * Keys have the form <code>partition id</code> where <code>id</code> does not contain spaces. The file name of an
+ * entry is prefixed with a hash of its partition so that all entries of a partition can be removed without reading
+ * them.
+ * </p>
+ *
+ * @author agent
+ */
+public class HttpDiskCache {
+
+	private static final String ID_PLUGIN = "org.eclipse.mylyn.commons.repositories.http"; //$NON-NLS-1$
+
+	private static final String SUFFIX = ".entry"; //$NON-NLS-1$
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+
+	private static final int PARTITION_PREFIX_LENGTH = 16;
+
+	private final File directory;
+
+	/**
+	 * Maps file names to file sizes in access order.
+	 */
+	private final LinkedHashMap<String, Long> index = new LinkedHashMap<String, Long>(16, 0.75f, true);
+
+	private boolean initialized;
+
+	private final long maxSize;
+
+	private long size;
+
+	public HttpDiskCache(File directory, long maxSize) {
+		this.directory = directory;
+		this.maxSize = maxSize;
+	}
+
+	public synchronized void clear() {
+		initialize();
+		for (String name : index.keySet()) {
+			new File(directory, name).delete();
+		}
+		index.clear();
+		size = 0;
+	}
+
+	public synchronized HttpCacheEntry get(String key) {
+		initialize();
+		String name = getFileName(key);
+		if (!index.containsKey(name)) {
+			return null;
+		}
+		File file = new File(directory, name);
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				HttpCacheEntry entry = HttpCacheEntry.read(in);
+				// guard against hash collisions
+				return (key.equals(entry.getKey())) ? entry : null;
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			// the file was truncated or removed externally
+			delete(name);
+			return null;
+		}
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	public synchronized long getSize() {
+		initialize();
+		return size;
+	}
+
+	public synchronized void put(HttpCacheEntry entry) {
+		initialize();
+		String name = getFileName(entry.getKey());
+		File file = new File(directory, name);
+		File tempFile = null;
+		try {
+			tempFile = File.createTempFile("." + name + "_", ".tmp", directory); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try {
+				entry.write(out);
+			} finally {
+				out.close();
+			}
+			try {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			tempFile = null;
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.WARNING, ID_PLUGIN, "Failed to write HTTP cache entry", e)); //$NON-NLS-1$
+			delete(name);
+			return;
+		} finally {
+			if (tempFile != null) {
+				tempFile.delete();
+			}
+		}
+
+		Long oldSize = index.put(name, file.length());
+		size += file.length() - ((oldSize != null) ? oldSize : 0);
+		evict();
+	}
+
+	public synchronized void remove(String key) {
+		initialize();
+		delete(getFileName(key));
+	}
+
+	/**
+	 * Removes all entries of <code>partition</code>.
+	 */
+	public synchronized void removePartition(String partition) {
+		initialize();
+		String prefix = getPartitionPrefix(partition);
+		for (Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<String, Long> entry = it.next();
+			if (entry.getKey().startsWith(prefix)) {
+				new File(directory, entry.getKey()).delete();
+				size -= entry.getValue();
+				it.remove();
+			}
+		}
+	}
+
+	private void delete(String name) {
+		new File(directory, name).delete();
+		Long oldSize = index.remove(name);
+		if (oldSize != null) {
+			size -= oldSize;
+		}
+	}
+
+	private void evict() {
+		Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+		while (size > maxSize && it.hasNext()) {
+			Map.Entry<String, Long> eldest = it.next();
+			new File(directory, eldest.getKey()).delete();
+			size -= eldest.getValue();
+			it.remove();
+		}
+	}
+
+	private String getFileName(String key) {
+		int i = key.lastIndexOf(' ');
+		String partition = (i != -1) ? key.substring(0, i) : ""; //$NON-NLS-1$
+		return getPartitionPrefix(partition) + "-" + digest(key) + SUFFIX; //$NON-NLS-1$
+	}
+
+	private String getPartitionPrefix(String partition) {
+		return digest(partition).substring(0, PARTITION_PREFIX_LENGTH);
+	}
+
+	private String digest(String value) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			char[] hex = new char[digest.length * 2];
+			for (int i = 0; i < digest.length; i++) {
+				hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+				hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+			}
+			return new String(hex);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void initialize() {
+		if (initialized) {
+			return;
+		}
+		initialized = true;
+		directory.mkdirs();
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return;
+		}
+		// least recently modified files are evicted first
+		Arrays.sort(files, new Comparator<File>() {
+			public int compare(File f1, File f2) {
+				return Long.compare(f1.lastModified(), f2.lastModified());
+			}
+		});
+		for (File file : files) {
+			if (file.getName().endsWith(SUFFIX)) {
+				index.put(file.getName(), file.length());
+				size += file.length();
+			} else if (file.getName().startsWith(".")) { //$NON-NLS-1$
+				// left over from an interrupted write
+				file.delete();
+			}
+		}
+		evict();
+	}
+
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.repositories.http.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.mylyn.commons.core.net.NetUtil;
+import org.eclipse.mylyn.internal.commons.core.ThreadUtil;
+
+/**
+ * Provides the threads that execute asynchronous requests of
+ * {@link org.eclipse.mylyn.commons.repositories.http.core.CommonHttpClient}. Each request runs on a virtual thread if
+ * the runtime supports virtual threads that do not pin their carrier thread while waiting on a monitor (Java 24 or
+ * later) which allows a small number of carrier threads to drive a large number of blocking requests. Otherwise
+ * requests are queued for a pool of daemon threads that is limited to the maximum number of HTTP connections since
+ * additional threads would only wait for a connection to become available.
+ *
+ * @author agent
+ */
+public class HttpRequestExecutor {
+
+	private static final long KEEP_ALIVE_TIME = 10;
+
+	private static ExecutorService executorService;
+
+	public static synchronized ExecutorService getExecutorService() {
+		if (executorService == null) {
+			executorService = ThreadUtil.createVirtualThreadExecutor();
+			if (executorService == null) {
+				int threads = Math.max(1, NetUtil.getMaxHttpConnections());
+				ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_TIME,
+						TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+						ThreadUtil.createDaemonThreadFactory("HTTP Request")); //$NON-NLS-1$
+				executor.allowCoreThreadTimeOut(true);
+				executorService = executor;
+			}
+		}
+		return executorService;
+	}
+
+}
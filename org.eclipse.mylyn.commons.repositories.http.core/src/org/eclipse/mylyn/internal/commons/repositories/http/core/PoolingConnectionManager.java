@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.repositories.http.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.eclipse.mylyn.commons.repositories.http.core.HttpRouteStatistics;
+
+/**
+ * A connection manager that pools connections per route. Connections expire after a fixed time to live or when the
+ * keep-alive period negotiated with the server has passed. Expired connections are closed when connections are
+ * requested or released rather than by a thread that periodically sweeps the pool, which also closes connections
+ * that have been idle for longer than the idle timeout. Requests that wait for a connection are served
+ * in the order they arrive and fail after the lease timeout of the client.
+ * <p>
+ * The maximum number of connections can be limited for individual hosts. The limit applies to all routes to the host,
+ * including routes through a proxy. The manager records how long requests wait for connections for each route.
+ * </p>
+ *
+ * @author agent
+ */
+public class PoolingConnectionManager extends PoolingClientConnectionManager {
+
+	private static class RouteMetrics {
+
+		private final AtomicLong leaseCount = new AtomicLong();
+
+		private final AtomicLong leaseTimeoutCount = new AtomicLong();
+
+		private final AtomicLong maxWaitTime = new AtomicLong();
+
+		private final AtomicLong totalWaitTime = new AtomicLong();
+
+		void leased(long waitTime) {
+			leaseCount.incrementAndGet();
+			totalWaitTime.addAndGet(waitTime);
+			long max;
+			do {
+				max = maxWaitTime.get();
+			} while (waitTime > max && !maxWaitTime.compareAndSet(max, waitTime));
+		}
+
+	}
+
+	private static final int DEFAULT_HTTP_PORT = 80;
+
+	private static final int DEFAULT_HTTPS_PORT = 443;
+
+	/**
+	 * Returns <code>host</code> with the default port of its scheme if the port is not set.
+	 */
+	public static HttpHost normalize(HttpHost host) {
+		if (host.getPort() != -1) {
+			return host;
+		}
+		int port = "https".equalsIgnoreCase(host.getSchemeName()) ? DEFAULT_HTTPS_PORT : DEFAULT_HTTP_PORT; //$NON-NLS-1$
+		return new HttpHost(host.getHostName(), port, host.getSchemeName());
+	}
+
+	private final long expiryCheckInterval;
+
+	private final Map<HttpHost, Integer> hostLimits = new ConcurrentHashMap<HttpHost, Integer>();
+
+	private final long idleTimeout;
+
+	private volatile long lastExpiryCheck;
+
+	private final Map<HttpRoute, RouteMetrics> metrics = new ConcurrentHashMap<HttpRoute, RouteMetrics>();
+
+	/**
+	 * @param schemeRegistry
+	 *            the scheme registry
+	 * @param timeToLive
+	 *            the maximum time in milliseconds connections are kept open
+	 * @param idleTimeout
+	 *            the time in milliseconds after which idle connections are closed or -1 to keep idle connections open
+	 * @param expiryCheckInterval
+	 *            the minimum time in milliseconds between two checks for expired connections
+	 */
+	public PoolingConnectionManager(SchemeRegistry schemeRegistry, long timeToLive, long idleTimeout,
+			long expiryCheckInterval) {
+		super(schemeRegistry, timeToLive, TimeUnit.MILLISECONDS);
+		this.idleTimeout = idleTimeout;
+		this.expiryCheckInterval = expiryCheckInterval;
+		this.lastExpiryCheck = System.currentTimeMillis();
+	}
+
+	/**
+	 * Returns the limit that was set for <code>host</code> or -1, if the default limit per route applies.
+	 */
+	public int getMaxPerHost(HttpHost host) {
+		Integer limit = hostLimits.get(normalize(host));
+		return (limit != null) ? limit : -1;
+	}
+
+	/**
+	 * Returns the statistics of all routes that have been used.
+	 */
+	public List<HttpRouteStatistics> getRouteStatistics() {
+		List<HttpRouteStatistics> result = new ArrayList<HttpRouteStatistics>(metrics.size());
+		for (Map.Entry<HttpRoute, RouteMetrics> entry : metrics.entrySet()) {
+			HttpRoute route = entry.getKey();
+			RouteMetrics routeMetrics = entry.getValue();
+			PoolStats stats = getStats(route);
+			HttpHost proxy = route.getProxyHost();
+			result.add(new HttpRouteStatistics(normalize(route.getTargetHost()).toURI(),
+					(proxy != null) ? proxy.toURI() : null, stats.getLeased(), stats.getAvailable(),
+					stats.getPending(), stats.getMax(), routeMetrics.leaseCount.get(),
+					routeMetrics.leaseTimeoutCount.get(),
+					TimeUnit.NANOSECONDS.toMillis(routeMetrics.totalWaitTime.get()),
+					TimeUnit.NANOSECONDS.toMillis(routeMetrics.maxWaitTime.get())));
+		}
+		return result;
+	}
+
+	/**
+	 * Raises the limit for the number of connections to <code>host</code> to <code>max</code> unless a larger limit has
+	 * been set. This allows clients that share the manager to request limits for the same host independently.
+	 */
+	public void raiseMaxPerHost(HttpHost host, int max) {
+		HttpHost key = normalize(host);
+		Integer oldMax;
+		do {
+			oldMax = hostLimits.get(key);
+			if (oldMax != null && oldMax >= max) {
+				return;
+			}
+		} while ((oldMax == null) ? hostLimits.putIfAbsent(key, max) != null : !hostLimits.replace(key, oldMax, max));
+		for (HttpRoute route : metrics.keySet()) {
+			applyHostLimit(route);
+		}
+	}
+
+	@Override
+	public void releaseConnection(ManagedClientConnection conn, long keepalive, TimeUnit tunit) {
+		super.releaseConnection(conn, keepalive, tunit);
+		checkExpiry();
+	}
+
+	@Override
+	public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+		checkExpiry();
+		applyHostLimit(route);
+		final RouteMetrics routeMetrics = getMetrics(route);
+		final ClientConnectionRequest request = super.requestConnection(route, state);
+		return new ClientConnectionRequest() {
+			public void abortRequest() {
+				request.abortRequest();
+			}
+
+			public ManagedClientConnection getConnection(long timeout, TimeUnit tunit)
+					throws InterruptedException, ConnectionPoolTimeoutException {
+				long start = System.nanoTime();
+				try {
+					ManagedClientConnection connection = request.getConnection(timeout, tunit);
+					routeMetrics.leased(System.nanoTime() - start);
+					return connection;
+				} catch (ConnectionPoolTimeoutException e) {
+					routeMetrics.leaseTimeoutCount.incrementAndGet();
+					throw e;
+				}
+			}
+		};
+	}
+
+	/**
+	 * Limits the number of connections to <code>host</code>. A value of -1 removes the limit and the default limit per
+	 * route applies.
+	 */
+	public void setMaxPerHost(HttpHost host, int max) {
+		HttpHost key = normalize(host);
+		if (max < 0) {
+			if (hostLimits.remove(key) != null) {
+				for (HttpRoute route : metrics.keySet()) {
+					if (key.equals(normalize(route.getTargetHost()))) {
+						setMaxPerRoute(route, getDefaultMaxPerRoute());
+					}
+				}
+			}
+		} else {
+			Integer oldMax = hostLimits.put(key, max);
+			if (oldMax == null || oldMax != max) {
+				for (HttpRoute route : metrics.keySet()) {
+					applyHostLimit(route);
+				}
+			}
+		}
+	}
+
+	private void applyHostLimit(HttpRoute route) {
+		Integer limit = hostLimits.get(normalize(route.getTargetHost()));
+		if (limit != null && getMaxPerRoute(route) != limit) {
+			setMaxPerRoute(route, limit);
+		}
+	}
+
+	private void checkExpiry() {
+		long now = System.currentTimeMillis();
+		if (now - lastExpiryCheck >= expiryCheckInterval) {
+			lastExpiryCheck = now;
+			closeExpiredConnections();
+			if (idleTimeout > 0) {
+				closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	private RouteMetrics getMetrics(HttpRoute route) {
+		RouteMetrics routeMetrics = metrics.get(route);
+		if (routeMetrics == null) {
+			metrics.putIfAbsent(route, new RouteMetrics());
+			routeMetrics = metrics.get(route);
+		}
+		return routeMetrics;
+	}
+
+}
@@ -15,29 +15,49 @@ package org.eclipse.mylyn.commons.repositories.http.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.net.ssl.SSLException;
 import javax.net.ssl.TrustManager;
 
+import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.AuthState;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.protocol.ClientContext;
 import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.protocol.ExecutionContext;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 import org.eclipse.mylyn.commons.core.net.SslSupport;
 import org.eclipse.mylyn.commons.core.net.TrustAllTrustManager;
 import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
+import org.eclipse.mylyn.commons.core.operations.OperationUtil;
 import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
 import org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationType;
 import org.eclipse.mylyn.commons.repositories.core.auth.UserCredentials;
 import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpClient;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpOperation;
 import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpResponse;
 import org.eclipse.mylyn.commons.repositories.http.core.HttpRequestProcessor;
 import org.eclipse.mylyn.commons.repositories.http.core.HttpUtil;
@@ -164,6 +184,136 @@ public class CommonHttpClientTest {
 		assertEquals(HttpStatus.SC_OK, result.intValue());
 	}
 
+	@Test
+	public void testExecuteAsync() throws Exception {
+		RepositoryLocation location = new RepositoryLocation("http://mylyn.org/");
+		CommonHttpClient client = new CommonHttpClient(location);
+		List<CompletableFuture<CommonHttpResponse>> futures = new ArrayList<CompletableFuture<CommonHttpResponse>>();
+		for (int i = 0; i < 5; i++) {
+			futures.add(client.executeAsync(new HttpGet(location.getUrl()), null));
+		}
+		for (CompletableFuture<CommonHttpResponse> future : futures) {
+			CommonHttpResponse response = future.get(60, TimeUnit.SECONDS);
+			try {
+				assertEquals(HttpStatus.SC_OK, response.getStatusCode());
+			} finally {
+				response.release();
+			}
+		}
+	}
+
+	@Test
+	public void testExecuteAsyncCancel() throws Exception {
+		RepositoryLocation location = new RepositoryLocation("http://mylyn.org/");
+		CommonHttpClient client = new CommonHttpClient(location);
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		client.setExecutor(new Executor() {
+			public void execute(Runnable command) {
+				tasks.add(command);
+			}
+		});
+		IOperationMonitor monitor = OperationUtil.convert(null);
+		CompletableFuture<CommonHttpResponse> future = client.executeAsync(new HttpGet(location.getUrl()), monitor);
+		assertEquals(1, tasks.size());
+		assertTrue(future.cancel(true));
+		assertTrue(monitor.isCanceled());
+
+		// the request is not sent once the future was cancelled
+		tasks.get(0).run();
+		assertTrue(future.isCancelled());
+	}
+
+	@Test
+	public void testExecuteAsyncUsesCallerContext() throws Exception {
+		RepositoryLocation location = new RepositoryLocation("http://mylyn.org/");
+		final CommonHttpClient client = new CommonHttpClient(location);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			client.setExecutor(executor);
+			Callable<HttpContext> getContext = new Callable<HttpContext>() {
+				public HttpContext call() throws Exception {
+					return client.getContext();
+				}
+			};
+			HttpContext executorContext = executor.submit(getContext).get(60, TimeUnit.SECONDS);
+			client.getContext().setAttribute(ClientContext.COOKIE_STORE, new BasicCookieStore());
+
+			final AtomicReference<HttpContext> requestContext = new AtomicReference<HttpContext>();
+			CommonHttpOperation<Void> op = new CommonHttpOperation<Void>(client) {
+				@Override
+				public CommonHttpResponse execute(HttpRequestBase request, IOperationMonitor monitor) {
+					requestContext.set(getClient().getContext());
+					getClient().getContext().setAttribute(ExecutionContext.HTTP_TARGET_HOST,
+							HttpUtil.createHost(request));
+					return null;
+				}
+			};
+			op.executeAsync(new HttpGet(location.getUrl()), null).get(60, TimeUnit.SECONDS);
+			assertSame(client.getContext().getAttribute(ClientContext.COOKIE_STORE),
+					requestContext.get().getAttribute(ClientContext.COOKIE_STORE));
+			assertSame(client.getContext().getAttribute(ClientContext.AUTH_CACHE),
+					requestContext.get().getAttribute(ClientContext.AUTH_CACHE));
+			assertNotNull(client.getContext().getAttribute(ClientContext.AUTH_CACHE));
+			// attributes of the request are not visible to the caller
+			assertNull(client.getContext().getAttribute(ExecutionContext.HTTP_TARGET_HOST));
+			// the context of the executor thread is restored
+			assertSame(executorContext, executor.submit(getContext).get(60, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testExecuteAsyncConcurrentRequestsUseSeparateContexts() throws Exception {
+		RepositoryLocation location = new RepositoryLocation("http://mylyn.org/");
+		final CommonHttpClient client = new CommonHttpClient(location);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			client.setExecutor(executor);
+			final CyclicBarrier barrier = new CyclicBarrier(2);
+			CommonHttpOperation<Void> op = new CommonHttpOperation<Void>(client) {
+				@Override
+				public CommonHttpResponse execute(HttpRequestBase request, IOperationMonitor monitor)
+						throws IOException {
+					// set the attributes HttpClient sets while executing a request
+					HttpHost host = HttpUtil.createHost(request);
+					AuthState authState = new AuthState();
+					HttpContext context = getClient().getContext();
+					context.setAttribute(ExecutionContext.HTTP_TARGET_HOST, host);
+					context.setAttribute(ClientContext.TARGET_AUTH_STATE, authState);
+					try {
+						// wait until the other request has set its attributes
+						barrier.await(60, TimeUnit.SECONDS);
+					} catch (Exception e) {
+						throw new IOException(e);
+					}
+					assertSame(host, context.getAttribute(ExecutionContext.HTTP_TARGET_HOST));
+					assertSame(authState, context.getAttribute(ClientContext.TARGET_AUTH_STATE));
+					return null;
+				}
+			};
+			CompletableFuture<CommonHttpResponse> future1 = op.executeAsync(new HttpGet("http://mylyn.org/"), null);
+			CompletableFuture<CommonHttpResponse> future2 = op.executeAsync(new HttpGet("http://eclipse.org/"), null);
+			future1.get(60, TimeUnit.SECONDS);
+			future2.get(60, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testExecuteGetAsync() throws Exception {
+		RepositoryLocation location = new RepositoryLocation("http://mylyn.org");
+		CommonHttpClient client = new CommonHttpClient(location);
+		CompletableFuture<Integer> future = client.executeGetAsync("/", null, new HttpRequestProcessor<Integer>() {
+			@Override
+			protected Integer doProcess(CommonHttpResponse response, IOperationMonitor monitor) throws IOException {
+				return response.getStatusCode();
+			}
+		});
+		assertEquals(HttpStatus.SC_OK, future.get(60, TimeUnit.SECONDS).intValue());
+	}
+
 	@Test
 	public void testGetRequest() throws Exception {
 		RepositoryLocation location = new RepositoryLocation();
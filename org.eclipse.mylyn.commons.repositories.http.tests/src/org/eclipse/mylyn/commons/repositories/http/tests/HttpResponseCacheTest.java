@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.repositories.http.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.Proxy;
+
+import org.apache.http.util.EntityUtils;
+import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
+import org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationType;
+import org.eclipse.mylyn.commons.repositories.core.auth.UserCredentials;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpClient;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpResponse;
+import org.eclipse.mylyn.commons.repositories.http.core.HttpCacheStatistics;
+import org.eclipse.mylyn.commons.repositories.http.core.HttpRequestProcessor;
+import org.eclipse.mylyn.commons.repositories.http.core.HttpResponseCache;
+import org.eclipse.mylyn.commons.sdk.util.MockServer;
+import org.eclipse.mylyn.commons.sdk.util.MockServer.Message;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class HttpResponseCacheTest {
+
+	private static final HttpRequestProcessor<String> BODY = new HttpRequestProcessor<String>() {
+		@Override
+		protected String doProcess(CommonHttpResponse response, IOperationMonitor monitor) throws IOException {
+			return EntityUtils.toString(response.getResponse().getEntity());
+		}
+	};
+
+	private File directory;
+
+	private MockServer server;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new MockServer();
+		server.startAndWait();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		server.stop();
+		if (directory != null) {
+			File[] files = directory.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					file.delete();
+				}
+			}
+			directory.delete();
+		}
+	}
+
+	@Test
+	public void testCacheDisabled() throws Exception {
+		RepositoryLocation location = createLocation();
+		location.removeProperty(HttpResponseCache.PROPERTY_ENABLED);
+		CommonHttpClient client = createClient(location, new HttpResponseCache(1024 * 1024));
+		assertFalse(client.isHttpCacheEnabled());
+
+		server.addResponse(createResponse("Cache-Control: max-age=60"));
+		server.addResponse(createResponse("Cache-Control: max-age=60"));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		server.getRequest();
+		server.getRequest();
+		assertEquals(0, client.getHttpCacheStatistics().getMissCount());
+	}
+
+	@Test
+	public void testDiskCache() throws Exception {
+		directory = File.createTempFile("http-cache", null);
+		directory.delete();
+		RepositoryLocation location = createLocation();
+		HttpResponseCache cache = new HttpResponseCache(1024 * 1024, directory, 1024 * 1024);
+		CommonHttpClient client = createClient(location, cache);
+
+		server.addResponse(createResponse("Cache-Control: max-age=60"));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		assertTrue(cache.getDiskSize() > 0);
+
+		// a new cache reads the entry from disk
+		client = createClient(location, new HttpResponseCache(1024 * 1024, directory, 1024 * 1024));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		assertEquals(1, client.getHttpCacheStatistics().getHitCount());
+		server.getRequest();
+		assertFalse(server.hasRequest());
+	}
+
+	@Test
+	public void testFreshResponse() throws Exception {
+		CommonHttpClient client = createClient(createLocation(), new HttpResponseCache(1024 * 1024));
+
+		server.addResponse(createResponse("Cache-Control: max-age=60"));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		server.getRequest();
+		assertFalse("Expected response from cache", server.hasRequest());
+
+		HttpCacheStatistics statistics = client.getHttpCacheStatistics();
+		assertEquals(1, statistics.getHitCount());
+		assertEquals(1, statistics.getMissCount());
+		assertEquals(5, statistics.getBytesSaved());
+		assertEquals(0.5, statistics.getHitRatio(), 0.001);
+	}
+
+	@Test
+	public void testInvalidateOnCredentialsChange() throws Exception {
+		directory = File.createTempFile("http-cache", null);
+		directory.delete();
+		HttpResponseCache cache = new HttpResponseCache(1024 * 1024, directory, 1024 * 1024);
+		RepositoryLocation location = createLocation();
+		CommonHttpClient client = createClient(location, cache);
+		CommonHttpClient otherClient = createClient(createLocation(), cache);
+
+		server.addResponse(createResponse("Cache-Control: max-age=60"));
+		server.addResponse(createResponse("Cache-Control: max-age=60"));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		assertEquals("hello", otherClient.executeGet("/", null, BODY));
+		server.getRequest();
+		server.getRequest();
+		long memorySize = cache.getMemorySize();
+		long diskSize = cache.getDiskSize();
+
+		location.setCredentials(AuthenticationType.REPOSITORY, new UserCredentials("user", "pass"));
+		assertEquals(memorySize / 2, cache.getMemorySize());
+		assertEquals(diskSize / 2, cache.getDiskSize());
+
+		// the response for the other location is still cached
+		assertEquals("hello", otherClient.executeGet("/", null, BODY));
+		assertFalse(server.hasRequest());
+		server.addResponse(createResponse("Cache-Control: max-age=60"));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		server.getRequest();
+		assertEquals(2, client.getHttpCacheStatistics().getMissCount());
+	}
+
+	@Test
+	public void testMaxEntrySize() throws Exception {
+		HttpResponseCache cache = new HttpResponseCache(1024 * 1024);
+		cache.setMaxEntrySize(2);
+		CommonHttpClient client = createClient(createLocation(), cache);
+
+		server.addResponse(createResponse("Cache-Control: max-age=60"));
+		server.addResponse(createResponse("Cache-Control: max-age=60"));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		assertEquals(0, cache.getMemorySize());
+		assertEquals(2, client.getHttpCacheStatistics().getMissCount());
+	}
+
+	@Test
+	public void testNoStore() throws Exception {
+		CommonHttpClient client = createClient(createLocation(), new HttpResponseCache(1024 * 1024));
+
+		server.addResponse(createResponse("Cache-Control: no-store"));
+		server.addResponse(createResponse("Cache-Control: no-store"));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		server.getRequest();
+		server.getRequest();
+		assertEquals(0, client.getHttpCache().getMemorySize());
+	}
+
+	@Test
+	public void testRevalidate() throws Exception {
+		CommonHttpClient client = createClient(createLocation(), new HttpResponseCache(1024 * 1024));
+
+		server.addResponse(createResponse("Cache-Control: no-cache", "ETag: \"1\""));
+		Message notModified = new Message("HTTP/1.1 304 Not Modified");
+		notModified.headers.add(MockServer.HEADER_CONNECTION_CLOSE);
+		server.addResponse(notModified);
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		assertEquals("hello", client.executeGet("/", null, BODY));
+
+		assertEquals(null, server.getRequest().getHeader("If-None-Match"));
+		assertEquals("\"1\"", server.getRequest().getHeaderValue("If-None-Match"));
+		HttpCacheStatistics statistics = client.getHttpCacheStatistics();
+		assertEquals(1, statistics.getRevalidationCount());
+		assertEquals(5, statistics.getBytesSaved());
+	}
+
+	@Test
+	public void testRevalidateModified() throws Exception {
+		CommonHttpClient client = createClient(createLocation(), new HttpResponseCache(1024 * 1024));
+
+		server.addResponse(createResponse("Cache-Control: no-cache", "ETag: \"1\""));
+		Message modified = new Message("HTTP/1.1 200 OK\nETag: \"2\"\nContent-Length: 5\nConnection: Close\n\nworld");
+		server.addResponse(modified);
+		assertEquals("hello", client.executeGet("/", null, BODY));
+		assertEquals("world", client.executeGet("/", null, BODY));
+		assertEquals(2, client.getHttpCacheStatistics().getMissCount());
+	}
+
+	private CommonHttpClient createClient(RepositoryLocation location, HttpResponseCache cache) {
+		CommonHttpClient client = new CommonHttpClient(location);
+		client.setHttpCache(cache);
+		return client;
+	}
+
+	private RepositoryLocation createLocation() {
+		RepositoryLocation location = new RepositoryLocation(server.getUrl()) {
+			@Override
+			public Proxy getProxyForHost(String host, String proxyType) {
+				return null;// ensure that we do not try to connect to localhost through a proxy server
+			}
+		};
+		location.setProperty(HttpResponseCache.PROPERTY_ENABLED, Boolean.TRUE.toString());
+		return location;
+	}
+
+	private Message createResponse(String... headers) {
+		StringBuilder sb = new StringBuilder("HTTP/1.1 200 OK\n");
+		for (String header : headers) {
+			sb.append(header);
+			sb.append("\n");
+		}
+		sb.append("Content-Length: 5\n");
+		sb.append(MockServer.HEADER_CONNECTION_CLOSE);
+		sb.append("\n\nhello");
+		return new Message(sb.toString());
+	}
+
+}
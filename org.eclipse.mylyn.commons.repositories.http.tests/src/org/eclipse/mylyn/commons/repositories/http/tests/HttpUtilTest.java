@@ -12,7 +12,11 @@
 package org.eclipse.mylyn.commons.repositories.http.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
+import java.util.List;
+
+import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpGet;
@@ -26,9 +30,11 @@ import org.eclipse.core.runtime.AssertionFailedException;
 import org.eclipse.mylyn.commons.core.CoreUtil;
 import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
 import org.eclipse.mylyn.commons.repositories.core.auth.UserCredentials;
+import org.eclipse.mylyn.commons.repositories.http.core.HttpRouteStatistics;
 import org.eclipse.mylyn.commons.repositories.http.core.HttpUtil;
 import org.eclipse.mylyn.commons.sdk.util.MockServer;
 import org.eclipse.mylyn.commons.sdk.util.MockServer.Message;
+import org.eclipse.mylyn.internal.commons.repositories.http.core.PoolingConnectionManager;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -160,4 +166,60 @@ public class HttpUtilTest {
 		assertEquals(CoreUtil.TEST_MODE ? 2 : MAX_HTTP_HOST_CONNECTIONS_DEFAULT, connManager.getDefaultMaxPerRoute());
 		assertEquals(CoreUtil.TEST_MODE ? 20 : MAX_HTTP_TOTAL_CONNECTIONS_DEFAULT, connManager.getMaxTotal());
 	}
+
+	@Test
+	public void testConfigurePoolingConnectionManager() {
+		PoolingConnectionManager connManager = HttpUtil.getPoolingConnectionManager();
+
+		assertEquals(CoreUtil.TEST_MODE ? 2 : MAX_HTTP_HOST_CONNECTIONS_DEFAULT, connManager.getDefaultMaxPerRoute());
+		assertEquals(CoreUtil.TEST_MODE ? 20 : MAX_HTTP_TOTAL_CONNECTIONS_DEFAULT, connManager.getMaxTotal());
+	}
+
+	@Test
+	public void testPoolingConnectionManagerStatistics() throws Exception {
+		final PoolingConnectionManager poolingManager = new PoolingConnectionManager(HttpUtil.getSchemeRegistry(),
+				60 * 1000, 60 * 1000, 30 * 1000);
+		client = new DefaultHttpClient() {
+			@Override
+			protected ClientConnectionManager createClientConnectionManager() {
+				return poolingManager;
+			}
+		};
+		HttpUtil.configureClient(client, null);
+		RepositoryLocation location = new RepositoryLocation(server.getUrl());
+		HttpUtil.configureConnectionLimit(client, location, 1);
+
+		server.addResponse(MockServer.OK);
+		server.addResponse(MockServer.OK);
+		for (int i = 0; i < 2; i++) {
+			HttpRequestBase request = new HttpGet(server.getUrl());
+			HttpResponse response = HttpUtil.execute(client, null, request, null);
+			assertEquals(HttpStatus.SC_OK, response.getStatusLine().getStatusCode());
+			HttpUtil.release(request, response, null);
+		}
+
+		List<HttpRouteStatistics> statistics = poolingManager.getRouteStatistics();
+		assertEquals(1, statistics.size());
+		HttpRouteStatistics route = statistics.get(0);
+		assertEquals(HttpUtil.createHost(new HttpGet(server.getUrl())).toURI(), route.getTargetHost());
+		assertNull(route.getProxyHost());
+		assertEquals(2, route.getLeaseCount());
+		assertEquals(0, route.getLeased());
+		assertEquals(0, route.getPending());
+		assertEquals(1, route.getMax());
+		assertEquals(0, route.getLeaseTimeoutCount());
+
+		// the largest limit requested by clients that share the pool applies
+		HttpHost host = HttpUtil.createHost(new HttpGet(server.getUrl()));
+		HttpUtil.configureConnectionLimit(client, location, 3);
+		assertEquals(3, poolingManager.getMaxPerHost(host));
+		assertEquals(3, poolingManager.getRouteStatistics().get(0).getMax());
+		HttpUtil.configureConnectionLimit(client, location, 2);
+		HttpUtil.configureConnectionLimit(client, location, -1);
+		assertEquals(3, poolingManager.getMaxPerHost(host));
+
+		poolingManager.setMaxPerHost(host, -1);
+		assertEquals(-1, poolingManager.getMaxPerHost(host));
+		assertEquals(poolingManager.getDefaultMaxPerRoute(), poolingManager.getRouteStatistics().get(0).getMax());
+	}
 }
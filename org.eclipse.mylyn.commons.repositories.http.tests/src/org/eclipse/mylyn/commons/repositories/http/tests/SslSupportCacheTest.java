@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.repositories.http.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.mylyn.commons.core.net.SslSupport;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
+import org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationType;
+import org.eclipse.mylyn.commons.repositories.core.auth.CertificateCredentials;
+import org.eclipse.mylyn.commons.repositories.http.core.SslSupportCache;
+import org.eclipse.mylyn.internal.commons.repositories.core.InMemoryCredentialsStore;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class SslSupportCacheTest {
+
+	private SslSupportCache cache;
+
+	private RepositoryLocation location;
+
+	@Before
+	public void setUp() throws Exception {
+		cache = new SslSupportCache(2);
+		location = new RepositoryLocation("http://mylyn.org/");
+		location.setCredentialsStore(new InMemoryCredentialsStore());
+	}
+
+	@Test
+	public void testGetCached() throws Exception {
+		CertificateCredentials credentials = new CertificateCredentials("keystore", "password", null);
+		SslSupport support = cache.get(location, credentials);
+		assertSame(support, cache.get(location, credentials));
+		assertSame(support, cache.get(location, new CertificateCredentials("keystore", "password", null)));
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void testGetCreatesOutsideOfLock() throws Exception {
+		final CountDownLatch creating = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		cache = new SslSupportCache(2) {
+			@Override
+			protected SslSupport createSslSupport(CertificateCredentials credentials) {
+				if ("slow".equals(credentials.getKeyStoreFileName())) {
+					creating.countDown();
+					try {
+						release.await(30, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return super.createSslSupport(credentials);
+			}
+		};
+		final CertificateCredentials slowCredentials = new CertificateCredentials("slow", "password", null);
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			Callable<SslSupport> getSlow = new Callable<SslSupport>() {
+				public SslSupport call() throws Exception {
+					return cache.get(new RepositoryLocation("http://mylyn.org/"), slowCredentials);
+				}
+			};
+			Future<SslSupport> future1 = executor.submit(getSlow);
+			Future<SslSupport> future2 = executor.submit(getSlow);
+			assertTrue(creating.await(10, TimeUnit.SECONDS));
+
+			// other credentials are not blocked while the slow entry is created
+			final CertificateCredentials credentials = new CertificateCredentials("keystore", "password", null);
+			SslSupport support = executor.submit(new Callable<SslSupport>() {
+				public SslSupport call() throws Exception {
+					return cache.get(location, credentials);
+				}
+			}).get(5, TimeUnit.SECONDS);
+			assertSame(support, cache.get(location, credentials));
+
+			release.countDown();
+			assertSame(future1.get(10, TimeUnit.SECONDS), future2.get(10, TimeUnit.SECONDS));
+			assertSame(future1.get(), cache.get(location, slowCredentials));
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testGetEvictsEldest() throws Exception {
+		CertificateCredentials credentials1 = new CertificateCredentials("keystore1", "password", null);
+		SslSupport support1 = cache.get(location, credentials1);
+		cache.get(location, new CertificateCredentials("keystore2", "password", null));
+		cache.get(location, new CertificateCredentials("keystore3", "password", null));
+		assertEquals(2, cache.size());
+		assertNotSame(support1, cache.get(location, credentials1));
+		assertEquals(4, cache.getMissCount());
+	}
+
+	@Test
+	public void testInvalidateOnCredentialsChange() throws Exception {
+		CertificateCredentials credentials = new CertificateCredentials("keystore", "password", null);
+		SslSupport support = cache.get(location, credentials);
+		assertEquals(1, cache.size());
+
+		location.setCredentials(AuthenticationType.CERTIFICATE, credentials);
+		assertEquals(0, cache.size());
+		assertNotSame(support, cache.get(location, credentials));
+		assertEquals(0, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public void testClear() throws Exception {
+		cache.get(location, new CertificateCredentials("keystore", "password", null));
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getMissCount());
+	}
+
+}
@@ -79,4 +79,61 @@ public class HtmlStreamTokenizerTest extends TestCase {
 		assertEquals("img", ((HtmlTag) token.getValue()).getTagName());
 		assertTrue(((HtmlTag) token.getValue()).isSelfTerminating());
 	}
+
+	public void testNextText() throws IOException, ParseException {
+		HtmlStreamTokenizer htmlStreamTokenizer = new HtmlStreamTokenizer(new StringReader("one  two<!--c-->"), null);
+		assertTrue(htmlStreamTokenizer.next());
+		assertEquals(HtmlStreamTokenizer.Token.TEXT, htmlStreamTokenizer.getTokenType());
+		assertEquals("one", htmlStreamTokenizer.getText().toString());
+		assertNull(htmlStreamTokenizer.getTag());
+		assertTrue(htmlStreamTokenizer.next());
+		assertEquals("two", htmlStreamTokenizer.getText().toString());
+		assertEquals("  ", htmlStreamTokenizer.getWhitespace().toString());
+		assertTrue(htmlStreamTokenizer.next());
+		assertEquals(HtmlStreamTokenizer.Token.COMMENT, htmlStreamTokenizer.getTokenType());
+		assertEquals("c", htmlStreamTokenizer.getText().toString());
+		assertFalse(htmlStreamTokenizer.next());
+		assertEquals(HtmlStreamTokenizer.Token.EOF, htmlStreamTokenizer.getTokenType());
+	}
+
+	public void testNextReusesTag() throws IOException, ParseException {
+		HtmlStreamTokenizer htmlStreamTokenizer = new HtmlStreamTokenizer(new StringReader("<a href=\"x\"></a>"),
+				null);
+		assertTrue(htmlStreamTokenizer.next());
+		HtmlTag tag = htmlStreamTokenizer.getTag();
+		assertEquals("a", tag.getTagName());
+		assertEquals("x", tag.getAttribute("href"));
+		assertFalse(tag.isEndTag());
+		assertTrue(htmlStreamTokenizer.next());
+		assertSame(tag, htmlStreamTokenizer.getTag());
+		assertEquals("a", tag.getTagName());
+		assertNull(tag.getAttribute("href"));
+		assertTrue(tag.isEndTag());
+	}
+
+	public void testNextAfterPushback() throws IOException, ParseException {
+		HtmlStreamTokenizer htmlStreamTokenizer = new HtmlStreamTokenizer(new StringReader("text<br/>"), null);
+		htmlStreamTokenizer.pushback(htmlStreamTokenizer.nextToken());
+		assertTrue(htmlStreamTokenizer.next());
+		assertEquals("text", htmlStreamTokenizer.getText().toString());
+		assertTrue(htmlStreamTokenizer.next());
+		assertEquals("br", htmlStreamTokenizer.getTag().getTagName());
+	}
+
+	public void testNextTokenLargeDocument() throws IOException, ParseException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("<p>line ").append(i).append("</p>\n");
+		}
+		HtmlStreamTokenizer htmlStreamTokenizer = new HtmlStreamTokenizer(new StringReader(sb.toString()), null);
+		int tags = 0;
+		HtmlStreamTokenizer.Token token = htmlStreamTokenizer.nextToken();
+		while (token.getType() != HtmlStreamTokenizer.Token.EOF) {
+			if (token.getType() == HtmlStreamTokenizer.Token.TAG) {
+				tags++;
+			}
+			token = htmlStreamTokenizer.nextToken();
+		}
+		assertEquals(10000, tags);
+	}
 }
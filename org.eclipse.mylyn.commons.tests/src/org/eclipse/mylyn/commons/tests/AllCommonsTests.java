@@ -18,13 +18,20 @@ import junit.framework.TestSuite;
 import org.eclipse.mylyn.commons.core.HtmlStreamTokenizerTest;
 import org.eclipse.mylyn.commons.sdk.util.ManagedTestSuite;
 import org.eclipse.mylyn.commons.sdk.util.TestConfiguration;
+import org.eclipse.mylyn.commons.tests.core.AsyncStatusLoggerTest;
 import org.eclipse.mylyn.commons.tests.core.AuthenticatedProxyTest;
 import org.eclipse.mylyn.commons.tests.core.CommonListenerListTest;
 import org.eclipse.mylyn.commons.tests.core.CoreUtilTest;
 import org.eclipse.mylyn.commons.tests.core.ExtensionPointReaderTest;
 import org.eclipse.mylyn.commons.tests.core.Html2TextReaderTest;
+import org.eclipse.mylyn.commons.tests.core.ProgressMonitorInputStreamTest;
 import org.eclipse.mylyn.commons.tests.core.StatusHandlerTest;
+import org.eclipse.mylyn.commons.tests.core.XmlMementoReaderTest;
+import org.eclipse.mylyn.commons.tests.core.XmlMementoWriterTest;
+import org.eclipse.mylyn.commons.tests.core.ZipFileUtilTest;
 import org.eclipse.mylyn.commons.tests.core.storage.CommonStoreTest;
+import org.eclipse.mylyn.commons.tests.identity.GravatarStoreTest;
+import org.eclipse.mylyn.commons.tests.identity.IdentityModelTest;
 import org.eclipse.mylyn.commons.tests.net.CommonHttpMethod3Test;
 import org.eclipse.mylyn.commons.tests.net.NetUtilTest;
 import org.eclipse.mylyn.commons.tests.net.SslProtocolSocketFactoryTest;
@@ -32,6 +39,8 @@ import org.eclipse.mylyn.commons.tests.net.TimeoutInputStreamTest;
 import org.eclipse.mylyn.commons.tests.net.WebUtilTest;
 import org.eclipse.mylyn.commons.tests.operations.CancellableOperationMonitorThreadTest;
 import org.eclipse.mylyn.commons.tests.operations.OperationUtilTest;
+import org.eclipse.mylyn.commons.tests.workbench.CompiledStringMatcherTest;
+import org.eclipse.mylyn.commons.tests.workbench.TreeFilterEngineTest;
 import org.eclipse.mylyn.commons.tests.workbench.browser.BrowserUtilTest;
 import org.eclipse.mylyn.commons.tests.workbench.browser.WebBrowserDialogTest;
 
@@ -70,6 +79,15 @@ public class AllCommonsTests {
 		suite.addTestSuite(HtmlStreamTokenizerTest.class);
 		suite.addTestSuite(CancellableOperationMonitorThreadTest.class);
 		suite.addTestSuite(StatusHandlerTest.class);
+		suite.addTestSuite(AsyncStatusLoggerTest.class);
+		suite.addTestSuite(XmlMementoReaderTest.class);
+		suite.addTestSuite(XmlMementoWriterTest.class);
+		suite.addTestSuite(ZipFileUtilTest.class);
+		suite.addTestSuite(ProgressMonitorInputStreamTest.class);
+		suite.addTestSuite(TreeFilterEngineTest.class);
+		suite.addTestSuite(CompiledStringMatcherTest.class);
+		suite.addTestSuite(GravatarStoreTest.class);
+		suite.addTestSuite(IdentityModelTest.class);
 	}
 
 }
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.internal.commons.core.AsyncStatusLogger;
+import org.eclipse.mylyn.internal.commons.core.AsyncStatusLogger.OverflowPolicy;
+import org.eclipse.mylyn.internal.commons.core.CommonsCorePlugin;
+
+/**
+ * @author agent
+ */
+public class AsyncStatusLoggerTest extends TestCase {
+
+	private static class RecordingSink implements AsyncStatusLogger.Sink {
+
+		CountDownLatch blocked;
+
+		final List<IStatus> logged = new ArrayList<IStatus>();
+
+		final List<IStatus> reported = new ArrayList<IStatus>();
+
+		public void log(List<IStatus> statuses) {
+			if (blocked != null) {
+				try {
+					blocked.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			synchronized (this) {
+				logged.addAll(statuses);
+			}
+		}
+
+		public synchronized void report(List<IStatus> statuses) {
+			reported.addAll(statuses);
+		}
+
+	}
+
+	private AsyncStatusLogger logger;
+
+	private RecordingSink sink;
+
+	@Override
+	protected void setUp() throws Exception {
+		sink = new RecordingSink();
+		logger = new AsyncStatusLogger(sink);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (sink.blocked != null) {
+			sink.blocked.countDown();
+		}
+		logger.shutdown(10 * 1000);
+	}
+
+	public void testLog() throws Exception {
+		IStatus status = createStatus("one");
+		logger.log(status, false);
+		assertTrue(logger.flush(10 * 1000));
+		assertEquals(1, sink.logged.size());
+		assertSame(status, sink.logged.get(0));
+		assertEquals(0, sink.reported.size());
+		assertEquals(1, logger.getDeliveredCount());
+	}
+
+	public void testLogReport() throws Exception {
+		IStatus status = createStatus("one");
+		logger.log(status, true);
+		assertTrue(logger.flush(10 * 1000));
+		assertEquals(1, sink.logged.size());
+		assertEquals(1, sink.reported.size());
+		assertSame(status, sink.reported.get(0));
+	}
+
+	public void testSinkFailure() throws Exception {
+		RecordingSink fallback = new RecordingSink();
+		logger = new AsyncStatusLogger(new AsyncStatusLogger.Sink() {
+			public void log(List<IStatus> statuses) {
+				throw new IllegalStateException();
+			}
+
+			public void report(List<IStatus> statuses) {
+			}
+		}, fallback, AsyncStatusLogger.DEFAULT_CAPACITY);
+		IStatus status = createStatus("one");
+		logger.log(status, false);
+		assertTrue(logger.flush(10 * 1000));
+		assertEquals(2, fallback.logged.size());
+		assertTrue(fallback.logged.get(0).getException() instanceof IllegalStateException);
+		assertSame(status, fallback.logged.get(1));
+	}
+
+	public void testSuppressRepeatedStatus() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			logger.log(createStatus("repeated"), false);
+		}
+		logger.log(createStatus("other"), false);
+		assertTrue(logger.flush(10 * 1000));
+
+		assertEquals(4, logger.getSuppressedCount());
+		assertEquals(3, sink.logged.size());
+		assertEquals("repeated", sink.logged.get(0).getMessage());
+		assertEquals("other", sink.logged.get(1).getMessage());
+		IStatus summary = sink.logged.get(2);
+		assertEquals(IStatus.ERROR, summary.getSeverity());
+		assertTrue(summary.getMessage(), summary.getMessage().contains("4"));
+		assertTrue(summary.getMessage(), summary.getMessage().endsWith("repeated"));
+	}
+
+	public void testSuppressRepeatedStatusDifferentException() throws Exception {
+		logger.log(new Status(IStatus.ERROR, CommonsCorePlugin.ID_PLUGIN, "failed", new RuntimeException()), false);
+		logger.log(new Status(IStatus.ERROR, CommonsCorePlugin.ID_PLUGIN, "failed", new IllegalStateException()),
+				false);
+		assertTrue(logger.flush(10 * 1000));
+
+		assertEquals(0, logger.getSuppressedCount());
+		assertEquals(2, sink.logged.size());
+	}
+
+	public void testSuppressionDisabled() throws Exception {
+		logger.setSuppressionWindow(0);
+		logger.log(createStatus("repeated"), false);
+		logger.log(createStatus("repeated"), false);
+		assertTrue(logger.flush(10 * 1000));
+
+		assertEquals(0, logger.getSuppressedCount());
+		assertEquals(2, sink.logged.size());
+	}
+
+	public void testOverflowCallerRuns() throws Exception {
+		logger = new AsyncStatusLogger(sink, 2);
+		logger.setSuppressionWindow(0);
+		for (int i = 0; i < 10; i++) {
+			logger.log(createStatus("status " + i), false);
+		}
+		assertTrue(logger.flush(10 * 1000));
+
+		assertEquals(0, logger.getDiscardedCount());
+		assertEquals(10, sink.logged.size());
+	}
+
+	public void testOverflowDiscard() throws Exception {
+		sink.blocked = new CountDownLatch(1);
+		logger = new AsyncStatusLogger(sink, 2);
+		logger.setSuppressionWindow(0);
+		logger.setOverflowPolicy(OverflowPolicy.DISCARD);
+		for (int i = 0; i < 10; i++) {
+			logger.log(createStatus("status " + i), false);
+		}
+		assertTrue(logger.getDiscardedCount() > 0);
+		sink.blocked.countDown();
+		assertTrue(logger.flush(10 * 1000));
+
+		// a queued status triggers a batch that reports the discarded statuses
+		logger.log(createStatus("last"), false);
+		assertTrue(logger.flush(10 * 1000));
+
+		long discarded = logger.getDiscardedCount();
+		assertEquals(10 - discarded + 2, sink.logged.size());
+		List<IStatus> warnings = new ArrayList<IStatus>();
+		for (IStatus status : sink.logged) {
+			if (status.getSeverity() == IStatus.WARNING) {
+				warnings.add(status);
+			}
+		}
+		assertEquals(1, warnings.size());
+		assertTrue(warnings.get(0).getMessage(), warnings.get(0).getMessage().contains(Long.toString(discarded)));
+	}
+
+	public void testShutdown() throws Exception {
+		sink.blocked = new CountDownLatch(1);
+		logger.log(createStatus("one"), false);
+		logger.log(createStatus("two"), false);
+		assertTrue(logger.shutdown(10 * 1000));
+		assertEquals(2, sink.logged.size());
+
+		// statuses logged after shutdown are delivered on the calling thread
+		sink.blocked = null;
+		logger.log(createStatus("three"), false);
+		assertEquals(3, sink.logged.size());
+		assertTrue(logger.flush(10 * 1000));
+	}
+
+	private IStatus createStatus(String message) {
+		return new Status(IStatus.ERROR, CommonsCorePlugin.ID_PLUGIN, message);
+	}
+
+}
@@ -12,10 +12,19 @@
 
 package org.eclipse.mylyn.commons.tests.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.mylyn.commons.core.CommonListenerList;
 import org.eclipse.mylyn.commons.core.CommonListenerList.Notifier;
+import org.eclipse.mylyn.commons.core.CommonListenerList.Statistics;
 
 import junit.framework.TestCase;
 
@@ -26,8 +35,57 @@ public class CommonListenerListTest extends TestCase {
 
 	private class Listener {
 
+		private volatile CountDownLatch blocked;
+
+		private final List<Object> events = Collections.synchronizedList(new ArrayList<Object>());
+
 		private boolean notified;
 
+		void await() throws InterruptedException {
+			if (blocked != null) {
+				blocked.await(10, TimeUnit.SECONDS);
+			}
+		}
+
+	}
+
+	private class EventNotifier extends Notifier<Listener> {
+
+		private final Object event;
+
+		private final Object key;
+
+		private final CountDownLatch latch;
+
+		public EventNotifier(Object event, Object key, CountDownLatch latch) {
+			this.event = event;
+			this.key = key;
+			this.latch = latch;
+		}
+
+		@Override
+		public Object getCoalescingKey() {
+			return key;
+		}
+
+		@Override
+		public void run(Listener listener) throws Exception {
+			listener.await();
+			listener.events.add(event);
+			if (latch != null) {
+				latch.countDown();
+			}
+		}
+
+	}
+
+	private ExecutorService executor;
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
 	}
 
 	public void testAddRemove() {
@@ -108,4 +166,155 @@ public class CommonListenerListTest extends TestCase {
 		assertFalse(addedListener.notified);
 	}
 
+	public void testNotifyAsync() throws Exception {
+		Listener listener1 = new Listener();
+		Listener listener2 = new Listener();
+		CommonListenerList<Listener> list = createAsyncList();
+		list.add(listener1);
+		list.add(listener2);
+
+		CountDownLatch latch = new CountDownLatch(200);
+		for (int i = 0; i < 100; i++) {
+			list.notify(new EventNotifier(i, null, latch));
+		}
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+		assertEquals(100, listener1.events.size());
+		assertEquals(100, listener2.events.size());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i, listener1.events.get(i));
+			assertEquals(i, listener2.events.get(i));
+		}
+		waitForNotificationCount(list, 200);
+	}
+
+	public void testNotifyAsyncSlowListener() throws Exception {
+		Listener slowListener = new Listener();
+		slowListener.blocked = new CountDownLatch(1);
+		Listener listener = new Listener();
+		CommonListenerList<Listener> list = createAsyncList();
+		list.add(slowListener);
+		list.add(listener);
+
+		CountDownLatch latch = new CountDownLatch(1);
+		list.notify(new EventNotifier("event", null, null));
+		list.notify(new EventNotifier("done", null, latch));
+
+		try {
+			// the second listener is notified while the first listener is blocked
+			assertTrue(latch.await(10, TimeUnit.SECONDS));
+			assertEquals(2, listener.events.size());
+			assertEquals(0, slowListener.events.size());
+		} finally {
+			slowListener.blocked.countDown();
+		}
+	}
+
+	public void testNotifyAsyncCoalescing() throws Exception {
+		Listener listener = new Listener();
+		listener.blocked = new CountDownLatch(1);
+		CommonListenerList<Listener> list = createAsyncList();
+		list.add(listener);
+
+		CountDownLatch latch = new CountDownLatch(1);
+		list.notify(new EventNotifier("first", "key", null));
+		// wait until the first event is being delivered
+		Thread.sleep(100);
+		list.notify(new EventNotifier("a1", "key", null));
+		list.notify(new EventNotifier("b", null, null));
+		list.notify(new EventNotifier("a2", "key", null));
+		list.notify(new EventNotifier("a3", "key", latch));
+		listener.blocked.countDown();
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+		assertEquals(3, listener.events.size());
+		assertEquals("first", listener.events.get(0));
+		assertEquals("b", listener.events.get(1));
+		assertEquals("a3", listener.events.get(2));
+		waitForNotificationCount(list, 3);
+		Statistics statistics = list.getStatistics();
+		assertEquals(2, statistics.getMergedCount());
+		assertEquals(0, statistics.getPendingCount());
+	}
+
+	public void testNotifyAsyncRemove() throws Exception {
+		Listener listener = new Listener();
+		listener.blocked = new CountDownLatch(1);
+		CommonListenerList<Listener> list = createAsyncList();
+		list.add(listener);
+
+		list.notify(new EventNotifier("first", null, null));
+		Thread.sleep(100);
+		list.notify(new EventNotifier("second", null, null));
+		list.notify(new EventNotifier("third", null, null));
+		assertEquals(2, list.getStatistics().getPendingCount());
+
+		list.remove(listener);
+		listener.blocked.countDown();
+
+		Statistics statistics = list.getStatistics();
+		assertEquals(2, statistics.getDroppedCount());
+		assertEquals(0, statistics.getPendingCount());
+	}
+
+	public void testNotifyAsyncRemoveDuringNotify() throws Exception {
+		final Listener listener2 = new Listener();
+		final CommonListenerList<Listener> list = new CommonListenerList<Listener>("a");
+		list.setExecutor(new Executor() {
+			public void execute(Runnable command) {
+				command.run();
+			}
+		});
+		Listener listener1 = new Listener();
+		list.add(listener1);
+		list.add(listener2);
+
+		// the first listener removes the second listener while the event is dispatched from a snapshot of the list
+		list.notify(new Notifier<Listener>() {
+			@Override
+			public void run(Listener listener) throws Exception {
+				list.remove(listener2);
+				listener.notified = true;
+			}
+		});
+
+		assertTrue(listener1.notified);
+		assertFalse(listener2.notified);
+		assertEquals(1, list.getStatistics().getNotificationCount());
+		assertEquals(0, list.getStatistics().getPendingCount());
+	}
+
+	public void testStatistics() {
+		Listener listener = new Listener();
+		CommonListenerList<Listener> list = new CommonListenerList<Listener>("a");
+		list.add(listener);
+
+		list.notify(new EventNotifier("event", null, null));
+		list.notify(new EventNotifier("event", "key", null));
+
+		Statistics statistics = list.getStatistics();
+		assertEquals(2, statistics.getNotificationCount());
+		assertEquals(0, statistics.getMergedCount());
+		assertEquals(0, statistics.getDroppedCount());
+		assertTrue(statistics.getMaxLatency() >= 0);
+	}
+
+	/**
+	 * Notifications are counted after the notifier completes, i.e. after the latch that the test waits for is released.
+	 */
+	private void waitForNotificationCount(CommonListenerList<Listener> list, long expected) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 10 * 1000;
+		while (list.getStatistics().getNotificationCount() < expected && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertEquals(expected, list.getStatistics().getNotificationCount());
+	}
+
+	private CommonListenerList<Listener> createAsyncList() {
+		executor = Executors.newCachedThreadPool();
+		CommonListenerList<Listener> list = new CommonListenerList<Listener>("a");
+		list.setExecutor(executor);
+		return list;
+	}
+
 }
@@ -18,6 +18,8 @@ import java.io.StringReader;
 
 import junit.framework.TestCase;
 
+import org.eclipse.mylyn.commons.core.HtmlUtil;
+import org.eclipse.mylyn.internal.commons.core.BufferedHtml2TextReader;
 import org.eclipse.mylyn.internal.commons.core.Html2TextReader;
 
 /**
@@ -55,6 +57,34 @@ public class Html2TextReaderTest extends TestCase {
 
 		assertEquals(expectedOutput, result);
 		htmlReader.close();
+
+		verifyBuffered(new StringReader(input), expectedOutput);
+		verifyBuffered(new SingleCharStringReader(input), expectedOutput);
+	}
+
+	private void verifyBuffered(Reader reader, String expectedOutput) throws IOException {
+		BufferedHtml2TextReader htmlReader = new BufferedHtml2TextReader(reader);
+		try {
+			assertEquals(expectedOutput, htmlReader.getString());
+		} finally {
+			htmlReader.close();
+		}
+	}
+
+	/**
+	 * Returns a single character per read to test handling of markup that spans buffers.
+	 */
+	private static class SingleCharStringReader extends StringReader {
+
+		public SingleCharStringReader(String s) {
+			super(s);
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			return super.read(cbuf, off, Math.min(len, 1));
+		}
+
 	}
 
 	public void test0() throws IOException {
@@ -168,4 +198,70 @@ public class Html2TextReaderTest extends TestCase {
 		verify(string, expected);
 	}
 
+	public void testSymbolNumeric() throws IOException {
+		verify("&#65;&#x42;&#xZZ;&#;", "AB&#xZZ;&#;");
+	}
+
+	public void testEntityUnterminated() throws IOException {
+		verify("a &amp b", "a &amp b");
+	}
+
+	public void testWhitespace() throws IOException {
+		verify("  a \n\t b <li> c", "a b " + LD + "- c");
+	}
+
+	public void testUnterminatedTag() throws IOException {
+		verify("a <b", "a <");
+	}
+
+	public void testBufferedReadChunks() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			sb.append("<p>line ").append(i).append(" &lt;x&gt;</p>");
+		}
+		Html2TextReader legacyReader = new Html2TextReader(new StringReader(sb.toString()));
+		String expected;
+		try {
+			expected = legacyReader.getString();
+		} finally {
+			legacyReader.close();
+		}
+		assertTrue(expected.startsWith(LD + "line 0 <x>" + LD + "line 1 <x>"));
+		assertTrue(expected.endsWith("line 4999 <x>"));
+
+		BufferedHtml2TextReader reader = new BufferedHtml2TextReader(new StringReader(sb.toString()));
+		try {
+			StringBuilder result = new StringBuilder();
+			char[] buffer = new char[7];
+			int count;
+			while ((count = reader.read(buffer, 0, buffer.length)) != -1) {
+				result.append(buffer, 0, count);
+			}
+			assertEquals(expected, result.toString());
+		} finally {
+			reader.close();
+		}
+	}
+
+	public void testMaxLength() throws IOException {
+		BufferedHtml2TextReader reader = new BufferedHtml2TextReader(new StringReader("<b>abc</b> &amp; def"), 5);
+		try {
+			assertEquals("abc &", reader.getString());
+			assertTrue(reader.isTruncated());
+			assertEquals(-1, reader.read());
+		} finally {
+			reader.close();
+		}
+	}
+
+	public void testToTextMaxLength() throws IOException {
+		assertEquals("", HtmlUtil.toText("<p>abc</p>", 0));
+		assertEquals("ab", HtmlUtil.toText("abc", 2));
+		assertEquals("abc", HtmlUtil.toText("abc", 10));
+	}
+
+	public void testToTextUnterminatedHead() throws IOException {
+		assertEquals("", HtmlUtil.toText("<head>abc"));
+	}
+
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.core.io.ProgressMonitorInputStream;
+
+/**
+ * @author agent
+ */
+public class ProgressMonitorInputStreamTest extends TestCase {
+
+	private class RecordingInputStream extends ProgressMonitorInputStream {
+
+		public RecordingInputStream(InputStream in, long bytesTotal, int updateIncrement, long updateInterval) {
+			super(in, bytesTotal, updateIncrement, updateInterval, new NullProgressMonitor());
+		}
+
+		@Override
+		protected void updateMonitor(long bytesRead, long size, IProgressMonitor monitor) {
+			updates.add(bytesRead);
+		}
+
+	}
+
+	private final List<Long> updates = new ArrayList<Long>();
+
+	public void testUpdateIncrement() throws Exception {
+		RecordingInputStream in = new RecordingInputStream(new ByteArrayInputStream(new byte[1000]), 1000, 100, 0);
+		byte[] buffer = new byte[10];
+		while (in.read(buffer) != -1) {
+		}
+		in.close();
+		assertEquals(11, updates.size());
+		assertEquals(0L, updates.get(0).longValue());
+		assertEquals(1000L, updates.get(10).longValue());
+		assertEquals(1000, in.getBytesRead());
+	}
+
+	public void testUpdateIncrementPartial() throws Exception {
+		RecordingInputStream in = new RecordingInputStream(new ByteArrayInputStream(new byte[250]), 250, 100, 0);
+		byte[] buffer = new byte[10];
+		while (in.read(buffer) != -1) {
+		}
+		// the final update reports the exact number of bytes
+		assertEquals(250L, updates.get(updates.size() - 1).longValue());
+		assertEquals(200L, updates.get(updates.size() - 2).longValue());
+		in.close();
+		assertEquals(250L, updates.get(updates.size() - 1).longValue());
+	}
+
+	public void testUpdateOnClose() throws Exception {
+		RecordingInputStream in = new RecordingInputStream(new ByteArrayInputStream(new byte[250]), 250, 100, 0);
+		in.read(new byte[150]);
+		assertEquals(100L, updates.get(updates.size() - 1).longValue());
+		in.close();
+		assertEquals(150L, updates.get(updates.size() - 1).longValue());
+	}
+
+	public void testUpdateInterval() throws Exception {
+		RecordingInputStream in = new RecordingInputStream(new ByteArrayInputStream(new byte[100000]), 100000, 1,
+				60 * 1000);
+		while (in.read() != -1) {
+		}
+		// initial update and final update at end of stream
+		assertEquals(2, updates.size());
+		assertEquals(100000L, updates.get(1).longValue());
+		in.close();
+		assertEquals(2, updates.size());
+	}
+
+	public void testUpdateIntervalElapsed() throws Exception {
+		RecordingInputStream in = new RecordingInputStream(new ByteArrayInputStream(new byte[100]), 100, 10, 50);
+		in.read(new byte[20]);
+		assertEquals(1, updates.size());
+		Thread.sleep(100);
+		in.read(new byte[5]);
+		assertEquals(2, updates.size());
+		assertEquals(20L, updates.get(1).longValue());
+		in.close();
+	}
+
+	public void testStatistics() throws Exception {
+		InputStream slow = new ByteArrayInputStream(new byte[100]) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+				return super.read(b, off, len);
+			}
+		};
+		RecordingInputStream in = new RecordingInputStream(slow, 100, 10, 0);
+		byte[] buffer = new byte[50];
+		while (in.read(buffer) != -1) {
+		}
+		in.close();
+		assertEquals(100, in.getBytesRead());
+		assertTrue("Expected read time of at least 60 ms, got " + in.getReadTime(), in.getReadTime() >= 60); //$NON-NLS-1$
+		assertEquals(0, in.getStallTime());
+		assertTrue(in.getBytesPerSecond() > 0);
+	}
+
+	public void testStallTime() throws IOException {
+		InputStream stalled = new InputStream() {
+			@Override
+			public int read() throws IOException {
+				try {
+					Thread.sleep(1100);
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+				return -1;
+			}
+		};
+		RecordingInputStream in = new RecordingInputStream(stalled, -1, 10, 0);
+		assertEquals(-1, in.read());
+		assertTrue(in.getStallTime() >= 1000);
+		in.close();
+	}
+
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.core;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.core.XmlMemento;
+import org.eclipse.mylyn.commons.core.XmlMementoReader;
+
+/**
+ * @author agent
+ */
+public class XmlMementoReaderTest extends TestCase {
+
+	public void testReadAttributes() throws Exception {
+		XmlMemento memento = XmlMemento.createWriteRoot("root");
+		memento.putString("string", "a\nb \"c\" <d> & e");
+		memento.putInteger("integer", 1);
+		memento.putFloat("float", 1.5f);
+		memento.putBoolean("boolean", true);
+		memento.putString("invalid", "x");
+
+		XmlMementoReader reader = read(memento);
+		assertEquals("root", reader.getType());
+		assertEquals("a\nb \"c\" <d> & e", reader.getString("string"));
+		assertEquals(Integer.valueOf(1), reader.getInteger("integer"));
+		assertEquals(Float.valueOf(1.5f), reader.getFloat("float"));
+		assertEquals(Boolean.TRUE, reader.getBoolean("boolean"));
+		assertNull(reader.getString("missing"));
+		assertNull(reader.getInteger("missing"));
+		String[] keys = reader.getAttributeKeys();
+		Arrays.sort(keys);
+		assertEquals(Arrays.asList("boolean", "float", "integer", "invalid", "string"), Arrays.asList(keys));
+		assertEquals("", reader.getID());
+		assertNull(reader.nextChild());
+	}
+
+	public void testReadChildren() throws Exception {
+		XmlMemento memento = XmlMemento.createWriteRoot("root");
+		memento.createChild("child", "1").putTextData("text1");
+		XmlMemento child = memento.createChild("child", "2");
+		child.createChild("grandchild").putString("key", "value");
+		memento.createChild("other");
+
+		XmlMementoReader reader = read(memento);
+		XmlMementoReader child1 = reader.nextChild();
+		assertEquals("child", child1.getType());
+		assertEquals("1", child1.getID());
+		assertEquals("text1", child1.getTextData());
+		assertNull(child1.nextChild());
+
+		XmlMementoReader child2 = reader.nextChild();
+		assertEquals("2", child2.getID());
+		XmlMementoReader grandchild = child2.nextChild();
+		assertEquals("grandchild", grandchild.getType());
+		assertEquals("value", grandchild.getString("key"));
+		assertNull(grandchild.nextChild());
+		assertNull(child2.nextChild());
+
+		assertEquals("other", reader.nextChild().getType());
+		assertNull(reader.nextChild());
+		assertNull(reader.nextChild());
+		reader.close();
+	}
+
+	public void testReadSkipsUnreadChildren() throws Exception {
+		XmlMemento memento = XmlMemento.createWriteRoot("root");
+		XmlMemento child = memento.createChild("child", "1");
+		child.createChild("grandchild").createChild("grandgrandchild");
+		child.createChild("grandchild");
+		memento.createChild("child", "2");
+
+		XmlMementoReader reader = read(memento);
+		XmlMementoReader child1 = reader.nextChild();
+		child1.nextChild();
+		assertEquals("2", reader.nextChild("child").getID());
+		assertNull(reader.nextChild());
+		try {
+			child1.nextChild();
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException expected) {
+		}
+	}
+
+	public void testReadNextChildType() throws Exception {
+		XmlMemento memento = XmlMemento.createWriteRoot("root");
+		memento.createChild("a");
+		memento.createChild("b", "1");
+		memento.createChild("a");
+		memento.createChild("b", "2");
+
+		XmlMementoReader reader = read(memento);
+		assertEquals("1", reader.nextChild("b").getID());
+		assertEquals("2", reader.nextChild("b").getID());
+		assertNull(reader.nextChild("b"));
+	}
+
+	public void testReadTextData() throws Exception {
+		XmlMemento memento = XmlMemento.createWriteRoot("root");
+		memento.putTextData("line1\r\nline2\t&");
+		assertEquals("line1\r\nline2\t&", read(memento).getTextData());
+	}
+
+	public void testReadInvalid() throws Exception {
+		try {
+			XmlMementoReader.createReadRoot(new StringReader("<root>"));
+			fail("Expected InvocationTargetException");
+		} catch (InvocationTargetException expected) {
+		}
+		try {
+			XmlMementoReader.createReadRoot(new StringReader(""));
+			fail("Expected InvocationTargetException");
+		} catch (InvocationTargetException expected) {
+		}
+	}
+
+	private XmlMementoReader read(XmlMemento memento) throws Exception {
+		StringWriter writer = new StringWriter();
+		memento.save(writer);
+		return XmlMementoReader.createReadRoot(new StringReader(writer.toString()));
+	}
+
+}
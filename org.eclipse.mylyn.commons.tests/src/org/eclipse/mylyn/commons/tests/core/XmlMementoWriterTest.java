@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.core;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.core.XmlMemento;
+import org.eclipse.mylyn.commons.core.XmlMementoWriter;
+
+/**
+ * @author agent
+ */
+public class XmlMementoWriterTest extends TestCase {
+
+	public void testWriteSameAsSave() throws Exception {
+		XmlMemento memento = XmlMemento.createWriteRoot("root");
+		memento.putString("key", "a\nb \"c\"");
+		XmlMemento child = memento.createChild("child", "1");
+		child.putTextData("text");
+		child.createChild("grandchild").putInteger("integer", 1);
+		memento.createChild("empty");
+		StringWriter expected = new StringWriter();
+		memento.save(expected);
+
+		StringWriter actual = new StringWriter();
+		XmlMementoWriter writer = XmlMementoWriter.createWriteRoot(actual, "root");
+		writer.putString("key", "a\nb \"c\"");
+		XmlMementoWriter childWriter = writer.createChild("child", "1");
+		childWriter.putTextData("text");
+		childWriter.createChild("grandchild").putInteger("integer", 1);
+		writer.createChild("empty");
+		writer.close();
+
+		assertEquals(expected.toString(), actual.toString());
+	}
+
+	public void testWriteRead() throws Exception {
+		StringWriter out = new StringWriter();
+		XmlMementoWriter writer = XmlMementoWriter.createWriteRoot(out, "root");
+		writer.putBoolean("boolean", true);
+		writer.putFloat("float", 2.5f);
+		writer.putString("null", null);
+		writer.putTextData("line1\nline2");
+		for (int i = 0; i < 3; i++) {
+			writer.createChild("child", String.valueOf(i)).putInteger("index", i);
+		}
+		writer.close();
+
+		XmlMemento memento = XmlMemento.createReadRoot(new StringReader(out.toString()));
+		assertEquals(Boolean.TRUE, memento.getBoolean("boolean"));
+		assertEquals(Float.valueOf(2.5f), memento.getFloat("float"));
+		assertNull(memento.getString("null"));
+		assertEquals("line1\nline2", memento.getTextData());
+		XmlMemento[] children = memento.getChildren("child");
+		assertEquals(3, children.length);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(String.valueOf(i), children[i].getID());
+			assertEquals(Integer.valueOf(i), children[i].getInteger("index"));
+		}
+	}
+
+	public void testWriteCopyChild() throws Exception {
+		XmlMemento source = XmlMemento.createWriteRoot("source");
+		source.putString("key", "value");
+		source.putTextData("text");
+		source.createChild("child").putString("key", "childValue");
+
+		StringWriter out = new StringWriter();
+		XmlMementoWriter writer = XmlMementoWriter.createWriteRoot(out, "root");
+		writer.copyChild(source);
+		writer.close();
+
+		XmlMemento copy = XmlMemento.createReadRoot(new StringReader(out.toString())).getChild("source");
+		assertEquals("value", copy.getString("key"));
+		assertEquals("text", copy.getTextData());
+		assertEquals("childValue", copy.getChild("child").getString("key"));
+	}
+
+	public void testWriteAttributeAfterChild() throws Exception {
+		XmlMementoWriter writer = XmlMementoWriter.createWriteRoot(new StringWriter(), "root");
+		writer.createChild("child");
+		try {
+			writer.putString("key", "value");
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException expected) {
+		}
+		try {
+			writer.putTextData("text");
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException expected) {
+		}
+	}
+
+	public void testWriteClosedChild() throws Exception {
+		XmlMementoWriter writer = XmlMementoWriter.createWriteRoot(new StringWriter(), "root");
+		XmlMementoWriter child = writer.createChild("child");
+		writer.createChild("child");
+		try {
+			child.createChild("grandchild");
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException expected) {
+		}
+	}
+
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.core;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.commons.core.ZipFileUtil;
+
+/**
+ * @author agent
+ */
+public class ZipFileUtilTest extends TestCase {
+
+	private File tempDir;
+
+	@Override
+	protected void setUp() throws Exception {
+		tempDir = Files.createTempDirectory("zipfileutil").toFile(); //$NON-NLS-1$
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		delete(tempDir);
+	}
+
+	public void testCreateZipFileDeflated() throws Exception {
+		List<File> files = createFiles();
+		File zipFile = new File(tempDir, "test.zip"); //$NON-NLS-1$
+		ZipFileUtil.createZipFile(zipFile, files);
+		assertEntries(zipFile, files, ZipEntry.DEFLATED);
+	}
+
+	public void testCreateZipFileParallel() throws Exception {
+		List<File> files = createFiles();
+		File zipFile = new File(tempDir, "test.zip"); //$NON-NLS-1$
+		ZipFileUtil.createZipFile(zipFile, files, null, ZipEntry.DEFLATED, 4, null);
+		assertEntries(zipFile, files, ZipEntry.DEFLATED);
+	}
+
+	public void testCreateZipFileStored() throws Exception {
+		List<File> files = createFiles();
+		File zipFile = new File(tempDir, "test.zip"); //$NON-NLS-1$
+		ZipFileUtil.createZipFile(zipFile, files, null, ZipEntry.STORED, 1, null);
+		assertEntries(zipFile, files, ZipEntry.STORED);
+	}
+
+	public void testCreateZipFileStoredParallel() throws Exception {
+		List<File> files = createFiles();
+		File zipFile = new File(tempDir, "test.zip"); //$NON-NLS-1$
+		ZipFileUtil.createZipFile(zipFile, files, null, ZipEntry.STORED, 4, null);
+		assertEntries(zipFile, files, ZipEntry.STORED);
+	}
+
+	public void testCreateZipFileRootPath() throws Exception {
+		File dir = new File(tempDir, "root"); //$NON-NLS-1$
+		File file = createFile(new File(dir, "sub/file.txt"), "content".getBytes("UTF-8")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		File zipFile = new File(tempDir, "test.zip"); //$NON-NLS-1$
+		ZipFileUtil.createZipFile(zipFile, Collections.singletonList(dir), dir.getAbsolutePath(), ZipEntry.DEFLATED,
+				2, null);
+		try (ZipFile zip = new ZipFile(zipFile)) {
+			assertEquals(1, zip.size());
+			ZipEntry entry = zip.getEntry("sub/file.txt"); //$NON-NLS-1$
+			assertNotNull(entry);
+			assertEquals(file.length(), entry.getSize());
+		}
+	}
+
+	public void testCreateZipFileDuplicateEntry() throws Exception {
+		File file1 = createFile(new File(tempDir, "a/file.txt"), new byte[] { 1 }); //$NON-NLS-1$
+		File file2 = createFile(new File(tempDir, "b/file.txt"), new byte[] { 2 }); //$NON-NLS-1$
+		File zipFile = new File(tempDir, "test.zip"); //$NON-NLS-1$
+		ZipFileUtil.createZipFile(zipFile, Arrays.asList(file1, file2), null, ZipEntry.STORED, 2, null);
+		try (ZipFile zip = new ZipFile(zipFile)) {
+			assertEquals(1, zip.size());
+			assertTrue(Arrays.equals(new byte[] { 1 }, read(zip, zip.getEntry("file.txt")))); //$NON-NLS-1$
+		}
+	}
+
+	public void testUnzipFiles() throws Exception {
+		List<File> files = createFiles();
+		File zipFile = new File(tempDir, "test.zip"); //$NON-NLS-1$
+		ZipFileUtil.createZipFile(zipFile, files);
+		File destDir = new File(tempDir, "dest"); //$NON-NLS-1$
+		List<File> result = ZipFileUtil.unzipFiles(zipFile, destDir.getAbsolutePath(), null);
+		assertUnzipped(files, destDir, result);
+	}
+
+	public void testUnzipFilesParallel() throws Exception {
+		List<File> files = createFiles();
+		File zipFile = new File(tempDir, "test.zip"); //$NON-NLS-1$
+		ZipFileUtil.createZipFile(zipFile, files, null, ZipEntry.DEFLATED, 4, null);
+		File destDir = new File(tempDir, "dest"); //$NON-NLS-1$
+		List<File> result = ZipFileUtil.unzipFiles(zipFile, destDir.getAbsolutePath(), 4, null);
+		assertUnzipped(files, destDir, result);
+	}
+
+	public void testUnzipFilesOutsideOfDestination() throws Exception {
+		File zipFile = new File(tempDir, "test.zip"); //$NON-NLS-1$
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zipFile))) {
+			out.putNextEntry(new ZipEntry("../evil.txt")); //$NON-NLS-1$
+			out.write(1);
+			out.closeEntry();
+		}
+		File destDir = new File(tempDir, "dest"); //$NON-NLS-1$
+		try {
+			ZipFileUtil.unzipFiles(zipFile, destDir.getAbsolutePath(), null);
+			fail("Expected IOException"); //$NON-NLS-1$
+		} catch (IOException expected) {
+		}
+		assertFalse(new File(tempDir, "evil.txt").exists()); //$NON-NLS-1$
+	}
+
+	private void assertEntries(File zipFile, List<File> files, int method) throws IOException {
+		try (ZipFile zip = new ZipFile(zipFile)) {
+			assertEquals(files.size(), zip.size());
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			for (File file : files) {
+				ZipEntry entry = entries.nextElement();
+				assertEquals(file.getName(), entry.getName());
+				assertEquals(file.length(), entry.getSize());
+				if (method == ZipEntry.STORED) {
+					assertEquals(ZipEntry.STORED, entry.getMethod());
+				}
+				assertTrue(Arrays.equals(Files.readAllBytes(file.toPath()), read(zip, entry)));
+			}
+		}
+	}
+
+	private void assertUnzipped(List<File> files, File destDir, List<File> result) throws IOException {
+		assertEquals(files.size(), result.size());
+		for (int i = 0; i < files.size(); i++) {
+			assertEquals(new File(destDir, files.get(i).getName()), result.get(i));
+			assertTrue(Arrays.equals(Files.readAllBytes(files.get(i).toPath()),
+					Files.readAllBytes(result.get(i).toPath())));
+		}
+	}
+
+	private File createFile(File file, byte[] content) throws IOException {
+		file.getParentFile().mkdirs();
+		try (OutputStream out = new FileOutputStream(file)) {
+			out.write(content);
+		}
+		return file;
+	}
+
+	private List<File> createFiles() throws IOException {
+		Random random = new Random(1);
+		File dir = new File(tempDir, "src"); //$NON-NLS-1$
+		List<File> files = new ArrayList<File>();
+		files.add(createFile(new File(dir, "empty.txt"), new byte[0])); //$NON-NLS-1$
+		for (int i = 0; i < 10; i++) {
+			// alternate between compressible and random content
+			byte[] content = new byte[random.nextInt(200 * 1024)];
+			if (i % 2 == 0) {
+				Arrays.fill(content, (byte) ('a' + i));
+			} else {
+				random.nextBytes(content);
+			}
+			files.add(createFile(new File(dir, "file" + i + ".dat"), content)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return files;
+	}
+
+	private void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private byte[] read(ZipFile zip, ZipEntry entry) throws IOException {
+		try (InputStream in = zip.getInputStream(entry)) {
+			byte[] buffer = new byte[(int) entry.getSize()];
+			int offset = 0;
+			while (offset < buffer.length) {
+				int count = in.read(buffer, offset, buffer.length - offset);
+				if (count == -1) {
+					break;
+				}
+				offset += count;
+			}
+			assertEquals(-1, in.read());
+			return buffer;
+		}
+	}
+
+}
@@ -12,6 +12,7 @@
 
 package org.eclipse.mylyn.commons.tests.core.storage;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -184,6 +185,139 @@ public class CommonStoreTest extends TestCase {
 		}
 	}
 
+	public void testWriteReplacesAtomically() throws Exception {
+		ICommonStorable storable = store.get(Path.EMPTY);
+		writeHello(storable, "handle");
+
+		OutputStream out = storable.write("handle", null);
+		try {
+			out.write("changed".getBytes());
+			assertEquals("hello", read(storable, "handle"));
+		} finally {
+			out.close();
+		}
+		assertEquals("changed", read(storable, "handle"));
+		assertEquals(Collections.singletonList(new File(location, "handle")), Arrays.asList(location.listFiles()));
+	}
+
+	public void testWriteFailed() throws Exception {
+		ICommonStorable storable = store.get(Path.EMPTY);
+		writeHello(storable, "handle");
+
+		OutputStream out = storable.write("handle", null);
+		try {
+			out.write("changed".getBytes(), 0, 100);
+			fail("Expected IndexOutOfBoundsException");
+		} catch (IndexOutOfBoundsException expected) {
+		} finally {
+			out.close();
+		}
+		assertEquals("hello", read(storable, "handle"));
+		assertEquals(Collections.singletonList(new File(location, "handle")), Arrays.asList(location.listFiles()));
+	}
+
+	public void testWriteSync() throws Exception {
+		store.setSyncWrites(true);
+		ICommonStorable storable = store.get(Path.EMPTY);
+		writeHello(storable, "handle");
+		assertEquals("hello", read(storable, "handle"));
+	}
+
+	public void testWriteBehind() throws Exception {
+		store.setWriteBehind(true);
+		ICommonStorable storable = store.get(Path.EMPTY);
+		writeHello(storable, "handle");
+		assertTrue(storable.exists("handle"));
+		assertEquals("hello", read(storable, "handle"));
+		assertFalse(new File(location, "handle").exists());
+		assertEquals(1, store.getPendingWriteCount());
+
+		store.stop();
+		assertEquals(0, store.getPendingWriteCount());
+		assertEquals(1, store.getFlushCount());
+		assertEquals(1, store.getWriteCount());
+		assertEquals(Collections.singletonList(new File(location, "handle")), Arrays.asList(location.listFiles()));
+		assertEquals("hello", read(storable, "handle"));
+	}
+
+	public void testWriteBehindCoalesce() throws Exception {
+		store.setWriteBehind(true);
+		ICommonStorable storable = store.get(Path.EMPTY);
+		writeHello(storable, "handle");
+		OutputStream out = storable.write("handle", null);
+		try {
+			out.write("changed".getBytes());
+		} finally {
+			out.close();
+		}
+		assertEquals("changed", read(storable, "handle"));
+		assertEquals(1, store.getPendingWriteCount());
+		assertEquals(1, store.getCoalescedWriteCount());
+
+		store.stop();
+		assertEquals(1, store.getWriteCount());
+		assertEquals("changed", read(storable, "handle"));
+	}
+
+	public void testWriteBehindDelete() throws Exception {
+		store.setWriteBehind(true);
+		ICommonStorable storable = store.get(Path.EMPTY);
+		writeHello(storable, "handle");
+		storable.delete("handle");
+		assertFalse(storable.exists("handle"));
+		assertEquals(0, store.getPendingWriteCount());
+
+		store.stop();
+		assertFalse(storable.exists("handle"));
+	}
+
+	public void testWriteBehindFailed() throws Exception {
+		store.setWriteBehind(true);
+		ICommonStorable storable = store.get(Path.EMPTY);
+		writeHello(storable, "handle");
+		// a non-empty directory can not be replaced by a file
+		File directory = new File(location, "handle");
+		new File(directory, "child").mkdirs();
+
+		store.stop();
+		assertEquals(1, store.getPendingWriteCount());
+		assertEquals(0, store.getWriteCount());
+		assertEquals("hello", read(storable, "handle"));
+		assertEquals(Collections.singletonList(directory), Arrays.asList(location.listFiles()));
+
+		CommonTestUtil.deleteFolderRecursively(directory);
+		store.stop();
+		assertEquals(0, store.getPendingWriteCount());
+		assertEquals(1, store.getWriteCount());
+		assertEquals("hello", read(storable, "handle"));
+		assertTrue(new File(location, "handle").isFile());
+	}
+
+	public void testWriteBehindMove() throws Exception {
+		store.setWriteBehind(true);
+		ICommonStorable storable = store.get(new Path("source"));
+		writeHello(storable, "handle");
+		store.move(new Path("source"), new Path("target"));
+		assertEquals(0, store.getPendingWriteCount());
+		File targetFile = new File(location, "target");
+		assertEquals(Collections.singletonList(new File(targetFile, "handle")), Arrays.asList(targetFile.listFiles()));
+	}
+
+	private String read(ICommonStorable storable, String handle) throws IOException, CoreException {
+		InputStream in = storable.read(handle, null);
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				out.write(buffer, 0, len);
+			}
+			return out.toString();
+		} finally {
+			in.close();
+		}
+	}
+
 	private void writeHello(ICommonStorable storable, String handle) throws IOException, CoreException {
 		OutputStream out = storable.write(handle, null);
 		try {
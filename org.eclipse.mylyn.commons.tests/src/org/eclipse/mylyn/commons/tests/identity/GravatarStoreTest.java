@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.identity;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.sdk.util.MockServer;
+import org.eclipse.mylyn.commons.sdk.util.MockServer.Message;
+import org.eclipse.mylyn.internal.commons.identity.core.gravatar.Gravatar;
+import org.eclipse.mylyn.internal.commons.identity.core.gravatar.GravatarStore;
+
+/**
+ * @author agent
+ */
+public class GravatarStoreTest extends TestCase {
+
+	private static final String HASH_1 = "0123456789abcdef0123456789abcdef"; //$NON-NLS-1$
+
+	private static final String HASH_2 = "fedcba9876543210fedcba9876543210"; //$NON-NLS-1$
+
+	private static final String HASH_3 = "00112233445566778899aabbccddeeff"; //$NON-NLS-1$
+
+	private File directory;
+
+	private MockServer server;
+
+	private GravatarStore store;
+
+	@Override
+	protected void setUp() throws Exception {
+		server = new MockServer();
+		server.startAndWait();
+		store = new GravatarStore(server.getUrl());
+		store.setCacheEnabled(true);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		server.stop();
+		if (directory != null) {
+			File[] files = directory.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					file.delete();
+				}
+			}
+			directory.delete();
+		}
+	}
+
+	public void testGetGravatarByHash() throws Exception {
+		server.addResponse(createResponse("image")); //$NON-NLS-1$
+		Gravatar gravatar = store.loadGravatarByHash(HASH_1, 80, null);
+		assertEquals("image", getText(gravatar)); //$NON-NLS-1$
+		assertTrue(server.getRequest().request.contains(HASH_1 + "?d=404&s=80")); //$NON-NLS-1$
+
+		assertTrue(store.containsGravatar(HASH_1));
+		assertSame(gravatar, store.getGravatarByHash(HASH_1));
+		assertFalse(store.containsGravatar(HASH_2));
+		assertNull(store.getGravatarByHash(HASH_2));
+		assertNull(store.getGravatarByHash(null));
+	}
+
+	public void testLoadGravatarByHashCached() throws Exception {
+		server.addResponse(createResponse("image")); //$NON-NLS-1$
+		Gravatar gravatar = store.loadGravatarByHash(HASH_1, 80, null);
+		server.getRequest();
+
+		assertSame(gravatar, store.loadGravatarByHash(HASH_1, 80, null));
+		assertFalse("Expected gravatar from cache", server.hasRequest()); //$NON-NLS-1$
+	}
+
+	public void testLoadGravatarByHashNotFound() throws Exception {
+		server.addResponse(MockServer.NOT_FOUND);
+		assertNull(store.loadGravatarByHash(HASH_1, 80, null));
+		assertFalse(store.containsGravatar(HASH_1));
+	}
+
+	public void testLoadGravatarByHashExpired() throws Exception {
+		store.setMaxAge(0);
+		server.addResponse(createResponse("image", "ETag: \"1\"")); //$NON-NLS-1$ //$NON-NLS-2$
+		Gravatar gravatar = store.loadGravatarByHash(HASH_1, 80, null);
+		server.getRequest();
+
+		server.addResponse(createEmptyResponse("HTTP/1.1 304 Not Modified")); //$NON-NLS-1$
+		Gravatar revalidated = store.loadGravatarByHash(HASH_1, 80, null);
+		assertEquals("\"1\"", server.getRequest().getHeaderValue("If-None-Match")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotSame(gravatar, revalidated);
+		assertEquals("image", getText(revalidated)); //$NON-NLS-1$
+		assertSame(revalidated, store.getGravatarByHash(HASH_1));
+	}
+
+	public void testMemoryCacheEviction() throws Exception {
+		store.setMaxCacheSize(2);
+		server.addResponse(createResponse("image1")); //$NON-NLS-1$
+		server.addResponse(createResponse("image2")); //$NON-NLS-1$
+		server.addResponse(createResponse("image3")); //$NON-NLS-1$
+		store.loadGravatarByHash(HASH_1, 80, null);
+		store.loadGravatarByHash(HASH_2, 80, null);
+		// access the first gravatar to make the second the least recently used
+		store.getGravatarByHash(HASH_1);
+		store.loadGravatarByHash(HASH_3, 80, null);
+
+		assertTrue(store.containsGravatar(HASH_1));
+		assertFalse(store.containsGravatar(HASH_2));
+		assertTrue(store.containsGravatar(HASH_3));
+	}
+
+	public void testDiskCache() throws Exception {
+		store.setCacheDirectory(createDirectory());
+		server.addResponse(createResponse("image")); //$NON-NLS-1$
+		store.loadGravatarByHash(HASH_1, 80, null);
+		server.getRequest();
+
+		GravatarStore newStore = new GravatarStore(server.getUrl());
+		newStore.setCacheEnabled(true);
+		newStore.setCacheDirectory(directory);
+		Gravatar gravatar = newStore.loadGravatarByHash(HASH_1, 80, null);
+		assertEquals("image", getText(gravatar)); //$NON-NLS-1$
+		assertFalse("Expected gravatar from disk", server.hasRequest()); //$NON-NLS-1$
+		assertTrue(newStore.containsGravatar(HASH_1));
+	}
+
+	public void testDiskCacheEviction() throws Exception {
+		store.setCacheDirectory(createDirectory());
+		server.addResponse(createResponse("image1")); //$NON-NLS-1$
+		store.loadGravatarByHash(HASH_1, 80, null);
+		long entrySize = getDirectorySize();
+		assertTrue(entrySize > 0);
+
+		// room for one entry only
+		store.setMaxDiskCacheSize(entrySize + entrySize / 2);
+		new File(directory, HASH_1 + "_80.img").setLastModified(System.currentTimeMillis() - 60 * 1000); //$NON-NLS-1$
+		server.addResponse(createResponse("image2")); //$NON-NLS-1$
+		store.loadGravatarByHash(HASH_2, 80, null);
+
+		assertFalse(new File(directory, HASH_1 + "_80.properties").exists()); //$NON-NLS-1$
+		assertFalse(new File(directory, HASH_1 + "_80.img").exists()); //$NON-NLS-1$
+		assertTrue(new File(directory, HASH_2 + "_80.properties").exists()); //$NON-NLS-1$
+		assertTrue(getDirectorySize() <= store.getMaxDiskCacheSize());
+	}
+
+	public void testRefresh() throws Exception {
+		store.setCacheDirectory(createDirectory());
+		server.addResponse(createResponse("image", "ETag: \"1\"")); //$NON-NLS-1$ //$NON-NLS-2$
+		store.loadGravatarByHash(HASH_1, 80, null);
+		server.getRequest();
+
+		store.setMaxAge(0);
+		server.addResponse(createResponse("image2")); //$NON-NLS-1$
+		store.refresh(null);
+		assertTrue(server.getRequest().request.contains(HASH_1 + "?d=404&s=80")); //$NON-NLS-1$
+		assertEquals("image2", getText(store.getGravatarByHash(HASH_1))); //$NON-NLS-1$
+	}
+
+	private File createDirectory() throws Exception {
+		directory = Files.createTempDirectory(GravatarStoreTest.class.getSimpleName()).toFile();
+		return directory;
+	}
+
+	private Message createEmptyResponse(String status) {
+		return new Message(status + "\n" + MockServer.HEADER_NO_CONTENT + "\n" + MockServer.HEADER_CONNECTION_CLOSE); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private Message createResponse(String body, String... headers) {
+		StringBuilder sb = new StringBuilder("HTTP/1.1 200 OK\n"); //$NON-NLS-1$
+		for (String header : headers) {
+			sb.append(header);
+			sb.append("\n"); //$NON-NLS-1$
+		}
+		sb.append("Content-Length: " + body.length() + "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		sb.append(MockServer.HEADER_CONNECTION_CLOSE);
+		sb.append("\n\n"); //$NON-NLS-1$
+		sb.append(body);
+		return new Message(sb.toString());
+	}
+
+	private String getText(Gravatar gravatar) throws Exception {
+		// MockServer terminates each message with an empty line that is read as part of the body
+		return new String(gravatar.getBytes(), "US-ASCII").trim(); //$NON-NLS-1$
+	}
+
+	private long getDirectorySize() {
+		long size = 0;
+		for (File file : directory.listFiles()) {
+			size += file.length();
+		}
+		return size;
+	}
+
+}
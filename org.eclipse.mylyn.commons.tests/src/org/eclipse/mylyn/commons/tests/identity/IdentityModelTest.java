@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.identity;
+
+import java.util.UUID;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.identity.core.Account;
+import org.eclipse.mylyn.commons.identity.core.IIdentity;
+import org.eclipse.mylyn.internal.commons.identity.core.IdentityModel;
+
+/**
+ * @author agent
+ */
+public class IdentityModelTest extends TestCase {
+
+	private IdentityModel model;
+
+	@Override
+	protected void setUp() throws Exception {
+		model = new IdentityModel();
+	}
+
+	public void testGetIdentity() {
+		IIdentity identity = model.getIdentity(Account.id("user@mylyn.org")); //$NON-NLS-1$
+		assertSame(identity, model.getIdentity(Account.id("user@mylyn.org"))); //$NON-NLS-1$
+		assertTrue(identity != model.getIdentity(Account.id("other@mylyn.org"))); //$NON-NLS-1$
+		assertEquals(2, model.getIdentities().length);
+	}
+
+	public void testGetIdentityAddRemoveAccount() {
+		Account account = Account.id("user@mylyn.org"); //$NON-NLS-1$
+		Account alias = Account.id("user").kind("bugzilla"); //$NON-NLS-1$ //$NON-NLS-2$
+		IIdentity identity = model.getIdentity(account);
+		identity.addAccount(alias);
+		assertSame(identity, model.getIdentity(alias));
+		assertEquals(1, model.getIdentities().length);
+
+		identity.removeAccount(alias);
+		IIdentity aliasIdentity = model.getIdentity(alias);
+		assertTrue(identity != aliasIdentity);
+		assertSame(identity, model.getIdentity(account));
+		assertEquals(2, model.getIdentities().length);
+	}
+
+	public void testGetIdentityCollected() throws Exception {
+		Account account = Account.id("user@mylyn.org"); //$NON-NLS-1$
+		UUID id = model.getIdentity(account).getId();
+		// the model only holds weak references to identities
+		for (int i = 0; i < 50 && model.getIdentities().length > 0; i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		assertEquals(0, model.getIdentities().length);
+
+		IIdentity identity = model.getIdentity(account);
+		assertFalse(id.equals(identity.getId()));
+		assertSame(identity, model.getIdentity(account));
+		assertEquals(1, model.getIdentities().length);
+	}
+
+}
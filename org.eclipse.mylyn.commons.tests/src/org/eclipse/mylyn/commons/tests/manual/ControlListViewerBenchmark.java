@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.manual;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.mylyn.commons.ui.ControlListItem;
+import org.eclipse.mylyn.commons.ui.ControlListViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTError;
+import org.eclipse.swt.custom.ScrolledComposite;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Measures the time to populate a {@link ControlListViewer} and the number of widgets it creates with and without the
+ * {@link SWT#VIRTUAL} style, and the time to scroll through the list page by page. The viewer is created in a shell
+ * that is never opened, on Linux the benchmark can be run headless with Xvfb. Pass a comma separated list of list
+ * sizes as argument (default 1000,10000).
+ *
+ * @author agent
+ */
+public class ControlListViewerBenchmark {
+
+	private static class SampleItem extends ControlListItem {
+
+		private Label descriptionLabel;
+
+		private Label titleLabel;
+
+		public SampleItem(Composite parent, Object element) {
+			super(parent, SWT.NONE, element);
+		}
+
+		@Override
+		protected void createContent() {
+			GridLayout layout = new GridLayout(2, false);
+			setLayout(layout);
+
+			Label iconLabel = new Label(this, SWT.NONE);
+			iconLabel.setText("*"); //$NON-NLS-1$
+			iconLabel.setLayoutData(new GridData(SWT.CENTER, SWT.TOP, false, false, 1, 2));
+
+			titleLabel = new Label(this, SWT.NONE);
+			titleLabel.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+
+			descriptionLabel = new Label(this, SWT.NONE);
+			descriptionLabel.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+		}
+
+		@Override
+		protected void refresh() {
+			titleLabel.setText("Item " + getData()); //$NON-NLS-1$
+			descriptionLabel.setText("Description of item " + getData()); //$NON-NLS-1$
+		}
+
+	}
+
+	private static class SampleViewer extends ControlListViewer {
+
+		public SampleViewer(Composite parent, int style) {
+			super(parent, style);
+		}
+
+		@Override
+		protected ControlListItem doCreateItem(Composite parent, Object element) {
+			return new SampleItem(parent, element);
+		}
+
+	}
+
+	private static final int WARMUP_SIZE = 200;
+
+	public static void main(String[] args) {
+		String sizes = (args.length > 0) ? args[0] : "1000,10000"; //$NON-NLS-1$
+		Display display = new Display();
+		try {
+			run(display, WARMUP_SIZE, false, false);
+			run(display, WARMUP_SIZE, true, false);
+			for (String size : sizes.split(",")) { //$NON-NLS-1$
+				System.out.println(size.trim() + " items"); //$NON-NLS-1$
+				run(display, Integer.parseInt(size.trim()), false, true);
+				run(display, Integer.parseInt(size.trim()), true, true);
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static int countControls(Control control) {
+		int count = 1;
+		if (control instanceof Composite) {
+			for (Control child : ((Composite) control).getChildren()) {
+				count += countControls(child);
+			}
+		}
+		return count;
+	}
+
+	private static void run(Display display, int size, boolean virtual, boolean print) {
+		Integer[] elements = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			elements[i] = i;
+		}
+
+		Shell shell = new Shell(display);
+		try {
+			shell.setLayout(new FillLayout());
+			shell.setSize(500, 800);
+			SampleViewer viewer = new SampleViewer(shell, SWT.V_SCROLL | (virtual ? SWT.VIRTUAL : SWT.NONE));
+			viewer.setContentProvider(ArrayContentProvider.getInstance());
+			shell.layout();
+
+			long start = System.nanoTime();
+			viewer.setInput(elements);
+			long creationTime = System.nanoTime() - start;
+			int controls = countControls(viewer.getControl());
+
+			ScrolledComposite scrolled = viewer.getControl();
+			int height = scrolled.getContent().getSize().y;
+			int pageHeight = Math.max(1, scrolled.getClientArea().height);
+			int pages = 0;
+			start = System.nanoTime();
+			for (int y = 0; y < height; y += pageHeight) {
+				scrolled.setOrigin(0, y);
+				pages++;
+			}
+			long scrollTime = System.nanoTime() - start;
+			int controlsAfterScroll = countControls(viewer.getControl());
+
+			start = System.nanoTime();
+			viewer.setSelection(new StructuredSelection(elements[size / 2]), true);
+			long revealTime = System.nanoTime() - start;
+
+			if (print) {
+				System.out.println(String.format("  %s: create %.1f ms, %d controls; scroll %d pages %.1f ms " //$NON-NLS-1$
+						+ "(%.2f ms/page), %d controls; reveal %.1f ms", //$NON-NLS-1$
+						virtual ? "virtual" : "default", creationTime / 1e6, controls, pages, scrollTime / 1e6, //$NON-NLS-1$ //$NON-NLS-2$
+						scrollTime / 1e6 / Math.max(1, pages), controlsAfterScroll, revealTime / 1e6));
+			}
+		} catch (SWTError e) {
+			// creating an item for each element may exhaust the handle limit on some platforms
+			System.out.println(String.format("  %s: failed: %s", virtual ? "virtual" : "default", e.getMessage())); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		} finally {
+			shell.dispose();
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.manual;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.mylyn.commons.core.HtmlStreamTokenizer;
+import org.eclipse.mylyn.commons.core.HtmlStreamTokenizer.Token;
+
+/**
+ * Compares the token based and the cursor based API of {@link HtmlStreamTokenizer}. Pass HTML files, e.g. saved issue
+ * pages, as arguments to benchmark a corpus of real pages; otherwise a synthetic page is used.
+ *
+ * @author agent
+ */
+public class HtmlStreamTokenizerBenchmark {
+
+	private static final int ITERATIONS = 50;
+
+	private static final int WARMUP_ITERATIONS = 20;
+
+	public static void main(String[] args) throws Exception {
+		List<String> pages = new ArrayList<String>();
+		for (String arg : args) {
+			pages.add(new String(Files.readAllBytes(new File(arg).toPath()), StandardCharsets.UTF_8));
+		}
+		if (pages.isEmpty()) {
+			pages.add(createPage(20000));
+		}
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			runTokens(pages);
+			runCursor(pages);
+		}
+
+		long start = System.nanoTime();
+		long count = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			count += runTokens(pages);
+		}
+		report("nextToken()", start, count);
+
+		start = System.nanoTime();
+		count = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			count += runCursor(pages);
+		}
+		report("next()", start, count);
+	}
+
+	private static String createPage(int rows) {
+		StringBuilder sb = new StringBuilder("<html><head><title>Bug 1</title></head><body><table>\n"); //$NON-NLS-1$
+		for (int i = 0; i < rows; i++) {
+			sb.append("<tr class=\"row\" id='r").append(i).append("'><td><a href=\"show_bug.cgi?id=").append(i); //$NON-NLS-1$ //$NON-NLS-2$
+			sb.append("\">Summary &amp; description of issue ").append(i).append("</a></td>\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			sb.append("<!-- comment --><td>  some   text with\twhitespace</td></tr>\n"); //$NON-NLS-1$
+		}
+		sb.append("</table></body></html>"); //$NON-NLS-1$
+		return sb.toString();
+	}
+
+	private static void report(String label, long start, long count) {
+		long millis = (System.nanoTime() - start) / 1000000;
+		System.out.println(label + ": " + (millis / ITERATIONS) + " ms/iteration, " + (count / ITERATIONS) //$NON-NLS-1$ //$NON-NLS-2$
+				+ " tokens"); //$NON-NLS-1$
+	}
+
+	private static long runCursor(List<String> pages) throws IOException, ParseException {
+		long count = 0;
+		for (String page : pages) {
+			HtmlStreamTokenizer tokenizer = new HtmlStreamTokenizer(new StringReader(page), null);
+			while (tokenizer.next()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static long runTokens(List<String> pages) throws IOException, ParseException {
+		long count = 0;
+		for (String page : pages) {
+			HtmlStreamTokenizer tokenizer = new HtmlStreamTokenizer(new StringReader(page), null);
+			for (Token token = tokenizer.nextToken(); token.getType() != Token.EOF; token = tokenizer.nextToken()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+}
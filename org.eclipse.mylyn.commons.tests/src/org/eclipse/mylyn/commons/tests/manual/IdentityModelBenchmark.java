@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.manual;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.mylyn.commons.identity.core.Account;
+import org.eclipse.mylyn.commons.identity.core.IIdentity;
+import org.eclipse.mylyn.internal.commons.identity.core.IdentityModel;
+
+/**
+ * Measures the time of {@link IdentityModel#getIdentity(Account)} for existing identities from one and from several
+ * threads. Pass a comma separated list of identity counts as argument (default 1000,10000,100000).
+ *
+ * @author agent
+ */
+public class IdentityModelBenchmark {
+
+	private static final int LOOKUPS = 1000000;
+
+	private static final int THREADS = 4;
+
+	public static void main(String[] args) throws Exception {
+		String sizes = (args.length > 0) ? args[0] : "1000,10000,100000"; //$NON-NLS-1$
+		run(1000, false);
+		for (String size : sizes.split(",")) { //$NON-NLS-1$
+			run(Integer.parseInt(size.trim()), true);
+		}
+	}
+
+	private static void run(int size, boolean print) throws Exception {
+		final IdentityModel model = new IdentityModel();
+		final Account[] accounts = new Account[size];
+		// keep identities reachable, the model only references them weakly
+		List<IIdentity> identities = new ArrayList<IIdentity>(size);
+		for (int i = 0; i < size; i++) {
+			accounts[i] = Account.id("user" + i + "@mylyn.org"); //$NON-NLS-1$ //$NON-NLS-2$
+			identities.add(model.getIdentity(accounts[i]));
+		}
+
+		long start = System.nanoTime();
+		lookup(model, accounts, 0, LOOKUPS);
+		long singleTime = System.nanoTime() - start;
+
+		Thread[] threads = new Thread[THREADS];
+		for (int i = 0; i < threads.length; i++) {
+			final int offset = i;
+			threads[i] = new Thread(new Runnable() {
+				public void run() {
+					lookup(model, accounts, offset, LOOKUPS / THREADS);
+				}
+			});
+		}
+		start = System.nanoTime();
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		long concurrentTime = System.nanoTime() - start;
+
+		if (print) {
+			System.out.println(String.format("%d identities: %.3f us/lookup, %d threads %.3f us/lookup", size, //$NON-NLS-1$
+					singleTime / 1e3 / LOOKUPS, THREADS, concurrentTime / 1e3 / LOOKUPS));
+		}
+		if (model.getIdentities().length != identities.size()) {
+			throw new IllegalStateException("Unexpected number of identities"); //$NON-NLS-1$
+		}
+	}
+
+	private static void lookup(IdentityModel model, Account[] accounts, int offset, int count) {
+		for (int i = 0; i < count; i++) {
+			// use equal accounts instead of the same instances as clients do
+			Account account = accounts[(offset + i * 31) % accounts.length];
+			if (model.getIdentity(Account.id(account.getId())) == null) {
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+}
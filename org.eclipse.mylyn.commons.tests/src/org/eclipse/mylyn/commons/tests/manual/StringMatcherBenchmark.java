@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.manual;
+
+import java.util.Random;
+
+import org.eclipse.mylyn.internal.commons.workbench.CompiledStringMatcher;
+import org.eclipse.mylyn.internal.commons.workbench.StringMatcher;
+import org.eclipse.mylyn.internal.commons.workbench.StringMatcher.Position;
+
+/**
+ * Compares {@link StringMatcher} and {@link CompiledStringMatcher} when filtering and highlighting the labels of a
+ * large table, i.e. the work done per row on each repaint. Pass the number of labels as argument (default 100000).
+ *
+ * @author agent
+ */
+public class StringMatcherBenchmark {
+
+	private static final int ITERATIONS = 10;
+
+	private static final String[] PATTERNS = { "*task*", "*synchronize*", "*a?c*", "*edit*crash*", "*zzz*" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+	private static final String[] WORDS = { "editor", "crash", "slow", "repository", "query", "synchronize", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			"attachment", "comment", "context", "review", "Task", "abc" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+
+	private static final int WARMUP_ITERATIONS = 5;
+
+	/**
+	 * Consumes results to prevent the benchmarked code from being optimized away.
+	 */
+	private static long sink;
+
+	public static void main(String[] args) {
+		int size = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+		Random random = new Random(1);
+		String[] labels = new String[size];
+		for (int i = 0; i < size; i++) {
+			StringBuilder sb = new StringBuilder();
+			int words = 3 + random.nextInt(8);
+			for (int j = 0; j < words; j++) {
+				sb.append(WORDS[random.nextInt(WORDS.length)]);
+				sb.append(' ');
+			}
+			sb.append(i);
+			labels[i] = sb.toString();
+		}
+
+		System.out.println(size + " labels"); //$NON-NLS-1$
+		for (String pattern : PATTERNS) {
+			StringMatcher matcher = new StringMatcher(pattern, true, false);
+			CompiledStringMatcher compiledMatcher = new CompiledStringMatcher(pattern, true, false);
+			for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+				match(matcher, labels);
+				match(compiledMatcher, labels);
+				highlight(matcher, labels);
+				highlight(compiledMatcher, labels);
+			}
+
+			long matchTime = 0;
+			long compiledMatchTime = 0;
+			long highlightTime = 0;
+			long compiledHighlightTime = 0;
+			for (int i = 0; i < ITERATIONS; i++) {
+				long start = System.nanoTime();
+				int matches = match(matcher, labels);
+				matchTime += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				int compiledMatches = match(compiledMatcher, labels);
+				compiledMatchTime += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				int ranges = highlight(matcher, labels);
+				highlightTime += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				int compiledRanges = highlight(compiledMatcher, labels);
+				compiledHighlightTime += System.nanoTime() - start;
+
+				if (matches != compiledMatches || ranges != compiledRanges) {
+					throw new IllegalStateException("Results differ for " + pattern); //$NON-NLS-1$
+				}
+				sink += matches + ranges;
+			}
+			System.out.println(String.format("  '%s': match %.2f ms, compiled %.2f ms; " //$NON-NLS-1$
+					+ "highlight %.2f ms, compiled %.2f ms", pattern, matchTime / 1e6 / ITERATIONS, //$NON-NLS-1$
+					compiledMatchTime / 1e6 / ITERATIONS, highlightTime / 1e6 / ITERATIONS,
+					compiledHighlightTime / 1e6 / ITERATIONS));
+		}
+		if (sink == 0) {
+			System.out.println("No matches"); //$NON-NLS-1$
+		}
+	}
+
+	private static int highlight(CompiledStringMatcher matcher, String[] labels) {
+		int[] range = new int[2];
+		int count = 0;
+		for (String label : labels) {
+			int start = 0;
+			int length = label.length();
+			while (matcher.find(label, start, length, range)) {
+				count += range[1] - range[0];
+				start = range[1];
+			}
+		}
+		return count;
+	}
+
+	private static int highlight(StringMatcher matcher, String[] labels) {
+		int count = 0;
+		for (String label : labels) {
+			int start = 0;
+			int length = label.length();
+			Position position = matcher.find(label, start, length);
+			while (position != null) {
+				count += position.getEnd() - position.getStart();
+				start = position.getEnd();
+				position = matcher.find(label, start, length);
+			}
+		}
+		return count;
+	}
+
+	private static int match(CompiledStringMatcher matcher, String[] labels) {
+		int count = 0;
+		for (String label : labels) {
+			if (matcher.match(label)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static int match(StringMatcher matcher, String[] labels) {
+		int count = 0;
+		for (String label : labels) {
+			if (matcher.match(label)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.manual;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.mylyn.commons.core.io.TimeoutInputStream;
+import org.eclipse.mylyn.commons.core.io.TimeoutOutputStream;
+
+/**
+ * Measures the throughput of many concurrent timeout streams. Compares the implementation in
+ * <code>org.eclipse.mylyn.commons.core.io</code> against the original implementation in
+ * <code>org.eclipse.mylyn.internal.commons.net</code>.
+ *
+ * @author agent
+ */
+public class TimeoutStreamBenchmark {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final int CONCURRENT_STREAMS = 64;
+
+	private static final int ITERATIONS = 5;
+
+	private static final int STREAM_SIZE = 4 * 1024 * 1024;
+
+	private interface StreamFactory {
+
+		InputStream createInputStream(InputStream in);
+
+		OutputStream createOutputStream(OutputStream out);
+
+	}
+
+	private static final StreamFactory CORE = new StreamFactory() {
+		public InputStream createInputStream(InputStream in) {
+			return new TimeoutInputStream(in, BUFFER_SIZE, 10000, 10000);
+		}
+
+		public OutputStream createOutputStream(OutputStream out) {
+			return new TimeoutOutputStream(out, BUFFER_SIZE, 10000, 10000);
+		}
+	};
+
+	private static final StreamFactory NET = new StreamFactory() {
+		public InputStream createInputStream(InputStream in) {
+			return new org.eclipse.mylyn.internal.commons.net.TimeoutInputStream(in, BUFFER_SIZE, 10000, 10000);
+		}
+
+		public OutputStream createOutputStream(OutputStream out) {
+			return new org.eclipse.mylyn.internal.commons.net.TimeoutOutputStream(out, BUFFER_SIZE, 10000, 10000);
+		}
+	};
+
+	public static void main(String[] args) throws Exception {
+		byte[] data = new byte[STREAM_SIZE];
+		ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_STREAMS);
+		try {
+			for (int i = 0; i < 2; i++) {
+				run(executor, NET, data);
+				run(executor, CORE, data);
+			}
+			report("commons.net", executor, NET, data); //$NON-NLS-1$
+			report("commons.core", executor, CORE, data); //$NON-NLS-1$
+		} finally {
+			executor.shutdown();
+		}
+		// the shared request pool that backs the original streams does not use daemon threads
+		System.exit(0);
+	}
+
+	private static void report(String label, ExecutorService executor, StreamFactory factory, byte[] data)
+			throws Exception {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		threads.resetPeakThreadCount();
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			run(executor, factory, data);
+		}
+		long millis = Math.max(1, (System.nanoTime() - start) / 1000000);
+		long megabytes = (long) ITERATIONS * CONCURRENT_STREAMS * 2 * STREAM_SIZE / (1024 * 1024);
+		System.out.println(label + ": " + (megabytes * 1000 / millis) + " MB/s, " + threads.getPeakThreadCount() //$NON-NLS-1$ //$NON-NLS-2$
+				+ " peak threads"); //$NON-NLS-1$
+	}
+
+	private static void run(ExecutorService executor, final StreamFactory factory, final byte[] data)
+			throws Exception {
+		List<Future<Long>> futures = new ArrayList<Future<Long>>();
+		for (int i = 0; i < CONCURRENT_STREAMS; i++) {
+			futures.add(executor.submit(new Callable<Long>() {
+				public Long call() throws Exception {
+					return transfer(factory, data);
+				}
+			}));
+		}
+		for (Future<Long> future : futures) {
+			if (future.get() != 2L * data.length) {
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+	private static long transfer(StreamFactory factory, byte[] data) throws IOException {
+		long count = 0;
+		byte[] buffer = new byte[BUFFER_SIZE];
+		InputStream in = factory.createInputStream(new ByteArrayInputStream(data));
+		try {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				count += read;
+			}
+		} finally {
+			in.close();
+		}
+		OutputStream out = factory.createOutputStream(new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+			}
+		});
+		try {
+			for (int off = 0; off < data.length; off += BUFFER_SIZE) {
+				int len = Math.min(BUFFER_SIZE, data.length - off);
+				out.write(data, off, len);
+				count += len;
+			}
+		} finally {
+			out.close();
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.manual;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.jface.viewers.ILabelProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.mylyn.commons.workbench.TreeFilterEngine;
+import org.eclipse.mylyn.commons.workbench.TreeFilterEngine.Result;
+import org.eclipse.mylyn.internal.commons.workbench.StringMatcher;
+
+/**
+ * Simulates typing a filter text into a filtered tree and compares the time per keystroke of a recursive evaluation
+ * that corresponds to the pattern filter with {@link TreeFilterEngine}. Pass a comma separated list of tree sizes as
+ * argument (default 10000,50000,100000,500000).
+ *
+ * @author agent
+ */
+public class TreeFilterEngineBenchmark {
+
+	private static final String[] KEYSTROKES = { "t", "ta", "tas", "task", "task 1", "task 12", "task 123" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+
+	private static final String[] WORDS = { "editor", "crash", "slow", "repository", "query", "synchronize", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			"attachment", "comment", "context", "review" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	private static final int WARMUP_ITERATIONS = 3;
+
+	private static class Node {
+
+		private final List<Node> children = new ArrayList<Node>();
+
+		private final String label;
+
+		public Node(String label) {
+			this.label = label;
+		}
+
+		@Override
+		public String toString() {
+			return label;
+		}
+
+	}
+
+	private static class NodeContentProvider implements ITreeContentProvider {
+
+		public void dispose() {
+		}
+
+		public Object[] getChildren(Object parentElement) {
+			return ((Node) parentElement).children.toArray();
+		}
+
+		public Object[] getElements(Object inputElement) {
+			return ((Node) inputElement).children.toArray();
+		}
+
+		public Object getParent(Object element) {
+			return null;
+		}
+
+		public boolean hasChildren(Object element) {
+			return !((Node) element).children.isEmpty();
+		}
+
+		public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		}
+
+	}
+
+	public static void main(String[] args) throws Exception {
+		String sizes = (args.length > 0) ? args[0] : "10000,50000,100000,500000"; //$NON-NLS-1$
+		for (String size : sizes.split(",")) { //$NON-NLS-1$
+			run(Integer.parseInt(size.trim()));
+		}
+	}
+
+	private static Node createTree(int size) {
+		Random random = new Random(1);
+		Node input = new Node("input"); //$NON-NLS-1$
+		int categoryCount = Math.max(10, size / 1000);
+		List<Node> categories = new ArrayList<Node>();
+		for (int i = 0; i < categoryCount; i++) {
+			Node category = new Node("Category " + i); //$NON-NLS-1$
+			input.children.add(category);
+			categories.add(category);
+		}
+		int count = categoryCount;
+		Node parent = null;
+		for (int i = 0; count < size; i++, count++) {
+			Node task = new Node("Task " + i + " " + WORDS[random.nextInt(WORDS.length)] + " " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ WORDS[random.nextInt(WORDS.length)]);
+			// every tenth task may have subtasks
+			if (parent != null && i % 10 != 0 && random.nextInt(3) == 0) {
+				parent.children.add(task);
+			} else {
+				categories.get(random.nextInt(categoryCount)).children.add(task);
+				parent = (i % 10 == 0) ? task : parent;
+			}
+		}
+		return input;
+	}
+
+	private static boolean isElementVisible(StringMatcher matcher, Node node, int[] counter) {
+		counter[0]++;
+		if (matcher.match(node.label)) {
+			return true;
+		}
+		for (Node child : node.children) {
+			if (isElementVisible(matcher, child, counter)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int patternFilter(Node input, String pattern, int[] counter) {
+		StringMatcher matcher = new StringMatcher("*" + pattern + "*", true, false); //$NON-NLS-1$ //$NON-NLS-2$
+		return visit(matcher, input.children, counter);
+	}
+
+	private static void run(int size) {
+		final Node input = createTree(size);
+		ILabelProvider labelProvider = new LabelProvider();
+		System.out.println("Tree with " + size + " nodes"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			TreeFilterEngine engine = new TreeFilterEngine(new NodeContentProvider(), labelProvider);
+			engine.setInput(input);
+			for (String pattern : KEYSTROKES) {
+				engine.compute(pattern, null);
+				patternFilter(input, pattern, new int[1]);
+			}
+		}
+
+		TreeFilterEngine engine = new TreeFilterEngine(new NodeContentProvider(), labelProvider);
+		engine.setInput(input);
+		long start = System.nanoTime();
+		engine.compute("", null); //$NON-NLS-1$
+		System.out.println("  snapshot: " + (System.nanoTime() - start) / 1000000 + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		Map<String, Long> totals = new HashMap<String, Long>();
+		for (String pattern : KEYSTROKES) {
+			int[] counter = new int[1];
+			start = System.nanoTime();
+			int visible = patternFilter(input, pattern, counter);
+			long patternFilterTime = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			Result result = engine.compute(pattern, null);
+			long engineTime = System.nanoTime() - start;
+
+			System.out.println(String.format("  '%s': pattern filter %.1f ms (%d tests), engine %.1f ms (%s), " //$NON-NLS-1$
+					+ "%d visible", pattern, patternFilterTime / 1e6, counter[0], engineTime / 1e6, //$NON-NLS-1$
+					result.isNarrowed() ? "narrowed" : "full scan", visible)); //$NON-NLS-1$ //$NON-NLS-2$
+			if (visible != result.getVisibleCount()) {
+				throw new IllegalStateException("Expected " + visible + " visible elements, got " //$NON-NLS-1$ //$NON-NLS-2$
+						+ result.getVisibleCount());
+			}
+			add(totals, "pattern filter", patternFilterTime); //$NON-NLS-1$
+			add(totals, "engine", engineTime); //$NON-NLS-1$
+		}
+		System.out.println(String.format("  total: pattern filter %.1f ms, engine %.1f ms", //$NON-NLS-1$
+				totals.get("pattern filter") / 1e6, totals.get("engine") / 1e6)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static void add(Map<String, Long> totals, String key, long time) {
+		Long total = totals.get(key);
+		totals.put(key, (total != null) ? total + time : time);
+	}
+
+	/**
+	 * Counts the visible nodes the way a viewer with a pattern filter does: each element that is revealed tests its
+	 * subtree for a match.
+	 */
+	private static int visit(StringMatcher matcher, List<Node> nodes, int[] counter) {
+		int visible = 0;
+		for (Node node : nodes) {
+			if (isElementVisible(matcher, node, counter)) {
+				visible++;
+				visible += visit(matcher, node.children, counter);
+			}
+		}
+		return visible;
+	}
+
+}
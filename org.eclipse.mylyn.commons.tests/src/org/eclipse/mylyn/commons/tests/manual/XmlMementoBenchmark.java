@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.manual;
+
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.mylyn.commons.core.XmlMemento;
+import org.eclipse.mylyn.commons.core.XmlMementoReader;
+import org.eclipse.mylyn.commons.core.XmlMementoWriter;
+
+/**
+ * Compares parse time, write time and retained heap of the DOM based {@link XmlMemento} and the streaming
+ * {@link XmlMementoReader} and {@link XmlMementoWriter}. Pass a memento file, e.g. a saved task list, as argument to
+ * benchmark a real document; otherwise a synthetic document is used.
+ *
+ * @author agent
+ */
+public class XmlMementoBenchmark {
+
+	private static final int ITERATIONS = 10;
+
+	private static final int TASKS = 100000;
+
+	private static final int WARMUP_ITERATIONS = 5;
+
+	/**
+	 * Keeps the result of a benchmark reachable while heap usage is measured.
+	 */
+	private static Object result;
+
+	private interface Benchmark {
+
+		/**
+		 * Returns an object that is retained to measure heap usage.
+		 */
+		Object run() throws Exception;
+
+	}
+
+	public static void main(String[] args) throws Exception {
+		final String content;
+		if (args.length > 0) {
+			content = new String(Files.readAllBytes(new File(args[0]).toPath()), StandardCharsets.UTF_8);
+		} else {
+			StringWriter writer = new StringWriter();
+			writeStreaming(writer);
+			content = writer.toString();
+		}
+		System.out.println("Document: " + (content.length() / 1024) + " KB"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		report("read DOM", new Benchmark() { //$NON-NLS-1$
+			public Object run() throws Exception {
+				XmlMemento memento = XmlMemento.createReadRoot(new StringReader(content));
+				visit(memento);
+				return memento;
+			}
+		});
+		report("read streaming", new Benchmark() { //$NON-NLS-1$
+			public Object run() throws Exception {
+				XmlMementoReader reader = XmlMementoReader.createReadRoot(new StringReader(content));
+				try {
+					visit(reader);
+				} finally {
+					reader.close();
+				}
+				return reader;
+			}
+		});
+		report("write DOM", new Benchmark() { //$NON-NLS-1$
+			public Object run() throws Exception {
+				XmlMemento memento = XmlMemento.createWriteRoot("tasks"); //$NON-NLS-1$
+				for (int i = 0; i < TASKS; i++) {
+					XmlMemento task = memento.createChild("task", String.valueOf(i)); //$NON-NLS-1$
+					task.putString("summary", "Summary of task " + i); //$NON-NLS-1$ //$NON-NLS-2$
+					task.putInteger("priority", i % 5); //$NON-NLS-1$
+					task.putBoolean("completed", i % 2 == 0); //$NON-NLS-1$
+					task.putTextData("Notes for task " + i + "\nwith a second line"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				memento.save(new NullWriter());
+				return memento;
+			}
+		});
+		report("write streaming", new Benchmark() { //$NON-NLS-1$
+			public Object run() throws Exception {
+				writeStreaming(new NullWriter());
+				return null;
+			}
+		});
+	}
+
+	private static long getUsedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static void report(String label, Benchmark benchmark) throws Exception {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			benchmark.run();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			benchmark.run();
+		}
+		long millis = (System.nanoTime() - start) / 1000000;
+
+		long before = getUsedMemory();
+		result = benchmark.run();
+		long retained = getUsedMemory() - before;
+		result = null;
+		System.out.println(label + ": " + (millis / ITERATIONS) + " ms/iteration, " + (retained / 1024) //$NON-NLS-1$ //$NON-NLS-2$
+				+ " KB retained"); //$NON-NLS-1$
+	}
+
+	private static int visit(XmlMemento memento) {
+		int count = 1;
+		memento.getString("summary"); //$NON-NLS-1$
+		memento.getTextData();
+		for (XmlMemento child : memento.getChildren("task")) { //$NON-NLS-1$
+			count += visit(child);
+		}
+		return count;
+	}
+
+	private static int visit(XmlMementoReader reader) throws Exception {
+		int count = 1;
+		reader.getString("summary"); //$NON-NLS-1$
+		reader.getTextData();
+		XmlMementoReader child;
+		while ((child = reader.nextChild("task")) != null) { //$NON-NLS-1$
+			count += visit(child);
+		}
+		return count;
+	}
+
+	private static void writeStreaming(Writer out) throws Exception {
+		XmlMementoWriter writer = XmlMementoWriter.createWriteRoot(out, "tasks"); //$NON-NLS-1$
+		try {
+			for (int i = 0; i < TASKS; i++) {
+				XmlMementoWriter task = writer.createChild("task", String.valueOf(i)); //$NON-NLS-1$
+				task.putString("summary", "Summary of task " + i); //$NON-NLS-1$ //$NON-NLS-2$
+				task.putInteger("priority", i % 5); //$NON-NLS-1$
+				task.putBoolean("completed", i % 2 == 0); //$NON-NLS-1$
+				task.putTextData("Notes for task " + i + "\nwith a second line"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	private static class NullWriter extends Writer {
+
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
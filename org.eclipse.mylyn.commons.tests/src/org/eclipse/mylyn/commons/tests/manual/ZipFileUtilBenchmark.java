@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.manual;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+
+import org.eclipse.mylyn.internal.commons.core.ZipFileUtil;
+
+/**
+ * Compares serial and parallel creation and extraction of zip files with {@link ZipFileUtil}. The first argument
+ * specifies the total size of the archived files in MB (default 256), the optional second argument the number of files
+ * (default 64). Half of the files contain compressible text, the other half random data. Pass a size of several
+ * gigabytes to exercise Zip64 archives.
+ *
+ * @author agent
+ */
+public class ZipFileUtilBenchmark {
+
+	private interface Benchmark {
+
+		void run(File zipFile, File destDir) throws Exception;
+
+	}
+
+	private static long totalSize;
+
+	public static void main(String[] args) throws Exception {
+		long sizeMb = (args.length > 0) ? Long.parseLong(args[0]) : 256;
+		int fileCount = (args.length > 1) ? Integer.parseInt(args[1]) : 64;
+		final int parallelism = ZipFileUtil.DEFAULT_PARALLELISM;
+
+		File baseDir = Files.createTempDirectory("zipbenchmark").toFile(); //$NON-NLS-1$
+		try {
+			final List<File> files = createFiles(new File(baseDir, "src"), sizeMb * 1024 * 1024, fileCount); //$NON-NLS-1$
+			System.out.println("Files: " + files.size() + ", " + (totalSize / (1024 * 1024)) + " MB, parallelism " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ parallelism);
+
+			File zipFile = new File(baseDir, "test.zip"); //$NON-NLS-1$
+			File destDir = new File(baseDir, "dest"); //$NON-NLS-1$
+			report("create deflated serial", zipFile, destDir, new Benchmark() { //$NON-NLS-1$
+				public void run(File zipFile, File destDir) throws Exception {
+					ZipFileUtil.createZipFile(zipFile, files, null, ZipEntry.DEFLATED, 1, null);
+				}
+			});
+			report("unzip serial", zipFile, destDir, new Benchmark() { //$NON-NLS-1$
+				public void run(File zipFile, File destDir) throws Exception {
+					ZipFileUtil.unzipFiles(zipFile, destDir.getAbsolutePath(), 1, null);
+				}
+			});
+			report("unzip parallel", zipFile, destDir, new Benchmark() { //$NON-NLS-1$
+				public void run(File zipFile, File destDir) throws Exception {
+					ZipFileUtil.unzipFiles(zipFile, destDir.getAbsolutePath(), parallelism, null);
+				}
+			});
+			report("create deflated parallel", zipFile, destDir, new Benchmark() { //$NON-NLS-1$
+				public void run(File zipFile, File destDir) throws Exception {
+					ZipFileUtil.createZipFile(zipFile, files, null, ZipEntry.DEFLATED, parallelism, null);
+				}
+			});
+			report("create stored", zipFile, destDir, new Benchmark() { //$NON-NLS-1$
+				public void run(File zipFile, File destDir) throws Exception {
+					ZipFileUtil.createZipFile(zipFile, files, null, ZipEntry.STORED, 1, null);
+				}
+			});
+			report("unzip stored parallel", zipFile, destDir, new Benchmark() { //$NON-NLS-1$
+				public void run(File zipFile, File destDir) throws Exception {
+					ZipFileUtil.unzipFiles(zipFile, destDir.getAbsolutePath(), parallelism, null);
+				}
+			});
+		} finally {
+			delete(baseDir);
+		}
+	}
+
+	private static List<File> createFiles(File dir, long size, int count) throws IOException {
+		dir.mkdirs();
+		Random random = new Random(1);
+		byte[] text = ("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor " //$NON-NLS-1$
+				+ "incididunt ut labore et dolore magna aliqua.\n").getBytes("US-ASCII"); //$NON-NLS-1$ //$NON-NLS-2$
+		byte[] buffer = new byte[64 * 1024];
+		List<File> files = new ArrayList<File>();
+		long fileSize = size / count;
+		for (int i = 0; i < count; i++) {
+			File file = new File(dir, "file" + i + ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+			try (OutputStream out = new FileOutputStream(file)) {
+				for (long written = 0; written < fileSize; written += buffer.length) {
+					if (i % 2 == 0) {
+						for (int j = 0; j < buffer.length; j++) {
+							buffer[j] = text[(j + random.nextInt(4)) % text.length];
+						}
+					} else {
+						random.nextBytes(buffer);
+					}
+					out.write(buffer, 0, (int) Math.min(buffer.length, fileSize - written));
+				}
+			}
+			totalSize += file.length();
+			files.add(file);
+		}
+		return files;
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private static void report(String label, File zipFile, File destDir, Benchmark benchmark) throws Exception {
+		delete(destDir);
+		long start = System.nanoTime();
+		benchmark.run(zipFile, destDir);
+		long millis = Math.max(1, (System.nanoTime() - start) / 1000000);
+		System.out.println(label + ": " + millis + " ms, " + (totalSize / 1024 / 1024 * 1000 / millis) + " MB/s, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ (zipFile.length() / (1024 * 1024)) + " MB archive"); //$NON-NLS-1$
+	}
+
+}
@@ -12,10 +12,17 @@
 
 package org.eclipse.mylyn.commons.tests.operations;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import junit.framework.TestCase;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.mylyn.commons.core.operations.CancellableOperationMonitorThread;
 import org.eclipse.mylyn.commons.core.operations.ICancellableOperation;
+import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
+import org.eclipse.mylyn.commons.core.operations.OperationUtil;
 import org.junit.Test;
 
 /**
@@ -43,6 +50,32 @@ public class CancellableOperationMonitorThreadTest extends TestCase {
 
 	}
 
+	class MonitoredOperation implements ICancellableOperation {
+
+		final CountDownLatch abortLatch = new CountDownLatch(1);
+
+		final IProgressMonitor monitor;
+
+		public MonitoredOperation(IProgressMonitor monitor) {
+			this.monitor = monitor;
+		}
+
+		@Override
+		public void abort() {
+			abortLatch.countDown();
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return monitor.isCanceled();
+		}
+
+		boolean isAborted() {
+			return abortLatch.getCount() == 0;
+		}
+
+	}
+
 	@Override
 	protected void setUp() throws Exception {
 		thread = new CancellableOperationMonitorThread();
@@ -150,4 +183,70 @@ public class CancellableOperationMonitorThreadTest extends TestCase {
 		assertFalse(operation.aborted);
 	}
 
+	public void testCancelOperationSignaled() throws Exception {
+		thread = new CancellableOperationMonitorThread(60 * 1000);
+		MonitoredOperation operation = new MonitoredOperation(OperationUtil.convert(null));
+		thread.addOperation(operation, operation.monitor);
+		assertEquals(0, thread.getPolledOperationCount());
+		operation.monitor.setCanceled(true);
+		assertTrue(operation.abortLatch.await(5, TimeUnit.SECONDS));
+		assertEquals(1, thread.getCancellationCount());
+		thread.removeOperation(operation);
+	}
+
+	public void testCancelOperationSignaledBeforeAdd() throws Exception {
+		MonitoredOperation operation = new MonitoredOperation(OperationUtil.convert(null));
+		operation.monitor.setCanceled(true);
+		thread.addOperation(operation, operation.monitor);
+		thread.processOperations();
+		assertTrue(operation.isAborted());
+	}
+
+	public void testCancelOperationSignaledWrappedMonitor() throws Exception {
+		thread = new CancellableOperationMonitorThread(60 * 1000);
+		MonitoredOperation operation = new MonitoredOperation(OperationUtil.convert(new NullProgressMonitor()));
+		thread.addOperation(operation, operation.monitor);
+		// the wrapped monitor may be canceled externally and is polled in addition
+		assertEquals(1, thread.getPolledOperationCount());
+		operation.monitor.setCanceled(true);
+		assertTrue(operation.abortLatch.await(5, TimeUnit.SECONDS));
+		assertEquals(1, thread.getCancellationCount());
+		thread.removeOperation(operation);
+		assertEquals(0, thread.getPolledOperationCount());
+	}
+
+	public void testCancelOperationSignaledChildMonitor() throws Exception {
+		thread = new CancellableOperationMonitorThread(60 * 1000);
+		IOperationMonitor monitor = OperationUtil.convert(new NullProgressMonitor());
+		MonitoredOperation operation = new MonitoredOperation(monitor.newChild(1));
+		thread.addOperation(operation, operation.monitor);
+		monitor.setCanceled(true);
+		assertTrue(operation.abortLatch.await(5, TimeUnit.SECONDS));
+		thread.removeOperation(operation);
+	}
+
+	public void testCancelOperationPolled() throws Exception {
+		MonitoredOperation operation = new MonitoredOperation(new NullProgressMonitor());
+		thread.addOperation(operation, operation.monitor);
+		assertEquals(1, thread.getPolledOperationCount());
+		operation.monitor.setCanceled(true);
+		thread.processOperations();
+		assertTrue(operation.isAborted());
+		assertEquals(1, thread.getCancellationCount());
+	}
+
+	public void testGetCurrentPollingInterval() throws Exception {
+		assertEquals(100, thread.getCurrentPollingInterval());
+		MockOperation[] operations = new MockOperation[50];
+		for (int i = 0; i < operations.length; i++) {
+			operations[i] = new MockOperation();
+			thread.addOperation(operations[i]);
+		}
+		assertEquals(500, thread.getCurrentPollingInterval());
+		for (MockOperation operation : operations) {
+			thread.removeOperation(operation);
+		}
+		assertEquals(100, thread.getCurrentPollingInterval());
+	}
+
 }
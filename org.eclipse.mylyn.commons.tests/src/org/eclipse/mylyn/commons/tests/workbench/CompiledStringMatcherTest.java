@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.workbench;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.commons.workbench.CompiledStringMatcher;
+import org.eclipse.mylyn.internal.commons.workbench.StringMatcher;
+import org.eclipse.mylyn.internal.commons.workbench.StringMatcher.Position;
+
+/**
+ * @author agent
+ */
+public class CompiledStringMatcherTest extends TestCase {
+
+	private static final String[] PATTERNS = { "", "*", "**", "a", "abc", "*abc", "abc*", "*abc*", "a*c", "a?c", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+			"*a?c*", "?", "*?*", "??", "*b*b*", "ab*ab", "*ab*ab*", "a\\*b", "a\\?b", "a\\\\b", "a\\", "\\x", "*?b?*", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$ //$NON-NLS-13$
+			"*TASK 1*", "*Ab?C*" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final String[] TEXTS = { "", "a", "abc", "ABC", "xabcx", "abcabc", "aXc", "ac", "abab", "ababab", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+			"a*b", "a?b", "a\\b", "a\\", "\\x", "bb", "xbxbx", "Task 123 editor crash", "task 1", "Äbc" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+
+	public void testMatch() {
+		CompiledStringMatcher matcher = new CompiledStringMatcher("*abc*", true, false); //$NON-NLS-1$
+		assertTrue(matcher.match("abc")); //$NON-NLS-1$
+		assertTrue(matcher.match("xxABCxx")); //$NON-NLS-1$
+		assertFalse(matcher.match("ab")); //$NON-NLS-1$
+		assertFalse(matcher.match(null));
+	}
+
+	public void testMatchCaseSensitive() {
+		CompiledStringMatcher matcher = new CompiledStringMatcher("a?c", false, false); //$NON-NLS-1$
+		assertTrue(matcher.match("abc")); //$NON-NLS-1$
+		assertFalse(matcher.match("ABC")); //$NON-NLS-1$
+	}
+
+	public void testMatchIgnoreWildCards() {
+		CompiledStringMatcher matcher = new CompiledStringMatcher("a*c", true, true); //$NON-NLS-1$
+		assertTrue(matcher.match("A*C")); //$NON-NLS-1$
+		assertFalse(matcher.match("abc")); //$NON-NLS-1$
+	}
+
+	public void testMatchNonAscii() {
+		CompiledStringMatcher matcher = new CompiledStringMatcher("*ä?ß*", true, false); //$NON-NLS-1$
+		assertTrue(matcher.match("xÄxßx")); //$NON-NLS-1$
+		assertFalse(matcher.match("xÄx")); //$NON-NLS-1$
+	}
+
+	public void testFind() {
+		CompiledStringMatcher matcher = new CompiledStringMatcher("b?d", true, false); //$NON-NLS-1$
+		int[] range = new int[2];
+		assertTrue(matcher.find("abcdbxd", 0, 7, range)); //$NON-NLS-1$
+		assertEquals(1, range[0]);
+		assertEquals(4, range[1]);
+		assertTrue(matcher.find("abcdbxd", range[1], 7, range)); //$NON-NLS-1$
+		assertEquals(4, range[0]);
+		assertEquals(7, range[1]);
+		assertFalse(matcher.find("abcdbxd", range[1], 7, range)); //$NON-NLS-1$
+	}
+
+	public void testFindAll() {
+		CompiledStringMatcher matcher = new CompiledStringMatcher("ab", true, false); //$NON-NLS-1$
+		int[] ranges = new int[10];
+		assertEquals(3, matcher.findAll("abxABxab", ranges)); //$NON-NLS-1$
+		assertEquals(0, ranges[0]);
+		assertEquals(2, ranges[1]);
+		assertEquals(3, ranges[2]);
+		assertEquals(5, ranges[3]);
+		assertEquals(6, ranges[4]);
+		assertEquals(8, ranges[5]);
+	}
+
+	public void testFindAllBufferFull() {
+		CompiledStringMatcher matcher = new CompiledStringMatcher("a", true, false); //$NON-NLS-1$
+		int[] ranges = new int[5];
+		assertEquals(2, matcher.findAll("aaaa", ranges)); //$NON-NLS-1$
+		assertEquals(0, ranges[4]);
+	}
+
+	public void testCompatibility() {
+		for (String pattern : PATTERNS) {
+			for (String text : TEXTS) {
+				assertCompatible(pattern, text, true, false);
+				assertCompatible(pattern, text, false, false);
+				assertCompatible(pattern, text, true, true);
+			}
+		}
+	}
+
+	public void testCompatibilityRandom() {
+		Random random = new Random(1);
+		String alphabet = "abAB*?"; //$NON-NLS-1$
+		for (int i = 0; i < 5000; i++) {
+			String pattern = randomString(random, alphabet, 1 + random.nextInt(6));
+			String text = randomString(random, "abAB", random.nextInt(12)); //$NON-NLS-1$
+			assertCompatible(pattern, text, random.nextBoolean(), false);
+		}
+	}
+
+	private void assertCompatible(String pattern, String text, boolean ignoreCase, boolean ignoreWildCards) {
+		StringMatcher expected = new StringMatcher(pattern, ignoreCase, ignoreWildCards);
+		CompiledStringMatcher actual = new CompiledStringMatcher(pattern, ignoreCase, ignoreWildCards);
+		String message = "pattern '" + pattern + "', text '" + text + "'"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(message, expected.match(text), actual.match(text));
+		int[] range = new int[2];
+		int start = 0;
+		for (int i = 0; i < text.length() + 1; i++) {
+			Position position = expected.find(text, start, text.length());
+			boolean found = actual.find(text, start, text.length(), range);
+			assertEquals(message, position != null, found);
+			if (position == null) {
+				break;
+			}
+			assertEquals(message, position.getStart(), range[0]);
+			assertEquals(message, position.getEnd(), range[1]);
+			if (position.getEnd() == start) {
+				break;
+			}
+			start = position.getEnd();
+		}
+	}
+
+	private String randomString(Random random, String alphabet, int length) {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return sb.toString();
+	}
+
+}
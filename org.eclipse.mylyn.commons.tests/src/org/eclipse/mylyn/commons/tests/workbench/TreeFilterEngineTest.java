@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.tests.workbench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.mylyn.commons.workbench.TreeFilterEngine;
+import org.eclipse.mylyn.commons.workbench.TreeFilterEngine.Result;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * @author agent
+ */
+public class TreeFilterEngineTest extends TestCase {
+
+	private static class MapContentProvider implements ITreeContentProvider {
+
+		private final Map<String, List<String>> children = new LinkedHashMap<String, List<String>>();
+
+		private final List<String> roots = new ArrayList<String>();
+
+		private final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+
+		public void add(String parent, String... elements) {
+			if (parent == null) {
+				roots.addAll(Arrays.asList(elements));
+			} else {
+				List<String> list = children.get(parent);
+				if (list == null) {
+					list = new ArrayList<String>();
+					children.put(parent, list);
+				}
+				list.addAll(Arrays.asList(elements));
+			}
+		}
+
+		public void dispose() {
+		}
+
+		public Object[] getChildren(Object parentElement) {
+			threads.add(Thread.currentThread());
+			List<String> list = children.get(parentElement);
+			return (list != null) ? list.toArray() : new Object[0];
+		}
+
+		public Object[] getElements(Object inputElement) {
+			threads.add(Thread.currentThread());
+			return roots.toArray();
+		}
+
+		public Object getParent(Object element) {
+			return null;
+		}
+
+		public boolean hasChildren(Object element) {
+			threads.add(Thread.currentThread());
+			return children.containsKey(element);
+		}
+
+		public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		}
+
+	}
+
+	private MapContentProvider contentProvider;
+
+	private TreeFilterEngine engine;
+
+	@Override
+	protected void setUp() throws Exception {
+		contentProvider = new MapContentProvider();
+		contentProvider.add(null, "Inbox", "Archive"); //$NON-NLS-1$ //$NON-NLS-2$
+		contentProvider.add("Inbox", "Fix crash in editor", "Tasks view"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		contentProvider.add("Tasks view", "Task list is slow", "Task list filter"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		contentProvider.add("Archive", "Old crash report", "Fix crash in editor"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		engine = new TreeFilterEngine(contentProvider, null);
+		engine.setInput(this);
+	}
+
+	public void testComputeEmptyPattern() {
+		Result result = engine.compute("", null); //$NON-NLS-1$
+		assertEquals(7, result.getSize());
+		assertEquals(7, result.getVisibleCount());
+		assertTrue(result.isVisible("Task list filter")); //$NON-NLS-1$
+	}
+
+	public void testComputeMatchesAncestors() {
+		Result result = engine.compute("filter", null); //$NON-NLS-1$
+		assertEquals(1, result.getMatchCount());
+		assertEquals(3, result.getVisibleCount());
+		assertTrue(result.isVisible("Task list filter")); //$NON-NLS-1$
+		assertTrue(result.isVisible("Tasks view")); //$NON-NLS-1$
+		assertTrue(result.isVisible("Inbox")); //$NON-NLS-1$
+		assertFalse(result.isVisible("Task list is slow")); //$NON-NLS-1$
+		assertFalse(result.isVisible("Archive")); //$NON-NLS-1$
+	}
+
+	public void testComputeIgnoresCase() {
+		Result result = engine.compute("CRASH", null); //$NON-NLS-1$
+		assertEquals(2, result.getMatchCount());
+	}
+
+	public void testComputeSharedElement() {
+		Result result = engine.compute("editor", null); //$NON-NLS-1$
+		assertEquals(1, result.getMatchCount());
+		assertTrue(result.isVisible("Inbox")); //$NON-NLS-1$
+		assertTrue(result.isVisible("Archive")); //$NON-NLS-1$
+		assertFalse(result.isVisible("Old crash report")); //$NON-NLS-1$
+	}
+
+	public void testComputeWildcard() {
+		Result result = engine.compute("task*slow", null); //$NON-NLS-1$
+		assertEquals(1, result.getMatchCount());
+		assertTrue(result.isVisible("Task list is slow")); //$NON-NLS-1$
+	}
+
+	public void testComputeNarrowed() {
+		Result result = engine.compute("ta", null); //$NON-NLS-1$
+		assertFalse(result.isNarrowed());
+		assertEquals(3, result.getMatchCount());
+		result = engine.compute("task l", null); //$NON-NLS-1$
+		assertTrue(result.isNarrowed());
+		assertEquals(2, result.getMatchCount());
+		result = engine.compute("list", null); //$NON-NLS-1$
+		assertFalse(result.isNarrowed());
+		assertEquals(2, result.getMatchCount());
+		result = engine.compute("k list", null); //$NON-NLS-1$
+		assertTrue(result.isNarrowed());
+		assertEquals(2, result.getMatchCount());
+		result = engine.compute("k", null); //$NON-NLS-1$
+		assertFalse(result.isNarrowed());
+		assertEquals(3, result.getMatchCount());
+	}
+
+	public void testComputeNarrowedMatchesFullScan() {
+		engine.compute("c", null); //$NON-NLS-1$
+		Result narrowed = engine.compute("cr", null); //$NON-NLS-1$
+		assertTrue(narrowed.isNarrowed());
+		engine.invalidate();
+		Result full = engine.compute("cr", null); //$NON-NLS-1$
+		assertFalse(full.isNarrowed());
+		assertEquals(full.getMatchCount(), narrowed.getMatchCount());
+		assertEquals(full.getVisibleCount(), narrowed.getVisibleCount());
+	}
+
+	public void testComputeCanceled() {
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try {
+			engine.compute("task", monitor); //$NON-NLS-1$
+			fail("Expected OperationCanceledException"); //$NON-NLS-1$
+		} catch (OperationCanceledException expected) {
+		}
+		assertEquals(3, engine.compute("task", null).getMatchCount()); //$NON-NLS-1$
+	}
+
+	public void testInvalidate() {
+		assertEquals(0, engine.compute("new", null).getMatchCount()); //$NON-NLS-1$
+		contentProvider.add("Archive", "New task"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(0, engine.compute("new", null).getMatchCount()); //$NON-NLS-1$
+		engine.invalidate();
+		Result result = engine.compute("new", null); //$NON-NLS-1$
+		assertEquals(1, result.getMatchCount());
+		assertTrue(result.isVisible("Archive")); //$NON-NLS-1$
+	}
+
+	public void testSetInput() {
+		engine.compute("task", null); //$NON-NLS-1$
+		engine.setInput(null);
+		Result result = engine.compute("", null); //$NON-NLS-1$
+		assertEquals(0, result.getSize());
+	}
+
+	public void testInstallRequiresViewerProviders() {
+		Shell shell = new Shell();
+		try {
+			TreeViewer viewer = new TreeViewer(shell);
+			viewer.setContentProvider(new MapContentProvider());
+			try {
+				engine.install(viewer);
+				fail("Expected IllegalArgumentException"); //$NON-NLS-1$
+			} catch (IllegalArgumentException expected) {
+			}
+
+			LabelProvider labelProvider = new LabelProvider();
+			viewer.setContentProvider(contentProvider);
+			viewer.setLabelProvider(labelProvider);
+			engine = new TreeFilterEngine(contentProvider, labelProvider);
+			engine.install(viewer);
+			engine.dispose();
+		} finally {
+			shell.dispose();
+		}
+	}
+
+	public void testComputeInstalledInvokesProvidersOnUiThread() throws Exception {
+		Display display = Display.getDefault();
+		Shell shell = new Shell(display);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			LabelProvider labelProvider = new LabelProvider();
+			TreeViewer viewer = new TreeViewer(shell);
+			viewer.setContentProvider(contentProvider);
+			viewer.setLabelProvider(labelProvider);
+			viewer.setInput(this);
+			engine = new TreeFilterEngine(contentProvider, labelProvider);
+			engine.install(viewer);
+			engine.setInput(this);
+			contentProvider.threads.clear();
+
+			Future<Result> future = executor.submit(new Callable<Result>() {
+				public Result call() throws Exception {
+					return engine.compute("filter", null); //$NON-NLS-1$
+				}
+			});
+			while (!future.isDone()) {
+				if (!display.readAndDispatch()) {
+					Thread.sleep(10);
+				}
+			}
+			assertEquals(3, future.get().getVisibleCount());
+			assertEquals(Collections.singleton(display.getThread()), contentProvider.threads);
+		} finally {
+			executor.shutdown();
+			engine.dispose();
+			shell.dispose();
+		}
+	}
+
+}
@@ -12,6 +12,14 @@
 
 package org.eclipse.mylyn.commons.tests.xmlrpc;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import junit.framework.TestCase;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -53,4 +61,143 @@ public class XmlRpcClientTest extends TestCase {
 		}
 	}
 
+	public void testCallSharedConnectionPool() throws Exception {
+		client.setSharedConnectionPoolEnabled(true);
+		int i = (Integer) client.call(new NullProgressMonitor(), "Test.identity", 5);
+		assertEquals(5, i);
+		assertEquals(1, client.getCommonHttpClient().getConnectionPoolStatistics().size());
+		assertTrue(client.getCommonHttpClient().getConnectionPoolStatistics().get(0).getLeaseCount() > 0);
+	}
+
+	public void testNoSuchMethodSharedConnectionPool() throws Exception {
+		client.setSharedConnectionPoolEnabled(true);
+		try {
+			Object response = client.call(new NullProgressMonitor(), "Test.noSuchMethod", 5);
+			fail("Expected XmlRpcNoSuchMethodExecption, got " + response);
+		} catch (XmlRpcNoSuchMethodException e) {
+			// expected
+		}
+	}
+
+	public void testCallBatching() throws Exception {
+		client = new CommonXmlRpcClient(new WebLocation("http://localhost:" + XmlRpcTestServer.startMulticall()
+				+ "/xmlrpc"));
+		client.setBatchingEnabled(true);
+		client.setBatchWindow(5000);
+		client.setMaxBatchSize(5);
+
+		List<Future<Integer>> results = callConcurrently("Test.identity", 5);
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, (int) results.get(i).get());
+		}
+		assertEquals(1, client.getBatchCount());
+		assertEquals(5, client.getBatchedCallCount());
+		assertEquals(5, client.getLargestBatchSize());
+		assertEquals(4, client.getRoundTripsSaved());
+	}
+
+	public void testCallBatchingSingleCall() throws Exception {
+		client = new CommonXmlRpcClient(new WebLocation("http://localhost:" + XmlRpcTestServer.startMulticall()
+				+ "/xmlrpc"));
+		client.setBatchingEnabled(true);
+		client.setBatchWindow(5000);
+
+		long start = System.currentTimeMillis();
+		int i = (Integer) client.call(new NullProgressMonitor(), "Test.identity", 5);
+		assertEquals(5, i);
+		assertTrue("Expected call without waiting for the batch window",
+				System.currentTimeMillis() - start < client.getBatchWindow());
+		assertEquals(0, client.getBatchCount());
+	}
+
+	public void testCallBatchingFault() throws Exception {
+		client = new CommonXmlRpcClient(new WebLocation("http://localhost:" + XmlRpcTestServer.startMulticall()
+				+ "/xmlrpc"));
+		client.setBatchingEnabled(true);
+		client.setBatchWindow(5000);
+		client.setMaxBatchSize(2);
+
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			Future<Object> blocked = startBlockedCall(executor);
+			Future<Object> identity = executor.submit(new Callable<Object>() {
+				public Object call() throws Exception {
+					return client.call(new NullProgressMonitor(), "Test.identity", 7);
+				}
+			});
+			Future<Object> noSuchMethod = executor.submit(new Callable<Object>() {
+				public Object call() throws Exception {
+					return client.call(new NullProgressMonitor(), "Test.noSuchMethod", 7);
+				}
+			});
+			assertEquals(7, identity.get());
+			try {
+				noSuchMethod.get();
+				fail("Expected XmlRpcNoSuchMethodException");
+			} catch (ExecutionException e) {
+				assertTrue(e.getCause() instanceof XmlRpcNoSuchMethodException);
+			}
+			XmlRpcTestServer.releaseBlockedCall();
+			assertEquals(-1, blocked.get());
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, client.getBatchCount());
+	}
+
+	public void testCallBatchingFallback() throws Exception {
+		client.setBatchingEnabled(true);
+		client.setBatchWindow(5000);
+		client.setMaxBatchSize(3);
+
+		List<Future<Integer>> results = callConcurrently("Test.identity", 3);
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, (int) results.get(i).get());
+		}
+		assertFalse(client.isMulticallSupported());
+		assertEquals(0, client.getBatchCount());
+		assertEquals(0, client.getRoundTripsSaved());
+	}
+
+	/**
+	 * Invokes <code>method</code> <code>count</code> times concurrently while another call is in progress so the calls
+	 * are batched.
+	 */
+	private List<Future<Integer>> callConcurrently(final String method, int count) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(count + 1);
+		try {
+			Future<Object> blocked = startBlockedCall(executor);
+			List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for (int i = 0; i < count; i++) {
+				final int value = i;
+				results.add(executor.submit(new Callable<Integer>() {
+					public Integer call() throws Exception {
+						return client.call(new NullProgressMonitor(), method, value);
+					}
+				}));
+			}
+			for (Future<Integer> result : results) {
+				result.get();
+			}
+			XmlRpcTestServer.releaseBlockedCall();
+			assertEquals(-1, blocked.get());
+			return results;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Starts a call that is not batched and blocks until {@link XmlRpcTestServer#releaseBlockedCall()} is invoked.
+	 */
+	private Future<Object> startBlockedCall(ExecutorService executor) throws Exception {
+		Future<Object> blocked = executor.submit(new Callable<Object>() {
+			public Object call() throws Exception {
+				return client.call(new NullProgressMonitor(), "Test.block", -1);
+			}
+		});
+		assertTrue(XmlRpcTestServer.awaitBlockedCall());
+		return blocked;
+	}
+
 }
@@ -12,6 +12,11 @@
 
 package org.eclipse.mylyn.commons.tests.xmlrpc;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.xmlrpc.server.PropertyHandlerMapping;
 import org.apache.xmlrpc.server.XmlRpcServer;
 import org.apache.xmlrpc.webserver.WebServer;
@@ -20,16 +25,58 @@ public class XmlRpcTestServer {
 
 	private static int port = 8090;
 
+	private static int multicallPort = 8091;
+
+	private static final Semaphore blockedCalls = new Semaphore(0);
+
+	private static final Semaphore releasedCalls = new Semaphore(0);
+
 	public static class Server {
 
 		public int identity(int i) {
 			return i;
 		}
 
+		/**
+		 * Blocks until {@link XmlRpcTestServer#releaseBlockedCall()} is invoked.
+		 */
+		public int block(int i) throws InterruptedException {
+			blockedCalls.release();
+			releasedCalls.tryAcquire(30, TimeUnit.SECONDS);
+			return i;
+		}
+
+	}
+
+	/**
+	 * Implements <code>system.multicall</code> for <code>Test.identity</code>.
+	 */
+	public static class MulticallServer {
+
+		public Object[] multicall(Object[] calls) {
+			Object[] results = new Object[calls.length];
+			for (int i = 0; i < calls.length; i++) {
+				Map<?, ?> call = (Map<?, ?>) calls[i];
+				String methodName = (String) call.get("methodName");
+				Object[] params = (Object[]) call.get("params");
+				if ("Test.identity".equals(methodName)) {
+					results[i] = new Object[] { params[0] };
+				} else {
+					Map<String, Object> fault = new HashMap<String, Object>();
+					fault.put("faultCode", 1);
+					fault.put("faultString", "No such handler: " + methodName);
+					results[i] = fault;
+				}
+			}
+			return results;
+		}
+
 	}
 
 	private static WebServer webServer;
 
+	private static WebServer multicallWebServer;
+
 	public static int start() throws Exception {
 		if (webServer == null) {
 			webServer = new WebServer(port);
@@ -44,4 +91,33 @@ public class XmlRpcTestServer {
 		return port;
 	}
 
+	/**
+	 * Starts a server that supports <code>system.multicall</code>.
+	 */
+	public static int startMulticall() throws Exception {
+		if (multicallWebServer == null) {
+			multicallWebServer = new WebServer(multicallPort);
+			XmlRpcServer xmlRpcServer = multicallWebServer.getXmlRpcServer();
+
+			PropertyHandlerMapping phm = new PropertyHandlerMapping();
+			phm.addHandler("Test", Server.class);
+			phm.addHandler("system", MulticallServer.class);
+			xmlRpcServer.setHandlerMapping(phm);
+
+			multicallWebServer.start();
+		}
+		return multicallPort;
+	}
+
+	/**
+	 * Waits until a call to <code>Test.block</code> has been received.
+	 */
+	public static boolean awaitBlockedCall() throws InterruptedException {
+		return blockedCalls.tryAcquire(30, TimeUnit.SECONDS);
+	}
+
+	public static void releaseBlockedCall() {
+		releasedCalls.release();
+	}
+
 }
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.ScrolledComposite;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+@SuppressWarnings("nls")
+public class ControlListViewerTest {
+
+	private class TestItem extends ControlListItem {
+
+		private Label label;
+
+		public TestItem(Composite parent, Object element) {
+			super(parent, SWT.NONE, element);
+		}
+
+		@Override
+		protected void createContent() {
+			setLayout(new GridLayout());
+			label = new Label(this, SWT.NONE);
+		}
+
+		@Override
+		protected void refresh() {
+			if (getData() != null) {
+				label.setText(getData().toString());
+				Integer count = refreshCounts.get(getData());
+				refreshCounts.put(getData(), (count != null) ? count + 1 : 1);
+			}
+		}
+
+	}
+
+	private class TestViewer extends ControlListViewer {
+
+		public TestViewer(Composite parent, int style) {
+			super(parent, style);
+		}
+
+		@Override
+		protected ControlListItem doCreateItem(Composite parent, Object element) {
+			return new TestItem(parent, element);
+		}
+
+	}
+
+	private static final int SIZE = 1000;
+
+	private Integer[] elements;
+
+	private final Map<Object, Integer> refreshCounts = new HashMap<Object, Integer>();
+
+	private Shell shell;
+
+	private TestViewer viewer;
+
+	@Before
+	public void setUp() throws Exception {
+		shell = new Shell();
+		viewer = new TestViewer(shell, SWT.V_SCROLL | SWT.VIRTUAL);
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		viewer.getControl().setSize(300, 400);
+		elements = new Integer[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			elements[i] = i;
+		}
+		viewer.setInput(elements);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		shell.dispose();
+	}
+
+	@Test
+	public void testVirtual() {
+		assertTrue(viewer.isVirtual());
+		List<ControlListItem> items = getBoundItems();
+		assertFalse(items.isEmpty());
+		assertTrue("Expected items only for visible elements, got " + items.size(), items.size() < SIZE / 10);
+		assertNotNull(viewer.doFindItem(elements[0]));
+		assertNull(viewer.doFindItem(elements[SIZE - 1]));
+		assertTrue(getContent().getSize().y >= SIZE * getItemHeight());
+	}
+
+	@Test
+	public void testScroll() {
+		getScrolled().setOrigin(0, SIZE / 4 * (getItemHeight() + 1));
+		int itemCount = viewer.control.getChildren().length;
+		getScrolled().setOrigin(0, SIZE / 2 * (getItemHeight() + 1));
+
+		assertNull(viewer.doFindItem(elements[0]));
+		assertNull(viewer.doFindItem(elements[SIZE / 4]));
+		ControlListItem item = viewer.doFindItem(elements[SIZE / 2]);
+		assertNotNull(item);
+		assertEquals(SIZE / 2, item.getIndex());
+		assertEquals(SIZE / 2 * (getItemHeight() + 1), item.getBounds().y);
+		// items are recycled
+		assertEquals(itemCount, viewer.control.getChildren().length);
+	}
+
+	@Test
+	public void testSelectNextPrevious() {
+		viewer.setSelection(new StructuredSelection(elements[5]));
+		ControlListItem item = viewer.doFindItem(elements[5]);
+		assertTrue(item.isSelected());
+
+		item.indexListener.selectNext();
+		assertEquals(elements[6], getSelection().getFirstElement());
+		assertFalse(item.isSelected());
+		assertTrue(viewer.doFindItem(elements[6]).isSelected());
+
+		viewer.doFindItem(elements[6]).indexListener.selectPrevious();
+		viewer.doFindItem(elements[5]).indexListener.selectPrevious();
+		assertEquals(elements[4], getSelection().getFirstElement());
+		assertEquals(1, getSelection().size());
+	}
+
+	@Test
+	public void testReveal() {
+		viewer.setSelection(new StructuredSelection(elements[SIZE - 10]), true);
+
+		ControlListItem item = viewer.doFindItem(elements[SIZE - 10]);
+		assertNotNull(item);
+		assertTrue(item.isSelected());
+		int top = getScrolled().getOrigin().y;
+		int bottom = top + getScrolled().getClientArea().height;
+		assertTrue(item.getBounds().y >= top);
+		assertTrue(item.getBounds().y + item.getBounds().height <= bottom);
+	}
+
+	@Test
+	public void testRemove() {
+		viewer.setSelection(new StructuredSelection(elements[3]));
+		viewer.remove(new Object[] { elements[0], elements[1] });
+
+		ControlListItem item = viewer.doFindItem(elements[3]);
+		assertEquals(1, item.getIndex());
+		assertEquals(getItemHeight() + 1, item.getBounds().y);
+		assertTrue(item.isSelected());
+		assertNull(viewer.doFindItem(elements[0]));
+		assertEquals(elements[3], getSelection().getFirstElement());
+
+		viewer.remove(new Object[] { elements[3] });
+		assertTrue(getSelection().isEmpty());
+		assertEquals((SIZE - 3) * (getItemHeight() + 1) - 1, getContent().getSize().y);
+	}
+
+	@Test
+	public void testRemoveKeepsUnchangedItems() {
+		refreshCounts.clear();
+		viewer.remove(new Object[] { elements[SIZE - 1] });
+		// the visible items still display the same elements
+		assertTrue(refreshCounts.isEmpty());
+	}
+
+	@Test
+	public void testUpdate() {
+		refreshCounts.clear();
+		viewer.update(elements[2], null);
+		assertEquals(1, refreshCounts.size());
+		assertEquals(Integer.valueOf(1), refreshCounts.get(elements[2]));
+	}
+
+	@Test
+	public void testUpdateSorted() {
+		final Map<Object, Integer> ranks = new HashMap<Object, Integer>();
+		for (Integer element : elements) {
+			ranks.put(element, element);
+		}
+		viewer.setComparator(new ViewerComparator() {
+			@Override
+			public int compare(Viewer viewer, Object e1, Object e2) {
+				return ranks.get(e1).compareTo(ranks.get(e2));
+			}
+		});
+
+		// unchanged order
+		refreshCounts.clear();
+		viewer.update(elements[2], null);
+		assertEquals(1, refreshCounts.size());
+		assertEquals(2, viewer.doFindItem(elements[2]).getIndex());
+
+		ranks.put(elements[2], SIZE);
+		viewer.update(elements[2], null);
+		assertNull(viewer.doFindItem(elements[2]));
+		assertEquals(2, viewer.doFindItem(elements[3]).getIndex());
+	}
+
+	@Test
+	public void testRefresh() {
+		refreshCounts.clear();
+		viewer.refresh(elements[2]);
+		assertEquals(1, refreshCounts.size());
+
+		// elements that are not visible are refreshed when an item is bound to them
+		refreshCounts.clear();
+		viewer.refresh(elements[SIZE - 1]);
+		assertTrue(refreshCounts.isEmpty());
+		assertEquals(SIZE * (getItemHeight() + 1) - 1, getContent().getSize().y);
+	}
+
+	private List<ControlListItem> getBoundItems() {
+		List<ControlListItem> items = new ArrayList<ControlListItem>();
+		for (Control child : viewer.control.getChildren()) {
+			if (child.getData() != null) {
+				items.add((ControlListItem) child);
+			}
+		}
+		return items;
+	}
+
+	private Control getContent() {
+		return getScrolled().getContent();
+	}
+
+	private int getItemHeight() {
+		return viewer.control.getChildren()[0].getBounds().height;
+	}
+
+	private ScrolledComposite getScrolled() {
+		return viewer.getControl();
+	}
+
+	private IStructuredSelection getSelection() {
+		return (IStructuredSelection) viewer.getSelection();
+	}
+
+}
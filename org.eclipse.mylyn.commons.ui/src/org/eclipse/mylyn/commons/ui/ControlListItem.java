@@ -229,6 +229,30 @@ public abstract class ControlListItem extends Composite {
 		updateColors(currentIndex);
 	}
 
+	/**
+	 * Binds the receiver to a different element when it is recycled by a virtual {@link ControlListViewer}.
+	 * 
+	 * @param element
+	 *            the element to display
+	 * @param index
+	 *            the index of the element in the viewer
+	 * @param select
+	 *            whether or not to show selection
+	 */
+	void bind(Object element, int index, boolean select) {
+		setData(element);
+		selected = select;
+		updateColors(index);
+		refresh();
+	}
+
+	/**
+	 * Returns the index that was last passed to {@link #updateColors(int)}.
+	 */
+	int getIndex() {
+		return currentIndex;
+	}
+
 	/**
 	 * Set the listener for index changes.
 	 * 
@@ -13,8 +13,11 @@
 package org.eclipse.mylyn.commons.ui;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.jface.resource.JFaceResources;
@@ -40,6 +43,13 @@ import org.eclipse.swt.widgets.Widget;
 
 /**
  * Based on {@link org.eclipse.ui.internal.progress.DetailedProgressViewer}.
+ * <p>
+ * If the viewer is created with the {@link SWT#VIRTUAL} style, items are only created for the elements in the visible
+ * area and a few elements above and below it. Items are recycled while scrolling by binding them to a different
+ * element and invoking {@link ControlListItem#refresh()}, implementations of {@link ControlListItem} must therefore
+ * render all state in <code>refresh()</code> based on {@link ControlListItem#getData()}. All items are expected to have
+ * the same height in virtual mode. Elements are compared using {@link Object#equals(Object)} in both modes.
+ * </p>
  * 
  * @author Steffen Pingel
  * @since 3.7
@@ -47,6 +57,13 @@ import org.eclipse.swt.widgets.Widget;
 @SuppressWarnings("restriction")
 public abstract class ControlListViewer extends StructuredViewer {
 
+	private static final int ITEM_SPACING = 1;
+
+	/**
+	 * The number of items that are created above and below the visible area in virtual mode.
+	 */
+	private static final int OVERSCAN = 5;
+
 	Composite control;
 
 	private final ScrolledComposite scrolled;
@@ -55,14 +72,38 @@ public abstract class ControlListViewer extends StructuredViewer {
 
 	protected boolean hasFocus;
 
+	private final boolean virtual;
+
+	/**
+	 * The sorted and filtered elements in virtual mode.
+	 */
+	private Object[] virtualElements = new Object[0];
+
+	/**
+	 * Maps the elements in virtual mode to their index in {@link #virtualElements}.
+	 */
+	private final Map<Object, Integer> virtualIndexes = new HashMap<Object, Integer>();
+
+	/**
+	 * The selected elements in virtual mode.
+	 */
+	private final Set<Object> selectedElements = new HashSet<Object>();
+
+	private int itemHeight = -1;
+
+	private int itemHeightWidth = -1;
+
 	/**
 	 * Create a new instance of the receiver with a control that is a child of parent with style style.
 	 * 
 	 * @param parent
 	 * @param style
+	 *            the style of the scrolled composite, may include {@link SWT#VIRTUAL} to create items only for the
+	 *            visible elements
 	 */
 	public ControlListViewer(Composite parent, int style) {
-		scrolled = new ScrolledComposite(parent, style);
+		virtual = (style & SWT.VIRTUAL) != 0;
+		scrolled = new ScrolledComposite(parent, style & ~SWT.VIRTUAL);
 		int height = JFaceResources.getDefaultFont().getFontData()[0].getHeight();
 		scrolled.getVerticalBar().setIncrement(height * 2);
 		scrolled.setExpandHorizontal(true);
@@ -87,8 +128,9 @@ public abstract class ControlListViewer extends StructuredViewer {
 		layout.marginHeight = 0;
 		layout.marginWidth = 0;
 		layout.horizontalSpacing = 0;
-		layout.verticalSpacing = 1;
-		control.setLayout(layout);
+		layout.verticalSpacing = ITEM_SPACING;
+		// items are positioned by updateVirtualItems() in virtual mode
+		control.setLayout(virtual ? null : layout);
 		control.setBackground(parent.getDisplay().getSystemColor(SWT.COLOR_LIST_BACKGROUND));
 
 		control.addControlListener(new ControlListener() {
@@ -125,6 +167,10 @@ public abstract class ControlListViewer extends StructuredViewer {
 				}
 				switch (event.detail) {
 				case SWT.TRAVERSE_ARROW_PREVIOUS: {
+					if (virtual) {
+						selectVirtual(-1);
+						break;
+					}
 					Control[] children = control.getChildren();
 					if (children.length > 0) {
 						boolean selected = false;
@@ -145,6 +191,10 @@ public abstract class ControlListViewer extends StructuredViewer {
 					break;
 				}
 				case SWT.TRAVERSE_ARROW_NEXT: {
+					if (virtual) {
+						selectVirtual(1);
+						break;
+					}
 					Control[] children = control.getChildren();
 					if (children.length > 0) {
 						boolean selected = false;
@@ -195,9 +245,13 @@ public abstract class ControlListViewer extends StructuredViewer {
 		Set<Object> newItems = new HashSet<Object>(elements.length);
 
 		Control[] existingChildren = control.getChildren();
-		for (Control element : existingChildren) {
-			if (element.getData() != null) {
-				newItems.add(element.getData());
+		if (virtual) {
+			newItems.addAll(Arrays.asList(virtualElements));
+		} else {
+			for (Control element : existingChildren) {
+				if (element.getData() != null) {
+					newItems.add(element.getData());
+				}
 			}
 		}
 
@@ -214,6 +268,11 @@ public abstract class ControlListViewer extends StructuredViewer {
 			sorter.sort(this, infos);
 		}
 
+		if (virtual) {
+			setVirtualElements(infos, false);
+			return;
+		}
+
 		// Update with the new elements to prevent flash
 		for (Control element : existingChildren) {
 			((ControlListItem) element).dispose();
@@ -233,15 +292,29 @@ public abstract class ControlListViewer extends StructuredViewer {
 			return;
 		}
 		// XXX need a small offset in case the list has a scroll bar
-		Point size = control.computeSize(scrolled.getClientArea().width - 20, SWT.DEFAULT, true);
+		int width = scrolled.getClientArea().width - 20;
+		if (virtual && control == this.control) {
+			width = Math.max(0, width);
+			int count = virtualElements.length;
+			int height = (count > 0) ? count * (getItemHeight(width) + ITEM_SPACING) - ITEM_SPACING : 0;
+			Point size = new Point(width, height);
+			control.setSize(size);
+			scrolled.setMinSize(size);
+			updateVirtualItems();
+			return;
+		}
+		Point size = control.computeSize(width, SWT.DEFAULT, true);
 		control.setSize(size);
 		scrolled.setMinSize(size);
 	}
 
 	protected void doUpdateContent() {
-		if (control.getChildren().length > 0) {
+		if (hasItems()) {
 			updateSize(control);
-			scrolled.setContent(control);
+			// setContent() resets the origin and bounds of the content which would rebind all items in virtual mode
+			if (!virtual || scrolled.getContent() != control) {
+				scrolled.setContent(control);
+			}
 		} else {
 			updateSize(noEntryArea);
 			scrolled.setContent(noEntryArea);
@@ -268,6 +341,13 @@ public abstract class ControlListViewer extends StructuredViewer {
 //		});
 		item.setIndexListener(new ControlListItem.IndexListener() {
 			public void selectNext() {
+				if (virtual) {
+					int index = item.getIndex() + 1;
+					if (index < virtualElements.length) {
+						setSelection(new StructuredSelection(virtualElements[index]));
+					}
+					return;
+				}
 				Control[] children = control.getChildren();
 				for (int i = 0; i < children.length; i++) {
 					if (item == children[i]) {
@@ -280,6 +360,13 @@ public abstract class ControlListViewer extends StructuredViewer {
 			}
 
 			public void selectPrevious() {
+				if (virtual) {
+					int index = item.getIndex() - 1;
+					if (index >= 0) {
+						setSelection(new StructuredSelection(virtualElements[index]));
+					}
+					return;
+				}
 				Control[] children = control.getChildren();
 				for (int i = 0; i < children.length; i++) {
 					if (item == children[i]) {
@@ -329,6 +416,15 @@ public abstract class ControlListViewer extends StructuredViewer {
 
 	@Override
 	protected void doUpdateItem(Widget item, Object element, boolean fullMap) {
+		if (virtual) {
+			// only the item that is bound to element needs to be refreshed, the position is updated by update()
+			int index = indexOf(element);
+			if (index != -1) {
+				virtualElements[index] = element;
+				((ControlListItem) item).bind(element, index, selectedElements.contains(element));
+			}
+			return;
+		}
 		if (usingElementMap()) {
 			unmapElement(item);
 		}
@@ -336,6 +432,18 @@ public abstract class ControlListViewer extends StructuredViewer {
 		add(new Object[] { element });
 	}
 
+	/**
+	 * In virtual mode the position of <code>element</code> is updated if the change may affect sorting and the element
+	 * is no longer in order with its neighbors. Only the items of elements that moved are rebound.
+	 */
+	@Override
+	public void update(Object element, String[] properties) {
+		if (virtual && isSorterAffected(element, properties)) {
+			updateVirtualPosition(element);
+		}
+		super.update(element, properties);
+	}
+
 	@Override
 	public ScrolledComposite getControl() {
 		return scrolled;
@@ -343,6 +451,17 @@ public abstract class ControlListViewer extends StructuredViewer {
 
 	@Override
 	protected List<?> getSelectionFromWidget() {
+		if (virtual) {
+			ArrayList<Object> selection = new ArrayList<Object>(selectedElements.size());
+			if (!selectedElements.isEmpty()) {
+				for (Object element : virtualElements) {
+					if (selectedElements.contains(element)) {
+						selection.add(element);
+					}
+				}
+			}
+			return selection;
+		}
 		Control[] children = control.getChildren();
 		ArrayList<Object> selection = new ArrayList<Object>(children.length);
 		for (Control child : children) {
@@ -381,7 +500,10 @@ public abstract class ControlListViewer extends StructuredViewer {
 		}
 		Widget widget = findItem(element);
 		if (widget == null) {
-			add(new Object[] { element });
+			// elements that are not visible in virtual mode are refreshed when an item is bound to them
+			if (!virtual || indexOf(element) == -1) {
+				add(new Object[] { element });
+			}
 			return;
 		}
 		((ControlListItem) widget).refresh();
@@ -390,6 +512,18 @@ public abstract class ControlListViewer extends StructuredViewer {
 	}
 
 	public void remove(Object[] elements) {
+		if (virtual) {
+			Set<Object> removed = new HashSet<Object>(Arrays.asList(elements));
+			List<Object> remaining = new ArrayList<Object>(virtualElements.length);
+			for (Object element : virtualElements) {
+				if (!removed.contains(element)) {
+					remaining.add(element);
+				}
+			}
+			setVirtualElements(remaining.toArray(), false);
+			return;
+		}
+
 		for (Object element : elements) {
 			Widget item = doFindItem(element);
 			if (item != null) {
@@ -412,19 +546,31 @@ public abstract class ControlListViewer extends StructuredViewer {
 		Control control = doFindItem(element);
 		if (control != null) {
 			revealControl(control);
+		} else if (virtual) {
+			int index = indexOf(element);
+			if (index != -1) {
+				revealIndex(index);
+			}
 		}
 	}
 
 	private void revealControl(Control control) {
+		reveal(control.getLocation().y, control.getSize().y);
+	}
+
+	private void revealIndex(int index) {
+		int height = getItemHeight();
+		reveal(index * (height + ITEM_SPACING), height);
+	}
+
+	private void reveal(int y, int height) {
 		Rectangle clientArea = scrolled.getClientArea();
 		Point origin = scrolled.getOrigin();
-		Point location = control.getLocation();
-		Point size = control.getSize();
-		if (location.y + size.y > origin.y + clientArea.height) {
-			scrolled.setOrigin(origin.x, location.y + size.y - clientArea.height);
+		if (y + height > origin.y + clientArea.height) {
+			scrolled.setOrigin(origin.x, y + height - clientArea.height);
 		}
-		if (location.y < origin.y) {
-			scrolled.setOrigin(origin.x, location.y);
+		if (y < origin.y) {
+			scrolled.setOrigin(origin.x, y);
 		}
 	}
 
@@ -432,6 +578,29 @@ public abstract class ControlListViewer extends StructuredViewer {
 	@Override
 	protected void setSelectionToWidget(List list, boolean reveal) {
 		HashSet<Object> elements = new HashSet<Object>(list);
+		if (virtual) {
+			selectedElements.clear();
+			int revealIndex = -1;
+			for (int i = 0; i < virtualElements.length; i++) {
+				if (elements.contains(virtualElements[i])) {
+					selectedElements.add(virtualElements[i]);
+					if (revealIndex == -1) {
+						revealIndex = i;
+					}
+				}
+			}
+			for (Control element : control.getChildren()) {
+				ControlListItem child = (ControlListItem) element;
+				boolean selected = child.getData() != null && selectedElements.contains(child.getData());
+				if (selected != child.isSelected()) {
+					child.setSelected(selected);
+				}
+			}
+			if (reveal && revealIndex != -1) {
+				revealIndex(revealIndex);
+			}
+			return;
+		}
 		Control[] children = control.getChildren();
 		for (Control control : children) {
 			ControlListItem child = (ControlListItem) control;
@@ -450,8 +619,7 @@ public abstract class ControlListViewer extends StructuredViewer {
 	 * Set focus on the current selection.
 	 */
 	public void setFocus() {
-		Control[] children = control.getChildren();
-		if (children.length > 0) {
+		if (hasItems()) {
 			// causes the item's tool bar to get focus when clicked which is undesirable 
 //			for (Control element : children) {
 //				ControlListItem item = (ControlListItem) element;
@@ -472,6 +640,11 @@ public abstract class ControlListViewer extends StructuredViewer {
 	 */
 	private void refreshAll() {
 		Object[] infos = getSortedChildren(getRoot());
+		if (virtual) {
+			setVirtualElements(infos, true);
+			return;
+		}
+
 		Control[] existingChildren = control.getChildren();
 
 		for (Control element : existingChildren) {
@@ -491,6 +664,10 @@ public abstract class ControlListViewer extends StructuredViewer {
 	 * Set the virtual items to be visible or not depending on the displayed area.
 	 */
 	private void updateVisibleItems() {
+		if (virtual) {
+			updateVirtualItems();
+			return;
+		}
 		Control[] children = control.getChildren();
 		int top = scrolled.getOrigin().y;
 		int bottom = top + scrolled.getParent().getBounds().height;
@@ -500,4 +677,191 @@ public abstract class ControlListViewer extends StructuredViewer {
 		}
 	}
 
+	/**
+	 * Returns true, if the viewer was created with the {@link SWT#VIRTUAL} style.
+	 * 
+	 * @since 3.26
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+
+	private boolean hasItems() {
+		return (virtual) ? virtualElements.length > 0 : control.getChildren().length > 0;
+	}
+
+	private int indexOf(Object element) {
+		Integer index = virtualIndexes.get(element);
+		return (index != null) ? index : -1;
+	}
+
+	private boolean isSorterAffected(Object element, String[] properties) {
+		ViewerComparator comparator = getComparator();
+		if (comparator == null) {
+			return false;
+		}
+		if (properties == null) {
+			return true;
+		}
+		for (String property : properties) {
+			if (comparator.isSorterProperty(element, property)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the last measured height of an item in virtual mode.
+	 */
+	private int getItemHeight() {
+		return (itemHeight != -1) ? itemHeight : getItemHeight(control.getSize().x);
+	}
+
+	/**
+	 * Returns the height of an item in virtual mode which is measured once for each width of the list.
+	 */
+	private int getItemHeight(int width) {
+		if (itemHeight == -1 || itemHeightWidth != width) {
+			Control[] children = control.getChildren();
+			ControlListItem item;
+			if (children.length > 0) {
+				item = (ControlListItem) children[0];
+			} else if (virtualElements.length > 0) {
+				item = createNewItem(virtualElements[0]);
+				item.updateColors(0);
+				item.setSelected(selectedElements.contains(virtualElements[0]));
+			} else {
+				return 0;
+			}
+			itemHeight = Math.max(1, item.computeSize((width > 0) ? width : SWT.DEFAULT, SWT.DEFAULT, true).y);
+			itemHeightWidth = width;
+		}
+		return itemHeight;
+	}
+
+	private void selectVirtual(int offset) {
+		if (virtualElements.length == 0) {
+			return;
+		}
+		int index = -1;
+		if (!selectedElements.isEmpty()) {
+			for (int i = 0; i < virtualElements.length; i++) {
+				if (selectedElements.contains(virtualElements[i])) {
+					index = i;
+					break;
+				}
+			}
+		}
+		if (index == -1) {
+			index = (offset < 0) ? virtualElements.length - 1 : 0;
+		} else {
+			index += offset;
+			if (index < 0 || index >= virtualElements.length) {
+				return;
+			}
+		}
+		setSelection(new StructuredSelection(virtualElements[index]), true);
+	}
+
+	/**
+	 * @param refreshItems
+	 *            if true, all items are rebound and refreshed; otherwise only items that display a different element
+	 *            than before are rebound
+	 */
+	private void setVirtualElements(Object[] elements, boolean refreshItems) {
+		virtualElements = elements;
+		virtualIndexes.clear();
+		for (int i = 0; i < elements.length; i++) {
+			virtualIndexes.put(elements[i], i);
+		}
+		selectedElements.retainAll(virtualIndexes.keySet());
+		if (refreshItems) {
+			for (Control child : control.getChildren()) {
+				child.setData(null);
+			}
+		}
+		doUpdateContent();
+	}
+
+	private void updateVirtualPosition(Object element) {
+		int index = indexOf(element);
+		if (index == -1) {
+			return;
+		}
+		ViewerComparator comparator = getComparator();
+		boolean sorted = (index == 0 || comparator.compare(this, virtualElements[index - 1], element) <= 0)
+				&& (index == virtualElements.length - 1
+						|| comparator.compare(this, element, virtualElements[index + 1]) <= 0);
+		if (!sorted) {
+			Object[] elements = virtualElements.clone();
+			comparator.sort(this, elements);
+			setVirtualElements(elements, false);
+		}
+	}
+
+	/**
+	 * Binds items to the elements in the visible area plus {@link #OVERSCAN} elements above and below it. Items that
+	 * are scrolled out of the visible area are recycled for elements that are scrolled into it, surplus items are
+	 * hidden.
+	 */
+	private void updateVirtualItems() {
+		int count = virtualElements.length;
+		int first = 0;
+		int last = 0;
+		int width = control.getSize().x;
+		int height = 0;
+		if (count > 0) {
+			height = getItemHeight();
+			int rowHeight = height + ITEM_SPACING;
+			int top = scrolled.getOrigin().y;
+			int bottom = top + scrolled.getClientArea().height;
+			first = Math.max(0, top / rowHeight - OVERSCAN);
+			last = Math.min(count, (bottom + rowHeight - 1) / rowHeight + OVERSCAN);
+			first = Math.min(first, last);
+		}
+
+		ControlListItem[] items = new ControlListItem[last - first];
+		List<ControlListItem> free = new ArrayList<ControlListItem>();
+		for (Control child : control.getChildren()) {
+			ControlListItem item = (ControlListItem) child;
+			int index = item.getIndex();
+			if (item.getData() != null && index >= first && index < last && items[index - first] == null
+					&& virtualElements[index].equals(item.getData())) {
+				items[index - first] = item;
+			} else {
+				free.add(item);
+			}
+		}
+
+		int freeIndex = 0;
+		for (int i = 0; i < items.length; i++) {
+			int index = first + i;
+			Object element = virtualElements[index];
+			ControlListItem item = items[i];
+			if (item != null && item.getData() != element) {
+				// an equal element replaced the bound element
+				item.bind(element, index, selectedElements.contains(element));
+			} else if (item == null) {
+				if (freeIndex < free.size()) {
+					item = free.get(freeIndex++);
+					item.bind(element, index, selectedElements.contains(element));
+				} else {
+					item = createNewItem(element);
+					item.updateColors(index);
+					item.setSelected(selectedElements.contains(element));
+				}
+			}
+			item.setBounds(0, index * (height + ITEM_SPACING), width, height);
+			if (!item.getVisible()) {
+				item.setVisible(true);
+			}
+		}
+		for (int i = freeIndex; i < free.size(); i++) {
+			ControlListItem item = free.get(i);
+			item.setVisible(false);
+			item.setData(null);
+		}
+	}
+
 }
@@ -60,6 +60,8 @@ public abstract class AbstractFilteredTree extends EnhancedFilteredTree {
 
 	private String previousFilterText;
 
+	private TreeFilterEngine filterEngine;
+
 	/**
 	 * XXX: using reflection to gain access
 	 *
@@ -226,7 +228,16 @@ public abstract class AbstractFilteredTree extends EnhancedFilteredTree {
 
 		previousFilterText = text;
 
-		if (refreshPolicy != null) {
+		if (filterEngine != null) {
+			// filter in the background instead of running the pattern filter in the refresh job
+			refreshJob.cancel();
+			if (LABEL_FIND.equals(text) && !useNewLook) {
+				clearText();
+				filterEngine.setPattern(""); //$NON-NLS-1$
+			} else {
+				filterEngine.setPattern(text);
+			}
+		} else if (refreshPolicy != null) {
 			if (LABEL_FIND.equals(text) && !useNewLook) {
 				clearText();
 				refreshPolicy.textChanged(""); //$NON-NLS-1$
@@ -247,6 +258,40 @@ public abstract class AbstractFilteredTree extends EnhancedFilteredTree {
 		return refreshPolicy;
 	}
 
+	/**
+	 * Returns the engine that filters the tree in the background or <code>null</code>, if the tree is filtered by the
+	 * pattern filter.
+	 *
+	 * @since 3.26
+	 */
+	public TreeFilterEngine getFilterEngine() {
+		return filterEngine;
+	}
+
+	/**
+	 * Sets an engine that filters the tree in the background when the filter text changes. If <code>filterEngine</code>
+	 * is <code>null</code>, the tree is filtered by the pattern filter. The engine needs to use the content and label
+	 * provider of the viewer which need to be set before invoking this method.
+	 *
+	 * @param filterEngine
+	 *            the engine or <code>null</code>
+	 * @throws IllegalArgumentException
+	 *             if the engine does not use the content and label provider of the viewer
+	 * @since 3.26
+	 */
+	public void setFilterEngine(TreeFilterEngine filterEngine) {
+		if (this.filterEngine != null) {
+			this.filterEngine.dispose();
+			this.filterEngine = null;
+		}
+		if (filterEngine != null) {
+			filterEngine.install(getViewer());
+			this.filterEngine = filterEngine;
+			String text = getFilterString();
+			filterEngine.setPattern((text == null || LABEL_FIND.equals(text)) ? "" : text); //$NON-NLS-1$
+		}
+	}
+
 	public boolean isShowProgress() {
 		return showProgress;
 	}
@@ -27,8 +27,7 @@ import org.eclipse.jface.viewers.StyledCellLabelProvider;
 import org.eclipse.jface.viewers.StyledString;
 import org.eclipse.jface.viewers.StyledString.Styler;
 import org.eclipse.jface.viewers.ViewerColumn;
-import org.eclipse.mylyn.internal.commons.workbench.StringMatcher;
-import org.eclipse.mylyn.internal.commons.workbench.StringMatcher.Position;
+import org.eclipse.mylyn.internal.commons.workbench.CompiledStringMatcher;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StyleRange;
 import org.eclipse.swt.graphics.Color;
@@ -60,7 +59,12 @@ public class DecoratingPatternStyledCellLabelProvider extends DecoratingStyledCe
 
 		private final ILabelProvider labelProvider;
 
-		private StringMatcher matcher = null;
+		private CompiledStringMatcher matcher = null;
+
+		/**
+		 * Receives match ranges, reused across invocations since labels are only computed on the UI thread.
+		 */
+		private final int[] range = new int[2];
 
 		public PatternStyledLabelProvider(ILabelProvider provider) {
 			this.labelProvider = provider;
@@ -73,7 +77,7 @@ public class DecoratingPatternStyledCellLabelProvider extends DecoratingStyledCe
 		 */
 		public void setPattern(String pattern) {
 			if (pattern != null && pattern.length() > 0) {
-				this.matcher = new StringMatcher(pattern, true, false);
+				this.matcher = new CompiledStringMatcher(pattern, true, false);
 			} else {
 				this.matcher = null;
 			}
@@ -89,15 +93,13 @@ public class DecoratingPatternStyledCellLabelProvider extends DecoratingStyledCe
 				int start = 0;
 				int end = 0;
 				int length = label.length();
-				Position position = matcher.find(label, start, length);
-				while (position != null) {
-					end = position.getStart();
+				while (matcher.find(label, start, length, range)) {
+					end = range[0];
 					styled.append(label.substring(start, end));
-					start = position.getEnd();
+					start = range[1];
 					styled.append(label.substring(end, start), HIGHLIGHT_STYLE);
-					position = matcher.find(label, start, length);
 				}
-				if (start > 0 && start < length) {
+				if (start < length) {
 					styled.append(label.substring(start));
 				}
 			}
@@ -0,0 +1,688 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.commons.workbench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.AbstractTreeViewer;
+import org.eclipse.jface.viewers.ILabelProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerFilter;
+import org.eclipse.mylyn.commons.workbench.AdaptiveRefreshPolicy.IFilteredTreeListener;
+import org.eclipse.mylyn.internal.commons.workbench.CompiledStringMatcher;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Filters a tree on a background thread. Elements are visible if their label contains the pattern or if one of their
+ * descendants is visible, which corresponds to the behavior of {@link SubstringPatternFilter}.
+ * <p>
+ * The engine takes a snapshot of the tree when the first pattern is applied. Changing the pattern cancels a running
+ * computation. If the new pattern extends the previous pattern only the elements that matched before are tested again.
+ * Once a computation completes, only elements whose visibility changed are added to or removed from the viewer.
+ * </p>
+ * <p>
+ * While the engine is installed on a viewer, the content provider and {@link #getText(Object)} are invoked on the UI
+ * thread in small batches to take the snapshot. The engine needs to be created with the content and label provider of
+ * that viewer. Invoke {@link #invalidate()} when the structure of the tree or the labels change.
+ * </p>
+ *
+ * @author agent
+ * @since 3.26
+ */
+public class TreeFilterEngine {
+
+	/**
+	 * The result of applying a pattern to a snapshot of the tree.
+	 */
+	public static class Result {
+
+		private final long computeTime;
+
+		private final Index index;
+
+		private final int[] matches;
+
+		private final boolean narrowed;
+
+		private final String pattern;
+
+		private final BitSet visible;
+
+		private Result(Index index, String pattern, int[] matches, BitSet visible, boolean narrowed, long computeTime) {
+			this.index = index;
+			this.pattern = pattern;
+			this.matches = matches;
+			this.visible = visible;
+			this.narrowed = narrowed;
+			this.computeTime = computeTime;
+		}
+
+		/**
+		 * Returns the time in milliseconds it took to compute this result.
+		 */
+		public long getComputeTime() {
+			return computeTime;
+		}
+
+		/**
+		 * Returns the number of elements whose label matches the pattern.
+		 */
+		public int getMatchCount() {
+			return (matches != null) ? matches.length : index.size();
+		}
+
+		/**
+		 * Returns the pattern or the empty string, if all elements are visible.
+		 */
+		public String getPattern() {
+			return pattern;
+		}
+
+		/**
+		 * Returns the number of elements in the snapshot of the tree.
+		 */
+		public int getSize() {
+			return index.size();
+		}
+
+		/**
+		 * Returns the number of visible elements.
+		 */
+		public int getVisibleCount() {
+			return visible.cardinality();
+		}
+
+		/**
+		 * Returns <code>true</code>, if only the matches of a previous result were tested to compute this result.
+		 */
+		public boolean isNarrowed() {
+			return narrowed;
+		}
+
+		/**
+		 * Returns <code>true</code>, if <code>element</code> is visible. Elements that are not part of the snapshot
+		 * are considered visible.
+		 */
+		public boolean isVisible(Object element) {
+			Integer id = index.ids.get(element);
+			return id == null || visible.get(id);
+		}
+
+	}
+
+	private class EngineFilter extends ViewerFilter {
+
+		@Override
+		public boolean select(Viewer viewer, Object parentElement, Object element) {
+			Result result = appliedResult;
+			return result == null || result.isVisible(element);
+		}
+
+	}
+
+	private class FilterJob extends Job {
+
+		public FilterJob() {
+			super("Filtering"); //$NON-NLS-1$
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			final String pattern = pendingPattern;
+			final Result result;
+			try {
+				result = compute(pattern, monitor);
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+			final AbstractTreeViewer viewer = TreeFilterEngine.this.viewer;
+			if (viewer != null && !viewer.getControl().isDisposed()) {
+				viewer.getControl().getDisplay().asyncExec(new Runnable() {
+					public void run() {
+						// skip results that were superseded by a newer pattern
+						if (viewer == TreeFilterEngine.this.viewer && !viewer.getControl().isDisposed()
+								&& pattern.equals(pendingPattern)) {
+							apply(viewer, result);
+						}
+					}
+				});
+			}
+			return Status.OK_STATUS;
+		}
+
+	}
+
+	/**
+	 * A snapshot of the tree. Elements are identified by their position in {@link #elements}, children and parents are
+	 * stored as adjacency lists.
+	 */
+	private static class Index {
+
+		private int[] childIds;
+
+		private int[] childStart;
+
+		private Object[] elements;
+
+		private final int generation;
+
+		private final Map<Object, Integer> ids = new HashMap<Object, Integer>();
+
+		private final Object input;
+
+		private int[] parentIds;
+
+		private int[] parentStart;
+
+		private int[] rootIds;
+
+		private String[] texts;
+
+		public Index(Object input, int generation) {
+			this.input = input;
+			this.generation = generation;
+		}
+
+		int size() {
+			return elements.length;
+		}
+
+	}
+
+	/**
+	 * The number of elements that are tested between checks for cancellation.
+	 */
+	private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+	/**
+	 * If more elements than this change visibility the viewer is refreshed instead of adding and removing elements.
+	 */
+	private static final int MAX_DELTA = 1000;
+
+	/**
+	 * The number of elements whose children and labels are retrieved in a single runnable on the UI thread.
+	 */
+	private static final int SNAPSHOT_BATCH_SIZE = 500;
+
+	private volatile Result appliedResult;
+
+	private final ITreeContentProvider contentProvider;
+
+	private final DisposeListener disposeListener = new DisposeListener() {
+		public void widgetDisposed(DisposeEvent e) {
+			uninstall();
+		}
+	};
+
+	private final EngineFilter filter = new EngineFilter();
+
+	private final FilterJob filterJob = new FilterJob();
+
+	private volatile int generation;
+
+	private Index index;
+
+	private volatile Object input;
+
+	private final ILabelProvider labelProvider;
+
+	private Result lastResult;
+
+	private final List<IFilteredTreeListener> listeners = new CopyOnWriteArrayList<IFilteredTreeListener>();
+
+	private volatile String pendingPattern = ""; //$NON-NLS-1$
+
+	private volatile AbstractTreeViewer viewer;
+
+	public TreeFilterEngine(ITreeContentProvider contentProvider, ILabelProvider labelProvider) {
+		Assert.isNotNull(contentProvider);
+		this.contentProvider = contentProvider;
+		this.labelProvider = labelProvider;
+	}
+
+	/**
+	 * Adds a listener that is notified on the UI thread when a result has been applied to the viewer.
+	 */
+	public void addListener(IFilteredTreeListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Computes the visible elements for <code>pattern</code>. The computation is narrowed to the matches of the last
+	 * computed result if <code>pattern</code> extends its pattern. If the engine is installed on a viewer, this method
+	 * must not be invoked on the UI thread while a computation is in progress since the snapshot of the tree is taken
+	 * on the UI thread.
+	 *
+	 * @param pattern
+	 *            the pattern, may contain <code>*</code> and <code>?</code> wildcards
+	 * @param monitor
+	 *            the progress monitor, may be <code>null</code>
+	 * @return the result
+	 * @throws OperationCanceledException
+	 *             if <code>monitor</code> was canceled
+	 */
+	public synchronized Result compute(String pattern, IProgressMonitor monitor) throws OperationCanceledException {
+		if (pattern == null) {
+			pattern = ""; //$NON-NLS-1$
+		}
+		if (monitor == null) {
+			monitor = new NullProgressMonitor();
+		}
+		long start = System.nanoTime();
+		Index index = getIndex(monitor);
+		Result base = lastResult;
+		Result result;
+		if (pattern.length() == 0) {
+			BitSet visible = new BitSet(index.size());
+			visible.set(0, index.size());
+			result = new Result(index, pattern, null, visible, false, elapsed(start));
+		} else {
+			CompiledStringMatcher matcher = new CompiledStringMatcher("*" + pattern + "*", true, false); //$NON-NLS-1$ //$NON-NLS-2$
+			boolean narrowed = base != null && base.index == index && base.matches != null
+					&& isNarrowing(base.pattern, pattern);
+			int[] matches;
+			if (narrowed) {
+				matches = match(index, matcher, base.matches, base.matches.length, monitor);
+			} else {
+				matches = match(index, matcher, null, index.size(), monitor);
+			}
+			BitSet visible = computeVisible(index, matches, monitor);
+			result = new Result(index, pattern, matches, visible, narrowed, elapsed(start));
+		}
+		lastResult = result;
+		return result;
+	}
+
+	/**
+	 * Stops filtering and discards any pending computation.
+	 */
+	public void dispose() {
+		uninstall();
+		filterJob.cancel();
+		listeners.clear();
+	}
+
+	/**
+	 * Returns the result that was last applied to the viewer or <code>null</code>.
+	 */
+	public Result getAppliedResult() {
+		return appliedResult;
+	}
+
+	/**
+	 * Returns the content provider that is used to take the snapshot of the tree.
+	 */
+	public ITreeContentProvider getContentProvider() {
+		return contentProvider;
+	}
+
+	/**
+	 * Returns the label provider that is used to retrieve the text of elements or <code>null</code>.
+	 */
+	public ILabelProvider getLabelProvider() {
+		return labelProvider;
+	}
+
+	/**
+	 * Installs a filter on <code>viewer</code> that shows the elements of the current result. Results computed by
+	 * {@link #setPattern(String)} are applied to <code>viewer</code>. Needs to be invoked on the UI thread.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if <code>viewer</code> does not use the content and label provider of the engine
+	 */
+	public void install(AbstractTreeViewer viewer) {
+		Assert.isNotNull(viewer);
+		Assert.isLegal(viewer.getContentProvider() == contentProvider,
+				"The viewer does not use the content provider of the engine"); //$NON-NLS-1$
+		Assert.isLegal(viewer.getLabelProvider() == labelProvider,
+				"The viewer does not use the label provider of the engine"); //$NON-NLS-1$
+		uninstall();
+		this.viewer = viewer;
+		viewer.addFilter(filter);
+		viewer.getControl().addDisposeListener(disposeListener);
+	}
+
+	/**
+	 * Discards the snapshot of the tree. The next computation rebuilds the snapshot from the content provider.
+	 */
+	public void invalidate() {
+		generation++;
+	}
+
+	public void removeListener(IFilteredTreeListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Sets the input of the tree. Discards the snapshot of the tree if <code>input</code> is different from the
+	 * current input.
+	 */
+	public void setInput(Object input) {
+		if (this.input != input) {
+			this.input = input;
+			invalidate();
+		}
+	}
+
+	/**
+	 * Schedules the computation of the visible elements for <code>pattern</code> on a background thread and cancels
+	 * any computation that is in progress. Once the computation completes, the result is applied to the installed
+	 * viewer.
+	 *
+	 * @param pattern
+	 *            the pattern, <code>null</code> or the empty string to show all elements
+	 */
+	public void setPattern(String pattern) {
+		AbstractTreeViewer viewer = this.viewer;
+		if (viewer != null) {
+			setInput(viewer.getInput());
+		}
+		pendingPattern = (pattern != null) ? pattern : ""; //$NON-NLS-1$
+		filterJob.cancel();
+		filterJob.schedule();
+	}
+
+	/**
+	 * Removes the filter from the viewer the engine was installed on. Needs to be invoked on the UI thread.
+	 */
+	public void uninstall() {
+		AbstractTreeViewer viewer = this.viewer;
+		if (viewer != null) {
+			this.viewer = null;
+			appliedResult = null;
+			if (!viewer.getControl().isDisposed()) {
+				viewer.getControl().removeDisposeListener(disposeListener);
+				viewer.removeFilter(filter);
+			}
+		}
+	}
+
+	/**
+	 * Applies <code>result</code> to <code>viewer</code>. Invoked on the UI thread.
+	 */
+	protected void apply(AbstractTreeViewer viewer, Result result) {
+		Result previous = appliedResult;
+		appliedResult = result;
+		Control control = viewer.getControl();
+		control.setRedraw(false);
+		try {
+			if (previous == null || previous.index != result.index) {
+				viewer.refresh(false);
+			} else {
+				BitSet changed = (BitSet) previous.visible.clone();
+				changed.xor(result.visible);
+				if (changed.cardinality() > MAX_DELTA) {
+					viewer.refresh(false);
+				} else {
+					applyDelta(viewer, result, changed);
+				}
+			}
+		} finally {
+			control.setRedraw(true);
+		}
+		for (IFilteredTreeListener listener : listeners) {
+			listener.filterTextChanged(result.getPattern());
+		}
+	}
+
+	/**
+	 * Returns the text that is matched against the pattern. Invoked on the UI thread while the engine is installed on a
+	 * viewer.
+	 */
+	protected String getText(Object element) {
+		return (labelProvider != null) ? labelProvider.getText(element) : String.valueOf(element);
+	}
+
+	private void applyDelta(AbstractTreeViewer viewer, Result result, BitSet changed) {
+		Index index = result.index;
+		List<Object> removed = new ArrayList<Object>();
+		for (int id = changed.nextSetBit(0); id >= 0; id = changed.nextSetBit(id + 1)) {
+			if (!result.visible.get(id)) {
+				removed.add(index.elements[id]);
+			}
+		}
+		if (!removed.isEmpty()) {
+			viewer.remove(removed.toArray());
+		}
+		for (int id = changed.nextSetBit(0); id >= 0; id = changed.nextSetBit(id + 1)) {
+			if (result.visible.get(id)) {
+				// children of added elements are created by the viewer when the parent is expanded
+				for (int i = index.parentStart[id]; i < index.parentStart[id + 1]; i++) {
+					int parentId = index.parentIds[i];
+					if (result.visible.get(parentId) && !changed.get(parentId)) {
+						viewer.add(index.elements[parentId], index.elements[id]);
+					}
+				}
+				if (Arrays.binarySearch(index.rootIds, id) >= 0) {
+					viewer.add(viewer.getInput(), index.elements[id]);
+				}
+			}
+		}
+	}
+
+	private Index buildIndex(final Object input, int generation, IProgressMonitor monitor) {
+		final Index index = new Index(input, generation);
+		final List<Object> elements = new ArrayList<Object>();
+		final List<int[]> children = new ArrayList<int[]>();
+		final List<String> texts = new ArrayList<String>();
+		runInUiThread(new Runnable() {
+			public void run() {
+				Object[] roots = (input != null) ? contentProvider.getElements(input) : new Object[0];
+				index.rootIds = register(index, elements, roots);
+			}
+		});
+		Arrays.sort(index.rootIds);
+		// retrieve children and labels in batches to keep the UI responsive
+		while (children.size() < elements.size()) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			final int start = children.size();
+			runInUiThread(new Runnable() {
+				public void run() {
+					int end = Math.min(elements.size(), start + SNAPSHOT_BATCH_SIZE);
+					for (int id = start; id < end; id++) {
+						Object element = elements.get(id);
+						children.add(contentProvider.hasChildren(element)
+								? register(index, elements, contentProvider.getChildren(element))
+								: new int[0]);
+						texts.add(getText(element));
+					}
+				}
+			});
+		}
+		int edgeCount = 0;
+		for (int[] childIds : children) {
+			edgeCount += childIds.length;
+		}
+
+		int size = elements.size();
+		index.elements = elements.toArray();
+		index.texts = texts.toArray(new String[size]);
+		index.childStart = new int[size + 1];
+		index.childIds = new int[edgeCount];
+		int[] parentCount = new int[size + 1];
+		for (int id = 0, offset = 0; id < size; id++) {
+			if (id % CANCEL_CHECK_INTERVAL == 0 && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			int[] childIds = children.get(id);
+			index.childStart[id] = offset;
+			System.arraycopy(childIds, 0, index.childIds, offset, childIds.length);
+			offset += childIds.length;
+			for (int childId : childIds) {
+				parentCount[childId + 1]++;
+			}
+		}
+		index.childStart[size] = edgeCount;
+
+		index.parentStart = new int[size + 1];
+		for (int id = 0; id < size; id++) {
+			index.parentStart[id + 1] = index.parentStart[id] + parentCount[id + 1];
+		}
+		index.parentIds = new int[edgeCount];
+		int[] fill = Arrays.copyOf(index.parentStart, size);
+		for (int id = 0; id < size; id++) {
+			for (int i = index.childStart[id]; i < index.childStart[id + 1]; i++) {
+				index.parentIds[fill[index.childIds[i]]++] = id;
+			}
+		}
+		return index;
+	}
+
+	private BitSet computeVisible(Index index, int[] matches, IProgressMonitor monitor) {
+		BitSet visible = new BitSet(index.size());
+		int[] stack = new int[16];
+		for (int i = 0; i < matches.length; i++) {
+			if (i % CANCEL_CHECK_INTERVAL == 0 && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			if (visible.get(matches[i])) {
+				continue;
+			}
+			// make all ancestors of the match visible
+			int top = 0;
+			stack[top++] = matches[i];
+			visible.set(matches[i]);
+			while (top > 0) {
+				int id = stack[--top];
+				for (int j = index.parentStart[id]; j < index.parentStart[id + 1]; j++) {
+					int parentId = index.parentIds[j];
+					if (!visible.get(parentId)) {
+						visible.set(parentId);
+						if (top == stack.length) {
+							stack = Arrays.copyOf(stack, stack.length * 2);
+						}
+						stack[top++] = parentId;
+					}
+				}
+			}
+		}
+		return visible;
+	}
+
+	private long elapsed(long start) {
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	private Index getIndex(IProgressMonitor monitor) {
+		Object input = this.input;
+		int generation = this.generation;
+		if (index == null || index.input != input || index.generation != generation) {
+			index = null;
+			lastResult = null;
+			index = buildIndex(input, generation, monitor);
+		}
+		return index;
+	}
+
+	private boolean isNarrowing(String previous, String pattern) {
+		if (previous.length() == 0 || previous.endsWith("\\")) { //$NON-NLS-1$
+			return false;
+		}
+		if (pattern.startsWith(previous)) {
+			return true;
+		}
+		// a literal pattern is contained in every text that contains a longer pattern
+		return previous.indexOf('*') == -1 && previous.indexOf('?') == -1 && pattern.indexOf('\\') == -1
+				&& pattern.contains(previous);
+	}
+
+	private int[] match(Index index, CompiledStringMatcher matcher, int[] candidates, int count,
+			IProgressMonitor monitor) {
+		int[] matches = new int[64];
+		int matchCount = 0;
+		for (int i = 0; i < count; i++) {
+			if (i % CANCEL_CHECK_INTERVAL == 0 && monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			int id = (candidates != null) ? candidates[i] : i;
+			String text = index.texts[id];
+			if (text != null && matcher.match(text)) {
+				if (matchCount == matches.length) {
+					matches = Arrays.copyOf(matches, matches.length * 2);
+				}
+				matches[matchCount++] = id;
+			}
+		}
+		return Arrays.copyOf(matches, matchCount);
+	}
+
+	/**
+	 * Runs <code>runnable</code> on the UI thread of the installed viewer or in the current thread, if the engine is
+	 * not installed.
+	 */
+	private void runInUiThread(Runnable runnable) {
+		AbstractTreeViewer viewer = this.viewer;
+		if (viewer == null) {
+			runnable.run();
+			return;
+		}
+		Control control = viewer.getControl();
+		if (control.isDisposed()) {
+			throw new OperationCanceledException();
+		}
+		Display display = control.getDisplay();
+		if (display.getThread() == Thread.currentThread()) {
+			runnable.run();
+			return;
+		}
+		try {
+			display.syncExec(runnable);
+		} catch (SWTException e) {
+			if (e.code == SWT.ERROR_DEVICE_DISPOSED || control.isDisposed()) {
+				throw new OperationCanceledException();
+			}
+			throw e;
+		}
+	}
+
+	private int[] register(Index index, List<Object> elements, Object[] children) {
+		if (children == null) {
+			return new int[0];
+		}
+		int[] childIds = new int[children.length];
+		int count = 0;
+		for (Object child : children) {
+			Integer id = index.ids.get(child);
+			if (id == null) {
+				id = elements.size();
+				index.ids.put(child, id);
+				elements.add(child);
+			}
+			childIds[count++] = id;
+		}
+		return childIds;
+	}
+
+}
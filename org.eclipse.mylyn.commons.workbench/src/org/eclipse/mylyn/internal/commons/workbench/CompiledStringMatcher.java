@@ -0,0 +1,391 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.workbench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A string pattern matcher, supporting "*" and "?" wildcards, that matches the same texts as {@link StringMatcher}.
+ * The pattern is compiled into segments that are case folded once and searched using skip tables. Matching and finding
+ * does not allocate, match ranges are reported into a buffer supplied by the caller.
+ * <p>
+ * Instances are immutable and may be shared between threads.
+ * </p>
+ *
+ * @author agent
+ */
+public class CompiledStringMatcher {
+
+	/**
+	 * A segment of the pattern that is separated by '*' wildcards.
+	 */
+	private static class Segment {
+
+		private final char[] chars;
+
+		private final int length;
+
+		/**
+		 * Maps the lower byte of a folded text character to the number of positions the segment can be shifted when the
+		 * character is aligned with the last position of the segment.
+		 */
+		private final int[] shift;
+
+		private final boolean[] wildcard;
+
+		public Segment(char[] chars, boolean[] wildcard) {
+			this.chars = chars;
+			this.wildcard = wildcard;
+			this.length = chars.length;
+			this.shift = new int[SHIFT_TABLE_SIZE];
+			int maxShift = length;
+			for (int i = 0; i < length - 1; i++) {
+				if (wildcard[i]) {
+					// any character matches, the segment can not be shifted past this position
+					maxShift = length - 1 - i;
+				}
+			}
+			Arrays.fill(shift, maxShift);
+			for (int i = 0; i < length - 1; i++) {
+				if (!wildcard[i]) {
+					int index = chars[i] & SHIFT_TABLE_MASK;
+					shift[index] = Math.min(shift[index], length - 1 - i);
+				}
+			}
+		}
+
+	}
+
+	private static final char[] ASCII_FOLD = new char[128];
+
+	private static final int SHIFT_TABLE_MASK = 0xFF;
+
+	private static final int SHIFT_TABLE_SIZE = SHIFT_TABLE_MASK + 1;
+
+	static {
+		for (char c = 0; c < ASCII_FOLD.length; c++) {
+			ASCII_FOLD[c] = (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+		}
+	}
+
+	private final int bound;
+
+	private final boolean hasLeadingStar;
+
+	private final boolean hasTrailingStar;
+
+	private final boolean ignoreCase;
+
+	private final int length;
+
+	private final Segment[] segments;
+
+	/**
+	 * Compiles <code>pattern</code>. See {@link StringMatcher#StringMatcher(String, boolean, boolean)} for a
+	 * description of the pattern syntax.
+	 *
+	 * @param pattern
+	 *            the pattern to match text against
+	 * @param ignoreCase
+	 *            if true, case is ignored
+	 * @param ignoreWildCards
+	 *            if true, wild cards and their escape sequences are ignored (everything is taken literally).
+	 */
+	public CompiledStringMatcher(String pattern, boolean ignoreCase, boolean ignoreWildCards) {
+		if (pattern == null) {
+			throw new IllegalArgumentException();
+		}
+		this.ignoreCase = ignoreCase;
+		this.length = pattern.length();
+
+		List<Segment> segments = new ArrayList<Segment>();
+		if (ignoreWildCards) {
+			hasLeadingStar = false;
+			hasTrailingStar = false;
+			segments.add(createSegment(pattern.toCharArray(), new boolean[length], length));
+		} else {
+			hasLeadingStar = pattern.startsWith("*"); //$NON-NLS-1$
+			hasTrailingStar = pattern.endsWith("*") && length > 1 && pattern.charAt(length - 2) != '\\'; //$NON-NLS-1$
+			char[] chars = new char[length];
+			boolean[] wildcard = new boolean[length];
+			int count = 0;
+			int pos = 0;
+			while (pos < length) {
+				char c = pattern.charAt(pos++);
+				switch (c) {
+				case '\\':
+					if (pos >= length) {
+						chars[count++] = c;
+					} else {
+						char next = pattern.charAt(pos++);
+						if (next == '*' || next == '?' || next == '\\') {
+							chars[count++] = next;
+						} else {
+							// not an escape sequence, just insert literally
+							chars[count++] = c;
+							chars[count++] = next;
+						}
+					}
+					break;
+				case '*':
+					if (count > 0) {
+						segments.add(createSegment(chars, wildcard, count));
+						count = 0;
+						Arrays.fill(wildcard, false);
+					}
+					break;
+				case '?':
+					wildcard[count++] = true;
+					break;
+				default:
+					chars[count++] = c;
+				}
+			}
+			if (count > 0) {
+				segments.add(createSegment(chars, wildcard, count));
+			}
+		}
+		this.segments = segments.toArray(new Segment[segments.size()]);
+		int bound = 0;
+		for (Segment segment : this.segments) {
+			bound += segment.length;
+		}
+		this.bound = bound;
+	}
+
+	/**
+	 * Finds the first occurrence of the pattern between <code>start</code> (inclusive) and <code>end</code>
+	 * (exclusive). Follows the semantics of {@link StringMatcher#find(String, int, int)}.
+	 *
+	 * @param text
+	 *            the text to search in
+	 * @param start
+	 *            the starting index of the search range, inclusive
+	 * @param end
+	 *            the ending index of the search range, exclusive
+	 * @param range
+	 *            receives the start (inclusive) and end (exclusive) of the match at <code>range[0]</code> and
+	 *            <code>range[1]</code>
+	 * @return true, if a match was found
+	 */
+	public boolean find(CharSequence text, int start, int end, int[] range) {
+		return find(text, start, end, range, 0);
+	}
+
+	/**
+	 * Finds all consecutive, non-overlapping occurrences of the pattern in <code>text</code>. The start (inclusive)
+	 * and end (exclusive) of each match are stored as pairs in <code>ranges</code>.
+	 *
+	 * @param text
+	 *            the text to search in
+	 * @param ranges
+	 *            receives the match ranges
+	 * @return the number of matches that were stored in <code>ranges</code>; stops when <code>ranges</code> is full
+	 */
+	public int findAll(CharSequence text, int[] ranges) {
+		int count = 0;
+		int start = 0;
+		int end = text.length();
+		while (2 * count + 1 < ranges.length && find(text, start, end, ranges, 2 * count)) {
+			start = ranges[2 * count + 1];
+			count++;
+			if (start == ranges[2 * count - 2]) {
+				// empty match
+				break;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns true, if <code>text</code> matches the pattern.
+	 */
+	public boolean match(CharSequence text) {
+		if (text == null) {
+			return false;
+		}
+		return match(text, 0, text.length());
+	}
+
+	/**
+	 * Returns true, if the region of <code>text</code> between <code>start</code> (inclusive) and <code>end</code>
+	 * (exclusive) matches the pattern. Follows the semantics of {@link StringMatcher#match(String, int, int)}.
+	 */
+	public boolean match(CharSequence text, int start, int end) {
+		if (text == null) {
+			throw new IllegalArgumentException();
+		}
+		if (start > end) {
+			return false;
+		}
+
+		int segCount = segments.length;
+		if (segCount == 0 && (hasLeadingStar || hasTrailingStar)) {
+			return true;
+		}
+		if (start == end) {
+			return length == 0;
+		}
+		if (length == 0) {
+			return false;
+		}
+
+		int tlen = text.length();
+		if (start < 0) {
+			start = 0;
+		}
+		if (end > tlen) {
+			end = tlen;
+		}
+		if (end - bound < 0) {
+			return false;
+		}
+
+		int pos = start;
+		int i = 0;
+		Segment current = segments[0];
+		if (!hasLeadingStar) {
+			if (!regionMatches(text, start, current)) {
+				return false;
+			}
+			++i;
+			pos += current.length;
+		}
+		if (segCount == 1 && !hasLeadingStar && !hasTrailingStar) {
+			// only one segment to match, no wildcards specified
+			return pos == end;
+		}
+		while (i < segCount) {
+			current = segments[i];
+			int match = indexOf(text, pos, end, current);
+			if (match < 0) {
+				return false;
+			}
+			pos = match + current.length;
+			i++;
+		}
+		if (!hasTrailingStar && pos != end) {
+			return end - current.length >= 0 && regionMatches(text, end - current.length, current);
+		}
+		return i == segCount;
+	}
+
+	private Segment createSegment(char[] chars, boolean[] wildcard, int count) {
+		char[] segmentChars = new char[count];
+		for (int i = 0; i < count; i++) {
+			segmentChars[i] = fold(chars[i]);
+		}
+		return new Segment(segmentChars, Arrays.copyOf(wildcard, count));
+	}
+
+	private boolean find(CharSequence text, int start, int end, int[] range, int offset) {
+		if (text == null) {
+			throw new IllegalArgumentException();
+		}
+		int tlen = text.length();
+		if (start < 0) {
+			start = 0;
+		}
+		if (end > tlen) {
+			end = tlen;
+		}
+		if (end < 0 || start >= end) {
+			return false;
+		}
+		if (length == 0) {
+			range[offset] = start;
+			range[offset + 1] = start;
+			return true;
+		}
+		if (segments.length == 0) {
+			range[offset] = start;
+			range[offset + 1] = end;
+			return true;
+		}
+
+		int pos = start;
+		int matchStart = -1;
+		int i;
+		for (i = 0; i < segments.length && pos < end; ++i) {
+			Segment current = segments[i];
+			int match = indexOf(text, pos, end, current);
+			if (match < 0) {
+				return false;
+			}
+			if (i == 0) {
+				matchStart = match;
+			}
+			pos = match + current.length;
+		}
+		if (i < segments.length) {
+			return false;
+		}
+		range[offset] = matchStart;
+		range[offset + 1] = pos;
+		return true;
+	}
+
+	private char fold(char c) {
+		if (!ignoreCase) {
+			return c;
+		}
+		if (c < ASCII_FOLD.length) {
+			return ASCII_FOLD[c];
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	/**
+	 * Returns the index of the first occurrence of <code>segment</code> in <code>text</code> between
+	 * <code>start</code> and <code>end</code> using the Boyer-Moore-Horspool algorithm.
+	 */
+	private int indexOf(CharSequence text, int start, int end, Segment segment) {
+		int last = segment.length - 1;
+		char[] chars = segment.chars;
+		boolean[] wildcard = segment.wildcard;
+		int[] shift = segment.shift;
+		int pos = start;
+		int max = end - segment.length;
+		while (pos <= max) {
+			char c = fold(text.charAt(pos + last));
+			if (wildcard[last] || chars[last] == c) {
+				int j = last - 1;
+				while (j >= 0 && (wildcard[j] || chars[j] == fold(text.charAt(pos + j)))) {
+					j--;
+				}
+				if (j < 0) {
+					return pos;
+				}
+			}
+			pos += shift[c & SHIFT_TABLE_MASK];
+		}
+		return -1;
+	}
+
+	private boolean regionMatches(CharSequence text, int start, Segment segment) {
+		if (start + segment.length > text.length()) {
+			return false;
+		}
+		char[] chars = segment.chars;
+		boolean[] wildcard = segment.wildcard;
+		for (int i = 0; i < segment.length; i++) {
+			if (!wildcard[i] && chars[i] != fold(text.charAt(start + i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.xmlrpc;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+
+import org.apache.commons.httpclient.auth.NTLMScheme;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpProtocolParams;
+import org.apache.xmlrpc.XmlRpcException;
+import org.apache.xmlrpc.XmlRpcRequest;
+import org.apache.xmlrpc.client.XmlRpcClient;
+import org.apache.xmlrpc.client.XmlRpcClientException;
+import org.apache.xmlrpc.client.XmlRpcHttpClientConfig;
+import org.apache.xmlrpc.client.XmlRpcHttpTransport;
+import org.apache.xmlrpc.client.XmlRpcTransport;
+import org.apache.xmlrpc.client.XmlRpcTransportFactory;
+import org.apache.xmlrpc.common.XmlRpcStreamRequestConfig;
+import org.apache.xmlrpc.util.HttpUtil;
+import org.apache.xmlrpc.util.XmlRpcIOException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
+import org.eclipse.mylyn.commons.core.operations.OperationUtil;
+import org.eclipse.mylyn.commons.net.AuthenticationType;
+import org.eclipse.mylyn.commons.net.WebUtil;
+import org.eclipse.osgi.util.NLS;
+import org.xml.sax.SAXException;
+
+/**
+ * A transport factory that sends XML-RPC requests through the HttpClient 4 connection pool that is shared with all
+ * other HTTP traffic. Uses the Mylyn proxy settings.
+ *
+ * @author agent
+ * @see HttpClientTransportFactory
+ */
+class CommonHttpClientTransportFactory implements XmlRpcTransportFactory {
+
+	/**
+	 * A transport that uses a {@link WebLocationHttpClient}.
+	 */
+	static class CommonHttpClientTransport extends XmlRpcHttpTransport {
+
+		private final CommonXmlRpcClient client;
+
+		private XmlRpcHttpClientConfig config;
+
+		private int contentLength = -1;
+
+		private final WebLocationHttpClient httpClient;
+
+		private HttpPost method;
+
+		private IOperationMonitor monitor;
+
+		private HttpResponse response;
+
+		public CommonHttpClientTransport(XmlRpcClient xmlRpcClient, WebLocationHttpClient httpClient,
+				CommonXmlRpcClient client) {
+			super(xmlRpcClient, ""); //$NON-NLS-1$
+			this.httpClient = httpClient;
+			this.client = client;
+		}
+
+		@Override
+		protected void close() throws XmlRpcClientException {
+			if (response != null) {
+				org.eclipse.mylyn.commons.repositories.http.core.HttpUtil.release(method, response, monitor);
+			}
+		}
+
+		public int getContentLength() {
+			return contentLength;
+		}
+
+		@Override
+		protected InputStream getInputStream() throws XmlRpcException {
+			int responseCode = response.getStatusLine().getStatusCode();
+			if (responseCode != HttpURLConnection.HTTP_OK) {
+				XmlRpcHttpException e = new XmlRpcHttpException(responseCode);
+				if (responseCode == HttpStatus.SC_UNAUTHORIZED && isNtlmRequested()) {
+					e.setAuthScheme(new NTLMScheme());
+				}
+				throw e;
+			}
+
+			try {
+				return response.getEntity().getContent();
+			} catch (IOException e) {
+				throw new XmlRpcClientException("I/O error in server communication: " + e.getMessage(), e); //$NON-NLS-1$
+			}
+		}
+
+		@Override
+		protected String getUserAgent() {
+			return WebUtil.getUserAgent(""); //$NON-NLS-1$
+		}
+
+		@Override
+		protected void initHttpHeaders(XmlRpcRequest request) throws XmlRpcClientException {
+			config = (XmlRpcHttpClientConfig) request.getConfig();
+
+			IProgressMonitor progressMonitor = null;
+			if (request instanceof XmlRpcClientRequest) {
+				progressMonitor = ((XmlRpcClientRequest) request).getProgressMonitor();
+			}
+			monitor = OperationUtil.convert(progressMonitor);
+
+			method = new HttpPost(config.getServerURL().toString());
+
+			super.initHttpHeaders(request);
+
+			if (config.getConnectionTimeout() != 0) {
+				HttpConnectionParams.setConnectionTimeout(method.getParams(), config.getConnectionTimeout());
+			}
+
+			if (config.getReplyTimeout() != 0) {
+				HttpConnectionParams.setSoTimeout(method.getParams(), config.getReplyTimeout());
+			}
+
+			HttpProtocolParams.setVersion(method.getParams(), HttpVersion.HTTP_1_1);
+		}
+
+		@Override
+		protected boolean isResponseGzipCompressed(XmlRpcStreamRequestConfig config) {
+			Header header = response.getFirstHeader("Content-Encoding"); //$NON-NLS-1$
+			return header != null && HttpUtil.isUsingGzipEncoding(header.getValue());
+		}
+
+		@Override
+		protected void setContentLength(int contentLength) {
+			this.contentLength = contentLength;
+		}
+
+		@Override
+		protected void setCredentials(XmlRpcHttpClientConfig config) throws XmlRpcClientException {
+			// handled by CommonHttpClient
+		}
+
+		@Override
+		protected void setRequestHeader(String header, String value) {
+			if (!"Content-Length".equalsIgnoreCase(header)) { //$NON-NLS-1$
+				// the length is provided by the entity
+				method.setHeader(header, value);
+			}
+		}
+
+		@Override
+		protected void writeRequest(final ReqWriter writer) throws XmlRpcException {
+			AbstractHttpEntity entity = new AbstractHttpEntity() {
+				public InputStream getContent() throws IOException {
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					writeTo(out);
+					return new ByteArrayInputStream(out.toByteArray());
+				}
+
+				public long getContentLength() {
+					return CommonHttpClientTransport.this.getContentLength();
+				}
+
+				public boolean isRepeatable() {
+					return getContentLength() != -1;
+				}
+
+				public boolean isStreaming() {
+					return false;
+				}
+
+				public void writeTo(OutputStream pOut) throws IOException {
+					try {
+						/* Make sure, that the socket is not closed by replacing it with our
+						 * own BufferedOutputStream.
+						 */
+						OutputStream ostream;
+						if (isUsingByteArrayOutput(config)) {
+							// No need to buffer the output.
+							ostream = new FilterOutputStream(pOut) {
+								@Override
+								public void close() throws IOException {
+									flush();
+								}
+							};
+						} else {
+							ostream = new BufferedOutputStream(pOut) {
+								@Override
+								public void close() throws IOException {
+									flush();
+								}
+							};
+						}
+						writer.write(ostream);
+					} catch (XmlRpcException e) {
+						throw new XmlRpcIOException(e);
+					} catch (SAXException e) {
+						throw new XmlRpcIOException(e);
+					}
+				}
+			};
+			entity.setContentType("text/xml"); //$NON-NLS-1$
+			method.setEntity(entity);
+
+			// the repository credentials are used for HTTP authentication unless dedicated credentials are set
+			if (httpClient.getWebLocation().getCredentials(AuthenticationType.HTTP) != null) {
+				httpClient.setHttpAuthenticationType(
+						org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationType.HTTP);
+			} else {
+				httpClient.setHttpAuthenticationType(
+						org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationType.REPOSITORY);
+			}
+
+			try {
+				response = httpClient.execute(method, monitor);
+				if (client.isContentTypeCheckingEnabled()) {
+					checkContentType();
+				}
+			} catch (XmlRpcIOException e) {
+				Throwable t = e.getLinkedException();
+				if (t instanceof XmlRpcException) {
+					throw (XmlRpcException) t;
+				} else {
+					throw new XmlRpcException("Unexpected exception: " + t.getMessage(), t); //$NON-NLS-1$
+				}
+			} catch (IOException e) {
+				throw new XmlRpcException("I/O error while communicating with HTTP server: " + e.getMessage(), e); //$NON-NLS-1$
+			}
+		}
+
+		private void checkContentType() throws XmlRpcException {
+			Header header = response.getFirstHeader("Content-Type"); //$NON-NLS-1$
+			String contentType = (header != null) ? header.getValue() : null;
+			if (!"text/xml".equals(contentType)) { //$NON-NLS-1$
+				close();
+				throw new XmlRpcIllegalContentTypeException(NLS.bind(
+						"The server returned an unexpected content type: ''{0}''", contentType), contentType); //$NON-NLS-1$
+			}
+		}
+
+		private boolean isNtlmRequested() {
+			for (Header header : response.getHeaders("WWW-Authenticate")) { //$NON-NLS-1$
+				if (header.getValue() != null && header.getValue().toUpperCase().startsWith("NTLM")) { //$NON-NLS-1$
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+	private final CommonXmlRpcClient client;
+
+	private final WebLocationHttpClient httpClient;
+
+	private final XmlRpcClient xmlRpcClient;
+
+	public CommonHttpClientTransportFactory(XmlRpcClient xmlRpcClient, WebLocationHttpClient httpClient,
+			CommonXmlRpcClient client) {
+		this.xmlRpcClient = xmlRpcClient;
+		this.httpClient = httpClient;
+		this.client = client;
+	}
+
+	public WebLocationHttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	public XmlRpcTransport getTransport() {
+		return new CommonHttpClientTransport(xmlRpcClient, httpClient, client);
+	}
+
+}
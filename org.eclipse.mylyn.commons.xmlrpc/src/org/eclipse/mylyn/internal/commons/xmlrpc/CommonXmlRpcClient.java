@@ -55,6 +55,13 @@ public class CommonXmlRpcClient {
 
 	private static final String DEFAULT_CONTENT_TYPE = "text/xml"; //$NON-NLS-1$
 
+	/**
+	 * System property that selects the HttpClient 4 based transport for all clients if set to <code>true</code>.
+	 *
+	 * @see #setSharedConnectionPoolEnabled(boolean)
+	 */
+	public static final String PROPERTY_SHARED_CONNECTION_POOL = "org.eclipse.mylyn.commons.xmlrpc.sharedConnectionPool"; //$NON-NLS-1$
+
 	private static HttpClient createHttpClient(String userAgent) {
 		HttpClient httpClient = new HttpClient();
 		httpClient.setHttpConnectionManager(WebUtil.getConnectionManager());
@@ -81,6 +88,14 @@ public class CommonXmlRpcClient {
 
 	private volatile boolean contentTypeCheckingEnabled;
 
+	private volatile boolean batchingEnabled;
+
+	private boolean sharedConnectionPoolEnabled = Boolean.getBoolean(PROPERTY_SHARED_CONNECTION_POOL);
+
+	private WebLocationHttpClient commonHttpClient;
+
+	private final XmlRpcCallBatcher batcher = new XmlRpcCallBatcher(this);
+
 	public CommonXmlRpcClient(AbstractWebLocation location) {
 		this(location, createHttpClient(DEFAULT_USER_AGENT));
 	}
@@ -92,8 +107,18 @@ public class CommonXmlRpcClient {
 				AuthScope.ANY_SCHEME);
 	}
 
+	/**
+	 * Invokes <code>method</code>. If batching is enabled, the call may be combined with concurrent calls into a single
+	 * <code>system.multicall</code> request.
+	 * 
+	 * @see #setBatchingEnabled(boolean)
+	 */
+	@SuppressWarnings("unchecked")
 	public <T> T call(final IProgressMonitor monitor, final String method, final Object... parameters)
 			throws XmlRpcException {
+		if (batchingEnabled) {
+			return (T) batcher.call(monitor, method, parameters);
+		}
 		return new XmlRpcOperation<T>(this) {
 			@SuppressWarnings("unchecked")
 			@Override
@@ -125,6 +150,12 @@ public class CommonXmlRpcClient {
 		// bug 307200: force factory that supports proper UTF-8 encoding
 		xmlrpc.setXmlWriterFactory(new CharSetXmlWriterFactory());
 
+		if (sharedConnectionPoolEnabled) {
+			xmlrpc.setTransportFactory(new CommonHttpClientTransportFactory(xmlrpc, getCommonHttpClient(), this));
+			setServerUrl();
+			return;
+		}
+
 		factory = new HttpClientTransportFactory(xmlrpc, httpClient);
 		factory.setLocation(location);
 		factory.setInterceptor(new HttpMethodInterceptor() {
@@ -165,7 +196,10 @@ public class CommonXmlRpcClient {
 			}
 		});
 		xmlrpc.setTransportFactory(factory);
+		setServerUrl();
+	}
 
+	private void setServerUrl() {
 		try {
 			config.setServerURL(new URL(location.getUrl()));
 		} catch (MalformedURLException e) {
@@ -181,6 +215,18 @@ public class CommonXmlRpcClient {
 		return xmlrpc;
 	}
 
+	/**
+	 * Returns the HttpClient 4 based client that is used if the shared connection pool is enabled.
+	 *
+	 * @see #setSharedConnectionPoolEnabled(boolean)
+	 */
+	public synchronized WebLocationHttpClient getCommonHttpClient() {
+		if (commonHttpClient == null) {
+			commonHttpClient = new WebLocationHttpClient(location);
+		}
+		return commonHttpClient;
+	}
+
 	public HttpClient getHttpClient() {
 		return httpClient;
 	}
@@ -214,6 +260,104 @@ public class CommonXmlRpcClient {
 		return credentials;
 	}
 
+	/**
+	 * Returns the number of <code>system.multicall</code> requests that were sent for batched calls.
+	 */
+	public long getBatchCount() {
+		return batcher.getBatchCount();
+	}
+
+	/**
+	 * Returns the number of calls that were sent as part of a <code>system.multicall</code> request.
+	 */
+	public long getBatchedCallCount() {
+		return batcher.getBatchedCallCount();
+	}
+
+	/**
+	 * Returns the maximum time in milliseconds that the first call of a batch waits for further calls.
+	 */
+	public long getBatchWindow() {
+		return batcher.getBatchWindow();
+	}
+
+	/**
+	 * Returns the number of calls of the largest batch that was sent.
+	 */
+	public long getLargestBatchSize() {
+		return batcher.getLargestBatchSize();
+	}
+
+	public int getMaxBatchSize() {
+		return batcher.getMaxBatchSize();
+	}
+
+	/**
+	 * Returns the number of requests that were saved by batching calls.
+	 */
+	public long getRoundTripsSaved() {
+		return batcher.getRoundTripsSaved();
+	}
+
+	public boolean isBatchingEnabled() {
+		return batchingEnabled;
+	}
+
+	/**
+	 * Returns <code>false</code>, if batching has been disabled because the server does not support
+	 * <code>system.multicall</code>.
+	 */
+	public boolean isMulticallSupported() {
+		return batcher.isMulticallSupported();
+	}
+
+	/**
+	 * Enables combining of concurrent calls into <code>system.multicall</code> requests. Calls that are issued within
+	 * the batch window are sent as a single request. A call that is issued while no other call is active is sent
+	 * immediately. If the server does not support <code>system.multicall</code> all further calls are sent
+	 * individually. Disabled by default.
+	 * 
+	 * @see #setBatchWindow(long)
+	 * @see #setMaxBatchSize(int)
+	 */
+	public void setBatchingEnabled(boolean batchingEnabled) {
+		this.batchingEnabled = batchingEnabled;
+	}
+
+	/**
+	 * Sets the maximum time in milliseconds that the first call of a batch waits for further calls. The batch is sent
+	 * earlier if all other active calls have joined it.
+	 */
+	public void setBatchWindow(long batchWindow) {
+		batcher.setBatchWindow(batchWindow);
+	}
+
+	/**
+	 * Sets the maximum number of calls that are combined into a single request. A batch is sent immediately when it
+	 * is full.
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		batcher.setMaxBatchSize(maxBatchSize);
+	}
+
+	public synchronized boolean isSharedConnectionPoolEnabled() {
+		return sharedConnectionPoolEnabled;
+	}
+
+	/**
+	 * Sends requests through the HttpClient 4 connection pool that is shared with all {@link WebLocationHttpClient} and
+	 * other <code>CommonHttpClient</code> instances instead of the HttpClient 3 pool of {@link WebUtil}. Requests then
+	 * share connection limits and TLS sessions with all other HTTP traffic. Defaults to the value of the
+	 * {@link #PROPERTY_SHARED_CONNECTION_POOL} system property.
+	 */
+	public synchronized void setSharedConnectionPoolEnabled(boolean sharedConnectionPoolEnabled) {
+		if (this.sharedConnectionPoolEnabled != sharedConnectionPoolEnabled) {
+			this.sharedConnectionPoolEnabled = sharedConnectionPoolEnabled;
+			// the transport is selected when the client is created
+			xmlrpc = null;
+		}
+	}
+
 	public boolean isContentTypeCheckingEnabled() {
 		return contentTypeCheckingEnabled;
 	}
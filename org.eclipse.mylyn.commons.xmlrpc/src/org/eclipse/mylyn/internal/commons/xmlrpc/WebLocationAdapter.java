@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.xmlrpc;
+
+import java.net.Proxy;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.mylyn.commons.net.AbstractWebLocation;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
+import org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationCredentials;
+import org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationType;
+import org.eclipse.mylyn.commons.repositories.core.auth.CertificateCredentials;
+import org.eclipse.mylyn.commons.repositories.core.auth.UserCredentials;
+
+/**
+ * Presents an {@link AbstractWebLocation} as a {@link RepositoryLocation} so that it can be accessed through the
+ * HttpClient 4 based connection pool of <code>org.eclipse.mylyn.commons.repositories.http.core</code>. Credentials and
+ * proxy settings are always retrieved from the web location and are never stored.
+ *
+ * @author agent
+ */
+public class WebLocationAdapter extends RepositoryLocation {
+
+	private final AbstractWebLocation location;
+
+	public WebLocationAdapter(AbstractWebLocation location) {
+		Assert.isNotNull(location);
+		this.location = location;
+		setUrl(location.getUrl());
+	}
+
+	@Override
+	public <T extends AuthenticationCredentials> T getCredentials(AuthenticationType<T> authType, boolean loadSecrets) {
+		org.eclipse.mylyn.commons.net.AuthenticationType webAuthType = getWebAuthenticationType(authType);
+		if (webAuthType == null) {
+			return null;
+		}
+		org.eclipse.mylyn.commons.net.AuthenticationCredentials credentials = location.getCredentials(webAuthType);
+		if (credentials == null) {
+			return null;
+		}
+		if (authType == AuthenticationType.CERTIFICATE) {
+			// the user name denotes the key store for certificate authentication
+			return authType.getCredentialsType().cast(
+					new CertificateCredentials(credentials.getUserName(), credentials.getPassword(), null));
+		}
+		return authType.getCredentialsType().cast(
+				new UserCredentials(credentials.getUserName(), credentials.getPassword()));
+	}
+
+	@Override
+	public Proxy getProxyForHost(String host, String proxyType) {
+		return location.getProxyForHost(host, proxyType);
+	}
+
+	@Override
+	public String getUrl() {
+		return location.getUrl();
+	}
+
+	public AbstractWebLocation getWebLocation() {
+		return location;
+	}
+
+	private org.eclipse.mylyn.commons.net.AuthenticationType getWebAuthenticationType(AuthenticationType<?> authType) {
+		if (authType == AuthenticationType.CERTIFICATE) {
+			return org.eclipse.mylyn.commons.net.AuthenticationType.CERTIFICATE;
+		} else if (authType == AuthenticationType.PROXY) {
+			return org.eclipse.mylyn.commons.net.AuthenticationType.PROXY;
+		} else if (authType == AuthenticationType.REPOSITORY) {
+			return org.eclipse.mylyn.commons.net.AuthenticationType.REPOSITORY;
+		} else if (authType == AuthenticationType.HTTP) {
+			return org.eclipse.mylyn.commons.net.AuthenticationType.HTTP;
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.xmlrpc;
+
+import java.io.IOException;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
+import org.eclipse.mylyn.commons.core.operations.OperationUtil;
+import org.eclipse.mylyn.commons.net.AbstractWebLocation;
+import org.eclipse.mylyn.commons.net.WebUtil;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpClient;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpResponse;
+
+/**
+ * An HttpClient 4 based replacement for {@link WebUtil#execute(org.apache.commons.httpclient.HttpClient,
+ * org.apache.commons.httpclient.HostConfiguration, org.apache.commons.httpclient.HttpMethod, IProgressMonitor)}.
+ * Requests to an {@link AbstractWebLocation} are executed on the connection pool that is shared with all
+ * {@link CommonHttpClient} instances, i.e. they share connection limits and TLS sessions with other Mylyn traffic
+ * instead of opening connections through the separate HttpClient 3 pool of {@link WebUtil}.
+ *
+ * @author agent
+ * @see WebLocationAdapter
+ */
+public class WebLocationHttpClient extends CommonHttpClient {
+
+	private final AbstractWebLocation webLocation;
+
+	public WebLocationHttpClient(AbstractWebLocation location) {
+		super(new WebLocationAdapter(location));
+		this.webLocation = location;
+	}
+
+	/**
+	 * Executes <code>request</code> with the proxy and credentials of the web location. The request is aborted if
+	 * <code>monitor</code> is canceled. The caller is responsible for releasing the returned response.
+	 */
+	public CommonHttpResponse executeRequest(HttpRequestBase request, IProgressMonitor monitor) throws IOException {
+		Assert.isNotNull(request);
+		IOperationMonitor operationMonitor = OperationUtil.convert(monitor);
+		HttpResponse response = execute(request, operationMonitor);
+		return new CommonHttpResponse(request, response, operationMonitor);
+	}
+
+	public AbstractWebLocation getWebLocation() {
+		return webLocation;
+	}
+
+}
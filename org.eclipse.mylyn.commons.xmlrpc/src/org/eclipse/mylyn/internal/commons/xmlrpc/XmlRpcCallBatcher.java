@@ -0,0 +1,360 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.commons.xmlrpc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.xmlrpc.XmlRpcException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.mylyn.commons.net.Policy;
+
+/**
+ * Groups calls that are issued concurrently into a single <code>system.multicall</code> request. The first call of a
+ * batch waits for the batch window to pass, for the batch to fill up or for all other active callers to join the batch
+ * and then sends the request for all calls of the batch. A call that is issued while no other call is active is sent
+ * immediately. Each caller receives its own result or fault.
+ * <p>
+ * Batching is disabled permanently if the server does not support <code>system.multicall</code>. Calls that are
+ * rejected because of missing permissions and calls of batches that fail due to cancellation are retried as single
+ * calls so authentication and cancellation are handled for each caller.
+ *
+ * @author agent
+ */
+class XmlRpcCallBatcher {
+
+	private static class Batch {
+
+		private final List<PendingCall> calls = new ArrayList<PendingCall>();
+
+	}
+
+	private static class PendingCall {
+
+		private final CountDownLatch done = new CountDownLatch(1);
+
+		private XmlRpcException exception;
+
+		private final String method;
+
+		private final Object[] parameters;
+
+		private Object result;
+
+		/**
+		 * Set if the call needs to be sent as a single call by the caller.
+		 */
+		private boolean retry;
+
+		private RuntimeException runtimeException;
+
+		public PendingCall(String method, Object[] parameters) {
+			this.method = method;
+			this.parameters = parameters;
+		}
+
+	}
+
+	private static final long CANCELLATION_POLL_INTERVAL = 100;
+
+	static final long DEFAULT_BATCH_WINDOW = 10;
+
+	static final int DEFAULT_MAX_BATCH_SIZE = 50;
+
+	private static final String MULTICALL_METHOD = "system.multicall"; //$NON-NLS-1$
+
+	/**
+	 * The number of callers that are currently waiting for a batch or for a result, guarded by <code>this</code>.
+	 */
+	private int activeCalls;
+
+	private final AtomicLong batchCount = new AtomicLong();
+
+	private final AtomicLong batchedCallCount = new AtomicLong();
+
+	private volatile long batchWindow = DEFAULT_BATCH_WINDOW;
+
+	private final CommonXmlRpcClient client;
+
+	private Batch currentBatch;
+
+	private final AtomicLong largestBatchSize = new AtomicLong();
+
+	private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+	private volatile boolean multicallSupported = true;
+
+	public XmlRpcCallBatcher(CommonXmlRpcClient client) {
+		this.client = client;
+	}
+
+	public Object call(IProgressMonitor monitor, String method, Object[] parameters) throws XmlRpcException {
+		monitor = Policy.monitorFor(monitor);
+		if (!multicallSupported || maxBatchSize <= 1) {
+			return executeCall(monitor, method, parameters);
+		}
+
+		PendingCall call = new PendingCall(method, parameters);
+		Batch batch;
+		boolean leader;
+		synchronized (this) {
+			activeCalls++;
+			leader = (currentBatch == null);
+			if (leader) {
+				currentBatch = new Batch();
+			}
+			batch = currentBatch;
+			batch.calls.add(call);
+			if (batch.calls.size() >= maxBatchSize) {
+				// close batch and wake up leader
+				currentBatch = null;
+				notifyAll();
+			}
+		}
+
+		try {
+			if (leader) {
+				List<PendingCall> calls = awaitBatch(batch);
+				execute(monitor, calls);
+			}
+			return await(monitor, call);
+		} finally {
+			synchronized (this) {
+				activeCalls--;
+				// wake up a leader that may be waiting for this caller
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of <code>system.multicall</code> requests that were sent.
+	 */
+	public long getBatchCount() {
+		return batchCount.get();
+	}
+
+	/**
+	 * Returns the number of calls that were sent as part of a <code>system.multicall</code> request.
+	 */
+	public long getBatchedCallCount() {
+		return batchedCallCount.get();
+	}
+
+	public long getBatchWindow() {
+		return batchWindow;
+	}
+
+	/**
+	 * Returns the number of calls of the largest batch that was sent.
+	 */
+	public long getLargestBatchSize() {
+		return largestBatchSize.get();
+	}
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * Returns the number of requests that were saved by batching calls.
+	 */
+	public long getRoundTripsSaved() {
+		return batchedCallCount.get() - batchCount.get();
+	}
+
+	public boolean isMulticallSupported() {
+		return multicallSupported;
+	}
+
+	public void setBatchWindow(long batchWindow) {
+		this.batchWindow = batchWindow;
+	}
+
+	public void setMaxBatchSize(int maxBatchSize) {
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	private Object await(IProgressMonitor monitor, PendingCall call) throws XmlRpcException {
+		try {
+			while (!call.done.await(CANCELLATION_POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+
+		if (call.retry) {
+			return executeCall(monitor, call.method, call.parameters);
+		}
+		if (call.exception != null) {
+			throw call.exception;
+		}
+		if (call.runtimeException != null) {
+			throw call.runtimeException;
+		}
+		return call.result;
+	}
+
+	/**
+	 * Waits until the batch window has passed, the batch has been closed because it is full or there are no other active
+	 * callers that could join the batch.
+	 */
+	private List<PendingCall> awaitBatch(Batch batch) {
+		synchronized (this) {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWindow);
+			try {
+				while (currentBatch == batch && activeCalls > batch.calls.size()) {
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						break;
+					}
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (currentBatch == batch) {
+				currentBatch = null;
+			}
+			return new ArrayList<PendingCall>(batch.calls);
+		}
+	}
+
+	private void execute(IProgressMonitor monitor, List<PendingCall> calls) {
+		try {
+			if (calls.size() == 1) {
+				// nothing to batch
+				calls.get(0).retry = true;
+				return;
+			}
+
+			Multicall multicall = new Multicall();
+			for (PendingCall call : calls) {
+				multicall.add(call.method, call.parameters);
+			}
+			MulticallOperation operation = new MulticallOperation(client, monitor, multicall);
+			Object[] response = operation.execute();
+			if (response == null || response.length != calls.size()) {
+				throw new XmlRpcRemoteException("Unexpected multicall response"); //$NON-NLS-1$
+			}
+
+			batchCount.incrementAndGet();
+			batchedCallCount.addAndGet(calls.size());
+			long max;
+			do {
+				max = largestBatchSize.get();
+			} while (calls.size() > max && !largestBatchSize.compareAndSet(max, calls.size()));
+
+			for (int i = 0; i < calls.size(); i++) {
+				PendingCall call = calls.get(i);
+				Object item = response[i];
+				if (item instanceof Object[] && ((Object[]) item).length == 1) {
+					call.result = ((Object[]) item)[0];
+				} else if (item instanceof Map<?, ?>) {
+					call.exception = operation.getFault(item);
+					if (call.exception == null) {
+						// let the single call handle authentication and unexpected responses
+						call.retry = true;
+					}
+				} else {
+					call.retry = true;
+				}
+			}
+		} catch (XmlRpcNoSuchMethodException e) {
+			multicallSupported = false;
+			retryAll(calls);
+		} catch (OperationCanceledException e) {
+			retryAll(calls);
+		} catch (XmlRpcException e) {
+			for (PendingCall call : calls) {
+				call.exception = e;
+			}
+		} catch (RuntimeException e) {
+			for (PendingCall call : calls) {
+				call.runtimeException = e;
+			}
+		} finally {
+			for (PendingCall call : calls) {
+				call.done.countDown();
+			}
+		}
+	}
+
+	private Object executeCall(final IProgressMonitor monitor, final String method, final Object[] parameters)
+			throws XmlRpcException {
+		return new XmlRpcOperation<Object>(client) {
+			@Override
+			public Object execute() throws XmlRpcException {
+				return call(monitor, method, parameters);
+			}
+		}.execute();
+	}
+
+	private void retryAll(List<PendingCall> calls) {
+		for (PendingCall call : calls) {
+			call.retry = true;
+		}
+	}
+
+	private static class MulticallOperation extends XmlRpcOperation<Object[]> {
+
+		private final IProgressMonitor monitor;
+
+		private final Multicall multicall;
+
+		public MulticallOperation(CommonXmlRpcClient client, IProgressMonitor monitor, Multicall multicall) {
+			super(client);
+			this.monitor = monitor;
+			this.multicall = multicall;
+		}
+
+		@Override
+		public Object[] execute() throws XmlRpcException {
+			return (Object[]) call(monitor, MULTICALL_METHOD, new Object[] { multicall.getCalls() });
+		}
+
+		/**
+		 * Returns the exception for a fault reported for a single call of a multicall or <code>null</code>, if the
+		 * fault indicates that permissions are missing or <code>item</code> is not a valid fault.
+		 */
+		public XmlRpcException getFault(Object item) {
+			try {
+				checkForException(item);
+				return null;
+			} catch (NumberFormatException e) {
+				// invalid fault code, the single call reports the error
+				return null;
+			} catch (XmlRpcException e) {
+				if ("XML_RPC privileges are required to perform this operation".equals(e.getMessage()) //$NON-NLS-1$
+						|| e.code == XML_FAULT_PERMISSION_DENIED) {
+					return null;
+				} else if (isNoSuchMethodException(e)) {
+					return new XmlRpcNoSuchMethodException(e);
+				} else {
+					return new XmlRpcRemoteException(e);
+				}
+			}
+		}
+
+	}
+
+}
@@ -98,7 +98,10 @@ public abstract class XmlRpcOperation<T> {
 		}
 	}
 
-	private void checkForException(Object result) throws NumberFormatException, XmlRpcException {
+	/**
+	 * Throws an exception if <code>result</code> is the fault of a single call of a multicall.
+	 */
+	void checkForException(Object result) throws NumberFormatException, XmlRpcException {
 		if (result instanceof Map<?, ?>) {
 			Map<?, ?> exceptionData = (Map<?, ?>) result;
 			if (exceptionData.containsKey("faultCode") && exceptionData.containsKey("faultString")) { //$NON-NLS-1$ //$NON-NLS-2$ 
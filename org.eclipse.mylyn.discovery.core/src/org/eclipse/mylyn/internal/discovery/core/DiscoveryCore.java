@@ -11,8 +11,12 @@
  *******************************************************************************/
 package org.eclipse.mylyn.internal.discovery.core;
 
+import java.io.File;
+
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.mylyn.commons.core.CoreUtil;
 import org.eclipse.osgi.util.NLS;
+import org.osgi.framework.Bundle;
 import org.osgi.framework.Version;
 
 /**
@@ -35,4 +39,18 @@ public abstract class DiscoveryCore {
 				"https://www.eclipse.org/mylyn/discovery/directory-{0}.{1}.xml", v.getMajor(), v.getMinor()); //$NON-NLS-1$
 		return System.getProperty(DiscoveryCore.SYSTEM_PROPERTY_DIRECTORY_URL, defaultUrl);
 	}
+
+	/**
+	 * Returns the directory for caching remote discovery resources or <code>null</code>, if the platform is not
+	 * running.
+	 */
+	public static File getCacheDirectory() {
+		if (Platform.isRunning()) {
+			Bundle bundle = Platform.getBundle(ID_PLUGIN);
+			if (bundle != null) {
+				return Platform.getStateLocation(bundle).append("cache").toFile(); //$NON-NLS-1$
+			}
+		}
+		return null;
+	}
 }
@@ -15,6 +15,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -45,9 +46,9 @@ class DiscoveryRegistryStrategy extends RegistryStrategy {
 
 	private final List<JarFile> jars = new ArrayList<JarFile>();
 
-	private final Map<IContributor, File> contributorToJarFile = new HashMap<IContributor, File>();
+	private final Map<String, File> contributorToJarFile = new HashMap<String, File>();
 
-	private final Map<IContributor, Entry> contributorToDirectoryEntry = new HashMap<IContributor, Entry>();
+	private final Map<String, Entry> contributorToDirectoryEntry = new HashMap<String, Entry>();
 
 	private final Object token;
 
@@ -61,12 +62,49 @@ class DiscoveryRegistryStrategy extends RegistryStrategy {
 	@Override
 	public void onStart(IExtensionRegistry registry, boolean loadedFromCache) {
 		super.onStart(registry, loadedFromCache);
-		if (!loadedFromCache) {
+		if (loadedFromCache) {
+			registerBundles();
+		} else {
 			processDiscoveryCoreBundle(registry);
 			processBundles(registry);
 		}
 	}
 
+	/**
+	 * Bundle files are named after their content which makes the set of bundle file names a valid time stamp for the
+	 * registry cache.
+	 */
+	@Override
+	public long getContributionsTimestamp() {
+		if (bundleFileToDirectoryEntry == null) {
+			return 0;
+		}
+		List<String> names = new ArrayList<String>();
+		for (File bundleFile : bundleFileToDirectoryEntry.keySet()) {
+			names.add(bundleFile.getName());
+		}
+		Collections.sort(names);
+		long timestamp = Locale.getDefault().toString().hashCode();
+		for (String name : names) {
+			timestamp = 31 * timestamp + name.hashCode();
+		}
+		Bundle bundle = Platform.getBundle(DiscoveryCore.ID_PLUGIN);
+		if (bundle != null) {
+			timestamp = 31 * timestamp + bundle.getLastModified();
+		}
+		return timestamp;
+	}
+
+	private void registerBundles() {
+		if (bundleFileToDirectoryEntry == null) {
+			throw new IllegalStateException();
+		}
+		for (java.util.Map.Entry<File, Entry> bundleFile : bundleFileToDirectoryEntry.entrySet()) {
+			contributorToJarFile.put(bundleFile.getKey().getName(), bundleFile.getKey());
+			contributorToDirectoryEntry.put(bundleFile.getKey().getName(), bundleFile.getValue());
+		}
+	}
+
 	private void processDiscoveryCoreBundle(IExtensionRegistry registry) {
 		// we must add a contribution from the core bundle so that we get the
 		// extension point itself
@@ -115,8 +153,8 @@ class DiscoveryRegistryStrategy extends RegistryStrategy {
 			jarFile.close();
 			return;
 		}
-		contributorToJarFile.put(contributor, bundleFile);
-		contributorToDirectoryEntry.put(contributor, entry);
+		contributorToJarFile.put(contributor.getName(), bundleFile);
+		contributorToDirectoryEntry.put(contributor.getName(), entry);
 
 		ResourceBundle translationBundle = loadTranslationBundle(jarFile);
 
@@ -188,7 +226,7 @@ class DiscoveryRegistryStrategy extends RegistryStrategy {
 	 *             if the given contributor is unknown
 	 */
 	public File getJarFile(IContributor contributor) {
-		File file = contributorToJarFile.get(contributor);
+		File file = contributorToJarFile.get(contributor.getName());
 		if (file == null) {
 			throw new IllegalArgumentException(contributor.getName());
 		}
@@ -202,7 +240,7 @@ class DiscoveryRegistryStrategy extends RegistryStrategy {
 	 *             if the given contributor is unknown
 	 */
 	public Entry getDirectoryEntry(IContributor contributor) {
-		Entry entry = contributorToDirectoryEntry.get(contributor);
+		Entry entry = contributorToDirectoryEntry.get(contributor.getName());
 		if (entry == null) {
 			throw new IllegalArgumentException(contributor.getName());
 		}
@@ -96,6 +96,8 @@ class Messages extends NLS {
 
 	public static String RemoteBundleDiscoveryStrategy_empty_directory;
 
+	public static String RemoteBundleDiscoveryStrategy_io_failure_cache;
+
 	public static String RemoteBundleDiscoveryStrategy_io_failure_discovery_directory;
 
 	public static String RemoteBundleDiscoveryStrategy_io_failure_temp_storage;
@@ -11,16 +11,21 @@
  *******************************************************************************/
 package org.eclipse.mylyn.internal.discovery.core.model;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -44,8 +49,7 @@ import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.internal.discovery.core.DiscoveryCore;
 import org.eclipse.mylyn.internal.discovery.core.model.Directory.Entry;
-import org.eclipse.mylyn.internal.discovery.core.util.WebUtil;
-import org.eclipse.mylyn.internal.discovery.core.util.WebUtil.TextContentProcessor;
+import org.eclipse.mylyn.internal.discovery.core.util.DownloadCache;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -63,6 +67,10 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 
 	private File temporaryStorage;
 
+	private File cacheDirectory;
+
+	private DownloadCache cache;
+
 	private int maxDiscoveryJarDownloadAttempts = 1;
 
 	@Override
@@ -80,16 +88,9 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 		try {
 			File registryCacheFolder;
 			try {
-				if (temporaryStorage != null && temporaryStorage.exists()) {
-					delete(temporaryStorage);
-				}
-				temporaryStorage = File.createTempFile(RemoteBundleDiscoveryStrategy.class.getSimpleName(), ".tmp"); //$NON-NLS-1$
-				temporaryStorage.delete();
-				if (!temporaryStorage.mkdirs()) {
-					throw new IOException();
-				}
-				registryCacheFolder = new File(temporaryStorage, ".rcache"); //$NON-NLS-1$
-				if (!registryCacheFolder.mkdirs()) {
+				cache = createCache();
+				registryCacheFolder = new File(cache.getDirectory(), ".rcache"); //$NON-NLS-1$
+				if (!registryCacheFolder.exists() && !registryCacheFolder.mkdirs()) {
 					throw new IOException();
 				}
 			} catch (IOException e) {
@@ -101,18 +102,19 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 			}
 
 			Directory directory;
+			File directoryFile;
 
 			try {
-				final Directory[] temp = new Directory[1];
-				final URI uri = new URI(directoryUrl);
-				WebUtil.readResource(uri, new TextContentProcessor() {
-					public void process(Reader reader) throws IOException {
-						DirectoryParser parser = new DirectoryParser();
-						parser.setBaseUri(uri);
-						temp[0] = parser.parse(reader);
-					}
-				}, new SubProgressMonitor(monitor, ticksTenPercent));
-				directory = temp[0];
+				URI uri = new URI(directoryUrl);
+				directoryFile = cache.get(uri, ".xml", new SubProgressMonitor(monitor, ticksTenPercent)); //$NON-NLS-1$
+				Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(directoryFile), "UTF-8")); //$NON-NLS-1$
+				try {
+					DirectoryParser parser = new DirectoryParser();
+					parser.setBaseUri(uri);
+					directory = parser.parse(reader);
+				} finally {
+					reader.close();
+				}
 				if (directory == null) {
 					throw new IllegalStateException();
 				}
@@ -186,6 +188,19 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 				executorService.shutdownNow();
 			}
 
+			if (cacheDirectory != null) {
+				// discard bundles that are no longer listed in the directory
+				Set<File> files = new HashSet<File>(bundleFileToDirectoryEntry.keySet());
+				files.add(directoryFile);
+				cache.retainAll(files);
+				try {
+					cache.save();
+				} catch (IOException e) {
+					StatusHandler.log(new Status(IStatus.WARNING, DiscoveryCore.ID_PLUGIN,
+							Messages.RemoteBundleDiscoveryStrategy_io_failure_cache, e));
+				}
+			}
+
 			try {
 				registryStrategy = new DiscoveryRegistryStrategy(new File[] { registryCacheFolder },
 						new boolean[] { false }, this);
@@ -232,14 +247,12 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 								Messages.RemoteBundleDiscoveryStrategy_unrecognized_discovery_url, bundleUrl)));
 						continue;
 					}
-					File target = File.createTempFile(WebUtil.getFileNameFor(bundleUrl) + "_", ".jar", temporaryStorage); //$NON-NLS-1$ //$NON-NLS-2$
-
 					if (monitor.isCanceled()) {
 						break;
 					}
 
 					try {
-						WebUtil.download(new URI(bundleUrl), target, new NullProgressMonitor() {
+						file = cache.get(new URI(bundleUrl), ".jar", new NullProgressMonitor() { //$NON-NLS-1$
 							@Override
 							public boolean isCanceled() {
 								return super.isCanceled() || monitor.isCanceled();
@@ -247,7 +260,6 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 						}/*don't use sub progress monitor here*/);
 					} catch (URISyntaxException e) {
 					}
-					file = target;
 				} catch (IOException e) {
 					StatusHandler.log(new Status(IStatus.ERROR, DiscoveryCore.ID_PLUGIN, NLS.bind(
 							Messages.RemoteBundleDiscoveryStrategy_cannot_download_bundle, bundleUrl, e.getMessage()),
@@ -261,6 +273,26 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 		}
 	}
 
+	private DownloadCache createCache() throws IOException {
+		File storage = cacheDirectory;
+		if (storage == null) {
+			if (temporaryStorage != null && temporaryStorage.exists()) {
+				delete(temporaryStorage);
+			}
+			temporaryStorage = File.createTempFile(RemoteBundleDiscoveryStrategy.class.getSimpleName(), ".tmp"); //$NON-NLS-1$
+			temporaryStorage.delete();
+			storage = temporaryStorage;
+		}
+		if (!storage.exists() && !storage.mkdirs()) {
+			throw new IOException();
+		}
+		DownloadCache downloadCache = new DownloadCache(storage);
+		if (cacheDirectory != null) {
+			downloadCache.load();
+		}
+		return downloadCache;
+	}
+
 	private ExecutorService createExecutorService(int size) {
 		final int maxThreads = 4;
 		return Executors.newFixedThreadPool(Math.min(size, maxThreads));
@@ -310,6 +342,26 @@ public class RemoteBundleDiscoveryStrategy extends BundleDiscoveryStrategy {
 		}
 	}
 
+	/**
+	 * Returns the directory that is used to cache downloaded bundles across invocations of
+	 * {@link #performDiscovery(IProgressMonitor)}.
+	 *
+	 * @return the cache directory or <code>null</code>, if bundles are downloaded to temporary storage
+	 */
+	public File getCacheDirectory() {
+		return cacheDirectory;
+	}
+
+	/**
+	 * Sets the directory that is used to cache the discovery directory, downloaded bundles and the extension registry
+	 * across invocations of {@link #performDiscovery(IProgressMonitor)}. Cached files are only downloaded again if the
+	 * server reports a different last modified time. If <code>null</code>, all resources are downloaded to temporary
+	 * storage that is deleted on {@link #dispose()}.
+	 */
+	public void setCacheDirectory(File cacheDirectory) {
+		this.cacheDirectory = cacheDirectory;
+	}
+
 	public String getDirectoryUrl() {
 		return directoryUrl;
 	}
@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.discovery.core.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+
+/**
+ * A content addressed cache for downloaded resources. Files are named after the SHA-1 digest of their content and are
+ * only downloaded again if the last modified time reported by the server differs from the time recorded when the
+ * file was downloaded. If the server does not report a last modified time the resource is downloaded but the file
+ * name remains stable as long as the content does not change.
+ *
+ * @author agent
+ */
+public class DownloadCache {
+
+	private static final String INDEX_FILE = "index.properties"; //$NON-NLS-1$
+
+	private static final String SEPARATOR = " "; //$NON-NLS-1$
+
+	private final File directory;
+
+	private final AtomicInteger downloadCount = new AtomicInteger();
+
+	private final AtomicInteger hitCount = new AtomicInteger();
+
+	private final Properties index = new Properties();
+
+	private final ITransportService transport;
+
+	public DownloadCache(File directory) {
+		this(directory, WebUtil.getTransport());
+	}
+
+	public DownloadCache(File directory, ITransportService transport) {
+		Assert.isNotNull(directory);
+		Assert.isNotNull(transport);
+		this.directory = directory;
+		this.transport = transport;
+	}
+
+	/**
+	 * Returns a local copy of the resource at <code>uri</code>. A cached copy is returned if the server reports an
+	 * unchanged last modified time or if the resource cannot be downloaded.
+	 *
+	 * @param suffix
+	 *            the file extension of the local copy, e.g. <code>.jar</code>
+	 * @throws IOException
+	 *             if the resource cannot be downloaded and no cached copy is available
+	 */
+	public File get(URI uri, String suffix, IProgressMonitor monitor) throws IOException {
+		String key = uri.toString();
+		CacheEntry entry = getEntry(key);
+
+		long lastModified;
+		try {
+			lastModified = transport.getLastModified(uri, monitor);
+		} catch (IOException e) {
+			lastModified = 0;
+		} catch (CoreException e) {
+			lastModified = 0;
+		}
+
+		if (entry != null && lastModified != 0 && lastModified == entry.lastModified) {
+			hitCount.incrementAndGet();
+			return entry.file;
+		}
+
+		try {
+			File file = download(uri, suffix, monitor);
+			index.setProperty(key, lastModified + SEPARATOR + file.getName());
+			return file;
+		} catch (IOException e) {
+			if (entry != null) {
+				// fall back to the copy from a previous download
+				hitCount.incrementAndGet();
+				return entry.file;
+			}
+			throw e;
+		}
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Returns the number of resources that were downloaded.
+	 */
+	public int getDownloadCount() {
+		return downloadCount.get();
+	}
+
+	/**
+	 * Returns the number of requests that were served from the cache.
+	 */
+	public int getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Reads the index of the cache. Does nothing if the cache has not been saved before.
+	 */
+	public void load() throws IOException {
+		File file = new File(directory, INDEX_FILE);
+		if (file.exists()) {
+			InputStream in = new BufferedInputStream(new FileInputStream(file));
+			try {
+				index.load(in);
+			} finally {
+				in.close();
+			}
+		}
+	}
+
+	/**
+	 * Removes all files from the cache that are not contained in <code>files</code>.
+	 */
+	public void retainAll(Collection<File> files) {
+		Set<String> names = new HashSet<String>();
+		for (File file : files) {
+			names.add(file.getName());
+		}
+		for (Iterator<Map.Entry<Object, Object>> it = index.entrySet().iterator(); it.hasNext();) {
+			CacheEntry entry = parse((String) it.next().getValue());
+			if (entry == null || !names.contains(entry.file.getName())) {
+				it.remove();
+			}
+		}
+		File[] children = directory.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				if (child.isFile() && !INDEX_FILE.equals(child.getName()) && !names.contains(child.getName())) {
+					child.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the index of the cache.
+	 */
+	public void save() throws IOException {
+		File file = new File(directory, INDEX_FILE);
+		File tempFile = File.createTempFile(INDEX_FILE, ".tmp", directory); //$NON-NLS-1$
+		try {
+			OutputStream out = new BufferedOutputStream(new FileOutputStream(tempFile));
+			try {
+				index.store(out, null);
+			} finally {
+				out.close();
+			}
+			move(tempFile, file);
+		} finally {
+			tempFile.delete();
+		}
+	}
+
+	private File download(URI uri, String suffix, IProgressMonitor monitor) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOWithCauseException(e);
+		}
+
+		File tempFile = File.createTempFile(WebUtil.getFileNameFor(uri.toString()) + "_", ".tmp", directory); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			IStatus result;
+			OutputStream out = new DigestOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)), digest);
+			try {
+				result = transport.download(uri, out, monitor);
+			} finally {
+				out.close();
+			}
+			if (!result.isOK()) {
+				if (result.getException() instanceof IOException) {
+					throw (IOException) result.getException();
+				}
+				throw new IOWithCauseException(result.getMessage(), result.getException());
+			}
+			downloadCount.incrementAndGet();
+
+			File file = new File(directory, toHexString(digest.digest()) + suffix);
+			if (!file.exists()) {
+				move(tempFile, file);
+			}
+			return file;
+		} finally {
+			tempFile.delete();
+		}
+	}
+
+	private CacheEntry getEntry(String key) {
+		String value = index.getProperty(key);
+		if (value != null) {
+			CacheEntry entry = parse(value);
+			if (entry != null && entry.file.exists()) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	private void move(File source, File target) throws IOException {
+		try {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private CacheEntry parse(String value) {
+		int i = value.indexOf(SEPARATOR);
+		if (i != -1) {
+			try {
+				return new CacheEntry(Long.parseLong(value.substring(0, i)), new File(directory,
+						value.substring(i + 1)));
+			} catch (NumberFormatException e) {
+				// ignore
+			}
+		}
+		return null;
+	}
+
+	private static String toHexString(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	private static class CacheEntry {
+
+		private final File file;
+
+		private final long lastModified;
+
+		public CacheEntry(long lastModified, File file) {
+			this.lastModified = lastModified;
+			this.file = file;
+		}
+
+	}
+
+}
@@ -21,7 +21,9 @@ import org.eclipse.mylyn.discovery.tests.core.ConnectorDiscoveryRemoteTest;
 import org.eclipse.mylyn.discovery.tests.core.ConnectorDiscoveryTest;
 import org.eclipse.mylyn.discovery.tests.core.DirectoryParserTest;
 import org.eclipse.mylyn.discovery.tests.core.RemoteBundleDiscoveryStrategyTest;
+import org.eclipse.mylyn.discovery.tests.core.util.DownloadCacheTest;
 import org.eclipse.mylyn.discovery.tests.core.util.WebUtilTest;
+import org.eclipse.mylyn.discovery.tests.ui.IconLoaderTest;
 
 /**
  * @author Steffen Pingel
@@ -38,6 +40,8 @@ public class AllDiscoveryTests {
 		suite.addTestSuite(DirectoryParserTest.class);
 		suite.addTestSuite(BundleDiscoveryStrategyTest.class);
 		suite.addTestSuite(WebUtilTest.class);
+		suite.addTestSuite(DownloadCacheTest.class);
+		suite.addTestSuite(IconLoaderTest.class);
 		if (!configuration.isLocalOnly()) {
 			suite.addTestSuite(RemoteBundleDiscoveryStrategyTest.class);
 			suite.addTestSuite(ConnectorDiscoveryRemoteTest.class);
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.internal.discovery.core.util.DownloadCache;
+import org.eclipse.mylyn.internal.discovery.core.util.ITransportService;
+
+/**
+ * @author agent
+ */
+public class DownloadCacheTest extends TestCase {
+
+	private static class StubTransportService implements ITransportService {
+
+		String content = "content";
+
+		int downloadCount;
+
+		IOException exception;
+
+		long lastModified = 1000;
+
+		public IStatus download(URI uri, OutputStream out, IProgressMonitor monitor) {
+			if (exception != null) {
+				return new Status(IStatus.ERROR, "org.eclipse.mylyn.discovery.tests", "Download failed", exception);
+			}
+			downloadCount++;
+			try {
+				out.write(content.getBytes(StandardCharsets.UTF_8));
+				return Status.OK_STATUS;
+			} catch (IOException e) {
+				return new Status(IStatus.ERROR, "org.eclipse.mylyn.discovery.tests", "Download failed", e);
+			}
+		}
+
+		public long getLastModified(URI location, IProgressMonitor monitor) throws CoreException, IOException {
+			if (exception != null) {
+				throw exception;
+			}
+			return lastModified;
+		}
+
+		public InputStream stream(URI uri, IProgressMonitor monitor) throws IOException, CoreException {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	private File directory;
+
+	private StubTransportService transport;
+
+	private URI uri;
+
+	@Override
+	protected void setUp() throws Exception {
+		directory = Files.createTempDirectory(DownloadCacheTest.class.getSimpleName()).toFile();
+		transport = new StubTransportService();
+		uri = new URI("https://mylyn.org/discovery/connector.jar");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		File[] children = directory.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				child.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	public void testGetUnchanged() throws Exception {
+		DownloadCache cache = new DownloadCache(directory, transport);
+		File file = cache.get(uri, ".jar", new NullProgressMonitor());
+		assertEquals("content", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+		assertEquals(file, cache.get(uri, ".jar", new NullProgressMonitor()));
+		assertEquals(1, transport.downloadCount);
+		assertEquals(1, cache.getDownloadCount());
+		assertEquals(1, cache.getHitCount());
+	}
+
+	public void testGetModified() throws Exception {
+		DownloadCache cache = new DownloadCache(directory, transport);
+		File file = cache.get(uri, ".jar", new NullProgressMonitor());
+
+		transport.lastModified = 2000;
+		assertEquals(file, cache.get(uri, ".jar", new NullProgressMonitor()));
+		assertEquals(2, transport.downloadCount);
+
+		transport.lastModified = 3000;
+		transport.content = "changed";
+		File changedFile = cache.get(uri, ".jar", new NullProgressMonitor());
+		assertFalse(file.equals(changedFile));
+		assertEquals("changed", new String(Files.readAllBytes(changedFile.toPath()), StandardCharsets.UTF_8));
+	}
+
+	public void testGetNoLastModified() throws Exception {
+		transport.lastModified = 0;
+		DownloadCache cache = new DownloadCache(directory, transport);
+		File file = cache.get(uri, ".jar", new NullProgressMonitor());
+		assertEquals(file, cache.get(uri, ".jar", new NullProgressMonitor()));
+		assertEquals(2, transport.downloadCount);
+	}
+
+	public void testGetFailureUsesCachedFile() throws Exception {
+		DownloadCache cache = new DownloadCache(directory, transport);
+		File file = cache.get(uri, ".jar", new NullProgressMonitor());
+		transport.exception = new IOException();
+		assertEquals(file, cache.get(uri, ".jar", new NullProgressMonitor()));
+		try {
+			cache.get(new URI("https://mylyn.org/discovery/other.jar"), ".jar", new NullProgressMonitor());
+			fail("Expected IOException");
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	public void testSaveLoad() throws Exception {
+		DownloadCache cache = new DownloadCache(directory, transport);
+		File file = cache.get(uri, ".jar", new NullProgressMonitor());
+		cache.save();
+
+		cache = new DownloadCache(directory, transport);
+		cache.load();
+		assertEquals(file, cache.get(uri, ".jar", new NullProgressMonitor()));
+		assertEquals(1, transport.downloadCount);
+		assertEquals(0, cache.getDownloadCount());
+	}
+
+	public void testRetainAll() throws Exception {
+		DownloadCache cache = new DownloadCache(directory, transport);
+		File file = cache.get(uri, ".jar", new NullProgressMonitor());
+		cache.retainAll(Collections.<File> emptyList());
+		assertFalse(file.exists());
+		cache.get(uri, ".jar", new NullProgressMonitor());
+		assertEquals(2, transport.downloadCount);
+	}
+
+}
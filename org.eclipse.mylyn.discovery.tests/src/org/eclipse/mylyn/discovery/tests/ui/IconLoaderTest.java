@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.discovery.tests.ui;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.discovery.core.model.AbstractDiscoverySource;
+import org.eclipse.mylyn.internal.discovery.ui.util.IconLoader;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * @author agent
+ */
+public class IconLoaderTest extends TestCase {
+
+	private static class FileDiscoverySource extends AbstractDiscoverySource {
+
+		private final File directory;
+
+		public FileDiscoverySource(File directory) {
+			this.directory = directory;
+		}
+
+		@Override
+		public Object getId() {
+			return directory;
+		}
+
+		@Override
+		public URL getResource(String resourceName) {
+			File file = new File(directory, resourceName);
+			try {
+				return (file.exists()) ? file.toURI().toURL() : null;
+			} catch (MalformedURLException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+	private File cacheDirectory;
+
+	private File iconDirectory;
+
+	private FileDiscoverySource source;
+
+	@Override
+	protected void setUp() throws Exception {
+		iconDirectory = Files.createTempDirectory(IconLoaderTest.class.getSimpleName()).toFile();
+		cacheDirectory = new File(iconDirectory, "cache");
+		source = new FileDiscoverySource(iconDirectory);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		delete(iconDirectory);
+	}
+
+	public void testLoadImageData() throws Exception {
+		writeIcon("icon.png", 16, 0x00FF00);
+		IconLoader loader = new IconLoader(Display.getDefault(), cacheDirectory);
+		ImageData imageData = loader.loadImageData("connector", source, "icon.png");
+		assertNotNull(imageData);
+		assertEquals(16, imageData.width);
+		assertEquals(16, imageData.height);
+		assertEquals(1, cacheDirectory.list().length);
+	}
+
+	public void testLoadImageDataFromCache() throws Exception {
+		writeIcon("icon.png", 16, 0x00FF00);
+		ImageData expected = new IconLoader(Display.getDefault(), cacheDirectory).loadImageData("connector", source,
+				"icon.png");
+
+		ImageData imageData = new IconLoader(Display.getDefault(), cacheDirectory).loadImageData("connector", source,
+				"icon.png");
+		assertNotNull(imageData);
+		assertNotSame(expected, imageData);
+		assertEquals(expected.width, imageData.width);
+		assertEquals(expected.height, imageData.height);
+		assertEquals(expected.depth, imageData.depth);
+		assertTrue(Arrays.equals(expected.data, imageData.data));
+		assertEquals(expected.palette.getRGB(expected.getPixel(0, 0)), imageData.palette.getRGB(imageData.getPixel(0,
+				0)));
+	}
+
+	public void testLoadImageDataCorruptCache() throws Exception {
+		writeIcon("icon.png", 16, 0x00FF00);
+		new IconLoader(Display.getDefault(), cacheDirectory).loadImageData("connector", source, "icon.png");
+		File cacheFile = cacheDirectory.listFiles()[0];
+		Files.write(cacheFile.toPath(), new byte[] { 0, 0, 0, 1, 0 });
+
+		ImageData imageData = new IconLoader(Display.getDefault(), cacheDirectory).loadImageData("connector", source,
+				"icon.png");
+		assertNotNull(imageData);
+		assertEquals(16, imageData.width);
+	}
+
+	public void testLoadImageDataCacheInvalidLength() throws Exception {
+		writeIcon("icon.png", 16, 0x00FF00);
+		new IconLoader(Display.getDefault(), cacheDirectory).loadImageData("connector", source, "icon.png");
+		File cacheFile = cacheDirectory.listFiles()[0];
+
+		// negative and huge palette sizes and data lengths must not fail with an error
+		int[][] lengths = { { -1, 0 }, { Integer.MAX_VALUE, 0 }, { 2, -2 }, { 2, Integer.MAX_VALUE } };
+		for (int[] length : lengths) {
+			Files.write(cacheFile.toPath(), createCacheContent(length[0], length[1]));
+			ImageData imageData = new IconLoader(Display.getDefault(), cacheDirectory).loadImageData("connector",
+					source, "icon.png");
+			assertNotNull(imageData);
+			assertEquals(16, imageData.width);
+		}
+	}
+
+	public void testLoadImageDataIconChanged() throws Exception {
+		writeIcon("icon.png", 16, 0x00FF00);
+		new IconLoader(Display.getDefault(), cacheDirectory).loadImageData("connector", source, "icon.png");
+		String oldName = cacheDirectory.list()[0];
+
+		writeIcon("icon.png", 24, 0xFF0000);
+		ImageData imageData = new IconLoader(Display.getDefault(), cacheDirectory).loadImageData("connector", source,
+				"icon.png");
+		assertEquals(24, imageData.width);
+		String[] names = cacheDirectory.list();
+		assertEquals(1, names.length);
+		assertFalse(oldName.equals(names[0]));
+	}
+
+	public void testLoadImageDataMissing() throws Exception {
+		IconLoader loader = new IconLoader(Display.getDefault(), cacheDirectory);
+		assertNull(loader.loadImageData("connector", source, "missing.png"));
+	}
+
+	public void testLoadImageDataInvalid() throws Exception {
+		Files.write(new File(iconDirectory, "icon.png").toPath(), new byte[] { 1, 2, 3 });
+		IconLoader loader = new IconLoader(Display.getDefault(), cacheDirectory);
+		assertNull(loader.loadImageData("connector", source, "icon.png"));
+	}
+
+	public void testLoadImageDataNoCache() throws Exception {
+		writeIcon("icon.png", 16, 0x00FF00);
+		IconLoader loader = new IconLoader(Display.getDefault(), null);
+		assertNotNull(loader.loadImageData("connector", source, "icon.png"));
+		assertFalse(cacheDirectory.exists());
+	}
+
+	private byte[] createCacheContent(int paletteSize, int dataLength) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(1); // format version
+		out.writeInt(16); // width
+		out.writeInt(16); // height
+		out.writeInt(8); // depth
+		out.writeInt(4); // scanline pad
+		out.writeBoolean(false); // indexed palette
+		out.writeInt(paletteSize);
+		for (int i = 0; i < Math.min(paletteSize, 2); i++) {
+			out.write(new byte[] { 0, 0, 0 });
+		}
+		out.writeInt(dataLength);
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	private void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private void writeIcon(String name, int size, int color) {
+		ImageData imageData = new ImageData(size, size, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		for (int x = 0; x < size; x++) {
+			for (int y = 0; y < size; y++) {
+				imageData.setPixel(x, y, color);
+			}
+		}
+		ImageLoader imageLoader = new ImageLoader();
+		imageLoader.data = new ImageData[] { imageData };
+		imageLoader.save(new File(iconDirectory, name).getAbsolutePath(), SWT.IMAGE_PNG);
+	}
+
+}
@@ -11,12 +11,14 @@
  *******************************************************************************/
 package org.eclipse.mylyn.internal.discovery.ui;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.jface.operation.IRunnableContext;
@@ -27,6 +29,7 @@ import org.eclipse.mylyn.internal.discovery.ui.wizards.Messages;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.preferences.ScopedPreferenceStore;
 import org.eclipse.ui.statushandlers.StatusManager;
+import org.osgi.framework.Bundle;
 
 /**
  * @author David Green
@@ -49,6 +52,19 @@ public abstract class DiscoveryUi {
 		return new PrepareInstallProfileJob(descriptors);
 	}
 
+	/**
+	 * Returns the directory for caching decoded icons or <code>null</code>, if the platform is not running.
+	 */
+	public static File getIconCacheDirectory() {
+		if (Platform.isRunning()) {
+			Bundle bundle = Platform.getBundle(ID_PLUGIN);
+			if (bundle != null) {
+				return Platform.getStateLocation(bundle).append("icons").toFile(); //$NON-NLS-1$
+			}
+		}
+		return null;
+	}
+
 	public static boolean install(List<ConnectorDescriptor> descriptors, IRunnableContext context) {
 		try {
 			IRunnableWithProgress runner = createInstallJob(descriptors);
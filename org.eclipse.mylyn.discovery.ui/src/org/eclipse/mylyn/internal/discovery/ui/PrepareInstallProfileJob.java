@@ -18,17 +18,29 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
@@ -54,6 +66,7 @@ import org.eclipse.mylyn.internal.discovery.ui.util.DiscoveryUiUtil;
 import org.eclipse.mylyn.internal.discovery.ui.wizards.Messages;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.statushandlers.StatusManager;
 
 /**
  * A job that configures a p2 {@link #getInstallAction() install action} for installing one or more
@@ -66,12 +79,59 @@ import org.eclipse.swt.widgets.Display;
  */
 class PrepareInstallProfileJob extends AbstractInstallJob {
 
+	/**
+	 * A task that is run for a single repository. Measures the time spent in {@link #run(IProgressMonitor)}.
+	 */
+	private static abstract class RepositoryJob<T> implements Callable<T> {
+
+		private final URI location;
+
+		private final IProgressMonitor monitor;
+
+		private long time;
+
+		public RepositoryJob(URI location, IProgressMonitor monitor) {
+			this.location = location;
+			this.monitor = monitor;
+		}
+
+		public T call() throws Exception {
+			long start = System.nanoTime();
+			try {
+				return run(monitor);
+			} finally {
+				time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			}
+		}
+
+		protected abstract T run(IProgressMonitor monitor) throws CoreException;
+
+	}
+
+	/**
+	 * The maximum number of repositories that are loaded or queried concurrently.
+	 */
+	private static final int MAX_THREADS = 4;
+
+	/**
+	 * Repositories that take longer than this to load and query, in milliseconds, are logged.
+	 */
+	private static final long SLOW_REPOSITORY_THRESHOLD = 10 * 1000;
+
 	private final List<ConnectorDescriptor> installableConnectors;
 
 	private final ProvisioningUI provisioningUI;
 
 	private Set<URI> repositoryLocations;
 
+	private final Map<URI, Long> repositoryTimes = new LinkedHashMap<URI, Long>();
+
+	/**
+	 * Propagates cancellation to repository jobs since the progress monitor of the job may not be accessed from other
+	 * threads.
+	 */
+	private final IProgressMonitor workerMonitor = new NullProgressMonitor();
+
 	public PrepareInstallProfileJob(List<ConnectorDescriptor> installableConnectors) {
 		if (installableConnectors == null) {
 			throw new IllegalArgumentException();
@@ -203,6 +263,7 @@ class PrepareInstallProfileJob extends AbstractInstallJob {
 			// add repository urls and load meta data
 			List<IMetadataRepository> repositories = addRepositories(monitor.newChild(50));
 			final List<IInstallableUnit> installableUnits = queryInstallableUnits(monitor.newChild(50), repositories);
+			logSlowRepositories();
 			removeOldVersions(installableUnits);
 			checkForUnavailable(installableUnits);
 			return installableUnits.toArray(new IInstallableUnit[installableUnits.size()]);
@@ -327,35 +388,49 @@ class PrepareInstallProfileJob extends AbstractInstallJob {
 	 * Perform a query to get the installable units. This causes p2 to determine what features are available in each
 	 * repository. We select installable units by matching both the feature id and the repository; it is possible though
 	 * unlikely that the same feature id is available from more than one of the selected repositories, and we must
-	 * ensure that the user gets the one that they asked for.
+	 * ensure that the user gets the one that they asked for. Repositories are queried concurrently, results are merged
+	 * in the order of <code>repositories</code>.
 	 */
 	private List<IInstallableUnit> queryInstallableUnits(SubMonitor monitor, List<IMetadataRepository> repositories)
-			throws URISyntaxException {
-		final List<IInstallableUnit> installableUnits = new ArrayList<IInstallableUnit>();
-
-		monitor.setWorkRemaining(repositories.size());
+			throws URISyntaxException, CoreException {
+		List<RepositoryJob<List<IInstallableUnit>>> jobs = new ArrayList<RepositoryJob<List<IInstallableUnit>>>();
 		for (final IMetadataRepository repository : repositories) {
-			checkCancelled(monitor);
 			final Set<String> installableUnitIdsThisRepository = getDescriptorIds(repository);
-			IQuery<IInstallableUnit> query = QueryUtil.createIUGroupQuery();
-			IQueryResult<IInstallableUnit> result = repository.query(query, monitor.newChild(1));
-			for (Iterator<IInstallableUnit> iter = result.iterator(); iter.hasNext();) {
-				IInstallableUnit iu = iter.next();
-				String id = iu.getId();
-				if (installableUnitIdsThisRepository.contains(id)) {
-					installableUnits.add(iu);
-				}
+			if (installableUnitIdsThisRepository.isEmpty()) {
+				// the repository is only used to resolve dependencies
+				continue;
 			}
+			jobs.add(new RepositoryJob<List<IInstallableUnit>>(repository.getLocation(), workerMonitor) {
+				@Override
+				protected List<IInstallableUnit> run(IProgressMonitor monitor) {
+					List<IInstallableUnit> installableUnits = new ArrayList<IInstallableUnit>();
+					IQuery<IInstallableUnit> query = QueryUtil.createIUGroupQuery();
+					IQueryResult<IInstallableUnit> result = repository.query(query, monitor);
+					for (Iterator<IInstallableUnit> iter = result.iterator(); iter.hasNext();) {
+						IInstallableUnit iu = iter.next();
+						String id = iu.getId();
+						if (installableUnitIdsThisRepository.contains(id)) {
+							installableUnits.add(iu);
+						}
+					}
+					return installableUnits;
+				}
+			});
+		}
+
+		final List<IInstallableUnit> installableUnits = new ArrayList<IInstallableUnit>();
+		for (List<IInstallableUnit> result : runJobs(monitor, jobs)) {
+			installableUnits.addAll(result);
 		}
 		return installableUnits;
 	}
 
 	private List<IMetadataRepository> addRepositories(SubMonitor monitor) throws MalformedURLException,
-			URISyntaxException, ProvisionException {
+			URISyntaxException, CoreException {
 		// tell p2 that it's okay to use these repositories
 		ProvisioningSession session = ProvisioningUI.getDefaultUI().getSession();
 		RepositoryTracker repositoryTracker = ProvisioningUI.getDefaultUI().getRepositoryTracker();
-		repositoryLocations = new HashSet<URI>();
+		repositoryLocations = new LinkedHashSet<URI>();
 		monitor.setWorkRemaining(installableConnectors.size() * 5);
 		for (ConnectorDescriptor descriptor : installableConnectors) {
 			URI uri = new URL(descriptor.getSiteUrl()).toURI();
@@ -377,16 +452,97 @@ class PrepareInstallProfileJob extends AbstractInstallJob {
 		}
 
 		// fetch meta-data for these repositories
-		ArrayList<IMetadataRepository> repositories = new ArrayList<IMetadataRepository>();
-		monitor.setWorkRemaining(repositories.size());
-		IMetadataRepositoryManager manager = (IMetadataRepositoryManager) session.getProvisioningAgent().getService(
-				IMetadataRepositoryManager.SERVICE_NAME);
-		for (URI uri : repositoryLocations) {
-			checkCancelled(monitor);
-			IMetadataRepository repository = manager.loadRepository(uri, monitor.newChild(1));
-			repositories.add(repository);
+		final IMetadataRepositoryManager manager = (IMetadataRepositoryManager) session.getProvisioningAgent()
+				.getService(IMetadataRepositoryManager.SERVICE_NAME);
+		List<RepositoryJob<IMetadataRepository>> jobs = new ArrayList<RepositoryJob<IMetadataRepository>>();
+		for (final URI uri : repositoryLocations) {
+			jobs.add(new RepositoryJob<IMetadataRepository>(uri, workerMonitor) {
+				@Override
+				protected IMetadataRepository run(IProgressMonitor monitor) throws ProvisionException {
+					return manager.loadRepository(uri, monitor);
+				}
+			});
+		}
+		return runJobs(monitor, jobs);
+	}
+
+	/**
+	 * Runs <code>jobs</code> concurrently using a bounded number of threads and returns their results in the order of
+	 * <code>jobs</code>. The time taken by each job is added to {@link #getRepositoryTimes()}.
+	 */
+	private <T> List<T> runJobs(SubMonitor monitor, List<RepositoryJob<T>> jobs) throws CoreException {
+		monitor.setWorkRemaining(jobs.size());
+		List<T> results = new ArrayList<T>(jobs.size());
+		if (jobs.isEmpty()) {
+			return results;
+		}
+		ExecutorService executorService = Executors.newFixedThreadPool(Math.min(jobs.size(), MAX_THREADS));
+		boolean completed = false;
+		try {
+			List<Future<T>> futures = new ArrayList<Future<T>>(jobs.size());
+			for (RepositoryJob<T> job : jobs) {
+				futures.add(executorService.submit(job));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				results.add(getResult(monitor, futures.get(i)));
+				RepositoryJob<T> job = jobs.get(i);
+				Long time = repositoryTimes.get(job.location);
+				repositoryTimes.put(job.location, (time != null) ? time + job.time : job.time);
+				monitor.worked(1);
+			}
+			completed = true;
+		} finally {
+			if (!completed) {
+				// stop jobs that are still running
+				workerMonitor.setCanceled(true);
+			}
+			executorService.shutdownNow();
 		}
-		return repositories;
+		return results;
+	}
+
+	private <T> T getResult(IProgressMonitor monitor, Future<T> future) throws CoreException {
+		try {
+			for (;;) {
+				try {
+					return future.get(1L, TimeUnit.SECONDS);
+				} catch (TimeoutException e) {
+					checkCancelled(monitor);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException) {
+				throw (CoreException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new CoreException(new Status(IStatus.ERROR, DiscoveryUi.ID_PLUGIN, cause.getMessage(), cause));
+		}
+	}
+
+	private void logSlowRepositories() {
+		for (Entry<URI, Long> entry : repositoryTimes.entrySet()) {
+			if (entry.getValue() >= SLOW_REPOSITORY_THRESHOLD) {
+				StatusManager.getManager().handle(
+						new Status(IStatus.WARNING, DiscoveryUi.ID_PLUGIN, NLS.bind(
+								Messages.PrepareInstallProfileJob_slowRepository, entry.getKey(), entry.getValue())),
+						StatusManager.LOG);
+			}
+		}
+	}
+
+	/**
+	 * Returns the time in milliseconds spent loading and querying each repository, in the order the repositories were
+	 * loaded. Only valid after the job has run.
+	 */
+	public Map<URI, Long> getRepositoryTimes() {
+		return Collections.unmodifiableMap(repositoryTimes);
 	}
 
 	private Set<String> getDescriptorIds(final IMetadataRepository repository) throws URISyntaxException {
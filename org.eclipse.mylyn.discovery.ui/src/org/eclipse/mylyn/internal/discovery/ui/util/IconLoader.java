@@ -0,0 +1,428 @@
+/*******************************************************************************
+ * Copyright (c) 2026 agent and others.
+ * 
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ *     agent - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.discovery.ui.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.mylyn.internal.discovery.core.model.AbstractDiscoverySource;
+import org.eclipse.mylyn.internal.discovery.ui.wizards.Messages;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Resolves and decodes discovery icons in a background job. Decoded image data is cached on disk keyed by the id of
+ * the descriptor and the digest of the icon resource, so icons that were shown before do not need to be decoded
+ * again. Listeners are notified on the UI thread once an icon has been loaded.
+ *
+ * @author agent
+ */
+public class IconLoader {
+
+	/**
+	 * Notified on the UI thread when an icon has been loaded.
+	 */
+	public interface IIconListener {
+
+		void iconLoaded(Image image);
+
+	}
+
+	private static class Request {
+
+		private final String id;
+
+		private final IIconListener listener;
+
+		private final String path;
+
+		private final AbstractDiscoverySource source;
+
+		public Request(String id, AbstractDiscoverySource source, String path, IIconListener listener) {
+			this.id = id;
+			this.source = source;
+			this.path = path;
+			this.listener = listener;
+		}
+
+	}
+
+	private class LoadIconsJob extends Job {
+
+		public LoadIconsJob() {
+			super(Messages.IconLoader_Loading_Icons);
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			Request request;
+			while ((request = queue.poll()) != null) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				ImageData imageData = loadImageData(request.id, request.source, request.path);
+				if (imageData != null) {
+					notifyListener(request.listener, imageData);
+				}
+			}
+			return Status.OK_STATUS;
+		}
+
+	}
+
+	private static final String CACHE_FILE_EXTENSION = ".icon"; //$NON-NLS-1$
+
+	private static final int CACHE_FORMAT_VERSION = 1;
+
+	/**
+	 * The length of a hex encoded SHA-1 digest.
+	 */
+	private static final int DIGEST_LENGTH = 40;
+
+	/**
+	 * The maximum number of colors of an indexed palette.
+	 */
+	private static final int MAX_PALETTE_SIZE = 256;
+
+	private final File cacheDirectory;
+
+	private final Display display;
+
+	private volatile boolean disposed;
+
+	/**
+	 * Decoded image data by digest of the resource to avoid decoding icons that are shared by several descriptors more
+	 * than once.
+	 */
+	private final Map<String, ImageData> imageDataByDigest = new HashMap<String, ImageData>();
+
+	private final LoadIconsJob job = new LoadIconsJob();
+
+	private final ConcurrentLinkedQueue<Request> queue = new ConcurrentLinkedQueue<Request>();
+
+	/**
+	 * @param display
+	 *            the display to create images on
+	 * @param cacheDirectory
+	 *            the directory for caching decoded icons or <code>null</code> to disable caching
+	 */
+	public IconLoader(Display display, File cacheDirectory) {
+		this.display = display;
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	/**
+	 * Creates a transparent image of the given size that can be shown while icons are loading.
+	 */
+	public static Image createPlaceholder(Display display, int dimension) {
+		ImageData imageData = new ImageData(dimension, dimension, 1, new PaletteData(new RGB[] { new RGB(0, 0, 0),
+				new RGB(255, 255, 255) }));
+		imageData.transparentPixel = 0;
+		return new Image(display, imageData);
+	}
+
+	/**
+	 * Stops loading icons. Listeners of pending requests are not notified.
+	 */
+	public void dispose() {
+		disposed = true;
+		queue.clear();
+		job.cancel();
+	}
+
+	/**
+	 * Loads the icon at <code>path</code> in the background and notifies <code>listener</code> on the UI thread when
+	 * the icon is available. The listener is responsible for disposing the image. Icons that can not be loaded are
+	 * silently ignored.
+	 *
+	 * @param id
+	 *            the id of the descriptor the icon belongs to, used as part of the cache key
+	 * @param source
+	 *            the source to resolve <code>path</code> against
+	 * @param path
+	 *            the path of the icon resource
+	 * @param listener
+	 *            the listener to notify
+	 */
+	public void load(String id, AbstractDiscoverySource source, String path, IIconListener listener) {
+		if (disposed) {
+			return;
+		}
+		queue.add(new Request(id, source, path, listener));
+		job.schedule();
+	}
+
+	/**
+	 * Resolves and decodes the icon at <code>path</code>, or reads it from the cache if it was decoded before. May be
+	 * invoked from any thread.
+	 *
+	 * @return the decoded image data or <code>null</code>, if the icon could not be loaded
+	 */
+	public ImageData loadImageData(String id, AbstractDiscoverySource source, String path) {
+		URL resource = source.getResource(path);
+		if (resource == null) {
+			return null;
+		}
+		try {
+			byte[] content = readContent(resource);
+			String digest = digest(content);
+			synchronized (imageDataByDigest) {
+				ImageData imageData = imageDataByDigest.get(digest);
+				if (imageData != null) {
+					return imageData;
+				}
+			}
+
+			File cacheFile = getCacheFile(id, digest);
+			ImageData imageData = null;
+			if (cacheFile != null && cacheFile.exists()) {
+				try {
+					imageData = readImageData(cacheFile);
+				} catch (IOException e) {
+					// ignore corrupt file, the icon is decoded again and the file is replaced
+				}
+			}
+			if (imageData == null) {
+				imageData = new ImageData(new ByteArrayInputStream(content));
+				if (cacheFile != null && writeImageData(cacheFile, imageData)) {
+					pruneCache(id, cacheFile);
+				}
+			}
+
+			synchronized (imageDataByDigest) {
+				imageDataByDigest.put(digest, imageData);
+			}
+			return imageData;
+		} catch (IOException e) {
+			return null;
+		} catch (SWTException e) {
+			// unsupported or corrupt image format
+			return null;
+		}
+	}
+
+	private String digest(byte[] content) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+			StringBuilder sb = new StringBuilder();
+			for (byte b : digest.digest(content)) {
+				sb.append(String.format("%02x", b)); //$NON-NLS-1$
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// should never happen, every Java platform is required to support SHA-1
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private File getCacheFile(String id, String digest) {
+		if (cacheDirectory == null || id == null) {
+			return null;
+		}
+		return new File(cacheDirectory, getCachePrefix(id) + digest + CACHE_FILE_EXTENSION);
+	}
+
+	private String getCachePrefix(String id) {
+		return id.replaceAll("[^\\w.-]", "_") + "-"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Removes cached icons of <code>id</code> that were decoded from a previous version of the icon.
+	 */
+	private void pruneCache(String id, File current) {
+		final String prefix = getCachePrefix(id);
+		File[] files = cacheDirectory.listFiles(new FilenameFilter() {
+			public boolean accept(File dir, String name) {
+				return name.startsWith(prefix) && name.endsWith(CACHE_FILE_EXTENSION)
+						&& name.length() == prefix.length() + DIGEST_LENGTH + CACHE_FILE_EXTENSION.length();
+			}
+		});
+		if (files != null) {
+			for (File file : files) {
+				if (!file.equals(current)) {
+					file.delete();
+				}
+			}
+		}
+	}
+
+	private void notifyListener(final IIconListener listener, final ImageData imageData) {
+		if (disposed || display.isDisposed()) {
+			return;
+		}
+		display.asyncExec(new Runnable() {
+			public void run() {
+				if (!disposed) {
+					listener.iconLoaded(new Image(display, imageData));
+				}
+			}
+		});
+	}
+
+	private byte[] readContent(URL resource) throws IOException {
+		InputStream in = resource.openStream();
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				out.write(buffer, 0, len);
+			}
+			return out.toByteArray();
+		} finally {
+			in.close();
+		}
+	}
+
+	private ImageData readImageData(File file) throws IOException {
+		// no array read from the file can be larger than the file
+		long maxLength = file.length();
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (in.readInt() != CACHE_FORMAT_VERSION) {
+				return null;
+			}
+			int width = in.readInt();
+			int height = in.readInt();
+			int depth = in.readInt();
+			int scanlinePad = in.readInt();
+			PaletteData palette;
+			if (in.readBoolean()) {
+				palette = new PaletteData(in.readInt(), in.readInt(), in.readInt());
+			} else {
+				int size = in.readInt();
+				if (size < 0 || size > MAX_PALETTE_SIZE) {
+					throw new IOException("Invalid palette size: " + size); //$NON-NLS-1$
+				}
+				RGB[] colors = new RGB[size];
+				for (int i = 0; i < colors.length; i++) {
+					colors[i] = new RGB(in.readUnsignedByte(), in.readUnsignedByte(), in.readUnsignedByte());
+				}
+				palette = new PaletteData(colors);
+			}
+			byte[] data = readBytes(in, maxLength);
+			ImageData imageData;
+			try {
+				imageData = new ImageData(width, height, depth, palette, scanlinePad, data);
+			} catch (IllegalArgumentException e) {
+				throw new IOException(e);
+			}
+			imageData.transparentPixel = in.readInt();
+			imageData.alpha = in.readInt();
+			imageData.alphaData = readBytes(in, maxLength);
+			imageData.maskPad = in.readInt();
+			imageData.maskData = readBytes(in, maxLength);
+			return imageData;
+		} finally {
+			in.close();
+		}
+	}
+
+	private byte[] readBytes(DataInputStream in, long maxLength) throws IOException {
+		int length = in.readInt();
+		if (length == -1) {
+			return null;
+		}
+		if (length < 0 || length > maxLength) {
+			throw new IOException("Invalid length: " + length); //$NON-NLS-1$
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		if (bytes == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	private boolean writeImageData(File file, ImageData imageData) {
+		if (!cacheDirectory.exists() && !cacheDirectory.mkdirs()) {
+			return false;
+		}
+		try {
+			File tempFile = File.createTempFile(file.getName(), null, cacheDirectory);
+			try {
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+				try {
+					out.writeInt(CACHE_FORMAT_VERSION);
+					out.writeInt(imageData.width);
+					out.writeInt(imageData.height);
+					out.writeInt(imageData.depth);
+					out.writeInt(imageData.scanlinePad);
+					PaletteData palette = imageData.palette;
+					out.writeBoolean(palette.isDirect);
+					if (palette.isDirect) {
+						out.writeInt(palette.redMask);
+						out.writeInt(palette.greenMask);
+						out.writeInt(palette.blueMask);
+					} else {
+						out.writeInt(palette.colors.length);
+						for (RGB color : palette.colors) {
+							out.writeByte(color.red);
+							out.writeByte(color.green);
+							out.writeByte(color.blue);
+						}
+					}
+					writeBytes(out, imageData.data);
+					out.writeInt(imageData.transparentPixel);
+					out.writeInt(imageData.alpha);
+					writeBytes(out, imageData.alphaData);
+					out.writeInt(imageData.maskPad);
+					writeBytes(out, imageData.maskData);
+				} finally {
+					out.close();
+				}
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				return true;
+			} finally {
+				tempFile.delete();
+			}
+		} catch (IOException e) {
+			// ignore, the icon is decoded again next time
+			return false;
+		}
+	}
+
+}
@@ -53,6 +53,7 @@ import org.eclipse.mylyn.commons.ui.GradientCanvas;
 import org.eclipse.mylyn.commons.ui.SelectionProviderAdapter;
 import org.eclipse.mylyn.commons.ui.compatibility.CommonThemes;
 import org.eclipse.mylyn.commons.workbench.browser.BrowserUtil;
+import org.eclipse.mylyn.internal.discovery.core.DiscoveryCore;
 import org.eclipse.mylyn.internal.discovery.core.model.AbstractDiscoverySource;
 import org.eclipse.mylyn.internal.discovery.core.model.BundleDiscoveryStrategy;
 import org.eclipse.mylyn.internal.discovery.core.model.ConnectorDescriptor;
@@ -67,6 +68,8 @@ import org.eclipse.mylyn.internal.discovery.core.util.DiscoveryCategoryComparato
 import org.eclipse.mylyn.internal.discovery.core.util.DiscoveryConnectorComparator;
 import org.eclipse.mylyn.internal.discovery.ui.DiscoveryImages;
 import org.eclipse.mylyn.internal.discovery.ui.DiscoveryUi;
+import org.eclipse.mylyn.internal.discovery.ui.util.IconLoader;
+import org.eclipse.mylyn.internal.discovery.ui.util.IconLoader.IIconListener;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.accessibility.ACC;
@@ -218,9 +221,24 @@ public class DiscoveryViewer {
 			GridDataFactory.swtDefaults().align(SWT.CENTER, SWT.CENTER).applyTo(iconLabel);
 
 			if (connector.getIcon() != null) {
-				iconImage = computeIconImage(connector.getSource(), connector.getIcon(), 32, false);
-				if (iconImage != null) {
-					iconLabel.setImage(iconImage);
+				String imagePath = connector.getIcon().getImage32();
+				if (imagePath != null && imagePath.length() > 0) {
+					// show a placeholder of the same size to avoid relayouting when the icon is loaded
+					iconLabel.setImage(iconPlaceholder);
+					iconLoader.load(connector.getId(), connector.getSource(), imagePath, new IIconListener() {
+						public void iconLoaded(Image image) {
+							if (iconLabel.isDisposed()) {
+								image.dispose();
+								return;
+							}
+							disposables.add(image);
+							iconImage = image;
+							iconLabel.setImage(image);
+							if (!image.getBounds().equals(iconPlaceholder.getBounds())) {
+								checkboxAndIconContainer.layout(true);
+							}
+						}
+					});
 				}
 			}
 
@@ -447,6 +465,16 @@ public class DiscoveryViewer {
 
 	private Image infoImage;
 
+	private Image iconPlaceholder;
+
+	private IconLoader iconLoader;
+
+	/**
+	 * Images that were created by {@link #computeIconImage(AbstractDiscoverySource, Icon, int, boolean)} by resource
+	 * URL, to create images that are shared by several items only once.
+	 */
+	private final Map<String, Image> imageByResource = new HashMap<String, Image>();
+
 	private Cursor handCursor;
 
 	private Color colorCategoryGradientStart;
@@ -513,6 +541,8 @@ public class DiscoveryViewer {
 		h1Font = null;
 		h2Font = null;
 		infoImage = null;
+		iconPlaceholder = null;
+		imageByResource.clear();
 		handCursor = null;
 		colorCategoryGradientStart = null;
 		colorCategoryGradientEnd = null;
@@ -545,10 +575,15 @@ public class DiscoveryViewer {
 		if (imagePath != null && imagePath.length() > 0) {
 			URL resource = discoverySource.getResource(imagePath);
 			if (resource != null) {
+				Image image = imageByResource.get(resource.toExternalForm());
+				if (image != null) {
+					return image;
+				}
 				ImageDescriptor descriptor = ImageDescriptor.createFromURL(resource);
-				Image image = descriptor.createImage();
+				image = descriptor.createImage();
 				if (image != null) {
 					disposables.add(image);
+					imageByResource.put(resource.toExternalForm(), image);
 					return image;
 				}
 			}
@@ -723,11 +758,13 @@ public class DiscoveryViewer {
 
 	public void createControl(Composite parent) {
 		createRefreshJob();
+		iconLoader = new IconLoader(parent.getDisplay(), DiscoveryUi.getIconCacheDirectory());
 
 		Composite container = new Composite(parent, SWT.NULL);
 		container.addDisposeListener(new DisposeListener() {
 			public void widgetDisposed(DisposeEvent e) {
 				refreshJob.cancel();
+				iconLoader.dispose();
 				if (disposables != null) {
 					for (Resource resource : disposables) {
 						resource.dispose();
@@ -1270,6 +1307,10 @@ public class DiscoveryViewer {
 			infoImage = DiscoveryImages.MESSAGE_INFO.createImage();
 			disposables.add(infoImage);
 		}
+		if (iconPlaceholder == null) {
+			iconPlaceholder = IconLoader.createPlaceholder(Display.getCurrent(), 32);
+			disposables.add(iconPlaceholder);
+		}
 	}
 
 	public boolean isComplete() {
@@ -1497,6 +1538,7 @@ public class DiscoveryViewer {
 					if (directoryUrl != null) {
 						RemoteBundleDiscoveryStrategy remoteDiscoveryStrategy = new RemoteBundleDiscoveryStrategy();
 						remoteDiscoveryStrategy.setDirectoryUrl(directoryUrl);
+						remoteDiscoveryStrategy.setCacheDirectory(DiscoveryCore.getCacheDirectory());
 						connectorDiscovery.getDiscoveryStrategies().add(remoteDiscoveryStrategy);
 					}
 
@@ -88,8 +88,12 @@ public class Messages extends NLS {
 
 	public static String DiscoveryViewer_X_installed;
 
+	public static String IconLoader_Loading_Icons;
+
 	public static String PrepareInstallProfileJob_notFoundDescriptorDetail;
 
+	public static String PrepareInstallProfileJob_slowRepository;
+
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);